@@ -0,0 +1,6 @@
+-- 受講生の氏名・ふりがな・ニックネーム検索用の全文検索インデックス（ngramパーサー、トークン長は my.cnf の ngram_token_size）
+-- 既存のDBには手動で実行する。 作成後にアプリの nameSearchMode を FULLTEXT に切り替える
+-- 既定のストップワード（a, i など）を含むトークンが索引から除かれないよう、ストップワードを使わずに作成する（my.cnf と同じ）
+SET SESSION innodb_ft_enable_stopword = OFF;
+ALTER TABLE students
+    ADD FULLTEXT INDEX ft_students_name (full_name, name_pronunciation, nickname) WITH PARSER ngram;
@@ -0,0 +1,17 @@
+-- 受講生・受講コース・受講ステータス検索用のインデックス（StudentRepository.xml の検索条件に対応）
+-- 既存のDBには手動で実行する
+
+-- 論理削除されていない受講生の受講生ID順の取得（一覧・エクスポート・キーセットページング）
+CREATE INDEX idx_students_deleted_id ON students (is_deleted, student_id);
+-- メールアドレス・性別・生年月日での絞り込み（findStudent / findStudentDetail）
+CREATE INDEX idx_students_email ON students (email, is_deleted);
+CREATE INDEX idx_students_gender_birth_date ON students (gender, is_deleted, birth_date);
+CREATE INDEX idx_students_deleted_birth_date ON students (is_deleted, birth_date);
+
+-- コースIDでの絞り込み（findCourse / findStudentDetail の EXISTS）
+CREATE INDEX idx_students_courses_course_student ON students_courses (course_id, student_id);
+
+-- 受講IDでの検索（searchCourseStatus / searchCourseStatuses / 結合）と
+-- ステータスIDでの絞り込み（findStatus）。いずれも course_status の全列を含むカバリングインデックス
+CREATE INDEX idx_course_status_attending_status ON course_status (attending_id, status_id);
+CREATE INDEX idx_course_status_status_attending ON course_status (status_id, attending_id);
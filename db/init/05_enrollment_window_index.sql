@@ -0,0 +1,3 @@
+-- 受講期間（開始日・終了日）が検索期間と重なるコースの検索用インデックス（StudentRepository.xml の courseCondition）
+-- 既存のDBには手動で実行する
+CREATE INDEX idx_students_courses_window ON students_courses (start_date, end_date);
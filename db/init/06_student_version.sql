@@ -0,0 +1,5 @@
+-- 受講生詳細のバージョン（受講生・受講コース情報・受講ステータスの更新ごとに1増える）と更新日時
+-- 受講生詳細のETag・Last-Modified（GET /students/{studentId} の条件付きGET）に使う。 既存のDBには手動で実行する
+ALTER TABLE students
+    ADD COLUMN version INT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
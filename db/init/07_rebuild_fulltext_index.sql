@@ -0,0 +1,6 @@
+-- 受講生の氏名検索用の全文検索インデックス（ft_students_name）を、ストップワードを使わずに作り直す
+-- ストップワードが有効な状態で 03_fulltext_index.sql を実行した既存のDBには手動で実行する（新規のDBでは作り直すだけで結果は同じ）
+SET SESSION innodb_ft_enable_stopword = OFF;
+ALTER TABLE students DROP INDEX ft_students_name;
+ALTER TABLE students
+    ADD FULLTEXT INDEX ft_students_name (full_name, name_pronunciation, nickname) WITH PARSER ngram;
@@ -0,0 +1,9 @@
+-- ジョブのロック（複数のインスタンスで同じジョブを同時に実行しないよう、ジョブごとの行を期限付きで取得する）
+-- 受講ステータスの自動更新（StatusAdvancementJob）が使う。 既存のDBには手動で実行する
+CREATE TABLE IF NOT EXISTS job_locks (
+    job_name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by VARCHAR(64)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO job_locks (job_name) VALUES ('status-advancement');
@@ -0,0 +1,151 @@
+package raisetech.student.management;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import raisetech.student.management.converter.student.StudentConverter;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.data.Course.CourseCategory;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.repository.status.StatusRepository;
+import raisetech.student.management.repository.student.StudentRepository;
+
+/**
+ * ベンチマーク用の合成データです。 受講生1人あたり1～5件の受講コース情報と、受講コース情報ごとに1件の受講ステータスを持ちます。
+ * 同じ件数・シードからは常に同じデータを生成するため、リリース間で結果を比較できます。
+ *
+ * @param students 受講生（受講生ID順）
+ * @param courses  受講コース情報（受講ID順）
+ * @param statuses 受講ステータス（DBからの取得順に依存しないよう順序を崩している）
+ */
+public record BenchmarkDataset(List<Student> students, List<StudentsCourse> courses,
+                               List<CourseStatus> statuses) {
+
+  /**
+   * コースマスタ（テスト用データと同じ7コース）
+   */
+  public static final List<Course> COURSE_MASTER = List.of(
+      new Course(1, "Javaコース", CourseCategory.開発系コース, 6, false, null, null),
+      new Course(2, "AWSコース", CourseCategory.開発系コース, 6, false, null, null),
+      new Course(3, "WordPressコース", CourseCategory.制作系コース, 6, false, null, null),
+      new Course(4, "デザインコース", CourseCategory.制作系コース, 6, false, null, null),
+      new Course(5, "webマーケティングコース", CourseCategory.制作系コース, 6, false, null, null),
+      new Course(6, "映像制作コース", CourseCategory.制作系コース, 6, false, null, null),
+      new Course(7, "フロントエンドコース", CourseCategory.開発系コース, 6, false, null, null));
+
+  /**
+   * ステータスID（99はキャンセル）
+   */
+  private static final int[] STATUS_IDS = {1, 2, 3, 4, 5, 6, 99};
+
+  /**
+   * ステータスマスタ（テスト用データと同じ7ステータス）
+   */
+  public static final List<Status> STATUS_MASTER = List.of(
+      new Status(1, "仮申し込み", 1, null, null),
+      new Status(2, "入金待ち", 2, null, null),
+      new Status(3, "本申し込み", 3, null, null),
+      new Status(4, "受講中", 4, null, null),
+      new Status(5, "受講終了", 5, null, null),
+      new Status(6, "受講中断", 6, null, null),
+      new Status(99, "キャンセル", 99, null, null));
+
+  private static final String[] AREAS = {"東京都", "大阪府", "愛知県", "福岡県", "北海道"};
+  private static final String[] GENDERS = {"Male", "Female", "Other"};
+
+  /**
+   * 【合成データの生成】
+   *
+   * @param studentCount 受講生数
+   * @param seed         乱数のシード
+   * @return 合成データ
+   */
+  public static BenchmarkDataset generate(int studentCount, long seed) {
+    var random = new Random(seed);
+    var baseDate = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+    List<Student> students = new ArrayList<>(studentCount);
+    List<StudentsCourse> courses = new ArrayList<>(studentCount * 3);
+    List<CourseStatus> statuses = new ArrayList<>(studentCount * 3);
+    long attendingId = 0;
+    for (int studentId = 1; studentId <= studentCount; studentId++) {
+      students.add(new Student(studentId, "受講生 " + studentId, "じゅこうせい " + studentId,
+          "ニック" + studentId, "student" + studentId + "@example.com",
+          AREAS[random.nextInt(AREAS.length)],
+          LocalDate.of(1970, 1, 1).plusDays(random.nextInt(365 * 35)),
+          GENDERS[random.nextInt(GENDERS.length)], studentId % 10 == 0 ? "料理が趣味" : ""));
+
+      int enrollments = random.nextInt(5) + 1;
+      for (int i = 0; i < enrollments; i++) {
+        attendingId++;
+        var startDate = baseDate.plusDays(random.nextInt(730));
+        courses.add(new StudentsCourse(attendingId, studentId, random.nextInt(7) + 1, startDate,
+            startDate.plusMonths(6)));
+        statuses.add(new CourseStatus((int) attendingId, attendingId,
+            STATUS_IDS[random.nextInt(STATUS_IDS.length)]));
+      }
+    }
+    Collections.shuffle(statuses, random);
+
+    return new BenchmarkDataset(students, courses, statuses);
+  }
+
+  /**
+   * @return 組み立て済みの受講生詳細（受講生ID順）
+   */
+  public List<StudentDetail> studentDetails() {
+    var converter = new StudentConverter();
+    return converter.convertStudentDetails(students,
+        converter.convertCourseDetails(courses, statuses));
+  }
+
+  /**
+   * 全件取得・詳細検索の結果として合成データを返す StudentRepository のスタブ（検索条件は無視する）。
+   *
+   * @return StudentRepository のスタブ
+   */
+  public StudentRepository studentRepository() {
+    return (StudentRepository) Proxy.newProxyInstance(StudentRepository.class.getClassLoader(),
+        new Class<?>[]{StudentRepository.class}, (proxy, method, args) -> switch (
+            method.getName()) {
+          case "displayStudent", "findStudent" -> students;
+          case "displayCourse", "findCourse" -> courses;
+          case "displayStatus", "findStatus" -> statuses;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+  /**
+   * @return コースマスタを返す CourseRepository のスタブ
+   */
+  public static CourseRepository courseRepository() {
+    return (CourseRepository) Proxy.newProxyInstance(CourseRepository.class.getClassLoader(),
+        new Class<?>[]{CourseRepository.class}, (proxy, method, args) -> switch (
+            method.getName()) {
+          case "displayCourseMaster" -> COURSE_MASTER;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+  /**
+   * @return ステータスマスタを返す StatusRepository のスタブ
+   */
+  public static StatusRepository statusRepository() {
+    return (StatusRepository) Proxy.newProxyInstance(StatusRepository.class.getClassLoader(),
+        new Class<?>[]{StatusRepository.class}, (proxy, method, args) -> switch (
+            method.getName()) {
+          case "displayStatusMaster" -> STATUS_MASTER;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+}
@@ -0,0 +1,39 @@
+package raisetech.student.management.controller.student;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.dto.StudentSearchDTO;
+
+/**
+ * 検索フォームから検索条件への変換（StudentSearchForm.toDTO）を計測するベンチマークです。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StudentSearchFormBenchmark {
+
+  private final StudentSearchForm emptyForm = new StudentSearchForm(null, null, null, null,
+      null, null, null, null, null, null, null, null, null, null);
+
+  private final StudentSearchForm fullForm = new StudentSearchForm("たろ", 20, 30, "東京",
+      "taro@example.com", "Male", "料理", 1, "開発系コース", LocalDate.of(2025, 4, 1),
+      LocalDate.of(2025, 9, 30), List.of(3, 4), 120, 500);
+
+  @Benchmark
+  public StudentSearchDTO toDtoWithoutConditions() {
+    return emptyForm.toDTO();
+  }
+
+  @Benchmark
+  public StudentSearchDTO toDtoWithAllConditions() {
+    return fullForm.toDTO();
+  }
+
+}
@@ -0,0 +1,79 @@
+package raisetech.student.management.converter.student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * ベンチマークの比較対象として、{@link StudentConverter} をハッシュ結合に置き換える前の総当たり（ネステッドループ）の結合を残したものです。
+ * 受講生ごと・コース情報ごとに相手のリスト全体を走査するため、件数の2乗で遅くなります。
+ */
+public class NestedLoopStudentConverter {
+
+  /**
+   * 受講生ごとにコース情報のリスト全体を走査して、受講生詳細情報を組み立てる。
+   *
+   * @param students      受講生一覧
+   * @param courseDetails コース情報状況一覧
+   * @return 受講生詳細情報のリスト
+   */
+  public List<StudentDetail> convertStudentDetails(List<Student> students,
+      List<CourseDetail> courseDetails) {
+    List<StudentDetail> studentDetails = new ArrayList<>();
+
+    for (Student student : students) {
+      if (Objects.isNull(student)) {
+        continue;
+      }
+
+      List<CourseDetail> convertCourseDetails = courseDetails.stream()
+          .filter(courseDetail -> student.getStudentId()
+              .equals(courseDetail.getCourse().getStudentId()))
+          .toList();
+
+      if (!convertCourseDetails.isEmpty()) {
+        studentDetails.add(new StudentDetail(student, convertCourseDetails));
+      }
+    }
+    return studentDetails;
+  }
+
+  /**
+   * コース情報ごとにステータスのリストを先頭から走査して、コース受講状況を組み立てる。
+   *
+   * @param courses  コース受講情報一覧
+   * @param statuses 受講状況・申し込み状況一覧
+   * @return コース受講状況一覧
+   */
+  public List<CourseDetail> convertCourseDetails(List<StudentsCourse> courses,
+      List<CourseStatus> statuses) {
+    List<CourseDetail> courseDetails = new ArrayList<>();
+
+    for (StudentsCourse course : courses) {
+      if (course == null) {
+        continue;
+      }
+
+      var courseDetail = new CourseDetail();
+      courseDetail.setCourse(course);
+
+      for (CourseStatus status : statuses) {
+        if (status != null && Objects.equals(course.getAttendingId(), status.getAttendingId())) {
+          courseDetail.setStatus(status);
+          break;
+        }
+      }
+
+      if (courseDetail.getStatus() != null) {
+        courseDetails.add(courseDetail);
+      }
+    }
+    return courseDetails;
+  }
+
+}
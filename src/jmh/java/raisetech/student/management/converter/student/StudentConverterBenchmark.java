@@ -0,0 +1,123 @@
+package raisetech.student.management.converter.student;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * StudentConverterのハッシュ結合と、置き換える前の総当たりの結合（{@link NestedLoopStudentConverter}）を比較するベンチマークです。
+ * rowsは受講コース情報の件数で、受講生数はその2/5です。 総当たりの結合は件数の2乗で遅くなり、1,000,000件では計測が終わらないため、
+ * 件数の組み合わせを分けて100,000件までとしています。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentConverterBenchmark {
+
+  private final StudentConverter converter = new StudentConverter();
+  private final NestedLoopStudentConverter nestedLoopConverter = new NestedLoopStudentConverter();
+
+  /**
+   * ハッシュ結合で使うデータ（1,000,000件まで）
+   */
+  @State(Scope.Benchmark)
+  public static class HashRows extends Rows {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Setup
+    public void setUp() {
+      generate(rows);
+    }
+  }
+
+  /**
+   * 総当たりの結合で使うデータ（100,000件まで）
+   */
+  @State(Scope.Benchmark)
+  public static class NestedLoopRows extends Rows {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    @Setup
+    public void setUp() {
+      generate(rows);
+    }
+  }
+
+  @Benchmark
+  public List<CourseDetail> convertCourseDetails(HashRows data) {
+    return converter.convertCourseDetails(data.courses, data.statuses);
+  }
+
+  @Benchmark
+  public List<StudentDetail> convertStudentDetails(HashRows data) {
+    return converter.convertStudentDetails(data.students, data.courseDetails);
+  }
+
+  @Benchmark
+  public List<CourseDetail> convertCourseDetailsByNestedLoop(NestedLoopRows data) {
+    return nestedLoopConverter.convertCourseDetails(data.courses, data.statuses);
+  }
+
+  @Benchmark
+  public List<StudentDetail> convertStudentDetailsByNestedLoop(NestedLoopRows data) {
+    return nestedLoopConverter.convertStudentDetails(data.students, data.courseDetails);
+  }
+
+  /**
+   * 受講生・受講コース情報・受講ステータスのテストデータ
+   */
+  public abstract static class Rows {
+
+    List<Student> students;
+    List<StudentsCourse> courses;
+    List<CourseStatus> statuses;
+    List<CourseDetail> courseDetails;
+
+    void generate(int rows) {
+      var random = new Random(42);
+      int studentCount = Math.max(1, rows * 2 / 5);
+      var now = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+      students = new ArrayList<>(studentCount);
+      for (int i = 1; i <= studentCount; i++) {
+        students.add(new Student(i, "受講生" + i, "じゅこうせい" + i, "ニック" + i,
+            i + "@example.com", "東京", LocalDate.of(2000, 1, 1), "Other", ""));
+      }
+
+      courses = new ArrayList<>(rows);
+      statuses = new ArrayList<>(rows);
+      for (int i = 1; i <= rows; i++) {
+        long attendingId = i;
+        courses.add(new StudentsCourse(attendingId, random.nextInt(studentCount) + 1,
+            random.nextInt(7) + 1, now, now.plusMonths(6)));
+        statuses.add(new CourseStatus(i, attendingId, random.nextInt(7) + 1));
+      }
+      // DBからの取得順に依存しないよう、ステータスは順序を崩しておく
+      Collections.shuffle(statuses, random);
+
+      courseDetails = new StudentConverter().convertCourseDetails(courses, statuses);
+    }
+  }
+
+}
@@ -0,0 +1,81 @@
+package raisetech.student.management.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import raisetech.student.management.BenchmarkDataset;
+
+/**
+ * 受講生詳細のJSON出力（Jackson）を計測するベンチマークです。 検索APIと同じJSON配列と、エクスポートAPIと同じNDJSONの2通りを、
+ * 出力先を破棄するストリームに書き出して計測します（戻り値は書き出したバイト数）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentDetailJsonBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int students;
+
+  private ObjectMapper objectMapper;
+  private List<StudentDetail> studentDetails;
+
+  @Setup
+  public void setUp() {
+    // Spring Bootの既定と同じ設定（JavaTimeModule・日付の文字列出力など）
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    studentDetails = BenchmarkDataset.generate(students, 42).studentDetails();
+  }
+
+  @Benchmark
+  public long writeJsonArray() throws IOException {
+    var out = new CountingOutputStream();
+    objectMapper.writeValue(out, studentDetails);
+    return out.count;
+  }
+
+  @Benchmark
+  public long writeNdjson() throws IOException {
+    var out = new CountingOutputStream();
+    try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+      generator.setRootValueSeparator(new SerializedString(""));
+      for (StudentDetail studentDetail : studentDetails) {
+        generator.writeObject(studentDetail);
+        generator.writeRaw('\n');
+      }
+    }
+    return out.count;
+  }
+
+  /**
+   * 書き出したバイト数だけを数えるストリーム
+   */
+  private static final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+
+}
@@ -0,0 +1,109 @@
+package raisetech.student.management.service.student;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+import raisetech.student.management.BenchmarkDataset;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.RosterCountResult;
+import raisetech.student.management.dto.RosterQueryDTO;
+import raisetech.student.management.dto.RosterQueryDTO.GroupBy;
+
+/**
+ * 受講生名簿の集計（年齢分布・受講開始月ごとの推移）を、受講生・受講コース情報のオブジェクトのリストの走査と、
+ * 列指向のスナップショット（{@link StudentRosterSnapshot}）で比較するベンチマークです。
+ * 準備時に、両者のヒープ上のサイズ（JOLで参照をたどった合計）を標準出力に出力します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentRosterSnapshotBenchmark {
+
+  private static final LocalDate BASE_DATE = LocalDate.of(2025, 4, 1);
+
+  @Param({"10000", "100000", "1000000"})
+  private int students;
+
+  private List<Student> studentList;
+  private List<StudentsCourse> courseList;
+  private Map<Integer, Student> studentsById;
+  private StudentRosterSnapshot snapshot;
+
+  /**
+   * 女性の年齢分布
+   */
+  private final RosterQueryDTO ageDistribution = new RosterQueryDTO(GroupBy.AGE, "Female", null,
+      null, null, null, null, null, BASE_DATE);
+
+  /**
+   * 東京都の受講生のコース1の受講開始月ごとの件数
+   */
+  private final RosterQueryDTO enrollmentTrend = new RosterQueryDTO(GroupBy.START_MONTH, null,
+      "東京都", 1, null, null, null, null, BASE_DATE);
+
+  @Setup
+  public void setUp() {
+    BenchmarkDataset dataset = BenchmarkDataset.generate(students, 42);
+    studentList = dataset.students();
+    courseList = dataset.courses();
+    studentsById = new HashMap<>();
+    studentList.forEach(student -> studentsById.put(student.getStudentId(), student));
+    snapshot = new StudentRosterSnapshot(dataset.studentRepository());
+    snapshot.rebuild();
+
+    System.out.printf("%n[footprint] students=%d objects=%,d bytes columns=%,d bytes%n",
+        students, GraphLayout.parseInstance(studentList, courseList, studentsById).totalSize(),
+        GraphLayout.parseInstance(snapshot.columns()).totalSize());
+  }
+
+  @Benchmark
+  public Map<Integer, Long> ageDistributionObjects() {
+    Map<Integer, Long> counts = new TreeMap<>();
+    for (Student student : studentList) {
+      if ("Female".equals(student.getGender()) && student.getBirthDate() != null) {
+        counts.merge(Period.between(student.getBirthDate(), BASE_DATE).getYears(), 1L,
+            Long::sum);
+      }
+    }
+    return counts;
+  }
+
+  @Benchmark
+  public RosterCountResult ageDistributionColumns() {
+    return snapshot.count(ageDistribution);
+  }
+
+  @Benchmark
+  public Map<YearMonth, Long> enrollmentTrendObjects() {
+    Map<YearMonth, Long> counts = new TreeMap<>();
+    for (StudentsCourse course : courseList) {
+      Student student = studentsById.get(course.getStudentId());
+      if (student != null && Integer.valueOf(1).equals(course.getCourseId())
+          && "東京都".equals(student.getArea())) {
+        counts.merge(YearMonth.from(course.getStartDate()), 1L, Long::sum);
+      }
+    }
+    return counts;
+  }
+
+  @Benchmark
+  public RosterCountResult enrollmentTrendColumns() {
+    return snapshot.count(enrollmentTrend);
+  }
+
+}
@@ -0,0 +1,68 @@
+package raisetech.student.management.service.student;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.BenchmarkDataset;
+import raisetech.student.management.converter.student.StudentConverter;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.dto.StudentSearchDTO;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+import raisetech.student.management.service.status.StatusMaster;
+
+/**
+ * StudentService.getStudentList の受講生詳細の組み立てを、DBを使わずに計測するベンチマークです。
+ * SEPARATEはリポジトリのスタブが返す全件を結合し、INDEXはスタブから構築したメモリ上のインデックスで検索します。
+ * DBを含めた計測は {@link StudentServiceH2Benchmark} で行います。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentServiceBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int students;
+
+  @Param({"SEPARATE", "PARALLEL", "INDEX"})
+  private SearchMode searchMode;
+
+  private StudentService service;
+
+  /**
+   * 検索条件なし・件数制限なし（全件の組み立て）
+   */
+  private final StudentSearchDTO condition = new StudentSearchDTO(null, null, null, null, null,
+      null, null, null, null, null, null, List.of(), null, null);
+
+  @Setup
+  public void setUp() {
+    BenchmarkDataset dataset = BenchmarkDataset.generate(students, 42);
+    StudentRepository repository = dataset.studentRepository();
+    var courseMasterCache = new CourseMasterCache(BenchmarkDataset.courseRepository());
+    var searchIndex = new StudentSearchIndex(repository, courseMasterCache, searchMode);
+    if (searchMode == SearchMode.INDEX) {
+      searchIndex.rebuild();
+    }
+    // 更新は計測しないため、バッチ実行のリポジトリは使わない
+    service = new StudentService(repository, null, null, new StudentConverter(),
+        courseMasterCache, new StatusMaster(BenchmarkDataset.statusRepository()), searchIndex,
+        new StudentStatistics(repository, courseMasterCache, new SimpleMeterRegistry()),
+        searchMode, Duration.ofMinutes(1));
+  }
+
+  @Benchmark
+  public List<StudentDetail> getStudentList() {
+    return service.getStudentList(condition);
+  }
+
+}
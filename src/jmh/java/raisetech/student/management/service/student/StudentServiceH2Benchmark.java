@@ -0,0 +1,215 @@
+package raisetech.student.management.service.student;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import raisetech.student.management.BenchmarkDataset;
+import raisetech.student.management.converter.student.StudentConverter;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.dto.StudentSearchDTO;
+import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.repository.status.StatusRepository;
+import raisetech.student.management.repository.student.StudentBatchRepository;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+import raisetech.student.management.service.status.StatusMaster;
+
+/**
+ * StudentService.getStudentList を組み込みH2とMyBatisのマッパーで計測するベンチマークです。 SQLの実行・結果のマッピングを含みます。
+ * スキーマはテスト用の schema.sql（インデックスを含む）を使い、合成データを投入します。
+ * 投入に時間がかかるため、受講生数は100,000件までとしています。 マッパーの呼び出しごとに接続プールから接続を取得するため（アプリと同じ）、
+ * PARALLEL の3つの検索は別の接続で同時に実行されます。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentServiceH2Benchmark {
+
+  private static final String[] MAPPERS = {
+      "raisetech/student/management/repository/student/StudentRepository.xml",
+      "raisetech/student/management/repository/course/CourseRepository.xml",
+      "raisetech/student/management/repository/status/StatusRepository.xml"};
+
+  private static final int INSERT_BATCH_SIZE = 1000;
+
+  @Param({"1000", "100000"})
+  private int students;
+
+  @Param({"SEPARATE", "JOINED", "PARALLEL"})
+  private SearchMode searchMode;
+
+  /**
+   * ページの取得件数（nullは件数制限なし）
+   */
+  @Param({"100", "ALL"})
+  private String limit;
+
+  private JdbcDataSource dataSource;
+  private HikariDataSource pool;
+  private StudentService service;
+  private StudentSearchDTO condition;
+
+  @Setup
+  public void setUp() throws SQLException, IOException {
+    dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:benchmark-" + students + ";DB_CLOSE_DELAY=-1");
+    try (Connection connection = dataSource.getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+      insert(connection, BenchmarkDataset.generate(students, 42));
+    }
+
+    pool = new HikariDataSource();
+    pool.setDataSource(dataSource);
+    pool.setMaximumPoolSize(4);
+    var configuration = new Configuration(
+        new Environment("benchmark", new JdbcTransactionFactory(), pool));
+    configuration.setMapUnderscoreToCamelCase(true);
+    configuration.setDatabaseId("h2");
+    var variables = new Properties();
+    variables.setProperty("nameSearchMode", "FULLTEXT");
+    configuration.setVariables(variables);
+    for (String mapper : MAPPERS) {
+      try (InputStream in = Resources.getResourceAsStream(mapper)) {
+        new XMLMapperBuilder(in, configuration, mapper, configuration.getSqlFragments()).parse();
+      }
+    }
+
+    // 呼び出しごとにセッションを開いて閉じる（1回目の結果がキャッシュされない）
+    SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    var sessions = SqlSessionManager.newInstance(sqlSessionFactory);
+    StudentRepository repository = sessions.getMapper(StudentRepository.class);
+    var courseMasterCache = new CourseMasterCache(sessions.getMapper(CourseRepository.class));
+    service = new StudentService(repository, new StudentBatchRepository(sqlSessionFactory),
+        null, new StudentConverter(), courseMasterCache,
+        new StatusMaster(sessions.getMapper(StatusRepository.class)),
+        new StudentSearchIndex(repository, courseMasterCache, searchMode),
+        new StudentStatistics(repository, courseMasterCache, new SimpleMeterRegistry()),
+        searchMode, Duration.ofMinutes(1));
+    condition = new StudentSearchDTO(null, null, null, null, null, null, null, null,
+        "開発系コース", null, null, List.of(3, 4), null,
+        "ALL".equals(limit) ? null : Integer.valueOf(limit));
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    pool.close();
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+  }
+
+  @Benchmark
+  public List<StudentDetail> getStudentList() {
+    return service.getStudentList(condition);
+  }
+
+  private void insert(Connection connection, BenchmarkDataset dataset) throws SQLException {
+    try (PreparedStatement ps = connection.prepareStatement(
+        "INSERT INTO statuses (status_id, status_name, display_order) VALUES (?, ?, ?)")) {
+      for (int statusId : new int[]{1, 2, 3, 4, 5, 6, 99}) {
+        ps.setInt(1, statusId);
+        ps.setString(2, "ステータス" + statusId);
+        ps.setInt(3, statusId);
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+    try (PreparedStatement ps = connection.prepareStatement(
+        "INSERT INTO courses (course_id, course_name, category, duration) VALUES (?, ?, ?, ?)")) {
+      for (var course : BenchmarkDataset.COURSE_MASTER) {
+        ps.setInt(1, course.getCourseId());
+        ps.setString(2, course.getCourseName());
+        ps.setString(3, course.getCategory().name());
+        ps.setInt(4, course.getDuration());
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+
+    try (PreparedStatement ps = connection.prepareStatement("""
+        INSERT INTO students (student_id, full_name, name_pronunciation, nickname, email, area,
+          birth_date, gender, remark) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""")) {
+      int count = 0;
+      for (Student student : dataset.students()) {
+        ps.setInt(1, student.getStudentId());
+        ps.setString(2, student.getFullName());
+        ps.setString(3, student.getNamePronunciation());
+        ps.setString(4, student.getNickname());
+        ps.setString(5, student.getEmail());
+        ps.setString(6, student.getArea());
+        ps.setDate(7, Date.valueOf(student.getBirthDate()));
+        ps.setString(8, student.getGender());
+        ps.setString(9, student.getRemark());
+        addBatch(ps, ++count);
+      }
+      ps.executeBatch();
+    }
+    try (PreparedStatement ps = connection.prepareStatement("""
+        INSERT INTO students_courses (attending_id, student_id, course_id, start_date, end_date)
+        VALUES (?, ?, ?, ?, ?)""")) {
+      int count = 0;
+      for (StudentsCourse course : dataset.courses()) {
+        ps.setLong(1, course.getAttendingId());
+        ps.setInt(2, course.getStudentId());
+        ps.setInt(3, course.getCourseId());
+        ps.setDate(4, Date.valueOf(course.getStartDate().toLocalDate()));
+        ps.setDate(5, Date.valueOf(course.getEndDate().toLocalDate()));
+        addBatch(ps, ++count);
+      }
+      ps.executeBatch();
+    }
+    try (PreparedStatement ps = connection.prepareStatement(
+        "INSERT INTO course_status (id, attending_id, status_id) VALUES (?, ?, ?)")) {
+      int count = 0;
+      for (CourseStatus status : dataset.statuses()) {
+        ps.setInt(1, status.getId());
+        ps.setLong(2, status.getAttendingId());
+        ps.setInt(3, status.getStatusId());
+        addBatch(ps, ++count);
+      }
+      ps.executeBatch();
+    }
+  }
+
+  private void addBatch(PreparedStatement ps, int count) throws SQLException {
+    ps.addBatch();
+    if (count % INSERT_BATCH_SIZE == 0) {
+      ps.executeBatch();
+    }
+  }
+
+}
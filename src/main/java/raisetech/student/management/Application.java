@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @OpenAPIDefinition(
     info = @Info(
@@ -15,6 +16,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
     )
 )
 @SpringBootApplication
+@EnableScheduling
 public class Application {
 
   public static void main(String[] args) {
@@ -0,0 +1,122 @@
+package raisetech.student.management.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DB接続の同時使用数をセマフォで制限するDataSourceです。 接続を取得するときに許可を1つ取得し、接続を閉じたとき（プールへの返却時）に返します。
+ * 仮想スレッドでは同時に数千のリクエストが接続を待つため、接続プールの待ち行列ではなく先着順のセマフォで待たせ、
+ * 一定時間内に許可を取得できないリクエストは {@link SQLTransientConnectionException} で失敗させます。
+ * セマフォの待機は仮想スレッドをキャリアスレッドに固定（pin）しません。
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final int maxConcurrency;
+  private final long acquireTimeoutNanos;
+
+  /**
+   * コンストラクタ
+   *
+   * @param target         接続プール
+   * @param maxConcurrency 接続の同時使用数の上限（接続プールの最大接続数以下にする）
+   * @param acquireTimeout 許可の取得を待つ時間
+   */
+  public ConcurrencyLimitingDataSource(DataSource target, int maxConcurrency,
+      Duration acquireTimeout) {
+    super(target);
+    this.permits = new Semaphore(maxConcurrency, true);
+    this.maxConcurrency = maxConcurrency;
+    this.acquireTimeoutNanos = acquireTimeout.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    return limited(() -> obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    return limited(() -> obtainTargetDataSource().getConnection(username, password));
+  }
+
+  /**
+   * @return 現在使用されている接続の数
+   */
+  public int getActiveConnections() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  /**
+   * @return 許可を待っているスレッドの数（概算）
+   */
+  public int getWaitingThreads() {
+    return permits.getQueueLength();
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException(
+            "DB接続の同時使用数が上限（" + maxConcurrency + "）に達しています。");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("DB接続の待機中に割り込まれました。", e);
+    }
+  }
+
+  /**
+   * 接続を取得し、閉じたときに許可を返す接続にする。 取得に失敗した場合はその場で許可を返す。
+   *
+   * @param supplier 接続の取得
+   * @return 閉じたときに許可を返す接続
+   * @throws SQLException 接続の取得に失敗した場合
+   */
+  private Connection limited(ConnectionSupplier supplier) throws SQLException {
+    Connection target;
+    try {
+      target = supplier.get();
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+
+    // 2回目以降の close では許可を返さない
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+          if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+            try {
+              target.close();
+            } finally {
+              permits.release();
+            }
+            return null;
+          }
+          try {
+            return method.invoke(target, args);
+          } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+          }
+        });
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+
+    Connection get() throws SQLException;
+  }
+
+}
@@ -0,0 +1,40 @@
+package raisetech.student.management.config;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * DataSourceの設定です。 student.db.max-concurrency が1以上の場合、DataSourceを {@link ConcurrencyLimitingDataSource}
+ * で包み、DB接続の同時使用数を制限します。 仮想スレッドでリクエストを処理する場合（spring.threads.virtual.enabled=true）に使います。
+ */
+@Configuration
+public class DataSourceConfig {
+
+  /**
+   * DataSourceに接続の同時使用数の制限を加える。
+   *
+   * @param maxConcurrency 接続の同時使用数の上限（0以下の場合は制限しない）
+   * @param acquireTimeout 接続の同時使用数に空きができるのを待つ時間
+   * @return DataSourceを包むBeanPostProcessor
+   */
+  @Bean
+  public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+      @Value("${student.db.max-concurrency:0}") int maxConcurrency,
+      @Value("${student.db.acquire-timeout:30s}") Duration acquireTimeout) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (maxConcurrency > 0 && bean instanceof DataSource dataSource
+            && !(bean instanceof ConcurrencyLimitingDataSource)) {
+          return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+        }
+        return bean;
+      }
+    };
+  }
+
+}
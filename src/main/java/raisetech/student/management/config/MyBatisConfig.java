@@ -0,0 +1,31 @@
+package raisetech.student.management.config;
+
+import java.util.Properties;
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MyBatisの設定です。 接続先のDB製品名からdatabaseIdを判定し、Mapper XMLでは _databaseId で製品ごとのSQLを切り替えます。
+ */
+@Configuration
+public class MyBatisConfig {
+
+  /**
+   * DB製品名（MySQL / H2）とdatabaseId（mysql / h2）の対応
+   *
+   * @return databaseIdを判定するプロバイダ
+   */
+  @Bean
+  public DatabaseIdProvider databaseIdProvider() {
+    var properties = new Properties();
+    properties.setProperty("MySQL", "mysql");
+    properties.setProperty("H2", "h2");
+
+    var provider = new VendorDatabaseIdProvider();
+    provider.setProperties(properties);
+    return provider;
+  }
+
+}
@@ -9,6 +9,7 @@ import jakarta.validation.groups.Default;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.ibatis.annotations.Update;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,8 +23,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import raisetech.student.management.data.Course;
+import raisetech.student.management.domain.ResourceVersion;
+import raisetech.student.management.domain.Versioned;
 import raisetech.student.management.exception.MissingParameterException;
+import raisetech.student.management.service.course.CourseMasterCache.CacheStats;
 import raisetech.student.management.service.course.CourseService;
 
 /**
@@ -48,23 +53,50 @@ public class CourseController {
   }
 
   /**
-   * 【コースマスタの全件取得】開講状況にかかわらず全て表示
+   * 【コースマスタの全件取得】開講状況にかかわらず全て表示 ETag・Last-Modified を返し、条件付きGETで変更がなければ 304 Not Modified を返す。
    *
-   * @return コースマスタリスト（全件）
+   * @param request リクエスト（条件付きGETのヘッダ）
+   * @return コースマスタリスト（全件、変更がない場合はnull = 304 Not Modified）
    */
-  @Operation(summary = "コースマスタ全件取得", description = "コースマスタを全件取得します")
+  @Operation(summary = "コースマスタ全件取得", description = "コースマスタを全件取得します。 If-None-Match・If-Modified-Since に対応します。")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "200", description = "成功（ETag・Last-Modified ヘッダを含む）"),
+      @ApiResponse(responseCode = "304", description = "前回取得時から変更がありません"),
       @ApiResponse(responseCode = "404", description = "コースマスタが見つかりません"),
       @ApiResponse(responseCode = "500", description = "サーバーエラー")
   })
   @GetMapping
-  public ResponseEntity<List<Course>> getCourses() {
-    var courses = service.getCourseList();
-    if (courses.isEmpty()) {
+  public ResponseEntity<List<Course>> getCourses(WebRequest request) {
+    Optional<ResourceVersion> known = service.findCourseListVersion();
+    if (known.isPresent()
+        && request.checkNotModified(known.get().etag(), known.get().lastModified())) {
+      return null;
+    }
+
+    // 版が分からない場合は取得する（一致すれば本文を書き出さずに 304 Not Modified になる）
+    Versioned<List<Course>> courses = service.getVersionedCourseList();
+    if (courses.body().isEmpty()) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
-    return ResponseEntity.ok(courses);
+    return ResponseEntity.ok()
+        .eTag(courses.version().etag())
+        .lastModified(courses.version().lastModified())
+        .body(courses.body());
+  }
+
+  /**
+   * 【コースマスタキャッシュの統計情報】受講生登録時に参照するコースマスタキャッシュのヒット数・ミス数・再読み込み数を取得する。
+   *
+   * @return キャッシュの統計情報
+   */
+  @Operation(summary = "コースマスタキャッシュ統計取得", description = "コースマスタキャッシュのヒット数・ミス数・再読み込み数を取得します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @GetMapping("/cache/stats")
+  public ResponseEntity<CacheStats> getCourseMasterCacheStats() {
+    return ResponseEntity.ok(service.getCourseMasterCacheStats());
   }
 
   /**
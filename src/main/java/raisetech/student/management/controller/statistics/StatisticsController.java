@@ -0,0 +1,97 @@
+package raisetech.student.management.controller.statistics;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.student.management.domain.RosterCountResult;
+import raisetech.student.management.domain.StudentStatisticsReport;
+import raisetech.student.management.dto.RosterQueryDTO;
+import raisetech.student.management.exception.MissingParameterException;
+import raisetech.student.management.service.student.StudentRosterSnapshot;
+import raisetech.student.management.service.student.StudentStatistics;
+
+/**
+ * 受講生の集計（コース・カテゴリ・ステータス・地域ごとの件数）をREST APIとして受け付けるControllerです。
+ */
+@RestController
+@RequestMapping("/statistics")
+@Tag(name = "受講生集計", description = "受講生の集計を行うAPI")
+public class StatisticsController {
+
+  private final StudentStatistics statistics;
+  private final StudentRosterSnapshot rosterSnapshot;
+
+  /**
+   * コンストラクタ
+   *
+   * @param statistics     受講生の集計のカウンタ
+   * @param rosterSnapshot 受講生名簿の列指向のスナップショット
+   */
+  @Autowired
+  public StatisticsController(StudentStatistics statistics,
+      StudentRosterSnapshot rosterSnapshot) {
+    this.statistics = statistics;
+    this.rosterSnapshot = rosterSnapshot;
+  }
+
+  /**
+   * 【受講生の集計の取得】 メモリ上のカウンタから返す（SQLは実行しない）。
+   *
+   * @return 受講生の集計
+   */
+  @Operation(summary = "受講生集計取得",
+      description = "コース×ステータス・コースカテゴリ・ステータスごとの受講の件数と、地域ごとの受講生の人数を取得します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @GetMapping
+  public ResponseEntity<StudentStatisticsReport> getStatistics() {
+    return ResponseEntity.ok(statistics.report());
+  }
+
+  /**
+   * 【受講生の集計し直し】 定期的な集計し直しを待たずに、DBで集計し直す（DBを直接変更した場合など）。
+   *
+   * @return 集計し直した受講生の集計
+   */
+  @Operation(summary = "受講生集計し直し", description = "DBで受講生を集計し直します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @PostMapping("/reconcile")
+  public ResponseEntity<StudentStatisticsReport> reconcileStatistics() {
+    return ResponseEntity.ok(statistics.reconcile());
+  }
+
+  /**
+   * 【受講生名簿の集計】 年齢分布・受講開始の推移などを、メモリ上の名簿のスナップショットで集計する（SQLは実行しない）。
+   *
+   * @param query 集計条件（groupByは必須）
+   * @return グループごとの件数
+   * @throws MissingParameterException groupByが指定されていない場合
+   */
+  @Operation(summary = "受講生名簿集計",
+      description = "条件に一致する受講生（コース・受講開始月の場合は受講）を、指定した項目のグループごとに数えます")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "400", description = "グループ化する項目の指定なし"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @GetMapping("/roster")
+  public ResponseEntity<RosterCountResult> countRoster(RosterQueryDTO query) {
+    if (query.groupBy() == null) {
+      throw new MissingParameterException("groupBy の値が必須です");
+    }
+    return ResponseEntity.ok(rosterSnapshot.count(query));
+  }
+
+}
@@ -0,0 +1,125 @@
+package raisetech.student.management.controller.status;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.domain.StatusAdvancementResult;
+import raisetech.student.management.domain.StatusTransitionResult;
+import raisetech.student.management.dto.StatusTransitionDTO;
+import raisetech.student.management.service.status.StatusAdvancementJob;
+import raisetech.student.management.service.status.StatusMaster;
+import raisetech.student.management.service.status.StatusTransitionService;
+
+/**
+ * ステータスマスタの参照・読み込み直しと、受講ステータスの一括遷移・自動更新を行うREST APIとして受け付けるControllerです。
+ */
+@RestController
+@RequestMapping("/statuses")
+@Tag(name = "ステータスマスタ管理", description = "ステータスマスタの参照を行うAPI")
+public class StatusController {
+
+  private final StatusMaster statusMaster;
+  private final StatusTransitionService transitionService;
+  private final StatusAdvancementJob advancementJob;
+
+  /**
+   * コンストラクタ
+   *
+   * @param statusMaster      ステータスマスタの参照表
+   * @param transitionService 受講ステータスの遷移を扱うサービス
+   * @param advancementJob    受講ステータスを日付で自動更新するジョブ
+   */
+  @Autowired
+  public StatusController(StatusMaster statusMaster, StatusTransitionService transitionService,
+      StatusAdvancementJob advancementJob) {
+    this.statusMaster = statusMaster;
+    this.transitionService = transitionService;
+    this.advancementJob = advancementJob;
+  }
+
+  /**
+   * 【ステータスマスタの全件取得】 起動時に読み込んだステータスマスタを表示順で返す（SQLは実行しない）。
+   *
+   * @return ステータスマスタリスト（表示順）
+   */
+  @Operation(summary = "ステータスマスタ全件取得", description = "ステータスID・ステータス名・表示順を表示順で取得します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @GetMapping
+  public ResponseEntity<List<Status>> getStatuses() {
+    return ResponseEntity.ok(statusMaster.getStatusList());
+  }
+
+  /**
+   * 【ステータスマスタの読み込み直し】 DBのステータスマスタを変更した後に呼び出す。
+   *
+   * @return 読み込んだステータスマスタリスト（表示順）
+   */
+  @Operation(summary = "ステータスマスタ読み込み直し", description = "DBからステータスマスタを読み込み直します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @PostMapping("/refresh")
+  public ResponseEntity<List<Status>> refreshStatuses() {
+    return ResponseEntity.ok(statusMaster.refresh());
+  }
+
+  /**
+   * 【受講ステータスの一括遷移】 状態遷移図で遷移できる受講ステータスのみを遷移先のステータスに変更する。
+   * 遷移できない受講IDがあってもエラーにはせず、遷移した受講IDと遷移しなかった受講IDを返す。
+   *
+   * @param request 遷移先のステータスIDと受講IDリスト
+   * @return 遷移した受講ID・遷移しなかった受講ID
+   */
+  @Operation(summary = "受講ステータス一括遷移",
+      description = "状態遷移図に沿って、複数の受講IDの受講ステータスをまとめて変更します")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理完了（遷移しなかった受講IDは rejected・notFound を参照）"),
+      @ApiResponse(responseCode = "400", description = "入力内容が不正です"),
+      @ApiResponse(responseCode = "404", description = "遷移先のステータスが見つかりません"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @PostMapping("/transitions")
+  public ResponseEntity<StatusTransitionResult> transitionStatuses(
+      @RequestBody @Valid StatusTransitionDTO request) {
+    return ResponseEntity.ok(
+        transitionService.transition(request.toStatusId(), request.attendingIds()));
+  }
+
+  /**
+   * 【受講ステータスの自動更新】 定期実行を待たずに、現在日時を基準に受講ステータスの自動更新を実行する。
+   * 途中で失敗した場合も、再実行すれば更新されていない対象だけを更新する。
+   *
+   * @return 遷移ごとの読み込み件数・更新件数
+   */
+  @Operation(summary = "受講ステータス自動更新",
+      description = "受講開始日・受講終了日を過ぎた受講ステータスを、受講中・受講終了に進めます")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "409", description = "自動更新は実行中です（他のインスタンスを含む）"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @PostMapping("/advancements")
+  public ResponseEntity<StatusAdvancementResult> advanceStatuses() {
+    return advancementJob.run(LocalDateTime.now())
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+  }
+
+}
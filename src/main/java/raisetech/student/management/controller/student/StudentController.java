@@ -1,5 +1,9 @@
 package raisetech.student.management.controller.student;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -7,12 +11,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.groups.Default;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.ibatis.annotations.Update;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,9 +32,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import raisetech.student.management.domain.BulkRegisterResult;
+import raisetech.student.management.domain.CsvImportResult;
+import raisetech.student.management.domain.ResourceVersion;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
+import raisetech.student.management.domain.Versioned;
 import raisetech.student.management.exception.MissingParameterException;
+import raisetech.student.management.service.student.StudentBulkService;
+import raisetech.student.management.service.student.StudentCsvImportService;
 import raisetech.student.management.service.student.StudentService;
 
 /**
@@ -36,39 +57,89 @@ import raisetech.student.management.service.student.StudentService;
 @Tag(name = "受講生管理", description = "受講生情報の登録・検索・更新を行うAPI")
 public class StudentController {
 
+  /**
+   * 次ページのカーソルを返すレスポンスヘッダ
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final StudentService service;
+  private final StudentBulkService bulkService;
+  private final StudentCsvImportService importService;
+  private final ObjectMapper objectMapper;
 
   /**
    * コンストラクタ
    *
-   * @param service 受講生サービス
+   * @param service       受講生サービス
+   * @param bulkService   受講生一括登録サービス
+   * @param importService 受講生CSV取り込みサービス
+   * @param objectMapper  エクスポートの書き出し・NDJSONの読み込みに使うObjectMapper
    */
   @Autowired
-  public StudentController(StudentService service) {
+  public StudentController(StudentService service, StudentBulkService bulkService,
+      StudentCsvImportService importService, ObjectMapper objectMapper) {
     this.service = service;
+    this.bulkService = bulkService;
+    this.importService = importService;
+    this.objectMapper = objectMapper;
   }
 
   /**
-   * 【詳細情報検索】 リクエストデータに基づいて検索を行う。
+   * 【詳細情報検索】 リクエストデータに基づいて検索を行う。 受講生ID順に最大limit件を返し、次ページがある場合はカーソルをヘッダに設定する。
    *
    * @param searchForm リクエスト情報
    * @return 該当する受講生詳細情報のリスト
    */
-  @Operation(summary = "受講生詳細検索", description = "クエリパラメータから取得した条件で検索を行います。")
+  @Operation(summary = "受講生詳細検索", description = "クエリパラメータから取得した条件で検索を行います。次ページがある場合は X-Next-Cursor ヘッダの値を cursor に指定して取得します。")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "成功"),
-      @ApiResponse(responseCode = "404", description = "該当する受講生が見つかりません"),
+      @ApiResponse(responseCode = "200", description = "成功（次ページがある場合は X-Next-Cursor ヘッダを含む。このページに該当がなくても次ページがある場合は空のリスト）"),
+      @ApiResponse(responseCode = "404", description = "該当する受講生が見つかりません（次ページもない場合）"),
       @ApiResponse(responseCode = "500", description = "サーバーエラー")
   })
   @GetMapping  // GET /students?__=__
   public ResponseEntity<List<StudentDetail>> searchStudents(StudentSearchForm searchForm) {
 
-    List<StudentDetail> studentDetails = service.getStudentList(searchForm.toDTO());
+    StudentDetailPage page = service.searchStudentPage(searchForm.toDTO());
 
-    if (studentDetails.isEmpty()) {
+    // 次ページのカーソルがある場合は、このページが空でも続きを取得できるよう200で返す
+    if (page.studentDetails().isEmpty() && page.nextCursor() == null) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
-    return ResponseEntity.ok(studentDetails);
+
+    var response = ResponseEntity.ok();
+    if (page.nextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+    }
+    return response.body(page.studentDetails());
+  }
+
+  /**
+   * 【受講生詳細の全件エクスポート】 論理削除済みを除く全受講生の詳細情報を、受講生ID順に1行1件のJSON（NDJSON）で書き出す。
+   *
+   * @return 受講生詳細を順に書き出すレスポンスボディ
+   */
+  @Operation(summary = "受講生詳細エクスポート", description = "全受講生の詳細情報を1行1件のJSON（application/x-ndjson）でストリーミング出力します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportStudents() {
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+        // ルート要素間の既定の区切り（空白）は出力せず、1件ごとに改行で終える
+        generator.setRootValueSeparator(new SerializedString(""));
+        service.exportStudentDetails(studentDetail -> {
+          try {
+            generator.writeObject(studentDetail);
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   /**
@@ -94,35 +165,116 @@ public class StudentController {
   }
 
   /**
-   * 【受講生検索】 IDに紐づく任意の受講生の情報を取得。
+   * 【受講生一括登録】 JSON配列で受け取った受講生詳細をまとめて登録する。
+   *
+   * @param studentDetails 入力情報（受講生詳細情報のリスト）
+   * @return 1件ごとの登録結果（自動生成ID情報を含む）
+   */
+  @Operation(summary = "受講生一括登録", description = "受講生詳細情報のリストを一括登録します。一定件数ごとにコミットし、1件ごとの結果を返します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理完了（1件ごとの成否は items を参照）"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkRegisterResult> registerStudents(
+      @RequestBody List<StudentDetail> studentDetails) {
+    return ResponseEntity.ok(bulkService.registerStudents(studentDetails.iterator()));
+  }
+
+  /**
+   * 【受講生一括登録（NDJSON）】 1行1件のJSONで受け取った受講生詳細を、リクエストを読み込みながら登録する。
+   *
+   * @param body リクエストボディ（1行1件の受講生詳細情報）
+   * @return 1件ごとの登録結果（自動生成ID情報を含む）
+   * @throws IOException リクエストボディの読み込みに失敗した場合
+   */
+  @Operation(summary = "受講生一括登録（NDJSON）", description = "1行1件の受講生詳細情報（application/x-ndjson）を読み込みながら一括登録します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理完了（1件ごとの成否は items を参照）"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<BulkRegisterResult> registerStudentsStream(InputStream body)
+      throws IOException {
+    try (MappingIterator<StudentDetail> studentDetails =
+        objectMapper.readerFor(StudentDetail.class).readValues(body)) {
+      return ResponseEntity.ok(bulkService.registerStudents(studentDetails));
+    }
+  }
+
+  /**
+   * 【受講生CSV取り込み】 アップロードされたCSVファイルを読み込みながら受講生を一括登録する。
+   *
+   * @param file CSVファイル（UTF-8、1行目はヘッダ）
+   * @return 処理件数・処理速度・登録できなかった行
+   * @throws IOException ファイルの読み込みに失敗した場合
+   */
+  @Operation(summary = "受講生CSV取り込み", description = "CSVファイル（ヘッダ：full_name, name_pronunciation, nickname, email, area, birth_date, gender, remark, course_ids）から受講生を一括登録します。course_ids はセミコロン区切りです。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理完了（登録できなかった行は errors を参照）"),
+      @ApiResponse(responseCode = "400", description = "CSVのヘッダが不正です"),
+      @ApiResponse(responseCode = "500", description = "サーバーエラー")
+  })
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<CsvImportResult> importStudents(@RequestParam("file") MultipartFile file)
+      throws IOException {
+    try (InputStream csv = file.getInputStream()) {
+      return ResponseEntity.ok(importService.importStudents(csv));
+    }
+  }
+
+  /**
+   * 【受講生検索】 IDに紐づく任意の受講生の情報を取得。 ETag・Last-Modified を返し、条件付きGET（If-None-Match・
+   * If-Modified-Since）で変更がなければ 304 Not Modified を返す。 条件付きGETの場合は先に版のみを検索し、
+   * 変更がなければ受講生詳細は検索しない。
    *
    * @param studentId 受講生ID
-   * @return 受講生情報
+   * @param request   リクエスト（条件付きGETのヘッダ）
+   * @return 受講生情報（変更がない場合はnull = 304 Not Modified）
    */
-  @Operation(summary = "受講生検索", description = "パスパラメータで指定された受講生IDで検索を行います。")
+  @Operation(summary = "受講生検索", description = "パスパラメータで指定された受講生IDで検索を行います。 If-None-Match・If-Modified-Since に対応します。")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "成功"),
+      @ApiResponse(responseCode = "200", description = "成功（ETag・Last-Modified ヘッダを含む）"),
+      @ApiResponse(responseCode = "304", description = "前回取得時から変更がありません"),
       @ApiResponse(responseCode = "404", description = "該当する受講生が見つかりません"),
       @ApiResponse(responseCode = "500", description = "サーバーエラー")
   })
   @GetMapping("/{studentId}")
-  public StudentDetail getStudent(
+  public ResponseEntity<StudentDetail> getStudent(
       @Parameter(description = "検索する受講生のID", example = "12")
-      @PathVariable @Valid Integer studentId) {
-    return service.searchStudent(studentId);
+      @PathVariable @Valid Integer studentId, WebRequest request) {
+    // 条件付きGETでない場合は版を検索しない（版の分だけSQLが増えるため）
+    boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    Optional<ResourceVersion> known =
+        conditional ? service.findStudentVersion(studentId) : Optional.empty();
+    if (known.isPresent()
+        && request.checkNotModified(known.get().etag(), known.get().lastModified())) {
+      return null;
+    }
+
+    // 変更がある・受講生が見つからない場合は検索する（見つからない場合は検索で 404 Not Found になる）
+    Versioned<StudentDetail> studentDetail = service.searchVersionedStudent(studentId);
+    return ResponseEntity.ok()
+        .eTag(studentDetail.version().etag())
+        .lastModified(studentDetail.version().lastModified())
+        .body(studentDetail.body());
   }
 
   /**
    * 【受講生更新】 指定されたIDの受講生詳細情報を更新する。 キャンセルフラグの更新も行う（論理削除）
+   * 受講生情報のバージョン（検索時に取得したもの）を指定した場合、その後に他の更新があれば 409 Conflict を返す。
    *
    * @param studentId     更新対象の受講生ID
    * @param studentDetail 更新される入力情報（受講生詳細情報）
    * @return 実行結果
    */
-  @Operation(summary = "受講生更新", description = "指定IDの受講生詳細情報を更新します。")
+  @Operation(summary = "受講生更新", description = "指定IDの受講生詳細情報を更新します。 student.version を指定すると、検索後に他の更新があった場合は更新しません。")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "成功"),
       @ApiResponse(responseCode = "400", description = "更新処理に失敗しました"),
+      @ApiResponse(responseCode = "404", description = "該当する受講生が見つかりません"),
+      @ApiResponse(responseCode = "409", description = "検索後に他の更新があったため更新しませんでした"),
       @ApiResponse(responseCode = "500", description = "サーバーエラー")
   })
   @PutMapping("/{studentId}")
@@ -36,17 +36,33 @@ public record StudentSearchForm(
     @Schema(description = "検索するコースカテゴリ", example = "開発系コース")
     String category,
 
-    @Schema(description = "検索する受講開始日", example = "2000-01-01")
+    @Schema(description = "検索する受講期間の開始日（この日以降も受講中のコースが対象）", example = "2025-04-01")
     LocalDate startDate,
 
-    @Schema(description = "検索する受講終了日", example = "2000-01-01")
+    @Schema(description = "検索する受講期間の最終日（この日以前に受講開始したコースが対象）", example = "2025-06-30")
     LocalDate endDate,
 
     @Schema(description = "検索する受講ステータス（リスト）", example = "[5, 99]（ = 受講終了とキャンセル）")
-    List<Integer> statusIds
+    List<Integer> statusIds,
+
+    @Schema(description = "ページングカーソル（前ページのレスポンスヘッダ X-Next-Cursor の値）", example = "120")
+    Integer cursor,
+
+    @Schema(description = "1ページあたりの最大取得件数（既定100、上限1000）", example = "100")
+    Integer limit
 
 ) {
 
+  /**
+   * 1ページあたりの既定の取得件数
+   */
+  public static final int DEFAULT_LIMIT = 100;
+
+  /**
+   * 1ページあたりの取得件数の上限
+   */
+  public static final int MAX_LIMIT = 1000;
+
   /**
    * 【検索フォームStudentSearchFormから検索条件オブジェクトStudentSearchDTOに変換】
    *
@@ -65,10 +81,13 @@ public record StudentSearchForm(
     // statusIds が nullの場合、空リスト List.of() を返す
     var statusIdList = Optional.ofNullable(statusIds).orElse(List.of());
 
+    // 取得件数を 1 ～ MAX_LIMIT に制限（未指定の場合は DEFAULT_LIMIT）
+    var pageLimit = Math.clamp(Optional.ofNullable(limit()).orElse(DEFAULT_LIMIT), 1, MAX_LIMIT);
+
     // リクエストデータをStudentSearchFormからStudentSearchDTOに詰め替え
     return new StudentSearchDTO(
         name(), startBirthDate, endBirthDate, area(), email(), gender(), remark(), courseId(),
-        category(), startDate(), endDate(), statusIdList);
+        category(), startDate(), endDate(), statusIdList, cursor(), pageLimit);
 
   }
 
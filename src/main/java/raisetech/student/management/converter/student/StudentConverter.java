@@ -1,7 +1,9 @@
 package raisetech.student.management.converter.student;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.springframework.stereotype.Component;
 import raisetech.student.management.data.CourseStatus;
@@ -25,23 +27,27 @@ public class StudentConverter {
    */
   public List<StudentDetail> convertStudentDetails(List<Student> students,
       List<CourseDetail> courseDetails) {
-    List<StudentDetail> studentDetails = new ArrayList<>();
+    // studentIdごとにcourseDetailsをグループ化（元の並び順を維持）
+    Map<Integer, List<CourseDetail>> courseDetailMap = new HashMap<>();
+    for (CourseDetail courseDetail : courseDetails) {
+      if (courseDetail.getCourse() == null) {
+        continue;
+      }
+      courseDetailMap.computeIfAbsent(courseDetail.getCourse().getStudentId(),
+          key -> new ArrayList<>()).add(courseDetail);
+    }
 
+    List<StudentDetail> studentDetails = new ArrayList<>();
     for (Student student : students) {
       // student が null の場合はスキップ
       if (Objects.isNull(student)) {
         continue;
       }
 
-      // studentIdに紐づくcourseDetailsフィルタリング
-      List<CourseDetail> convertCourseDetails = courseDetails.stream()
-          .filter(courseDetail -> student.getStudentId()
-              .equals(courseDetail.getCourse().getStudentId()))
-          .toList();
-
       // コース情報がない場合は追加しない
-      if (!convertCourseDetails.isEmpty()) {
-        studentDetails.add(new StudentDetail(student, convertCourseDetails));
+      List<CourseDetail> convertCourseDetails = courseDetailMap.get(student.getStudentId());
+      if (convertCourseDetails != null) {
+        studentDetails.add(new StudentDetail(student, List.copyOf(convertCourseDetails)));
       }
     }
     return studentDetails;
@@ -56,27 +62,25 @@ public class StudentConverter {
    */
   public List<CourseDetail> convertCourseDetails(List<StudentsCourse> courses,
       List<CourseStatus> statuses) {
-    List<CourseDetail> courseDetails = new ArrayList<>();
+    // attendingIdごとに最初に出現したステータスを保持
+    Map<Long, CourseStatus> statusMap = new HashMap<>();
+    for (CourseStatus status : statuses) {
+      if (status != null) {
+        statusMap.putIfAbsent(status.getAttendingId(), status);
+      }
+    }
 
+    List<CourseDetail> courseDetails = new ArrayList<>();
     for (StudentsCourse course : courses) {
       // course == null の場合はスキップ
       if (course == null) {
         continue;
       }
 
-      var courseDetail = new CourseDetail();
-      courseDetail.setCourse(course);
-
-      for (CourseStatus status : statuses) {
-        if (status != null && Objects.equals(course.getAttendingId(), status.getAttendingId())) {
-          courseDetail.setStatus(status);
-          break;
-        }
-      }
-
       // CourseStatusがnullでない場合のみ追加
-      if (courseDetail.getStatus() != null) {
-        courseDetails.add(courseDetail);
+      CourseStatus status = statusMap.get(course.getAttendingId());
+      if (status != null) {
+        courseDetails.add(new CourseDetail(course, status));
       }
     }
     return courseDetails;
@@ -1,7 +1,7 @@
 package raisetech.student.management.data;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,7 +11,6 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @EqualsAndHashCode
 public class CourseStatus {
 
@@ -24,4 +23,19 @@ public class CourseStatus {
   @Schema(description = "ステータスID", example = "99（：キャンセル）※デフォルトは1（：仮申し込み）")
   private Integer statusId;
 
+  // ステータスマスタから設定する（DBには保存しない）
+  @Schema(description = "ステータス名", example = "受講中", accessMode = AccessMode.READ_ONLY)
+  @EqualsAndHashCode.Exclude
+  private String statusName;
+
+  @Schema(description = "ステータスの表示順", example = "4", accessMode = AccessMode.READ_ONLY)
+  @EqualsAndHashCode.Exclude
+  private Integer displayOrder;
+
+  public CourseStatus(Integer id, Long attendingId, Integer statusId) {
+    this.id = id;
+    this.attendingId = attendingId;
+    this.statusId = statusId;
+  }
+
 }
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -63,6 +64,14 @@ public class Student {
   @Schema(description = "キャンセルフラグ")
   private boolean isDeleted;
 
+  @Schema(description = "バージョン（受講生・受講コース情報・受講ステータスの更新ごとに1増える）", example = "0")
+  @EqualsAndHashCode.Exclude
+  private Integer version;
+
+  @Schema(description = "更新日時")
+  @EqualsAndHashCode.Exclude
+  private LocalDateTime updatedAt;
+
   public Student(Integer studentId, String fullName, String namePronunciation, String nickname,
       String email, String area, LocalDate birthDate, String gender, String remark) {
     this.studentId = studentId;
@@ -0,0 +1,77 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "受講生一括登録の結果")
+public record BulkRegisterResult(
+
+    @Schema(description = "受け付けた件数", example = "1000")
+    int total,
+
+    @Schema(description = "登録に成功した件数", example = "998")
+    int succeeded,
+
+    @Schema(description = "登録に失敗した件数", example = "2")
+    int failed,
+
+    @Schema(description = "1件ごとの登録結果（受け付けた順）")
+    List<Item> items
+
+) {
+
+  /**
+   * 1件ごとの登録結果から集計する。
+   *
+   * @param items 1件ごとの登録結果（受け付けた順）
+   * @return 一括登録の結果
+   */
+  public static BulkRegisterResult of(List<Item> items) {
+    int succeeded = (int) items.stream().filter(Item::success).count();
+    return new BulkRegisterResult(items.size(), succeeded, items.size() - succeeded, items);
+  }
+
+  @Schema(description = "1件ごとの登録結果")
+  public record Item(
+
+      @Schema(description = "リクエスト内の位置（0始まり）", example = "0")
+      int index,
+
+      @Schema(description = "登録に成功したかどうか")
+      boolean success,
+
+      @Schema(description = "自動採番された受講生ID（失敗時はnull）", example = "120")
+      Integer studentId,
+
+      @Schema(description = "自動採番された受講IDリスト（失敗時は空）")
+      List<Long> attendingIds,
+
+      @Schema(description = "失敗の理由（成功時はnull）")
+      String message
+
+  ) {
+
+    /**
+     * @param index         リクエスト内の位置
+     * @param studentDetail 登録された受講生詳細（自動採番されたIDを含む）
+     * @return 成功した登録結果
+     */
+    public static Item succeeded(int index, StudentDetail studentDetail) {
+      return new Item(index, true, studentDetail.getStudent().getStudentId(),
+          studentDetail.getCourseDetailList().stream()
+              .map(courseDetail -> courseDetail.getCourse().getAttendingId())
+              .toList(),
+          null);
+    }
+
+    /**
+     * @param index   リクエスト内の位置
+     * @param message 失敗の理由
+     * @return 失敗した登録結果
+     */
+    public static Item failed(int index, String message) {
+      return new Item(index, false, null, List.of(), message);
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "CSV取り込みの結果")
+public record CsvImportResult(
+
+    @Schema(description = "読み込んだデータ行数（ヘッダ・空行を除く）", example = "10000")
+    long rows,
+
+    @Schema(description = "登録できた行数", example = "9990")
+    long imported,
+
+    @Schema(description = "登録できなかった行数", example = "10")
+    long failed,
+
+    @Schema(description = "処理時間（ミリ秒）", example = "5230")
+    long elapsedMillis,
+
+    @Schema(description = "1秒あたりの処理行数", example = "1912.0")
+    double rowsPerSecond,
+
+    @Schema(description = "登録できなかった行とその理由（先頭から上限件数まで）")
+    List<RowError> errors,
+
+    @Schema(description = "エラーが上限件数を超えて省略された場合はtrue")
+    boolean errorsTruncated
+
+) {
+
+  @Schema(description = "登録できなかった行")
+  public record RowError(
+
+      @Schema(description = "CSVの行番号（ヘッダを1行目とする）", example = "12")
+      long line,
+
+      @Schema(description = "登録できなかった理由")
+      String message
+
+  ) {
+
+  }
+
+}
@@ -0,0 +1,15 @@
+package raisetech.student.management.domain;
+
+/**
+ * 受講IDごとの現在の受講ステータスです（ステータス遷移の判定・集計の差分の計算用）。
+ *
+ * @param attendingId    受講ID
+ * @param studentId      受講生ID
+ * @param courseId       コースID
+ * @param statusId       現在のステータスID
+ * @param studentDeleted 受講生が論理削除されているかどうか
+ */
+public record EnrollmentStatus(Long attendingId, Integer studentId, Integer courseId,
+                               Integer statusId, boolean studentDeleted) {
+
+}
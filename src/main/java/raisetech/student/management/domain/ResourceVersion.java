@@ -0,0 +1,32 @@
+package raisetech.student.management.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import raisetech.student.management.data.Student;
+
+/**
+ * 条件付きGET（If-None-Match・If-Modified-Since）で使うリソースの版です。
+ *
+ * @param etag         エンティティタグ（内容が変わると必ず変わる値）
+ * @param lastModified 最終更新日時（エポックミリ秒、不明な場合は-1）
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+  /**
+   * 【受講生詳細の版】 students.version（受講生・受講コース情報・受講ステータスの更新ごとに1増える）と
+   * students.updated_at から作る。
+   *
+   * @param student 受講生情報（受講生ID・バージョン・更新日時のみ使う）
+   * @return 受講生詳細の版
+   */
+  public static ResourceVersion of(Student student) {
+    LocalDateTime updatedAt = student.getUpdatedAt();
+    return new ResourceVersion(
+        "student-" + student.getStudentId() + "-v" + Objects.requireNonNullElse(
+            student.getVersion(), 0),
+        updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant()
+            .toEpochMilli());
+  }
+
+}
@@ -0,0 +1,38 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import raisetech.student.management.dto.RosterQueryDTO.GroupBy;
+
+@Schema(description = "受講生名簿の集計結果（論理削除された受講生を除く）")
+public record RosterCountResult(
+
+    @Schema(description = "集計に使った名簿のスナップショットの作成日時（以降の登録・更新は次の作成まで反映されない）", example = "2025-04-01T00:10:00")
+    LocalDateTime builtAt,
+
+    @Schema(description = "グループ化した項目", example = "AGE")
+    GroupBy groupBy,
+
+    @Schema(description = "条件に一致した件数（受講生の項目は人数、受講の項目は受講の件数）", example = "1200")
+    long total,
+
+    @Schema(description = "グループごとの件数（グループの値の順、件数が0のグループは含まない）")
+    List<Group> groups
+
+) {
+
+  @Schema(description = "グループごとの件数")
+  public record Group(
+
+      @Schema(description = "グループの値（年齢・生年・性別・地域・コースID・受講開始月。生年月日が不明の場合はnull）", example = "25")
+      String key,
+
+      @Schema(description = "件数", example = "120")
+      long count
+
+  ) {
+
+  }
+
+}
@@ -0,0 +1,25 @@
+package raisetech.student.management.domain;
+
+/**
+ * 集計クエリの1行です。 種類（kind）によって、コース×ステータスごとの受講の件数か、地域ごとの受講生の人数を表します。
+ *
+ * @param kind     種類（ENROLLMENT: コース×ステータス / STUDENT: 地域）
+ * @param courseId コースID（ENROLLMENTの場合）
+ * @param statusId ステータスID（ENROLLMENTの場合）
+ * @param area     地域（STUDENTの場合）
+ * @param total    件数
+ */
+public record StatisticsCount(String kind, Integer courseId, Integer statusId, String area,
+                              long total) {
+
+  /**
+   * コース×ステータスごとの受講の件数
+   */
+  public static final String ENROLLMENT = "ENROLLMENT";
+
+  /**
+   * 地域ごとの受講生の人数
+   */
+  public static final String STUDENT = "STUDENT";
+
+}
@@ -0,0 +1,37 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "受講ステータスの日付による自動更新の結果")
+public record StatusAdvancementResult(
+
+    @Schema(description = "基準日時（受講開始日・受講終了日がこの日時以前のものを更新する）", example = "2025-04-01T00:05:00")
+    LocalDateTime baseTime,
+
+    @Schema(description = "遷移ごとの結果（実行した順）")
+    List<Step> steps
+
+) {
+
+  @Schema(description = "遷移ごとの結果")
+  public record Step(
+
+      @Schema(description = "遷移元のステータスID", example = "3")
+      int fromStatusId,
+
+      @Schema(description = "遷移先のステータスID", example = "4")
+      int toStatusId,
+
+      @Schema(description = "対象として読み込んだ件数", example = "120")
+      long scanned,
+
+      @Schema(description = "遷移した件数", example = "120")
+      long changed
+
+  ) {
+
+  }
+
+}
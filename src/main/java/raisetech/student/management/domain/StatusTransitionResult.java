@@ -0,0 +1,36 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "受講ステータス一括遷移の結果")
+public record StatusTransitionResult(
+
+    @Schema(description = "遷移先のステータスID", example = "4")
+    int toStatusId,
+
+    @Schema(description = "遷移した受講IDリスト（受講ID順）")
+    List<Long> moved,
+
+    @Schema(description = "状態遷移図で遷移できないため遷移しなかった受講ID（受講ID順）")
+    List<Rejected> rejected,
+
+    @Schema(description = "受講ステータスが存在しない受講IDリスト（受け付けた順）")
+    List<Long> notFound
+
+) {
+
+  @Schema(description = "遷移しなかった受講IDと現在のステータス")
+  public record Rejected(
+
+      @Schema(description = "受講ID", example = "3")
+      Long attendingId,
+
+      @Schema(description = "現在のステータスID", example = "5")
+      Integer statusId
+
+  ) {
+
+  }
+
+}
@@ -0,0 +1,17 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "受講生詳細情報の検索結果（1ページ分）")
+public record StudentDetailPage(
+
+    @Schema(description = "受講生詳細情報リスト（受講生ID順）")
+    List<StudentDetail> studentDetails,
+
+    @Schema(description = "次ページのカーソル（次ページがない場合はnull）", example = "120")
+    Integer nextCursor
+
+) {
+
+}
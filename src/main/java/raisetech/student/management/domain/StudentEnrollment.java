@@ -0,0 +1,18 @@
+package raisetech.student.management.domain;
+
+/**
+ * 受講生1人の地域・受講コース・受講ステータスを1行にまとめたものです（集計の差分の計算用）。
+ * 受講コース情報・受講ステータスがない場合、該当する項目はnullになります。
+ *
+ * @param studentId   受講生ID
+ * @param area        地域
+ * @param deleted     論理削除されているかどうか
+ * @param attendingId 受講ID
+ * @param courseId    コースID
+ * @param statusRowId 受講ステータスのID
+ * @param statusId    ステータスID
+ */
+public record StudentEnrollment(Integer studentId, String area, boolean deleted, Long attendingId,
+                                Integer courseId, Integer statusRowId, Integer statusId) {
+
+}
@@ -0,0 +1,47 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "受講生の集計（論理削除された受講生を除く）")
+public record StudentStatisticsReport(
+
+    @Schema(description = "最後にDBで集計し直した日時（以降の登録・更新は差分で反映）", example = "2025-04-01T00:10:00")
+    LocalDateTime reconciledAt,
+
+    @Schema(description = "受講生の人数", example = "1200")
+    long students,
+
+    @Schema(description = "コース×ステータスごとの受講の件数（コースID・ステータスID順）")
+    List<CourseStatusCount> courseStatuses,
+
+    @Schema(description = "コースカテゴリごとの受講の件数", example = "{\"開発系コース\": 800, \"制作系コース\": 400}")
+    Map<String, Long> categories,
+
+    @Schema(description = "ステータスIDごとの受講の件数", example = "{\"1\": 30, \"4\": 700}")
+    Map<Integer, Long> statuses,
+
+    @Schema(description = "地域ごとの受講生の人数", example = "{\"東京\": 500, \"大阪\": 300}")
+    Map<String, Long> areas
+
+) {
+
+  @Schema(description = "コース×ステータスごとの受講の件数")
+  public record CourseStatusCount(
+
+      @Schema(description = "コースID", example = "1")
+      Integer courseId,
+
+      @Schema(description = "ステータスID", example = "4")
+      Integer statusId,
+
+      @Schema(description = "受講の件数", example = "120")
+      long count
+
+  ) {
+
+  }
+
+}
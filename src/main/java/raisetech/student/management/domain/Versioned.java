@@ -0,0 +1,12 @@
+package raisetech.student.management.domain;
+
+/**
+ * 版の付いた検索結果です。
+ *
+ * @param body    検索結果
+ * @param version 検索結果の版
+ * @param <T>     検索結果の型
+ */
+public record Versioned<T>(T body, ResourceVersion version) {
+
+}
@@ -0,0 +1,80 @@
+package raisetech.student.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+@Schema(description = "受講生名簿の集計条件（絞り込み・グループ化）")
+public record RosterQueryDTO(
+
+    @Schema(description = "グループ化する項目", example = "AGE")
+    GroupBy groupBy,
+
+    @Schema(description = "絞り込む性別", example = "Female")
+    String gender,
+
+    @Schema(description = "絞り込む地域（完全一致）", example = "東京")
+    String area,
+
+    @Schema(description = "絞り込むコースID", example = "1")
+    Integer courseId,
+
+    @Schema(description = "絞り込む最少年齢", example = "25")
+    Integer minAge,
+
+    @Schema(description = "絞り込む最長年齢", example = "30")
+    Integer maxAge,
+
+    @Schema(description = "絞り込む受講開始日の期間の開始日", example = "2025-04-01")
+    @DateTimeFormat(iso = ISO.DATE)
+    LocalDate startDate,
+
+    @Schema(description = "絞り込む受講開始日の期間の最終日", example = "2025-06-30")
+    @DateTimeFormat(iso = ISO.DATE)
+    LocalDate endDate,
+
+    @Schema(description = "年齢の基準日（nullの場合は当日）", example = "2025-04-01")
+    @DateTimeFormat(iso = ISO.DATE)
+    LocalDate baseDate
+
+) {
+
+  /**
+   * グループ化する項目。 受講生の項目（年齢・生年・性別・地域）は受講生の人数を、受講の項目（コース・受講開始月）は受講の件数を数える。
+   */
+  public enum GroupBy {
+    /**
+     * 年齢（受講生の人数）
+     */
+    AGE,
+    /**
+     * 生年（受講生の人数）
+     */
+    BIRTH_YEAR,
+    /**
+     * 性別（受講生の人数）
+     */
+    GENDER,
+    /**
+     * 地域（受講生の人数）
+     */
+    AREA,
+    /**
+     * コースID（受講の件数）
+     */
+    COURSE,
+    /**
+     * 受講開始月（受講の件数）
+     */
+    START_MONTH;
+
+    /**
+     * @return 受講の件数を数える場合はtrue
+     */
+    public boolean countsEnrollments() {
+      return this == COURSE || this == START_MONTH;
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+package raisetech.student.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(description = "受講ステータス一括遷移のリクエスト")
+public record StatusTransitionDTO(
+
+    @Schema(description = "遷移先のステータスID", example = "4")
+    @NotNull
+    Integer toStatusId,
+
+    @Schema(description = "遷移する受講IDリスト（1000件まで）", example = "[5, 6]")
+    @NotEmpty
+    @Size(max = 1000)
+    List<@NotNull Long> attendingIds
+
+) {
+
+}
@@ -34,14 +34,20 @@ public record StudentSearchDTO(
     @Schema(description = "検索するコースカテゴリ", example = "開発系コース")
     String category,
 
-    @Schema(description = "検索する受講開始日", example = "2000-01-01")
+    @Schema(description = "検索する受講期間の開始日（この日以降も受講中のコースが対象）", example = "2025-04-01")
     LocalDate startDate,
 
-    @Schema(description = "検索する受講終了日", example = "2000-01-01")
+    @Schema(description = "検索する受講期間の最終日（この日以前に受講開始したコースが対象）", example = "2025-06-30")
     LocalDate endDate,
 
     @Schema(description = "検索する受講ステータスID（リスト）", example = "[5, 7]（ = 受講中とキャンセル）")
-    List<Integer> statusIds
+    List<Integer> statusIds,
+
+    @Schema(description = "この受講生IDより後ろから検索する（キーセットページング）", example = "120")
+    Integer afterStudentId,
+
+    @Schema(description = "取得する受講生の最大件数（nullの場合は制限なし）", example = "100")
+    Integer limit
 
 ) {
 
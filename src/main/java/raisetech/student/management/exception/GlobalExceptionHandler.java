@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.mybatis.spring.MyBatisSystemException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -116,6 +118,12 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
+  // 他の更新と競合した（バージョンが一致しない）
+  @ExceptionHandler(VersionConflictException.class)
+  public ResponseEntity<String> handleVersionConflictException(VersionConflictException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+  }
+
   // リクエストにパラメータが含まれていない
   @ExceptionHandler(MissingParameterException.class)
   public ResponseEntity<String> handleMissingParameterException(MissingParameterException ex) {
@@ -128,6 +136,18 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
   }
 
+  // SQLの実行件数の上限超過（マッパーの実行中に発生するため、MyBatisの例外に包まれて届く）
+  @ExceptionHandler(MyBatisSystemException.class)
+  public ResponseEntity<String> handleMyBatisSystemException(MyBatisSystemException ex) {
+    QueryBudgetExceededException budgetExceeded =
+        ExceptionUtils.throwableOfType(ex, QueryBudgetExceededException.class);
+    if (budgetExceeded == null) {
+      return handleOtherException(ex);
+    }
+    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        .body(budgetExceeded.getMessage());
+  }
+
   // その他の例外
   @ExceptionHandler(Exception.class)
   public ResponseEntity<String> handleOtherException(Exception ex) {
@@ -0,0 +1,51 @@
+package raisetech.student.management.exception;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import raisetech.student.management.metrics.QueryBudgetProperties;
+
+/**
+ * 1リクエストあたりのSQLの実行件数が上限（{@link QueryBudgetProperties}）を超えた場合の例外です。
+ */
+@Getter
+public class QueryBudgetExceededException extends RuntimeException {
+
+  private final String endpoint;
+  private final int budget;
+  private final Map<String, Integer> statements;
+
+  /**
+   * コンストラクタ
+   *
+   * @param endpoint   エンドポイント（Controller名.メソッド名）
+   * @param budget     実行件数の上限
+   * @param statements 実行したSQLごとの件数
+   */
+  public QueryBudgetExceededException(String endpoint, int budget,
+      Map<String, Integer> statements) {
+    super(message(endpoint, budget, statements));
+    this.endpoint = endpoint;
+    this.budget = budget;
+    this.statements = Map.copyOf(statements);
+  }
+
+  /**
+   * 【メッセージの作成】 件数の多いSQLから順に並べる。
+   *
+   * @param endpoint   エンドポイント（Controller名.メソッド名）
+   * @param budget     実行件数の上限
+   * @param statements 実行したSQLごとの件数
+   * @return メッセージ
+   */
+  public static String message(String endpoint, int budget, Map<String, Integer> statements) {
+    int count = statements.values().stream().mapToInt(Integer::intValue).sum();
+    return "SQLの実行件数が上限を超えました。[" + Objects.toString(endpoint, "UNKNOWN") + "] " + count + "件（上限 " + budget + "件）："
+        + statements.entrySet().stream()
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+        .map(entry -> entry.getKey() + " x" + entry.getValue())
+        .collect(Collectors.joining(", "));
+  }
+
+}
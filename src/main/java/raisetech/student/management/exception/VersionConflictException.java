@@ -0,0 +1,12 @@
+package raisetech.student.management.exception;
+
+/**
+ * 更新対象が他の更新によって既に変更されていた（バージョンが一致しない）場合の例外です。
+ */
+public class VersionConflictException extends RuntimeException {
+
+  public VersionConflictException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,104 @@
+package raisetech.student.management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * マッパーのSQLごとの実行時間・取得件数・更新件数を記録するMyBatisのインターセプタです。
+ * <ul>
+ *   <li>mybatis.statement：実行時間（タグ statement はマッパー名.SQLのID）</li>
+ *   <li>mybatis.statement.rows：取得件数（type=returned）・更新件数（type=affected）</li>
+ * </ul>
+ * カーソル（queryCursor）はSQLの実行までを計測し、読み出しの時間と件数は含みません。
+ * バッチ実行の更新件数は送信時まで確定しないため記録しません。
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+            CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class})})
+public class MapperMetricsInterceptor implements Interceptor {
+
+  private final MeterRegistry registry;
+
+  /**
+   * コンストラクタ
+   *
+   * @param registry メトリクスの登録先
+   */
+  @Autowired
+  public MapperMetricsInterceptor(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+    String statementId = shortId(statement.getId());
+    String command = statement.getSqlCommandType().name();
+    // 実行件数の上限を超えた場合はここで例外となり、SQLは実行されない
+    QueryCounter.increment(statementId);
+
+    Timer.Sample sample = Timer.start(registry);
+    String exception = "none";
+    try {
+      Object result = invocation.proceed();
+      if (result instanceof List<?> rows) {
+        recordRows(statementId, "returned", rows.size());
+      } else if (result instanceof Integer affected
+          && affected != BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+        recordRows(statementId, "affected", affected);
+      }
+      return result;
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      sample.stop(Timer.builder("mybatis.statement")
+          .description("マッパーのSQLの実行時間")
+          .tag("statement", statementId)
+          .tag("command", command)
+          .tag("exception", exception)
+          .publishPercentileHistogram()
+          .register(registry));
+    }
+  }
+
+  private void recordRows(String statementId, String type, int rows) {
+    DistributionSummary.builder("mybatis.statement.rows")
+        .description("マッパーのSQLの取得件数・更新件数")
+        .tag("statement", statementId)
+        .tag("type", type)
+        .register(registry)
+        .record(rows);
+  }
+
+  // パッケージ名を除いた「マッパー名.SQLのID」にする
+  private static String shortId(String id) {
+    int method = id.lastIndexOf('.');
+    int mapper = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+    return id.substring(mapper + 1);
+  }
+
+}
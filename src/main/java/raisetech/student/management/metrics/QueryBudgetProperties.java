@@ -0,0 +1,50 @@
+package raisetech.student.management.metrics;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 1リクエストあたりのSQLの実行件数の上限（クエリバジェット）の設定です。 件数が上限を超えるリクエストは、
+ * 受講コース情報の件数分SQLを実行する処理（N+1）が疑われます。
+ *
+ * @param mode          上限を超えた場合の扱い
+ * @param defaultBudget エンドポイントごとの上限がない場合の上限
+ * @param endpoints     エンドポイント（Controller名.メソッド名）ごとの上限（負の値は上限なし）
+ */
+@ConfigurationProperties("student.query-budget")
+public record QueryBudgetProperties(@DefaultValue("LOG") Mode mode,
+                                    @DefaultValue("10") int defaultBudget,
+                                    Map<String, Integer> endpoints) {
+
+  public QueryBudgetProperties {
+    endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+  }
+
+  /**
+   * @param endpoint エンドポイント（Controller名.メソッド名、不明な場合はnull）
+   * @return エンドポイントの上限（負の値は上限なし）
+   */
+  public int budgetOf(String endpoint) {
+    return endpoint == null ? defaultBudget : endpoints.getOrDefault(endpoint, defaultBudget);
+  }
+
+  /**
+   * 上限を超えた場合の扱い
+   */
+  public enum Mode {
+    /**
+     * 上限を確認しない
+     */
+    OFF,
+    /**
+     * リクエストの終了時に、超過した件数とSQLを警告ログに出力する
+     */
+    LOG,
+    /**
+     * 上限を超えるSQLを実行する前に {@link raisetech.student.management.exception.QueryBudgetExceededException} で中断する
+     */
+    REJECT
+  }
+
+}
@@ -0,0 +1,101 @@
+package raisetech.student.management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import raisetech.student.management.exception.QueryBudgetExceededException;
+import raisetech.student.management.metrics.QueryBudgetProperties.Mode;
+
+/**
+ * リクエストごとに実行されたSQLの件数を記録するフィルタです。 メトリクス http.server.requests.queries（タグ method・uri）として記録し、
+ * 1リクエストあたりの件数の増加（N+1）を検知できるようにします。
+ * 件数がエンドポイントごとの上限（{@link QueryBudgetProperties}）を超えた場合は、設定に従い警告ログを出力するか、リクエストを中断します。
+ * 非同期で書き出すレスポンス（エクスポート）は、書き出し中のSQLを含みません。
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+  private final MeterRegistry registry;
+  private final QueryBudgetProperties budget;
+
+  /**
+   * コンストラクタ
+   *
+   * @param registry メトリクスの登録先
+   * @param budget   1リクエストあたりのSQLの実行件数の上限
+   */
+  @Autowired
+  public QueryCountFilter(MeterRegistry registry, QueryBudgetProperties budget) {
+    this.registry = registry;
+    this.budget = budget;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    QueryCounter.Listener listener = budget.mode() == Mode.REJECT
+        ? (scope, statementId) -> reject(request, scope) : null;
+    try (QueryCounter.Scope scope = QueryCounter.open(listener)) {
+      filterChain.doFilter(request, response);
+
+      // URIはパスパラメータを含まないパターン（例：/students/{studentId}）で集計する
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      DistributionSummary.builder("http.server.requests.queries")
+          .description("1リクエストあたりのSQLの実行件数")
+          .tag("method", request.getMethod())
+          .tag("uri", Objects.toString(pattern, "UNKNOWN"))
+          .publishPercentileHistogram()
+          .register(registry)
+          .record(scope.count());
+
+      if (budget.mode() == Mode.LOG) {
+        String endpoint = endpointOf(request);
+        int limit = budget.budgetOf(endpoint);
+        if (limit >= 0 && scope.count() > limit) {
+          log.warn(QueryBudgetExceededException.message(endpoint, limit, scope.statements()));
+        }
+      }
+    }
+  }
+
+  /**
+   * 上限を超えるSQLを実行する前にリクエストを中断する（更新中の場合はロールバックされる）。
+   *
+   * @param request リクエスト
+   * @param scope   リクエストの計測範囲
+   */
+  private void reject(HttpServletRequest request, QueryCounter.Scope scope) {
+    String endpoint = endpointOf(request);
+    int limit = budget.budgetOf(endpoint);
+    if (limit >= 0 && scope.count() > limit) {
+      throw new QueryBudgetExceededException(endpoint, limit, scope.statements());
+    }
+  }
+
+  /**
+   * @param request リクエスト
+   * @return 処理するControllerのメソッド（Controller名.メソッド名、未確定の場合はnull）
+   */
+  static String endpointOf(HttpServletRequest request) {
+    if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)
+        instanceof HandlerMethod handler) {
+      return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+    return null;
+  }
+
+}
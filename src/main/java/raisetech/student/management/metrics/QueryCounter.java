@@ -0,0 +1,139 @@
+package raisetech.student.management.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 現在のスレッドで実行されたSQLの件数を数えるカウンタです。 {@link #open()} で計測範囲を開始し、
+ * 範囲内で実行されたSQLを {@link MapperMetricsInterceptor} が数えます。 範囲は入れ子にでき、内側で実行されたSQLは外側の範囲にも数えられます。
+ * 別のスレッドで実行する処理は {@link #wrap(Callable)} で包むと、呼び出し元の範囲に数えられます。
+ */
+public final class QueryCounter {
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private QueryCounter() {
+  }
+
+  /**
+   * 【計測範囲の開始】 try-with-resourcesで閉じること。
+   *
+   * @return 計測範囲
+   */
+  public static Scope open() {
+    return open(null);
+  }
+
+  /**
+   * 【計測範囲の開始】 SQLが実行されるたびに、件数を加算した後で listener を呼び出す。 try-with-resourcesで閉じること。
+   *
+   * @param listener SQLの実行ごとに呼び出す処理（nullの場合は呼び出さない）
+   * @return 計測範囲
+   */
+  public static Scope open(Listener listener) {
+    var scope = new Scope(CURRENT.get(), listener);
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  /**
+   * 【計測範囲の引き継ぎ】 呼び出し元のスレッドの計測範囲を、別のスレッドで実行する処理に引き継ぐ。 処理中に実行されたSQLは
+   * 呼び出し元の範囲に数えられ、範囲の listener（SQLの件数の上限など）も呼び出される。
+   *
+   * @param task 別のスレッドで実行する処理
+   * @param <T>  処理結果の型
+   * @return 実行中のみ呼び出し元の計測範囲を現在の範囲とする処理（計測範囲外の場合は task そのもの）
+   */
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    Scope captured = CURRENT.get();
+    if (captured == null) {
+      return task;
+    }
+    return () -> {
+      Scope previous = CURRENT.get();
+      CURRENT.set(captured);
+      try {
+        return task.call();
+      } finally {
+        if (previous == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * 計測範囲内であれば、現在の範囲とその外側の全ての範囲にSQLを1件加算する。
+   *
+   * @param statementId 実行したSQL（マッパー名.SQLのID）
+   */
+  static void increment(String statementId) {
+    for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+      // 引き継いだ範囲は複数のスレッドから加算されるため、範囲ごとに排他する
+      synchronized (scope) {
+        scope.count++;
+        scope.statements.merge(statementId, 1, Integer::sum);
+      }
+      if (scope.listener != null) {
+        scope.listener.onQuery(scope, statementId);
+      }
+    }
+  }
+
+  /**
+   * SQLの実行ごとに呼び出される処理。 例外を投げた場合はSQLの実行前に中断される。
+   */
+  @FunctionalInterface
+  public interface Listener {
+
+    /**
+     * @param scope       SQLを加算した計測範囲
+     * @param statementId 実行するSQL（マッパー名.SQLのID）
+     */
+    void onQuery(Scope scope, String statementId);
+  }
+
+  /**
+   * SQLの件数の計測範囲（{@link #wrap(Callable)} で引き継いだ場合は複数のスレッドから加算される）
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final Scope parent;
+    private final Listener listener;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+    private int count;
+
+    private Scope(Scope parent, Listener listener) {
+      this.parent = parent;
+      this.listener = listener;
+    }
+
+    /**
+     * @return 範囲内で実行されたSQLの件数
+     */
+    public synchronized int count() {
+      return count;
+    }
+
+    /**
+     * @return SQL（マッパー名.SQLのID）ごとの実行件数（初回の実行順、呼び出した時点のコピー）
+     */
+    public synchronized Map<String, Integer> statements() {
+      return Collections.unmodifiableMap(new LinkedHashMap<>(statements));
+    }
+
+    @Override
+    public void close() {
+      if (parent == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(parent);
+      }
+    }
+  }
+
+}
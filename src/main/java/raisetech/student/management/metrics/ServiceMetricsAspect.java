@@ -0,0 +1,59 @@
+package raisetech.student.management.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 受講生・コースのServiceのpublicメソッドの実行時間を記録するアスペクトです。
+ * メトリクス student.service（タグ class・method・exception）として記録します。
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+  private final MeterRegistry registry;
+
+  /**
+   * コンストラクタ
+   *
+   * @param registry メトリクスの登録先
+   */
+  @Autowired
+  public ServiceMetricsAspect(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * 【Serviceメソッドの計測】
+   *
+   * @param joinPoint 実行するメソッド
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around("execution(public * raisetech.student.management.service.student.StudentService.*(..))"
+      + " || execution(public * raisetech.student.management.service.course.CourseService.*(..))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(registry);
+    String exception = "none";
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      sample.stop(Timer.builder("student.service")
+          .description("Serviceメソッドの実行時間")
+          .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+          .tag("method", joinPoint.getSignature().getName())
+          .tag("exception", exception)
+          .publishPercentileHistogram()
+          .register(registry));
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+package raisetech.student.management.repository.job;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * ジョブのロックを扱うRepository（インターフェース） ジョブのロックテーブルと紐づいています。
+ * 複数のインスタンスで同じジョブを同時に実行しないよう、ジョブごとの行を期限付きで取得・解放するクラスです。
+ * 期限はDBの現在日時から計算するため、インスタンス間の時計のずれに影響されません。
+ */
+@Mapper
+public interface JobLockRepository {
+
+  /**
+   * 【ジョブのロックの取得】 ロックの期限が切れている場合のみ取得する（取得したインスタンスが停止した場合も、期限が過ぎれば取得できる）。
+   *
+   * @param jobName     ジョブ名
+   * @param owner       取得する実行の識別子（解放時に同じ値を指定する）
+   * @param lockSeconds ロックの期限（秒、ジョブの最長の実行時間より長くする）
+   * @return 更新件数（1: 取得した、0: 他の実行がロックしている）
+   */
+  int acquireLock(@Param("jobName") String jobName, @Param("owner") String owner,
+      @Param("lockSeconds") long lockSeconds);
+
+  /**
+   * 【ジョブのロックの解放】 自身が取得したロックのみ解放する（期限切れで他の実行に取得された後は解放しない）。
+   *
+   * @param jobName ジョブ名
+   * @param owner   取得時に指定した実行の識別子
+   * @return 更新件数（1: 解放した、0: 自身のロックではない）
+   */
+  int releaseLock(@Param("jobName") String jobName, @Param("owner") String owner);
+
+}
@@ -0,0 +1,21 @@
+package raisetech.student.management.repository.status;
+
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import raisetech.student.management.data.Status;
+
+/**
+ * ステータスマスタを扱うRepository（インターフェース） ステータスマスタテーブルと紐づいています。
+ * ステータスマスタはアプリからは更新しないため、検索のみ行えるクラスです。
+ */
+@Mapper
+public interface StatusRepository {
+
+  /**
+   * 【ステータスマスタの全件取得】
+   *
+   * @return ステータスマスタリスト（ステータスID順）
+   */
+  List<Status> displayStatusMaster();
+
+}
@@ -0,0 +1,78 @@
+package raisetech.student.management.repository.student;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 受講生情報をバッチ実行（ExecutorType.BATCH）で登録・更新するRepositoryです。 同じSQLの実行をまとめてJDBCのバッチとして送信します。
+ * MySQLでは接続URLの rewriteBatchedStatements=true により、INSERTは複数行の INSERT ... VALUES に書き換えられます。
+ */
+@Repository
+public class StudentBatchRepository {
+
+  private final SqlSessionFactory sqlSessionFactory;
+
+  /**
+   * コンストラクタ
+   *
+   * @param sqlSessionFactory バッチ実行用のセッションを開くファクトリ
+   */
+  @Autowired
+  public StudentBatchRepository(SqlSessionFactory sqlSessionFactory) {
+    this.sqlSessionFactory = sqlSessionFactory;
+  }
+
+  /**
+   * 【バッチ実行】 バッチ実行用のセッションで処理を行い、未送信のSQLを送信してセッションを閉じる。
+   * 実行中のトランザクションがある場合は、その接続上で実行される（コミット・ロールバックはトランザクションに従う）。
+   *
+   * @param work バッチ実行する処理
+   * @param <T>  処理結果の型
+   * @return 処理結果
+   */
+  public <T> T executeBatch(Function<Batch, T> work) {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      StudentRepository mapper = session.getMapper(StudentRepository.class);
+      T result = work.apply(new Batch() {
+        @Override
+        public StudentRepository mapper() {
+          return mapper;
+        }
+
+        @Override
+        public int[] flush() {
+          return session.flushStatements().stream()
+              .flatMapToInt(batchResult -> Arrays.stream(batchResult.getUpdateCounts()))
+              .toArray();
+        }
+      });
+      session.flushStatements();
+      return result;
+    }
+  }
+
+  /**
+   * バッチ実行中のセッション。 mapperの登録・更新メソッドは実行件数の代わりに固定値を返すため、件数はflushの戻り値で確認する。
+   */
+  public interface Batch {
+
+    /**
+     * @return バッチ実行用の受講生Repository
+     */
+    StudentRepository mapper();
+
+    /**
+     * 【送信】 溜まっているSQLを送信する。 自動採番されたIDはこの時点で各パラメータに設定される。
+     *
+     * @return 送信したSQLごとの更新件数（{@link BatchResult} の順。 件数が取得できない場合は負の値）
+     */
+    int[] flush();
+  }
+
+}
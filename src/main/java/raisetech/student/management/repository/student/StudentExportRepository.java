@@ -0,0 +1,128 @@
+package raisetech.student.management.repository.student;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 受講生詳細のエクスポートで使うRepositoryです。 エクスポートはカーソルを開いたまま同じ接続でチャンクごとの検索を行うため、
+ * MySQLではサーバー側カーソル（useCursorFetch=true、fetchSize単位の取得）を使います。 useCursorFetch は接続の全てのSQLを
+ * サーバー側のプリペアドステートメントにするため、student.export.datasource.url を指定した場合は、その接続URLで開く
+ * エクスポート専用の接続プールでのみ使います（他のマッパーの接続には影響しない）。 useCursorFetch などのドライバーのプロパティは
+ * student.export.datasource.data-source-properties.* で指定します。 URLを指定しない場合（H2など）は通常の接続で実行します。
+ */
+@Repository
+public class StudentExportRepository implements AutoCloseable {
+
+  private static final String DATA_SOURCE_PROPERTIES =
+      "student.export.datasource.data-source-properties";
+
+  private static final String MAPPER_LOCATION =
+      "raisetech/student/management/repository/student/StudentRepository.xml";
+
+  private final StudentRepository mapper;
+  private final TransactionTemplate transactionTemplate;
+
+  // エクスポート専用の接続プール（接続URLを指定しない場合はnull）
+  private final HikariDataSource dataSource;
+
+  /**
+   * コンストラクタ
+   *
+   * @param sqlSessionFactory    通常のセッションのファクトリ（専用の接続プールでも同じ設定・プラグインを使う）
+   * @param studentRepository    通常の接続の受講生Repository
+   * @param transactionManager   通常の接続のトランザクションマネージャ
+   * @param dataSourceProperties 通常の接続の設定（専用の接続プールはユーザー名・パスワードを引き継ぐ）
+   * @param environment          専用の接続プールのドライバーのプロパティ（data-source-properties.*）の取得元
+   * @param url                  エクスポート専用の接続URL（空の場合は通常の接続を使う）
+   * @param maximumPoolSize      エクスポート専用の接続プールの最大接続数（同時にエクスポートできる数）
+   */
+  @Autowired
+  public StudentExportRepository(SqlSessionFactory sqlSessionFactory,
+      StudentRepository studentRepository, PlatformTransactionManager transactionManager,
+      DataSourceProperties dataSourceProperties, Environment environment,
+      @Value("${student.export.datasource.url:}") String url,
+      @Value("${student.export.datasource.maximum-pool-size:2}") int maximumPoolSize) {
+    if (url.isBlank()) {
+      this.dataSource = null;
+      this.mapper = studentRepository;
+      this.transactionTemplate = new TransactionTemplate(transactionManager);
+    } else {
+      this.dataSource = dataSourceProperties.initializeDataSourceBuilder()
+          .type(HikariDataSource.class)
+          .url(url)
+          .build();
+      dataSource.setPoolName("student-export");
+      dataSource.setMaximumPoolSize(maximumPoolSize);
+      dataSource.setMinimumIdle(0);
+      // URLに文字列として付けず、ドライバーのプロパティとして渡す（URLのクエリ文字列の有無に依存しない）
+      Binder.get(environment)
+          .bind(DATA_SOURCE_PROPERTIES, Bindable.mapOf(String.class, String.class))
+          .orElse(Map.of())
+          .forEach(dataSource::addDataSourceProperty);
+      this.mapper = new SqlSessionTemplate(exportSessionFactory(sqlSessionFactory, dataSource))
+          .getMapper(StudentRepository.class);
+      this.transactionTemplate = new TransactionTemplate(
+          new DataSourceTransactionManager(dataSource));
+    }
+    transactionTemplate.setReadOnly(true);
+  }
+
+  /**
+   * 【エクスポートの実行】 読み取り専用のトランザクションで処理を行う。 処理中に開いたカーソルは、トランザクションの終了まで使用できる。
+   *
+   * @param work 受講生Repositoryを使って行う処理
+   * @param <T>  処理結果の型
+   * @return 処理結果
+   */
+  public <T> T execute(Function<StudentRepository, T> work) {
+    return transactionTemplate.execute(status -> work.apply(mapper));
+  }
+
+  /**
+   * 【接続プールの終了】 エクスポート専用の接続プールを閉じる（アプリケーションの終了時に呼び出される）。
+   */
+  @Override
+  public void close() {
+    if (dataSource != null) {
+      dataSource.close();
+    }
+  }
+
+  // 通常のセッションと同じ設定・プラグイン（SQLの計測）で、専用の接続プールのセッションのファクトリを作成
+  private static SqlSessionFactory exportSessionFactory(SqlSessionFactory sqlSessionFactory,
+      HikariDataSource dataSource) {
+    Configuration base = sqlSessionFactory.getConfiguration();
+    var configuration = new Configuration();
+    configuration.setMapUnderscoreToCamelCase(base.isMapUnderscoreToCamelCase());
+    configuration.setVariables(base.getVariables());
+    configuration.setDatabaseId(base.getDatabaseId());
+    base.getInterceptors().forEach(configuration::addInterceptor);
+
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDataSource(dataSource);
+    factoryBean.setConfiguration(configuration);
+    factoryBean.setMapperLocations(new ClassPathResource(MAPPER_LOCATION));
+    try {
+      return factoryBean.getObject();
+    } catch (Exception e) {
+      throw new IllegalStateException("エクスポート用のセッションの作成に失敗しました。", e);
+    }
+  }
+
+}
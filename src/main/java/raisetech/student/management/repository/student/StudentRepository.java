@@ -1,10 +1,17 @@
 package raisetech.student.management.repository.student;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import raisetech.student.management.data.CourseStatus;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatisticsCount;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentEnrollment;
 import raisetech.student.management.dto.StudentSearchDTO;
 
 /**
@@ -42,6 +49,15 @@ public interface StudentRepository {
    */
   Student searchStudent(Integer studentId);
 
+  /**
+   * 【受講生の版の検索】 受講生IDから受講生の版（受講生ID・バージョン・更新日時のみ）を検索。
+   * 条件付きGETで、受講生詳細を検索せずに変更の有無を判定するために使う。
+   *
+   * @param studentId 受講生ID
+   * @return 受講生情報（受講生ID・バージョン・更新日時のみ設定。該当しない場合はnull）
+   */
+  Student searchStudentVersion(Integer studentId);
+
   /**
    * 【コース情報検索】 受講生IDに紐づくコース情報を検索。
    *
@@ -50,6 +66,23 @@ public interface StudentRepository {
    */
   List<StudentsCourse> searchStudentsCourses(Integer studentId);
 
+  /**
+   * 【受講生一括検索】 複数の受講生IDに紐づく受講生情報を1回のクエリで検索。
+   *
+   * @param studentIds 受講生IDリスト（空リスト不可）
+   * @return 受講生情報リスト（論理削除済みを除く、受講生ID順）
+   */
+  List<Student> searchStudentsByIds(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 【コース情報一括検索】 複数の受講生IDに紐づくコース情報を1回のクエリで検索。
+   *
+   * @param studentIds 受講生IDリスト（空リスト不可）
+   * @return 受講生IDに紐づくコース情報リスト（受講生ID・受講ID順）
+   */
+  List<StudentsCourse> searchStudentsCoursesByStudentIds(
+      @Param("studentIds") List<Integer> studentIds);
+
   /**
    * 【受講情報検索】　受講IDに紐づく受講ステータスを検索
    *
@@ -58,6 +91,14 @@ public interface StudentRepository {
    */
   CourseStatus searchCourseStatus(Long attendingId);
 
+  /**
+   * 【受講情報一括検索】 複数の受講IDに紐づく受講ステータスを1回のクエリで検索
+   *
+   * @param attendingIds 受講IDリスト（空リスト不可）
+   * @return 受講IDに紐づく受講ステータスリスト
+   */
+  List<CourseStatus> searchCourseStatuses(@Param("attendingIds") List<Long> attendingIds);
+
   /**
    * 【受講生情報の登録】 入力情報を元に、新規受講生を登録。
    *
@@ -80,48 +121,141 @@ public interface StudentRepository {
   int registerCourseStatus(CourseStatus courseStatus);
 
   /**
-   * 【受講生情報の更新】 特定の受講生IDの受講生情報を、入力情報を元に更新。
+   * 【受講生情報の更新】 特定の受講生IDの受講生情報を、入力情報を元に更新（論理削除済みの受講生は更新しない）。 バージョンを指定した場合は、
+   * DBのバージョンと一致する場合のみ更新する（一致しない場合は0件）。 論理削除フラグは更新しない（{@link #updateStudentIsDeleted} で更新する）。
    *
    * @param updateStudent 更新内容（受講生情報）
+   * @return 更新件数
    */
   int updateStudent(Student updateStudent);
 
   /**
    * 【コース情報の更新】 特定の受講IDのコース情報を、入力情報を元に更新。 実際に変更可能なのはコース名のみ（その他は自動設定のため）
+   * 受講生IDが一致しない（他の受講生の）コース情報は更新しない。
    *
    * @param updateCourse 更新内容（コース情報）
+   * @return 更新件数
    */
   int updateStudentsCourses(StudentsCourse updateCourse);
 
+  /**
+   * 【受講生の論理削除・復元】 論理削除済みの受講生も更新する（バージョンと更新日時も更新する）。
+   *
+   * @param studentId 受講生ID
+   * @param isDeleted 論理削除するかどうか
+   * @return 更新件数
+   */
+  int updateStudentIsDeleted(@Param("studentId") Integer studentId,
+      @Param("isDeleted") boolean isDeleted);
+
   /**
    * 【受講ステータスの更新】 特定のステータスIDの受講状況を、入力情報を元に更新。 実際に変更可能なのはステータスのみ（その他は自動設定のため）
+   * 指定した受講生の受講コース情報の受講ステータスのみ更新する（他の受講生の受講ステータスは0件）。
    *
+   * @param studentId    受講生ID
    * @param courseStatus 更新内容（受講ステータス）
+   * @return 更新件数
+   */
+  int updateCourseStatus(@Param("studentId") Integer studentId,
+      @Param("status") CourseStatus courseStatus);
+
+  /**
+   * 【受講ステータスの一括ロック】 複数の受講IDの受講ステータスを受講生IDとともに検索し、トランザクション終了まで行ロックする。
+   *
+   * @param attendingIds 受講IDリスト（空リスト不可）
+   * @return 受講IDごとの現在の受講ステータスリスト（受講ID順）
+   */
+  List<EnrollmentStatus> lockCourseStatuses(@Param("attendingIds") List<Long> attendingIds);
+
+  /**
+   * 【受講ステータスの一括遷移】 複数の受講IDのうち、現在のステータスが遷移元に含まれるものだけを遷移先のステータスに更新。
+   *
+   * @param attendingIds  受講IDリスト（空リスト不可）
+   * @param fromStatusIds 遷移元のステータスIDリスト（空リスト不可）
+   * @param toStatusId    遷移先のステータスID
+   * @return 更新件数
+   */
+  int transitionCourseStatuses(@Param("attendingIds") List<Long> attendingIds,
+      @Param("fromStatusIds") List<Integer> fromStatusIds,
+      @Param("toStatusId") Integer toStatusId);
+
+  /**
+   * 【受講生のバージョン更新】 受講コース情報・受講ステータスのみを更新した受講生のバージョンと更新日時を更新。
+   *
+   * @param studentIds 受講生IDリスト（空リスト不可）
+   * @return 更新件数
+   */
+  int touchStudents(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 【日付で進める受講ステータスの検索】 指定したステータスのうち、受講開始日・受講終了日が基準日時を過ぎたものを受講ID順に検索。
+   * 前回の最後の受講IDより後ろから指定件数だけ取得する（キーセットページング）。
+   *
+   * @param statusId         現在のステータスID
+   * @param startedBy        受講開始日がこの日時以前のものを対象とする（nullの場合は条件にしない）
+   * @param endedBy          受講終了日がこの日時以前のものを対象とする（nullの場合は条件にしない）
+   * @param afterAttendingId この受講IDより後ろから検索する
+   * @param limit            取得する最大件数
+   * @return 受講IDごとの現在の受講ステータスリスト（受講ID順）
+   */
+  List<EnrollmentStatus> findAdvanceableStatuses(@Param("statusId") Integer statusId,
+      @Param("startedBy") LocalDateTime startedBy, @Param("endedBy") LocalDateTime endedBy,
+      @Param("afterAttendingId") Long afterAttendingId, @Param("limit") int limit);
+
+  /**
+   * 【受講生の地域・受講コース・受講ステータスのロック】 論理削除済みの受講生も検索し、受講生・受講コース情報・受講ステータスの行を
+   * トランザクション終了まで行ロックする（同じ受講生の更新は、この検索から順番に行われる）。
+   *
+   * @param studentId 受講生ID
+   * @return 受講コース情報・受講ステータスごとの行（受講ID順、受講コース情報がない場合は1行、受講生がない場合は空）
+   */
+  List<StudentEnrollment> lockStudentEnrollments(Integer studentId);
+
+  /**
+   * 【受講生の集計】 論理削除されていない受講生について、コース×ステータスごとの受講の件数と地域ごとの受講生の人数を集計。
+   *
+   * @return 集計結果（種類ごとの行）
+   */
+  List<StatisticsCount> countStatistics();
+
+  /**
+   * 【受講生の全件エクスポート】 受講生を受講生ID順に1件ずつ読み出すカーソルを取得。 トランザクション内で使用すること。
+   *
+   * @return 受講生のカーソル（論理削除済みを除く）
    */
-  int updateCourseStatus(CourseStatus courseStatus);
+  Cursor<Student> exportStudents();
 
   /**
-   * 【受講生情報の詳細検索】
+   * 【受講生情報の詳細検索】 条件に一致する受講コース情報・受講ステータスがある受講生を、受講生ID順にカーソルより後ろから最大limit件検索。
    *
    * @param condition リクエスト（検索条件）
-   * @return 該当する受講生リスト
+   * @return 該当する受講生リスト（受講生ID順）
    */
   List<Student> findStudent(StudentSearchDTO condition);
 
   /**
-   * 【受講コース情報の詳細検索】
+   * 【受講コース情報の詳細検索】 {@link #findStudent} と同じページの受講生について、条件に一致する受講コース情報を検索。
    *
    * @param condition リクエスト（検索条件）
-   * @return 該当するコース情報リスト
+   * @return 該当するコース情報リスト（受講生ID・受講ID順）
    */
   List<StudentsCourse> findCourse(StudentSearchDTO condition);
 
   /**
-   * 【ステータス情報の詳細検索】
+   * 【ステータス情報の詳細検索】 {@link #findStudent} と同じページの受講生について、条件に一致する受講ステータスを検索。
    *
    * @param condition リクエスト（検索条件）
-   * @return 該当するステータス情報リスト
+   * @return 該当するステータス情報リスト（受講ID順）
    */
   List<CourseStatus> findStatus(StudentSearchDTO condition);
 
+  /**
+   * 【受講生詳細の詳細検索】 受講生・受講コース情報・ステータス情報を1回の結合クエリで検索し、受講生詳細を組み立てる。
+   * 該当する受講生に紐づく行のみを取得する。
+   *
+   * @param condition リクエスト（検索条件）
+   * @return 該当する受講生詳細リスト（受講生ID順）
+   */
+  List<StudentDetail> findStudentDetail(StudentSearchDTO condition);
+
 }
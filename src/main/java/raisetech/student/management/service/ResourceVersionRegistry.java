@@ -0,0 +1,95 @@
+package raisetech.student.management.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.domain.ResourceVersion;
+
+/**
+ * コースマスタ一覧の版（ETag・Last-Modified）を保持するレジストリです。 版が分かっている場合は、
+ * 条件付きGETで変更がなければSQLを実行せずに 304 Not Modified を返せます。
+ * 版（courses.updated_at の最大値と内容のハッシュ）は検索した結果から作り、更新処理（CourseService）がコミット後に破棄します。
+ * 版はアプリのインスタンスごとに1つだけ保持するため、複数インスタンスで動かす場合は他のインスタンスの更新が反映されません
+ * （受講生詳細の版は件数が多く、他のインスタンスでも更新されるため、ここでは保持せずに毎回 students.version を読む）。
+ */
+@Component
+public class ResourceVersionRegistry {
+
+  private volatile ResourceVersion courses;
+
+  // 破棄の回数（検索中に破棄された場合は、検索した古い版を登録しない）
+  private long generation;
+
+  /**
+   * 【世代の取得】 検索の前に取得し、版の登録時に渡す。
+   *
+   * @return 現在の世代
+   */
+  public synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * @return コースマスタ一覧の版（分からない場合は空）
+   */
+  public Optional<ResourceVersion> findCourses() {
+    return Optional.ofNullable(courses);
+  }
+
+  /**
+   * 【コースマスタ一覧の版の登録】
+   *
+   * @param courseList 検索したコースマスタ一覧
+   * @param generation 検索前に取得した世代（検索中に破棄された場合は登録しない）
+   * @return コースマスタ一覧の版
+   */
+  public synchronized ResourceVersion putCourses(List<Course> courseList, long generation) {
+    long lastModified = -1;
+    int hash = 1;
+    for (Course course : courseList) {
+      Timestamp updatedAt = course.getUpdatedAt();
+      if (updatedAt != null) {
+        lastModified = Math.max(lastModified, updatedAt.getTime());
+      }
+      hash = 31 * hash + Objects.hash(course.getCourseId(), course.getCourseName(),
+          course.getCategory(), course.getDuration(), course.isClosed(), updatedAt);
+    }
+    var version = new ResourceVersion(
+        "courses-" + courseList.size() + "-" + Integer.toHexString(hash), lastModified);
+    if (this.generation == generation) {
+      courses = version;
+    }
+    return version;
+  }
+
+  /**
+   * 【コースマスタ一覧の版の破棄】 トランザクション中の場合はコミット後に破棄する。
+   */
+  public void invalidateCourses() {
+    afterCommit(() -> {
+      synchronized (this) {
+        generation++;
+        courses = null;
+      }
+    });
+  }
+
+  private void afterCommit(Runnable task) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          task.run();
+        }
+      });
+    } else {
+      task.run();
+    }
+  }
+
+}
@@ -0,0 +1,169 @@
+package raisetech.student.management.service.course;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.repository.course.CourseRepository;
+
+/**
+ * コースマスタのキャッシュです。 コースIDをキーにしたイミュータブルなスナップショットを保持し、未取得・破棄済みの場合に全件を読み込み直します。
+ * コースマスタの登録・更新時は {@link #invalidate()} でスナップショットを破棄します。 スナップショットにないコースIDは、破棄されるまで
+ * 存在しないものとして扱います（存在しないコースIDの検索のたびに全件を読み込み直さないため）。 呼び出し元がコースマスタを変更しても
+ * スナップショットに影響しないよう、コースマスタはコピーを返します。
+ */
+@Component
+public class CourseMasterCache {
+
+  private final CourseRepository repository;
+
+  // コースIDとコースマスタのスナップショット（null = 未取得・破棄済み）
+  private final AtomicReference<Map<Integer, Course>> snapshot = new AtomicReference<>();
+  // 読み込み直しと破棄を直列に行う（DBの読み込み中に仮想スレッドのキャリアを固定しないよう、synchronizedは使わない）
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder reloads = new LongAdder();
+
+  /**
+   * コンストラクタ
+   *
+   * @param repository コースマスタを扱うリポジトリ
+   */
+  @Autowired
+  public CourseMasterCache(CourseRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * 【コースマスタのID検索】 スナップショットが未取得・破棄済みの場合のみコースマスタを読み込み直して検索する。
+   *
+   * @param courseId 検索するコースID
+   * @return 該当するコースマスタのコピー（スナップショットにない場合は空）
+   */
+  public Optional<Course> findCourse(Integer courseId) {
+    return Optional.ofNullable(current().get(courseId)).map(CourseMasterCache::copyOf);
+  }
+
+  /**
+   * 【カテゴリのコースID検索】
+   *
+   * @param category コースカテゴリ名
+   * @return カテゴリに属するコースIDのリスト
+   */
+  public List<Integer> findCourseIds(String category) {
+    return current().values().stream()
+        .filter(course -> course.getCategory() != null
+            && course.getCategory().name().equals(category))
+        .map(Course::getCourseId)
+        .toList();
+  }
+
+  /**
+   * 【受講期間の取得】
+   *
+   * @param courseId コースID
+   * @return コースの受講期間（月単位、該当するコースがない場合は0）
+   */
+  public int getDuration(Integer courseId) {
+    Course course = current().get(courseId);
+    return course == null ? 0 : course.getDuration();
+  }
+
+  /**
+   * 【スナップショットの破棄】 トランザクション中の場合はコミット後に破棄する。
+   */
+  public void invalidate() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          clear();
+        }
+      });
+    } else {
+      clear();
+    }
+  }
+
+  /**
+   * 【キャッシュの統計情報】
+   *
+   * @return ヒット数・ミス数・再読み込み数
+   */
+  public CacheStats getStats() {
+    return new CacheStats(hits.sum(), misses.sum(), reloads.sum());
+  }
+
+  // スナップショット（未取得・破棄済みの場合は読み込み直したもの）
+  private Map<Integer, Course> current() {
+    Map<Integer, Course> current = snapshot.get();
+    if (current != null) {
+      hits.increment();
+      return current;
+    }
+    misses.increment();
+    return reload(null);
+  }
+
+  // コースマスタのコピー（登録日時・更新日時も含めて複製する）
+  private static Course copyOf(Course course) {
+    return new Course(course.getCourseId(), course.getCourseName(), course.getCategory(),
+        course.getDuration(), course.isClosed(),
+        course.getCreatedAt() == null ? null : (Timestamp) course.getCreatedAt().clone(),
+        course.getUpdatedAt() == null ? null : (Timestamp) course.getUpdatedAt().clone());
+  }
+
+  // 他のスレッドが先に読み込み直していればそれを使う
+  private Map<Integer, Course> reload(Map<Integer, Course> stale) {
+    reloadLock.lock();
+    try {
+      Map<Integer, Course> current = snapshot.get();
+      if (current != null && current != stale) {
+        return current;
+      }
+
+      List<Course> courses = repository.displayCourseMaster();
+      Map<Integer, Course> loaded = courses.stream()
+          .collect(Collectors.toUnmodifiableMap(Course::getCourseId, Function.identity()));
+      snapshot.set(loaded);
+      reloads.increment();
+      return loaded;
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  // 読み込み中のスナップショットが破棄後に設定されないよう、reloadと同じロックで破棄する
+  private void clear() {
+    reloadLock.lock();
+    try {
+      snapshot.set(null);
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * コースマスタキャッシュの統計情報
+   *
+   * @param hits    スナップショットから検索できた回数（該当するコースがない場合を含む）
+   * @param misses  スナップショットが未取得・破棄済みだった回数
+   * @param reloads コースマスタを読み込み直した回数
+   */
+  public record CacheStats(long hits, long misses, long reloads) {
+
+  }
+
+}
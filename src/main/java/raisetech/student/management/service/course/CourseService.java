@@ -1,13 +1,17 @@
 package raisetech.student.management.service.course;
 
 import java.util.List;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.student.management.data.Course;
+import raisetech.student.management.domain.ResourceVersion;
+import raisetech.student.management.domain.Versioned;
 import raisetech.student.management.exception.NoDataException;
 import raisetech.student.management.exception.ProcessFailedException;
 import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.service.ResourceVersionRegistry;
 
 /**
  * コースマスタを取り扱うServiceです。 コースマスタの検索や登録、更新、削除処理を行います。
@@ -17,15 +21,22 @@ public class CourseService {
 
   //	インターフェースCourseを呼び出し
   private final CourseRepository repository;
+  private final CourseMasterCache courseMasterCache;
+  private final ResourceVersionRegistry versionRegistry;
 
   /**
    * コンストラクタ
    *
-   * @param repository コースマスタを扱うリポジトリ
+   * @param repository        コースマスタを扱うリポジトリ
+   * @param courseMasterCache コースマスタのキャッシュ
+   * @param versionRegistry   コースマスタ一覧の版（ETag）のレジストリ
    */
   @Autowired
-  public CourseService(CourseRepository repository) {
+  public CourseService(CourseRepository repository, CourseMasterCache courseMasterCache,
+      ResourceVersionRegistry versionRegistry) {
     this.repository = repository;
+    this.courseMasterCache = courseMasterCache;
+    this.versionRegistry = versionRegistry;
   }
 
   /**
@@ -37,6 +48,27 @@ public class CourseService {
     return repository.displayCourseMaster();
   }
 
+  /**
+   * 【コースマスタ一覧の版の取得】 SQLは実行しない。
+   *
+   * @return コースマスタ一覧の版（取得されていない・更新された後の場合は空）
+   */
+  public Optional<ResourceVersion> findCourseListVersion() {
+    return versionRegistry.findCourses();
+  }
+
+  /**
+   * 【版の付いたコースマスタの全件取得】 コースマスタを全件取得し、版（courses.updated_at・内容）をレジストリに登録する。
+   *
+   * @return コースマスタリスト（全件）とその版
+   */
+  public Versioned<List<Course>> getVersionedCourseList() {
+    // 取得中に更新された場合は古い版を登録しないよう、取得前の世代を渡す
+    long generation = versionRegistry.generation();
+    List<Course> courses = getCourseList();
+    return new Versioned<>(courses, versionRegistry.putCourses(courses, generation));
+  }
+
   /**
    * 【コースマスタの新規作成】
    *
@@ -44,6 +76,8 @@ public class CourseService {
    */
   public void registerCourseMaster(Course course) {
     repository.registerCourseMaster(course);
+    courseMasterCache.invalidate();
+    versionRegistry.invalidateCourses();
   }
 
   /**
@@ -80,6 +114,8 @@ public class CourseService {
     if (updateMasterData == 0) {
       throw new ProcessFailedException("コースマスタは更新されませんでした。");
     }
+    courseMasterCache.invalidate();
+    versionRegistry.invalidateCourses();
 
   }
 
@@ -105,5 +141,16 @@ public class CourseService {
     if (updated == 0) {
       throw new ProcessFailedException("更新が反映されませんでした");
     }
+    courseMasterCache.invalidate();
+    versionRegistry.invalidateCourses();
+  }
+
+  /**
+   * 【コースマスタキャッシュの統計情報】
+   *
+   * @return ヒット数・ミス数・再読み込み数
+   */
+  public CourseMasterCache.CacheStats getCourseMasterCacheStats() {
+    return courseMasterCache.getStats();
   }
 }
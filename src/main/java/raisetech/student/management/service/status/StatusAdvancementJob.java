@@ -0,0 +1,276 @@
+package raisetech.student.management.service.status;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatusAdvancementResult;
+import raisetech.student.management.domain.StatusAdvancementResult.Step;
+import raisetech.student.management.repository.job.JobLockRepository;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.student.StudentSearchIndex;
+import raisetech.student.management.service.student.StudentStatistics;
+import raisetech.student.management.service.student.StudentStatistics.Contribution;
+
+/**
+ * 受講開始日・受講終了日を過ぎた受講ステータスを自動で進めるジョブです（本申し込み → 受講中 → 受講終了）。
+ * 対象を受講ID順のチャンク単位で読み進め、チャンクごとに遷移元のステータスを条件にした1回のUPDATEで更新してコミットします。
+ * 更新は現在のステータスを条件にするため、途中で失敗した場合や複数回実行した場合も、再実行すれば残りの対象だけが更新されます。
+ * 複数のインスタンスで動かす場合も、DBのジョブのロック（job_locks）を取得した1つのインスタンスだけが実行します
+ * （他のインスタンスで実行すると、集計のカウンタなどに同じ差分が重ねて反映されるため）。
+ * メトリクス student.status.advancement（実行時間）・student.status.advancement.rows（読み込み件数・更新件数）を記録します。
+ */
+@Slf4j
+@Component
+public class StatusAdvancementJob {
+
+  /**
+   * 日付で進める遷移（実行する順）。 受講開始日・受講終了日とも過ぎた本申し込みは、1回の実行で受講終了まで進む。
+   */
+  static final List<Rule> RULES = List.of(
+      new Rule("本申し込み", "受講中", Basis.START_DATE),
+      new Rule("受講中", "受講終了", Basis.END_DATE));
+
+  /**
+   * ジョブのロックの名前（job_locks.job_name）
+   */
+  static final String LOCK_NAME = "status-advancement";
+
+  private final StudentRepository studentRepository;
+  private final JobLockRepository jobLockRepository;
+  private final StatusMaster statusMaster;
+  private final StudentSearchIndex searchIndex;
+  private final StudentStatistics statistics;
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final int chunkSize;
+  private final Duration lockAtMostFor;
+
+  // 同じインスタンスで同時に実行しない（スケジュールと手動実行の重複を防ぐ）
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /**
+   * コンストラクタ
+   *
+   * @param studentRepository  受講生を扱うリポジトリ
+   * @param jobLockRepository  複数のインスタンスで同時に実行しないためのジョブのロックを扱うリポジトリ
+   * @param statusMaster       ステータスマスタの参照表（遷移表を含む）
+   * @param searchIndex        受講生詳細検索のメモリ上のインデックス
+   * @param statistics         受講生の集計のカウンタ
+   * @param transactionManager チャンクごとのトランザクションを管理するマネージャ
+   * @param meterRegistry      メトリクスの登録先
+   * @param chunkSize          1回のトランザクションで更新する件数
+   * @param lockAtMostFor      ジョブのロックの期限（実行中のインスタンスが停止した場合は、期限が過ぎるまで他のインスタンスで実行できない）
+   */
+  @Autowired
+  public StatusAdvancementJob(StudentRepository studentRepository,
+      JobLockRepository jobLockRepository, StatusMaster statusMaster,
+      StudentSearchIndex searchIndex, StudentStatistics statistics,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${student.status-advancement.chunk-size:1000}") int chunkSize,
+      @Value("${student.status-advancement.lock-at-most-for:1h}") Duration lockAtMostFor) {
+    this.studentRepository = studentRepository;
+    this.jobLockRepository = jobLockRepository;
+    this.statusMaster = statusMaster;
+    this.searchIndex = searchIndex;
+    this.statistics = statistics;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.meterRegistry = meterRegistry;
+    this.chunkSize = Math.max(1, chunkSize);
+    this.lockAtMostFor = lockAtMostFor;
+  }
+
+  /**
+   * 【定期実行】 設定（student.status-advancement.cron、"-"の場合は実行しない）の日時に、現在日時を基準に実行する。
+   */
+  @Scheduled(cron = "${student.status-advancement.cron:0 5 0 * * *}")
+  public void advanceScheduled() {
+    run(LocalDateTime.now())
+        .ifPresent(result -> log.info("受講ステータスを自動更新しました。：{}", result));
+  }
+
+  /**
+   * 【受講ステータスの自動更新】 遷移ごとに、基準日時を過ぎた受講ステータスをチャンク単位で更新する。
+   * 失敗した場合はそれまでのチャンクの更新はコミットされたまま例外をthrowする（再実行で残りを更新する）。
+   *
+   * @param baseTime 基準日時
+   * @return 遷移ごとの結果（このインスタンス・他のインスタンスで既に実行中の場合は空）
+   */
+  public Optional<StatusAdvancementResult> run(LocalDateTime baseTime) {
+    if (!running.compareAndSet(false, true)) {
+      log.warn("受講ステータスの自動更新は実行中のためスキップしました。");
+      return Optional.empty();
+    }
+    try {
+      // 実行ごとの識別子でロックする（期限切れで他の実行に取得された後に、そのロックを解放しない）
+      String owner = UUID.randomUUID().toString();
+      if (jobLockRepository.acquireLock(LOCK_NAME, owner, lockAtMostFor.toSeconds()) == 0) {
+        log.warn("受講ステータスの自動更新は他のインスタンスで実行中のためスキップしました。");
+        return Optional.empty();
+      }
+      try {
+        return Optional.of(advanceAll(baseTime));
+      } finally {
+        release(owner);
+      }
+    } finally {
+      running.set(false);
+    }
+  }
+
+  /**
+   * ジョブのロックを取得した実行で、遷移ごとに受講ステータスを更新する（実行時間をメトリクスに記録する）。
+   */
+  private StatusAdvancementResult advanceAll(LocalDateTime baseTime) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = "none";
+    try {
+      Map<String, Integer> statusIds = statusMaster.getStatusList().stream()
+          .collect(Collectors.toMap(Status::getStatusName, Status::getStatusId, (a, b) -> a));
+      StatusTransitions transitions = statusMaster.transitions();
+
+      List<Step> steps = new ArrayList<>();
+      for (Rule rule : RULES) {
+        Integer from = statusIds.get(rule.from());
+        Integer to = statusIds.get(rule.to());
+        // ステータスマスタにない・状態遷移図で遷移できない遷移は行わない
+        if (from == null || to == null || !transitions.canTransition(from, to)) {
+          log.warn("受講ステータスの自動更新をスキップしました。：{} → {}", rule.from(), rule.to());
+          continue;
+        }
+        steps.add(advance(rule.basis(), from, to, baseTime));
+      }
+      return new StatusAdvancementResult(baseTime, steps);
+    } catch (RuntimeException e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      sample.stop(Timer.builder("student.status.advancement")
+          .description("受講ステータスの自動更新の実行時間")
+          .tag("exception", exception)
+          .register(meterRegistry));
+    }
+  }
+
+  // 解放に失敗した場合も、ロックは期限が過ぎれば他の実行が取得できる（実行の結果・例外は変えない）
+  private void release(String owner) {
+    try {
+      jobLockRepository.releaseLock(LOCK_NAME, owner);
+    } catch (RuntimeException e) {
+      log.warn("受講ステータスの自動更新のロックを解放できませんでした。", e);
+    }
+  }
+
+  /**
+   * 1つの遷移について、対象を受講ID順に読み進めながらチャンクごとに更新する。
+   * 更新済みの行は遷移元のステータスでなくなるが、読み進める位置は受講IDで管理するため、更新されなかった行も読み直さない。
+   */
+  private Step advance(Basis basis, int from, int to, LocalDateTime baseTime) {
+    Counter scannedCounter = rows(from, to, "scanned");
+    Counter changedCounter = rows(from, to, "changed");
+    LocalDateTime startedBy = basis == Basis.START_DATE ? baseTime : null;
+    LocalDateTime endedBy = basis == Basis.END_DATE ? baseTime : null;
+
+    long scanned = 0;
+    long changed = 0;
+    long afterAttendingId = 0;
+    while (true) {
+      List<EnrollmentStatus> chunk = studentRepository.findAdvanceableStatuses(from, startedBy,
+          endedBy, afterAttendingId, chunkSize);
+      if (chunk.isEmpty()) {
+        break;
+      }
+      Integer updated = transactionTemplate.execute(status -> applyChunk(chunk, from, to));
+      scanned += chunk.size();
+      changed += updated == null ? 0 : updated;
+      scannedCounter.increment(chunk.size());
+      changedCounter.increment(updated == null ? 0 : updated);
+
+      afterAttendingId = chunk.getLast().attendingId();
+      if (chunk.size() < chunkSize) {
+        break;
+      }
+    }
+    return new Step(from, to, scanned, changed);
+  }
+
+  /**
+   * チャンクの受講ステータスを、遷移元のステータスのままのものだけ1回のUPDATEで遷移する（読み込み後に変更されたものは更新しない）。
+   *
+   * @return 更新件数
+   */
+  private int applyChunk(List<EnrollmentStatus> chunk, int from, int to) {
+    int updated = studentRepository.transitionCourseStatuses(
+        chunk.stream().map(EnrollmentStatus::attendingId).toList(), List.of(from), to);
+    if (updated > 0) {
+      List<Integer> studentIds = chunk.stream()
+          .map(EnrollmentStatus::studentId)
+          .distinct()
+          .sorted()
+          .toList();
+      studentRepository.touchStudents(studentIds);
+      searchIndex.refreshAfterCommit(studentIds);
+    }
+    if (updated == chunk.size()) {
+      statistics.applyAfterCommit(List.of(Contribution.ofEnrollments(chunk)),
+          List.of(Contribution.ofEnrollments(chunk, to)));
+    } else if (updated > 0) {
+      // 一部の行だけが更新された場合は、どの行が遷移したか分からないため集計し直す
+      statistics.invalidateAfterCommit();
+    }
+    return updated;
+  }
+
+  private Counter rows(int from, int to, String result) {
+    return Counter.builder("student.status.advancement.rows")
+        .description("受講ステータスの自動更新で読み込んだ件数（scanned）・更新した件数（changed）")
+        .tag("from", String.valueOf(from))
+        .tag("to", String.valueOf(to))
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 遷移を判定する日付
+   */
+  enum Basis {
+    /**
+     * 受講開始日
+     */
+    START_DATE,
+    /**
+     * 受講終了日
+     */
+    END_DATE
+  }
+
+  /**
+   * 日付で進める遷移
+   *
+   * @param from  遷移元のステータス名
+   * @param to    遷移先のステータス名
+   * @param basis 遷移を判定する日付
+   */
+  record Rule(String from, String to, Basis basis) {
+
+  }
+
+}
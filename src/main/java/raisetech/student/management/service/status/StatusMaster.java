@@ -0,0 +1,162 @@
+package raisetech.student.management.service.status;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.repository.status.StatusRepository;
+
+/**
+ * ステータスマスタの参照表です。 起動時にステータスマスタを全件読み込み、ステータスIDを添字にした配列（イミュータブルなスナップショット）で保持するため、
+ * 受講ステータスへのステータス名・表示順の設定はSQLの結合なしに1件あたり配列の参照1回で行えます。
+ * ステータスマスタはアプリから更新しないため、DBを直接変更した場合は {@link #refresh()} で読み込み直します。
+ * 状態遷移図の遷移表（{@link StatusTransitions}）もスナップショットと一緒に作成します。
+ * 取得したステータスマスタはスナップショットと共有しているため、変更しないでください。
+ */
+@Component
+public class StatusMaster {
+
+  private final StatusRepository repository;
+
+  // ステータスマスタと遷移表のスナップショット（未取得の場合はnull）
+  private volatile Snapshot snapshot;
+  // 読み込み直しを直列に行う（DBの読み込み中に仮想スレッドのキャリアを固定しないよう、synchronizedは使わない）
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  /**
+   * @param table       ステータスIDを添字にしたステータスマスタ（該当なしはnull）
+   * @param transitions ステータスマスタから作成した遷移表
+   */
+  private record Snapshot(Status[] table, StatusTransitions transitions) {
+
+  }
+
+  /**
+   * コンストラクタ
+   *
+   * @param repository ステータスマスタを扱うリポジトリ
+   */
+  @Autowired
+  public StatusMaster(StatusRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * 【起動時の読み込み】 最初のリクエストで読み込まないよう、起動完了時に読み込む。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    refresh();
+  }
+
+  /**
+   * 【ステータスマスタの読み込み直し】 読み込み中の検索は読み込み前のスナップショットを参照する。
+   *
+   * @return 読み込んだステータスマスタリスト（表示順）
+   */
+  public List<Status> refresh() {
+    refreshLock.lock();
+    try {
+      List<Status> statuses = repository.displayStatusMaster();
+      int maxId = statuses.stream().mapToInt(Status::getStatusId).max().orElse(-1);
+      Status[] loaded = new Status[maxId + 1];
+      for (Status status : statuses) {
+        loaded[status.getStatusId()] = status;
+      }
+      snapshot = new Snapshot(loaded, new StatusTransitions(loaded));
+      return sorted(loaded);
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 【ステータスマスタのID検索】
+   *
+   * @param statusId ステータスID
+   * @return 該当するステータスマスタ
+   */
+  public Optional<Status> findStatus(Integer statusId) {
+    Status[] current = snapshot().table();
+    if (statusId == null || statusId < 0 || statusId >= current.length) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(current[statusId]);
+  }
+
+  /**
+   * 【ステータスマスタの全件取得】
+   *
+   * @return ステータスマスタリスト（表示順）
+   */
+  public List<Status> getStatusList() {
+    return sorted(snapshot().table());
+  }
+
+  /**
+   * 【遷移表の取得】
+   *
+   * @return ステータスマスタから作成した状態遷移図の遷移表
+   */
+  public StatusTransitions transitions() {
+    return snapshot().transitions();
+  }
+
+  /**
+   * 【ステータス名・表示順の設定】 ステータスマスタにないステータスIDの場合はnullを設定する。
+   *
+   * @param courseStatus 受講ステータス（nullの場合は何もしない）
+   */
+  public void enrich(CourseStatus courseStatus) {
+    if (courseStatus == null) {
+      return;
+    }
+    Status status = findStatus(courseStatus.getStatusId()).orElse(null);
+    courseStatus.setStatusName(status == null ? null : status.getStatusName());
+    courseStatus.setDisplayOrder(status == null ? null : status.getDisplayOrder());
+  }
+
+  /**
+   * 【ステータス名・表示順の一括設定】
+   *
+   * @param courseStatuses 受講ステータス
+   */
+  public void enrich(Collection<CourseStatus> courseStatuses) {
+    courseStatuses.forEach(this::enrich);
+  }
+
+  // 起動完了前に参照された場合はその場で読み込む
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      refreshLock.lock();
+      try {
+        if (snapshot == null) {
+          refresh();
+        }
+        current = snapshot;
+      } finally {
+        refreshLock.unlock();
+      }
+    }
+    return current;
+  }
+
+  private static List<Status> sorted(Status[] table) {
+    return Arrays.stream(table)
+        .filter(Objects::nonNull)
+        .sorted(Comparator.comparingInt(Status::getDisplayOrder)
+            .thenComparing(Status::getStatusId))
+        .toList();
+  }
+
+}
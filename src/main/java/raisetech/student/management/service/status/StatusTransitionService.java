@@ -0,0 +1,103 @@
+package raisetech.student.management.service.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatusTransitionResult;
+import raisetech.student.management.domain.StatusTransitionResult.Rejected;
+import raisetech.student.management.exception.NoDataException;
+import raisetech.student.management.exception.ProcessFailedException;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.student.StudentSearchIndex;
+import raisetech.student.management.service.student.StudentStatistics;
+import raisetech.student.management.service.student.StudentStatistics.Contribution;
+
+/**
+ * 受講ステータスの遷移を取り扱うServiceです。 状態遷移図（{@link StatusTransitions}）で遷移できる受講ステータスのみを、
+ * 受講IDの件数によらず一定回数のSQL（ロック・遷移元を条件にした更新・受講生のバージョン更新）でまとめて遷移します。
+ */
+@Service
+public class StatusTransitionService {
+
+  private final StudentRepository studentRepository;
+  private final StatusMaster statusMaster;
+  private final StudentSearchIndex searchIndex;
+  private final StudentStatistics statistics;
+
+  /**
+   * コンストラクタ
+   *
+   * @param studentRepository 受講生を扱うリポジトリ
+   * @param statusMaster      ステータスマスタの参照表（遷移表を含む）
+   * @param searchIndex       受講生詳細の検索インデックス
+   * @param statistics        受講生の集計のカウンタ
+   */
+  @Autowired
+  public StatusTransitionService(StudentRepository studentRepository, StatusMaster statusMaster,
+      StudentSearchIndex searchIndex, StudentStatistics statistics) {
+    this.studentRepository = studentRepository;
+    this.statusMaster = statusMaster;
+    this.searchIndex = searchIndex;
+    this.statistics = statistics;
+  }
+
+  /**
+   * 【受講ステータスの一括遷移】 指定された受講IDのうち、現在のステータスから遷移先に遷移できるものだけを遷移する。
+   * 遷移できない受講ID・受講ステータスが存在しない受講IDは遷移せず、結果に含めて返す（例外にはしない）。
+   *
+   * @param toStatusId   遷移先のステータスID
+   * @param attendingIds 遷移する受講IDリスト（重複は除く）
+   * @return 遷移した受講ID・遷移しなかった受講ID
+   * @throws NoDataException 遷移先のステータスがステータスマスタにない場合
+   */
+  @Transactional
+  public StatusTransitionResult transition(Integer toStatusId, List<Long> attendingIds) {
+    if (statusMaster.findStatus(toStatusId).isEmpty()) {
+      throw new NoDataException("該当するステータスが見つかりません。ID：" + toStatusId);
+    }
+    StatusTransitions transitions = statusMaster.transitions();
+    List<Long> ids = attendingIds.stream().distinct().toList();
+
+    // 遷移の判定から更新までの間に他の更新が入らないよう、対象の受講ステータスを行ロックする
+    List<EnrollmentStatus> movable = new ArrayList<>();
+    List<Rejected> rejected = new ArrayList<>();
+    Set<Long> found = new HashSet<>();
+    for (EnrollmentStatus current : studentRepository.lockCourseStatuses(ids)) {
+      found.add(current.attendingId());
+      if (transitions.canTransition(current.statusId(), toStatusId)) {
+        movable.add(current);
+      } else {
+        rejected.add(new Rejected(current.attendingId(), current.statusId()));
+      }
+    }
+    List<Long> notFound = ids.stream().filter(id -> !found.contains(id)).toList();
+    List<Long> moved = movable.stream().map(EnrollmentStatus::attendingId).distinct().toList();
+
+    if (!moved.isEmpty()) {
+      // 遷移元のステータスを条件にした1回のUPDATEで遷移する（ロック済みのため全件更新されるはず）
+      int updated = studentRepository.transitionCourseStatuses(moved,
+          transitions.predecessorsOf(toStatusId), toStatusId);
+      if (updated != movable.size()) {
+        throw new ProcessFailedException("受講ステータスの遷移が反映されませんでした");
+      }
+
+      List<Integer> studentIds = movable.stream()
+          .map(EnrollmentStatus::studentId)
+          .distinct()
+          .sorted()
+          .toList();
+      studentRepository.touchStudents(studentIds);
+      searchIndex.refreshAfterCommit(studentIds);
+      statistics.applyAfterCommit(List.of(Contribution.ofEnrollments(movable)),
+          List.of(Contribution.ofEnrollments(movable, toStatusId)));
+    }
+
+    return new StatusTransitionResult(toStatusId, moved, rejected, notFound);
+  }
+
+}
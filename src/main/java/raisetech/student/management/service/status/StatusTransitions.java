@@ -0,0 +1,128 @@
+package raisetech.student.management.service.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import raisetech.student.management.data.Status;
+
+/**
+ * 受講ステータスの遷移表です。 状態遷移図（docs/uml/status.md）の遷移をステータス名で定義し、ステータスマスタの読み込み時に
+ * 遷移元ごとの遷移先・遷移先ごとの遷移元をビットマスクに変換して保持するため、遷移の判定はビット演算1回で行えます。
+ * ビットの位置はステータスID順の並び（ステータスIDは連番とは限らないため）で、ステータスは64件までです。
+ */
+public final class StatusTransitions {
+
+  /**
+   * 状態遷移図の遷移（遷移元のステータス名 → 遷移先のステータス名）。 受講終了・キャンセルは終端のため遷移先はない。
+   */
+  static final Map<String, List<String>> GRAPH = Map.of(
+      "仮申し込み", List.of("入金待ち", "キャンセル"),
+      "入金待ち", List.of("本申し込み", "キャンセル"),
+      "本申し込み", List.of("受講中", "キャンセル"),
+      "受講中", List.of("受講終了", "受講中断", "キャンセル"),
+      "受講中断", List.of("受講中"));
+
+  // ビットの位置 → ステータスID
+  private final int[] statusIds;
+
+  // ステータスID → ビットの位置（ステータスマスタにない場合は-1）
+  private final int[] positions;
+
+  // ビットの位置ごとの遷移先・遷移元
+  private final long[] successors;
+  private final long[] predecessors;
+
+  /**
+   * コンストラクタ
+   *
+   * @param table ステータスIDを添字にしたステータスマスタ（該当なしはnull）
+   */
+  StatusTransitions(Status[] table) {
+    Status[] statuses = Arrays.stream(table).filter(Objects::nonNull).toArray(Status[]::new);
+    if (statuses.length > Long.SIZE) {
+      throw new IllegalStateException(
+          "ステータスが多すぎるため遷移表を作成できません（" + statuses.length + "件）");
+    }
+
+    statusIds = new int[statuses.length];
+    positions = new int[table.length];
+    Arrays.fill(positions, -1);
+    Map<String, Integer> positionByName = new HashMap<>();
+    for (int i = 0; i < statuses.length; i++) {
+      statusIds[i] = statuses[i].getStatusId();
+      positions[statusIds[i]] = i;
+      positionByName.put(statuses[i].getStatusName(), i);
+    }
+
+    // ステータスマスタにないステータス名の遷移は除く
+    successors = new long[statuses.length];
+    predecessors = new long[statuses.length];
+    GRAPH.forEach((fromName, toNames) -> {
+      Integer from = positionByName.get(fromName);
+      if (from == null) {
+        return;
+      }
+      for (String toName : toNames) {
+        Integer to = positionByName.get(toName);
+        if (to != null) {
+          successors[from] |= 1L << to;
+          predecessors[to] |= 1L << from;
+        }
+      }
+    });
+  }
+
+  /**
+   * 【遷移の判定】
+   *
+   * @param fromStatusId 遷移元のステータスID
+   * @param toStatusId   遷移先のステータスID
+   * @return 状態遷移図で遷移できる場合はtrue（ステータスマスタにない場合はfalse）
+   */
+  public boolean canTransition(Integer fromStatusId, Integer toStatusId) {
+    int from = positionOf(fromStatusId);
+    int to = positionOf(toStatusId);
+    return from >= 0 && to >= 0 && (successors[from] & (1L << to)) != 0;
+  }
+
+  /**
+   * 【遷移元の取得】
+   *
+   * @param toStatusId 遷移先のステータスID
+   * @return 遷移先に遷移できるステータスIDリスト（ステータスID順、ステータスマスタにない場合は空）
+   */
+  public List<Integer> predecessorsOf(Integer toStatusId) {
+    int to = positionOf(toStatusId);
+    return to < 0 ? List.of() : statusIdsOf(predecessors[to]);
+  }
+
+  /**
+   * 【遷移先の取得】
+   *
+   * @param fromStatusId 遷移元のステータスID
+   * @return 遷移元から遷移できるステータスIDリスト（ステータスID順、ステータスマスタにない場合は空）
+   */
+  public List<Integer> successorsOf(Integer fromStatusId) {
+    int from = positionOf(fromStatusId);
+    return from < 0 ? List.of() : statusIdsOf(successors[from]);
+  }
+
+  private int positionOf(Integer statusId) {
+    if (statusId == null || statusId < 0 || statusId >= positions.length) {
+      return -1;
+    }
+    return positions[statusId];
+  }
+
+  private List<Integer> statusIdsOf(long mask) {
+    List<Integer> ids = new ArrayList<>(Long.bitCount(mask));
+    for (long rest = mask; rest != 0; rest &= rest - 1) {
+      ids.add(statusIds[Long.numberOfTrailingZeros(rest)]);
+    }
+    return List.copyOf(ids);
+  }
+
+}
@@ -0,0 +1,124 @@
+package raisetech.student.management.service.student;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV（RFC 4180）を1レコードずつ読み込むReaderです。 ファイル全体を保持せず、呼び出しごとに次のレコードだけを読み込みます。
+ * ダブルクォートで囲まれた項目内のカンマ・改行・2重のダブルクォート、CRLF改行、先頭のBOMに対応します。
+ */
+final class CsvRecordReader implements Closeable {
+
+  private static final int BOM = '\uFEFF';
+
+  private final PushbackReader reader;
+  private long line = 1;
+  private boolean started;
+
+  /**
+   * コンストラクタ
+   *
+   * @param reader 読み込むCSV
+   */
+  CsvRecordReader(Reader reader) {
+    this.reader = new PushbackReader(new BufferedReader(reader));
+  }
+
+  /**
+   * 【次のレコードの読み込み】
+   *
+   * @return 次のレコード（ファイルの終わりの場合はnull）
+   * @throws IOException 読み込みに失敗した場合
+   */
+  CsvRecord next() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+
+    long recordLine = line;
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          // 引用符が閉じられないままファイルが終わった
+          fields.add(field.toString());
+          return new CsvRecord(recordLine, fields, true);
+        }
+        if (c == '"') {
+          int next = read();
+          if (next != '"') {
+            quoted = false;
+            c = next;
+            continue;
+          }
+        } else if (c == '\n') {
+          line++;
+        }
+        field.append((char) c);
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\r' || c == '\n' || c == -1) {
+        if (c == '\r') {
+          int next = read();
+          if (next != '\n' && next != -1) {
+            reader.unread(next);
+          }
+        }
+        if (c != -1) {
+          line++;
+        }
+        fields.add(field.toString());
+        return new CsvRecord(recordLine, fields, false);
+      } else {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  // ファイル先頭のBOMは読み飛ばす
+  private int read() throws IOException {
+    int c = reader.read();
+    if (!started) {
+      started = true;
+      if (c == BOM) {
+        c = reader.read();
+      }
+    }
+    return c;
+  }
+
+  /**
+   * CSVの1レコード
+   *
+   * @param line         レコードの開始行（1始まり）
+   * @param fields       項目のリスト
+   * @param unterminated 引用符が閉じられていない場合はtrue
+   */
+  record CsvRecord(long line, List<String> fields, boolean unterminated) {
+
+    /**
+     * @return 空行の場合はtrue
+     */
+    boolean isBlank() {
+      return fields.size() == 1 && fields.getFirst().isBlank();
+    }
+  }
+
+}
@@ -0,0 +1,29 @@
+package raisetech.student.management.service.student;
+
+/**
+ * 受講生詳細検索の実行方式です。 設定値 student.search.mode で切り替えます。
+ */
+public enum SearchMode {
+
+  /**
+   * 受講生・受講コース情報・ステータス情報をそれぞれ検索し、アプリケーション側で結合する。
+   */
+  SEPARATE,
+
+  /**
+   * 1回の結合クエリで該当する受講生の行のみを取得し、受講生詳細を組み立てる。
+   */
+  JOINED,
+
+  /**
+   * DBを検索せず、メモリ上の検索インデックス（{@link StudentSearchIndex}）で検索する。
+   */
+  INDEX,
+
+  /**
+   * SEPARATE と同じ3つの検索を、それぞれ別の接続で同時に実行する（仮想スレッド）。 検索時間は最も遅い検索の時間になる。
+   * 待ち時間の上限は設定値 student.search.parallel-timeout で指定する。
+   */
+  PARALLEL
+
+}
@@ -0,0 +1,240 @@
+package raisetech.student.management.service.student;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.BulkRegisterResult;
+import raisetech.student.management.domain.BulkRegisterResult.Item;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.exception.ProcessFailedException;
+import raisetech.student.management.repository.student.StudentBatchRepository;
+import raisetech.student.management.repository.student.StudentBatchRepository.Batch;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+import raisetech.student.management.service.student.StudentStatistics.Contribution;
+
+/**
+ * 受講生詳細を一括登録するServiceです。 入力チェックを通過した受講生詳細をチャンク単位でバッチ登録し、チャンクごとにコミットします。
+ */
+@Service
+public class StudentBulkService {
+
+  private final StudentBatchRepository batchRepository;
+  private final CourseMasterCache courseMasterCache;
+  private final StudentSearchIndex searchIndex;
+  private final StudentStatistics statistics;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+  private final int chunkSize;
+
+  /**
+   * コンストラクタ
+   *
+   * @param batchRepository    受講生情報をバッチ実行するリポジトリ
+   * @param courseMasterCache  コースマスタのキャッシュ
+   * @param searchIndex        受講生詳細検索のメモリ上のインデックス
+   * @param statistics         受講生の集計のカウンタ
+   * @param transactionManager チャンクごとのトランザクションを管理するマネージャ
+   * @param validator          受講生詳細の入力チェック
+   * @param chunkSize          1回のトランザクションで登録する件数
+   */
+  @Autowired
+  public StudentBulkService(StudentBatchRepository batchRepository,
+      CourseMasterCache courseMasterCache, StudentSearchIndex searchIndex,
+      StudentStatistics statistics, PlatformTransactionManager transactionManager, Validator validator,
+      @Value("${student.bulk.chunk-size:1000}") int chunkSize) {
+    this.batchRepository = batchRepository;
+    this.courseMasterCache = courseMasterCache;
+    this.searchIndex = searchIndex;
+    this.statistics = statistics;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.validator = validator;
+    this.chunkSize = Math.max(1, chunkSize);
+  }
+
+  /**
+   * 【受講生の一括登録】 受講生詳細を順に読み込み、入力チェックを通過したものをチャンク単位で登録する。
+   * 登録に失敗したチャンクはロールバックし、そのチャンクの全件を失敗として以降のチャンクの登録を続ける。
+   *
+   * @param studentDetails 登録する受講生詳細（順に1回だけ読み込む）
+   * @return 1件ごとの登録結果（自動採番されたIDを含む）
+   */
+  public BulkRegisterResult registerStudents(Iterator<StudentDetail> studentDetails) {
+    List<Item> items = new ArrayList<>();
+    List<Entry> chunk = new ArrayList<>(chunkSize);
+
+    int index = 0;
+    while (studentDetails.hasNext()) {
+      StudentDetail studentDetail = studentDetails.next();
+      String error = validate(studentDetail);
+      if (error != null) {
+        items.add(Item.failed(index, error));
+      } else {
+        chunk.add(new Entry(index, studentDetail));
+        if (chunk.size() == chunkSize) {
+          items.addAll(registerChunk(chunk));
+          chunk.clear();
+        }
+      }
+      index++;
+    }
+    if (!chunk.isEmpty()) {
+      items.addAll(registerChunk(chunk));
+    }
+
+    // 入力チェックの失敗とチャンクの登録結果を受け付けた順に並べる
+    items.sort((a, b) -> Integer.compare(a.index(), b.index()));
+    return BulkRegisterResult.of(items);
+  }
+
+  /**
+   * 【チャンクの登録】 入力チェック済みの受講生詳細を1トランザクションで登録する。 失敗した場合はロールバックし、全件を失敗とする。
+   *
+   * @param chunk 登録する受講生詳細（{@link #validate(StudentDetail)} で問題がないもの）
+   * @return 1件ごとの登録結果
+   */
+  public List<Item> registerChunk(List<Entry> chunk) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        List<StudentDetail> studentDetails = chunk.stream().map(Entry::studentDetail).toList();
+        batchRepository.executeBatch(batch -> {
+          insertChunk(batch, studentDetails);
+          return null;
+        });
+        // コミット後に検索インデックス・集計へ反映
+        searchIndex.refreshAfterCommit(studentDetails.stream()
+            .map(studentDetail -> studentDetail.getStudent().getStudentId())
+            .toList());
+        statistics.applyAfterCommit(List.of(),
+            studentDetails.stream().map(Contribution::of).toList());
+      });
+      return chunk.stream()
+          .map(entry -> Item.succeeded(entry.index(), entry.studentDetail()))
+          .toList();
+    } catch (RuntimeException e) {
+      String message = "同じチャンクの登録に失敗したため登録されませんでした。："
+          + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+      return chunk.stream().map(entry -> Item.failed(entry.index(), message)).toList();
+    }
+  }
+
+  /**
+   * 受講生情報・コース情報・ステータス情報の順にバッチ登録する。 自動採番されたIDは送信ごとに設定されるため、次の登録で参照できる。
+   *
+   * @param batch          バッチ実行中のセッション
+   * @param studentDetails 登録する受講生詳細
+   */
+  private void insertChunk(Batch batch, List<StudentDetail> studentDetails) {
+    StudentRepository mapper = batch.mapper();
+
+    // 受講生情報の登録
+    for (StudentDetail studentDetail : studentDetails) {
+      studentDetail.getStudent().setStudentId(null);
+      mapper.registerStudent(studentDetail.getStudent());
+    }
+    batch.flush();
+
+    // コース情報の登録（start_dateは現在日時、end_dateはコースの受講期間から計算）
+    LocalDateTime now = LocalDateTime.now();
+    for (StudentDetail studentDetail : studentDetails) {
+      Integer studentId = studentDetail.getStudent().getStudentId();
+      if (studentId == null) {
+        throw new ProcessFailedException("受講生IDが採番されませんでした。");
+      }
+      for (CourseDetail courseDetail : studentDetail.getCourseDetailList()) {
+        StudentsCourse course = courseDetail.getCourse();
+        course.setAttendingId(null);
+        course.setStudentId(studentId);
+        course.setStartDate(now);
+        course.setEndDate(now.plusMonths(courseMasterCache.getDuration(course.getCourseId())));
+        mapper.registerStudentsCourses(course);
+      }
+    }
+    batch.flush();
+
+    // ステータス情報の登録（statusIdがnullなら1（仮申し込み））
+    for (StudentDetail studentDetail : studentDetails) {
+      for (CourseDetail courseDetail : studentDetail.getCourseDetailList()) {
+        Long attendingId = courseDetail.getCourse().getAttendingId();
+        if (attendingId == null) {
+          throw new ProcessFailedException("受講IDが採番されませんでした。");
+        }
+        CourseStatus status = Objects.requireNonNullElseGet(courseDetail.getStatus(),
+            CourseStatus::new);
+        courseDetail.setStatus(status);
+        status.setId(null);
+        status.setAttendingId(attendingId);
+        status.setStatusId(Objects.requireNonNullElse(status.getStatusId(), 1));
+        mapper.registerCourseStatus(status);
+      }
+    }
+    batch.flush();
+  }
+
+  /**
+   * 【入力チェック】 単体の登録APIと同じ制約に加え、1件以上の登録可能なコース情報を必須とする。 複数スレッドから呼び出せる。
+   *
+   * @param studentDetail 受講生詳細
+   * @return エラーメッセージ（問題がない場合はnull）
+   */
+  public String validate(StudentDetail studentDetail) {
+    if (studentDetail == null || studentDetail.getStudent() == null) {
+      return "受講生情報が必要です。";
+    }
+
+    Set<ConstraintViolation<StudentDetail>> violations = validator.validate(studentDetail);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .map(violation -> violation.getPropertyPath() + "：" + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining(", "));
+    }
+
+    List<CourseDetail> courseDetails = studentDetail.getCourseDetailList();
+    if (courseDetails == null || courseDetails.isEmpty()
+        || courseDetails.stream().anyMatch(courseDetail -> courseDetail == null
+        || courseDetail.getCourse() == null)) {
+      return "受講コース情報が必要です。";
+    }
+    for (CourseDetail courseDetail : courseDetails) {
+      int courseId = courseDetail.getCourse().getCourseId();
+      if (courseMasterCache.findCourse(courseId).isEmpty()) {
+        return "コースマスタに存在しないコースIDです。[ID: " + courseId + " ]";
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return 1回のトランザクションで登録する件数
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * 登録する受講生詳細とリクエスト内の位置
+   *
+   * @param index         リクエスト内の位置（0始まり）
+   * @param studentDetail 受講生詳細
+   */
+  public record Entry(int index, StudentDetail studentDetail) {
+
+  }
+
+}
@@ -0,0 +1,300 @@
+package raisetech.student.management.service.student;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.BulkRegisterResult.Item;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.CsvImportResult;
+import raisetech.student.management.domain.CsvImportResult.RowError;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.exception.MissingParameterException;
+import raisetech.student.management.exception.ProcessFailedException;
+import raisetech.student.management.service.student.CsvRecordReader.CsvRecord;
+import raisetech.student.management.service.student.StudentBulkService.Entry;
+
+/**
+ * 受講生をCSVから取り込むServiceです。 ファイルを先頭から読み込みながら、変換・入力チェックをワーカースレッドで並列に行い、
+ * チェックを通過した行を {@link StudentBulkService} でチャンクごとにバッチ登録します。
+ * 読み込み済みで未登録の行はワーカー数に応じた件数までに抑えるため、ファイルの大きさに関わらずメモリ使用量は一定です。
+ */
+@Service
+public class StudentCsvImportService {
+
+  /**
+   * 必須の列（ヘッダ名）。 course_ids は受講コースIDをセミコロン区切りで指定する（例：1;3）
+   */
+  static final List<String> COLUMNS = List.of("full_name", "name_pronunciation", "nickname",
+      "email", "area", "birth_date", "gender", "remark", "course_ids");
+
+  /**
+   * 結果に含めるエラー行の上限
+   */
+  static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final StudentBulkService bulkService;
+  private final int parallelism;
+  private final ExecutorService workers;
+
+  /**
+   * コンストラクタ
+   *
+   * @param bulkService 受講生一括登録サービス
+   * @param parallelism 変換・入力チェックを行うワーカー数（0以下の場合はCPU数）
+   */
+  @Autowired
+  public StudentCsvImportService(StudentBulkService bulkService,
+      @Value("${student.import.parallelism:0}") int parallelism) {
+    this.bulkService = bulkService;
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.workers = Executors.newFixedThreadPool(this.parallelism,
+        Thread.ofPlatform().name("student-import-", 1).daemon(true).factory());
+  }
+
+  /**
+   * アプリケーション終了時にワーカーを停止する。
+   */
+  @PreDestroy
+  public void shutdown() {
+    workers.shutdownNow();
+  }
+
+  /**
+   * 【CSVの取り込み】 1行目をヘッダとし、2行目以降を1行1人の受講生として登録する。
+   *
+   * @param csv CSVファイル（UTF-8）
+   * @return 処理件数・処理速度・登録できなかった行
+   */
+  public CsvImportResult importStudents(InputStream csv) {
+    long started = System.nanoTime();
+    int chunkSize = bulkService.getChunkSize();
+    Progress progress = new Progress(chunkSize);
+    Deque<Future<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+
+    try (CsvRecordReader reader = new CsvRecordReader(
+        new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+      Map<String, Integer> columns = readHeader(reader.next());
+
+      List<CsvRecord> block = new ArrayList<>(chunkSize);
+      for (CsvRecord record = reader.next(); record != null; record = reader.next()) {
+        if (record.isBlank()) {
+          continue;
+        }
+        block.add(record);
+        if (block.size() == chunkSize) {
+          inFlight.add(submit(block, columns));
+          block = new ArrayList<>(chunkSize);
+          // 読み込みが登録より先行しすぎないよう、ワーカー数を超えたら先頭のブロックの完了を待つ
+          if (inFlight.size() > parallelism) {
+            progress.accept(await(inFlight.poll()));
+          }
+        }
+      }
+      if (!block.isEmpty()) {
+        inFlight.add(submit(block, columns));
+      }
+      while (!inFlight.isEmpty()) {
+        progress.accept(await(inFlight.poll()));
+      }
+      progress.registerPending();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      inFlight.forEach(future -> future.cancel(true));
+    }
+
+    return progress.toResult(System.nanoTime() - started);
+  }
+
+  /**
+   * ヘッダから列名と列番号の対応を作る。
+   *
+   * @param header ヘッダのレコード
+   * @return 必須の列名と列番号のMap
+   */
+  private Map<String, Integer> readHeader(CsvRecord header) {
+    if (header == null) {
+      throw new MissingParameterException("CSVファイルが空です。");
+    }
+
+    List<String> names = header.fields().stream().map(String::strip).toList();
+    List<String> missing = COLUMNS.stream().filter(name -> !names.contains(name)).toList();
+    if (!missing.isEmpty()) {
+      throw new MissingParameterException("CSVのヘッダに必要な列がありません：" + missing);
+    }
+
+    // 必須の列のみ保持する（同名の列がある場合は先頭の列を使う）
+    Map<String, Integer> columns = new HashMap<>();
+    for (String name : COLUMNS) {
+      columns.put(name, names.indexOf(name));
+    }
+    return columns;
+  }
+
+  private Future<List<ParsedRow>> submit(List<CsvRecord> block, Map<String, Integer> columns) {
+    return workers.submit(() -> block.stream().map(record -> parse(record, columns)).toList());
+  }
+
+  private List<ParsedRow> await(Future<List<ParsedRow>> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessFailedException("CSVの取り込みが中断されました。");
+    } catch (ExecutionException e) {
+      throw new ProcessFailedException("CSVの変換に失敗しました。：" + e.getCause().getMessage());
+    }
+  }
+
+  /**
+   * 1行を受講生詳細に変換して入力チェックを行う。 ワーカースレッドで実行される。
+   *
+   * @param record  CSVの1レコード
+   * @param columns 列名と列番号のMap
+   * @return 変換結果（問題がある場合はエラーメッセージ）
+   */
+  private ParsedRow parse(CsvRecord record, Map<String, Integer> columns) {
+    if (record.unterminated()) {
+      return ParsedRow.failed(record.line(), "ダブルクォートが閉じられていません。");
+    }
+    if (columns.values().stream().anyMatch(index -> index >= record.fields().size())) {
+      return ParsedRow.failed(record.line(), "列数が不足しています。");
+    }
+
+    LocalDate birthDate;
+    try {
+      String value = field(record, columns, "birth_date");
+      birthDate = value.isEmpty() ? null : LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      return ParsedRow.failed(record.line(), "birth_date は yyyy-MM-dd 形式で入力してください。");
+    }
+
+    List<CourseDetail> courseDetails = new ArrayList<>();
+    try {
+      for (String courseId : field(record, columns, "course_ids").split(";")) {
+        if (!courseId.isBlank()) {
+          courseDetails.add(new CourseDetail(
+              new StudentsCourse(null, null, Integer.parseInt(courseId.strip()), null, null),
+              null));
+        }
+      }
+    } catch (NumberFormatException e) {
+      return ParsedRow.failed(record.line(), "course_ids はコースIDをセミコロン区切りで入力してください。");
+    }
+
+    var student = new Student(null, field(record, columns, "full_name"),
+        field(record, columns, "name_pronunciation"), field(record, columns, "nickname"),
+        field(record, columns, "email"), field(record, columns, "area"), birthDate,
+        field(record, columns, "gender"), field(record, columns, "remark"));
+    var studentDetail = new StudentDetail(student, courseDetails);
+
+    String error = bulkService.validate(studentDetail);
+    return error == null
+        ? new ParsedRow(record.line(), studentDetail, null)
+        : ParsedRow.failed(record.line(), error);
+  }
+
+  private String field(CsvRecord record, Map<String, Integer> columns, String name) {
+    return record.fields().get(columns.get(name)).strip();
+  }
+
+  /**
+   * 変換・入力チェックの結果
+   *
+   * @param line          CSVの行番号
+   * @param studentDetail 受講生詳細（問題がある場合はnull）
+   * @param error         エラーメッセージ（問題がない場合はnull）
+   */
+  private record ParsedRow(long line, StudentDetail studentDetail, String error) {
+
+    static ParsedRow failed(long line, String error) {
+      return new ParsedRow(line, null, error);
+    }
+  }
+
+  /**
+   * 取り込みの進捗。 呼び出し元のスレッドだけが更新する。
+   */
+  private final class Progress {
+
+    private final int chunkSize;
+    private List<Entry> pending;
+    private final List<RowError> errors = new ArrayList<>();
+    private long rows;
+    private long imported;
+    private long failed;
+
+    Progress(int chunkSize) {
+      this.chunkSize = chunkSize;
+      this.pending = new ArrayList<>(chunkSize);
+    }
+
+    // 入力チェックを通過した行はチャンクが揃った時点で登録する（チャンク内の位置には行番号を使う）
+    void accept(List<ParsedRow> parsedRows) {
+      for (ParsedRow row : parsedRows) {
+        rows++;
+        if (row.error() != null) {
+          fail(row.line(), row.error());
+          continue;
+        }
+        pending.add(new Entry(Math.toIntExact(row.line()), row.studentDetail()));
+        if (pending.size() == chunkSize) {
+          registerPending();
+        }
+      }
+    }
+
+    void registerPending() {
+      if (pending.isEmpty()) {
+        return;
+      }
+      List<Entry> chunk = pending;
+      pending = new ArrayList<>(chunkSize);
+      for (Item item : bulkService.registerChunk(chunk)) {
+        if (item.success()) {
+          imported++;
+        } else {
+          fail(item.index(), item.message());
+        }
+      }
+    }
+
+    void fail(long line, String message) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new RowError(line, message));
+      }
+    }
+
+    CsvImportResult toResult(long elapsedNanos) {
+      double seconds = elapsedNanos / 1_000_000_000.0;
+      double rowsPerSecond = seconds > 0 ? Math.round(rows / seconds * 10) / 10.0 : 0;
+      // 登録時の失敗は変換時の失敗より後に追加されるため、行番号順に並べ直す
+      errors.sort(Comparator.comparingLong(RowError::line));
+      return new CsvImportResult(rows, imported, failed, elapsedNanos / 1_000_000, rowsPerSecond,
+          List.copyOf(errors), failed > errors.size());
+    }
+  }
+
+}
@@ -0,0 +1,439 @@
+package raisetech.student.management.service.student;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.RosterCountResult;
+import raisetech.student.management.domain.RosterCountResult.Group;
+import raisetech.student.management.dto.RosterQueryDTO;
+import raisetech.student.management.dto.RosterQueryDTO.GroupBy;
+import raisetech.student.management.repository.student.StudentRepository;
+
+/**
+ * 受講生名簿の列指向のスナップショットです。 受講生・受講コース情報を項目ごとのint配列（列）に変換して保持し、
+ * 年齢分布・受講開始の推移などの集計（絞り込み・グループ化・件数）を、オブジェクトをたどらずに配列の連続した走査で行います。
+ * <ul>
+ *   <li>生年月日・受講開始日：yyyymmdd形式の整数（年齢は基準日との差を10000で割るだけで求まる。不明は0）</li>
+ *   <li>性別・地域・コースID：値の昇順の辞書の添字（グループごとの件数は添字を位置にした配列で数える）</li>
+ *   <li>受講：受講生の行（受講生の列の添字）で受講生の項目を参照する</li>
+ * </ul>
+ * スナップショットは起動時と設定（student.roster-snapshot.refresh-interval）の間隔で作り直します。
+ * 以降の登録・更新は次に作り直すまで反映されないため、集計結果には作成日時を含めます。
+ */
+@Component
+public class StudentRosterSnapshot {
+
+  /**
+   * 年齢のグループの上限（これより上の年齢は上限のグループに含める）
+   */
+  static final int MAX_AGE = 150;
+
+  private final StudentRepository studentRepository;
+
+  // 作り直しはDBの読み込みから置き換えまでを直列に行う（読み込み中に仮想スレッドのキャリアを固定しないよう、synchronizedは使わない）
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+  private volatile Columns columns;
+
+  /**
+   * コンストラクタ
+   *
+   * @param studentRepository 受講生を扱うリポジトリ
+   */
+  @Autowired
+  public StudentRosterSnapshot(StudentRepository studentRepository) {
+    this.studentRepository = studentRepository;
+  }
+
+  /**
+   * 【起動時の作成】 最初の集計でDBを読み込まないよう、起動完了時に作成する。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    rebuild();
+  }
+
+  /**
+   * 【定期的な作り直し】 設定（student.roster-snapshot.refresh-interval）の間隔で作り直す。
+   */
+  @Scheduled(fixedDelayString = "${student.roster-snapshot.refresh-interval:PT10M}",
+      initialDelayString = "${student.roster-snapshot.refresh-interval:PT10M}")
+  public void rebuildScheduled() {
+    rebuild();
+  }
+
+  /**
+   * 【スナップショットの作成】 論理削除されていない全受講生と、その受講コース情報を読み込んで置き換える。
+   */
+  public void rebuild() {
+    rebuildLock.lock();
+    try {
+      columns = Columns.of(studentRepository.displayStudent(), studentRepository.displayCourse(),
+          LocalDateTime.now());
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  /**
+   * 【名簿の集計】 条件に一致する受講生（受講の項目でグループ化する場合は受講）をグループごとに数える（SQLは実行しない）。
+   * 受講の条件（コース・受講開始日）を指定して受講生の項目でグループ化する場合は、条件に一致する受講が1件以上ある受講生を数える。
+   *
+   * @param query 集計条件（グループ化する項目は必須）
+   * @return グループごとの件数
+   */
+  public RosterCountResult count(RosterQueryDTO query) {
+    LocalDate baseDate = Objects.requireNonNullElseGet(query.baseDate(), LocalDate::now);
+    return columns().count(query, baseDate);
+  }
+
+  /**
+   * @return 現在のスナップショット（未作成の場合は作成する）
+   */
+  Columns columns() {
+    Columns current = columns;
+    if (current == null) {
+      rebuildLock.lock();
+      try {
+        if (columns == null) {
+          rebuild();
+        }
+        current = columns;
+      } finally {
+        rebuildLock.unlock();
+      }
+    }
+    return current;
+  }
+
+  /**
+   * @return yyyymmdd形式の整数
+   */
+  static int dateKey(LocalDate date) {
+    return date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+  }
+
+  /**
+   * 名簿の列（作成後は変更しない）
+   */
+  static final class Columns {
+
+    // 指定なし（全て一致）・辞書にない値（どれにも一致しない）の添字
+    private static final int ANY = -1;
+    private static final int NONE = -2;
+
+    private static final int UNKNOWN_DATE = 0;
+
+    final LocalDateTime builtAt;
+
+    // 受講生（受講生ID順の行）
+    final int[] studentIds;
+    final int[] birthDates;
+    final int[] genders;
+    final int[] areas;
+    final String[] genderDictionary;
+    final String[] areaDictionary;
+    final int minBirthYear;
+    final int maxBirthYear;
+
+    // 受講（受講生の行への参照と、受講の項目）
+    final int[] enrollmentStudents;
+    final int[] courses;
+    final int[] startDates;
+    final int[] courseDictionary;
+    // 受講開始月（年 * 12 + 月 - 1）の範囲
+    final int minStartMonth;
+    final int maxStartMonth;
+
+    private Columns(LocalDateTime builtAt, int[] studentIds, int[] birthDates, int[] genders,
+        int[] areas, String[] genderDictionary, String[] areaDictionary, int[] enrollmentStudents,
+        int[] courses, int[] startDates, int[] courseDictionary) {
+      this.builtAt = builtAt;
+      this.studentIds = studentIds;
+      this.birthDates = birthDates;
+      this.genders = genders;
+      this.areas = areas;
+      this.genderDictionary = genderDictionary;
+      this.areaDictionary = areaDictionary;
+      this.enrollmentStudents = enrollmentStudents;
+      this.courses = courses;
+      this.startDates = startDates;
+      this.courseDictionary = courseDictionary;
+
+      int[] birthYears = Arrays.stream(birthDates)
+          .filter(date -> date != UNKNOWN_DATE)
+          .map(date -> date / 10000)
+          .toArray();
+      this.minBirthYear = Arrays.stream(birthYears).min().orElse(0);
+      this.maxBirthYear = Arrays.stream(birthYears).max().orElse(0);
+      int[] startMonths = Arrays.stream(startDates)
+          .filter(date -> date != UNKNOWN_DATE)
+          .map(Columns::monthOf)
+          .toArray();
+      this.minStartMonth = Arrays.stream(startMonths).min().orElse(0);
+      this.maxStartMonth = Arrays.stream(startMonths).max().orElse(0);
+    }
+
+    /**
+     * 【列への変換】 論理削除された受講生（受講生の一覧にない受講生）の受講は除く。
+     *
+     * @param students 受講生
+     * @param courses  受講コース情報
+     * @param builtAt  作成日時
+     * @return 名簿の列
+     */
+    static Columns of(List<Student> students, List<StudentsCourse> courses,
+        LocalDateTime builtAt) {
+      List<Student> sorted = students.stream()
+          .sorted(Comparator.comparing(Student::getStudentId))
+          .toList();
+      String[] genderDictionary = dictionary(sorted, Student::getGender);
+      String[] areaDictionary = dictionary(sorted, Student::getArea);
+
+      int size = sorted.size();
+      int[] studentIds = new int[size];
+      int[] birthDates = new int[size];
+      int[] genders = new int[size];
+      int[] areas = new int[size];
+      Map<Integer, Integer> rows = new HashMap<>(size * 2);
+      for (int i = 0; i < size; i++) {
+        Student student = sorted.get(i);
+        studentIds[i] = student.getStudentId();
+        birthDates[i] = student.getBirthDate() == null ? UNKNOWN_DATE
+            : dateKey(student.getBirthDate());
+        genders[i] = Arrays.binarySearch(genderDictionary, valueOf(student.getGender()));
+        areas[i] = Arrays.binarySearch(areaDictionary, valueOf(student.getArea()));
+        rows.put(student.getStudentId(), i);
+      }
+
+      List<StudentsCourse> enrolled = courses.stream()
+          .filter(course -> rows.containsKey(course.getStudentId()))
+          .toList();
+      int[] courseDictionary = enrolled.stream()
+          .mapToInt(StudentsCourse::getCourseId)
+          .distinct()
+          .sorted()
+          .toArray();
+      int[] enrollmentStudents = new int[enrolled.size()];
+      int[] courseCodes = new int[enrolled.size()];
+      int[] startDates = new int[enrolled.size()];
+      for (int j = 0; j < enrolled.size(); j++) {
+        StudentsCourse course = enrolled.get(j);
+        enrollmentStudents[j] = rows.get(course.getStudentId());
+        courseCodes[j] = Arrays.binarySearch(courseDictionary, course.getCourseId());
+        startDates[j] = course.getStartDate() == null ? UNKNOWN_DATE
+            : dateKey(course.getStartDate().toLocalDate());
+      }
+
+      return new Columns(builtAt, studentIds, birthDates, genders, areas, genderDictionary,
+          areaDictionary, enrollmentStudents, courseCodes, startDates, courseDictionary);
+    }
+
+    /**
+     * 条件に一致する行を選び、グループ（辞書の添字・年齢などの整数）ごとの件数を数える。
+     */
+    RosterCountResult count(RosterQueryDTO query, LocalDate baseDate) {
+      GroupBy groupBy = query.groupBy();
+      int base = dateKey(baseDate);
+      int[] selected = selectStudents(query, base);
+      boolean enrollmentCondition = query.courseId() != null || query.startDate() != null
+          || query.endDate() != null;
+
+      long[] counts;
+      IntFunction<String> keys;
+      if (groupBy.countsEnrollments()) {
+        int[] matched = selectEnrollments(query, selected);
+        if (groupBy == GroupBy.COURSE) {
+          counts = histogram(courses, matched, courseDictionary.length);
+          keys = code -> String.valueOf(courseDictionary[code]);
+        } else {
+          int months = maxStartMonth - minStartMonth + 1;
+          counts = histogram(startMonthCodes(months), matched, months);
+          keys = code -> monthKey(minStartMonth + code);
+        }
+      } else {
+        if (enrollmentCondition) {
+          restrictToEnrolled(selected, selectEnrollments(query, selected));
+        }
+        switch (groupBy) {
+          case AGE -> {
+            counts = histogram(ageCodes(base), selected, MAX_AGE + 1);
+            keys = String::valueOf;
+          }
+          case BIRTH_YEAR -> {
+            int years = maxBirthYear - minBirthYear + 1;
+            counts = histogram(birthYearCodes(years), selected, years);
+            keys = code -> String.valueOf(minBirthYear + code);
+          }
+          case GENDER -> {
+            counts = histogram(genders, selected, genderDictionary.length);
+            keys = code -> genderDictionary[code];
+          }
+          default -> {
+            counts = histogram(areas, selected, areaDictionary.length);
+            keys = code -> areaDictionary[code];
+          }
+        }
+      }
+
+      // 最後の位置は不明（生年月日・受講開始日がない）のグループ
+      List<Group> groups = new ArrayList<>();
+      long total = 0;
+      for (int code = 0; code < counts.length; code++) {
+        if (counts[code] > 0) {
+          groups.add(new Group(code == counts.length - 1 ? null : keys.apply(code), counts[code]));
+          total += counts[code];
+        }
+      }
+      return new RosterCountResult(builtAt, groupBy, total, List.copyOf(groups));
+    }
+
+    /**
+     * @return 受講生の行ごとに、受講生の条件（性別・地域・年齢）に一致する場合は1、一致しない場合は0
+     */
+    private int[] selectStudents(RosterQueryDTO query, int base) {
+      int gender = codeOf(genderDictionary, query.gender());
+      int area = codeOf(areaDictionary, query.area());
+      // 年齢の条件を生年月日の範囲に置き換える（年齢 = (基準日 - 生年月日) / 10000）
+      int birthFrom = Integer.MIN_VALUE;
+      int birthTo = Integer.MAX_VALUE;
+      if (query.maxAge() != null) {
+        birthFrom = base - (query.maxAge() + 1) * 10000 + 1;
+      }
+      if (query.minAge() != null) {
+        birthTo = base - query.minAge() * 10000;
+      }
+      if (query.minAge() != null || query.maxAge() != null) {
+        // 生年月日が不明の受講生は除く
+        birthFrom = Math.max(birthFrom, UNKNOWN_DATE + 1);
+      }
+
+      int[] selected = new int[studentIds.length];
+      for (int i = 0; i < selected.length; i++) {
+        boolean match = (gender == ANY | genders[i] == gender)
+            & (area == ANY | areas[i] == area)
+            & birthDates[i] >= birthFrom & birthDates[i] <= birthTo;
+        selected[i] = match ? 1 : 0;
+      }
+      return selected;
+    }
+
+    /**
+     * @return 受講の行ごとに、受講生が選ばれていて受講の条件（コース・受講開始日）に一致する場合は1、一致しない場合は0
+     */
+    private int[] selectEnrollments(RosterQueryDTO query, int[] selected) {
+      int course = ANY;
+      if (query.courseId() != null) {
+        int code = Arrays.binarySearch(courseDictionary, query.courseId());
+        course = code < 0 ? NONE : code;
+      }
+      int startFrom = query.startDate() == null ? Integer.MIN_VALUE : dateKey(query.startDate());
+      int startTo = query.endDate() == null ? Integer.MAX_VALUE : dateKey(query.endDate());
+
+      int[] matched = new int[enrollmentStudents.length];
+      for (int j = 0; j < matched.length; j++) {
+        boolean match = (course == ANY | courses[j] == course)
+            & startDates[j] >= startFrom & startDates[j] <= startTo;
+        matched[j] = selected[enrollmentStudents[j]] & (match ? 1 : 0);
+      }
+      return matched;
+    }
+
+    /**
+     * 選ばれた受講生のうち、一致する受講がない受講生を除く。
+     */
+    private void restrictToEnrolled(int[] selected, int[] matched) {
+      int[] enrolled = new int[selected.length];
+      for (int j = 0; j < matched.length; j++) {
+        enrolled[enrollmentStudents[j]] |= matched[j];
+      }
+      for (int i = 0; i < selected.length; i++) {
+        selected[i] &= enrolled[i];
+      }
+    }
+
+    private int[] ageCodes(int base) {
+      int[] codes = new int[birthDates.length];
+      for (int i = 0; i < codes.length; i++) {
+        int age = Math.min(Math.max((base - birthDates[i]) / 10000, 0), MAX_AGE);
+        codes[i] = birthDates[i] == UNKNOWN_DATE ? MAX_AGE + 1 : age;
+      }
+      return codes;
+    }
+
+    private int[] birthYearCodes(int years) {
+      int[] codes = new int[birthDates.length];
+      for (int i = 0; i < codes.length; i++) {
+        codes[i] = birthDates[i] == UNKNOWN_DATE ? years : birthDates[i] / 10000 - minBirthYear;
+      }
+      return codes;
+    }
+
+    private int[] startMonthCodes(int months) {
+      int[] codes = new int[startDates.length];
+      for (int j = 0; j < codes.length; j++) {
+        codes[j] = startDates[j] == UNKNOWN_DATE ? months : monthOf(startDates[j]) - minStartMonth;
+      }
+      return codes;
+    }
+
+    /**
+     * @param codes    行ごとのグループ（bucketsは不明）
+     * @param selected 行ごとに数える場合は1、数えない場合は0
+     * @param buckets  グループの数
+     * @return グループごとの件数（最後の位置は不明）
+     */
+    private static long[] histogram(int[] codes, int[] selected, int buckets) {
+      long[] counts = new long[buckets + 1];
+      for (int i = 0; i < codes.length; i++) {
+        counts[codes[i]] += selected[i];
+      }
+      return counts;
+    }
+
+    private static int monthOf(int date) {
+      return date / 10000 * 12 + date / 100 % 100 - 1;
+    }
+
+    private static String monthKey(int month) {
+      return YearMonth.of(month / 12, month % 12 + 1).toString();
+    }
+
+    private static int codeOf(String[] dictionary, String value) {
+      if (value == null) {
+        return ANY;
+      }
+      int code = Arrays.binarySearch(dictionary, value);
+      return code < 0 ? NONE : code;
+    }
+
+    private static String[] dictionary(List<Student> students, Function<Student, String> field) {
+      return students.stream()
+          .map(student -> valueOf(field.apply(student)))
+          .distinct()
+          .sorted()
+          .toArray(String[]::new);
+    }
+
+    private static String valueOf(String value) {
+      return Objects.requireNonNullElse(value, "");
+    }
+  }
+
+}
@@ -0,0 +1,551 @@
+package raisetech.student.management.service.student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.dto.StudentSearchDTO;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+
+/**
+ * 受講生詳細検索のメモリ上のインデックスです。 検索モードが INDEX の場合に、DBを検索せずに受講生詳細検索（JOINEDと同じ結果）を返します。
+ * <ul>
+ *   <li>氏名・地域・備考：1文字・2文字単位の転置インデックスで候補を絞り、部分一致を確認する</li>
+ *   <li>メールアドレス・性別：値ごとの受講生IDのビットセット</li>
+ *   <li>生年月日：（生年月日, 受講生ID）の昇順のツリーを範囲検索</li>
+ *   <li>コース・カテゴリ・ステータス：受講ステータスの行（ID）ごとのビットセット</li>
+ *   <li>受講期間：候補の行ごとに検索期間との重なりを判定</li>
+ * </ul>
+ * ビットセットは受講生ID・受講ステータスIDをそのまま位置として使います（どちらも自動採番の連番のため疎になりません）。
+ * 受講生の登録・更新・論理削除の後は {@link #refreshAfterCommit(Collection)} で該当する受講生を読み込み直します。
+ * 構築中にコミットされた受講生は、構築の完了後に読み込み直します。 検索結果はインデックスと共有しないコピーを返します。
+ */
+@Component
+public class StudentSearchIndex {
+
+  private final StudentRepository studentRepository;
+  private final CourseMasterCache courseMasterCache;
+  private final SearchMode searchMode;
+
+  // 読み込み直しはDBの読み込みから反映までを直列に行い、古い内容で上書きしないようにする
+  // （DBの読み込み中に仮想スレッドのキャリアを固定しないよう、synchronizedは使わない）
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private volatile boolean built;
+  private volatile boolean building;
+  // 構築中にコミットされた（構築後に読み込み直す）受講生ID
+  private final Set<Integer> pendingIds = ConcurrentHashMap.newKeySet();
+
+  // 以下はlockで保護する
+  private final Map<Integer, Student> students = new HashMap<>();
+  private final Map<Integer, List<Row>> rowsByStudent = new HashMap<>();
+  private final BitSet studentIds = new BitSet();
+  private final TextIndex names = new TextIndex();
+  private final TextIndex areas = new TextIndex();
+  private final TextIndex remarks = new TextIndex();
+  private final Map<String, BitSet> emails = new HashMap<>();
+  private final Map<String, BitSet> genders = new HashMap<>();
+  // 上位32ビットに生年月日（エポック日）、下位32ビットに受講生IDを詰めた値の昇順のツリー
+  private final NavigableSet<Long> birthDates = new TreeSet<>();
+  private final BitSet rowIds = new BitSet();
+  private final Map<Integer, BitSet> courseRows = new HashMap<>();
+  private final Map<Integer, BitSet> statusRows = new HashMap<>();
+
+  /**
+   * コンストラクタ
+   *
+   * @param studentRepository 受講生を扱うリポジトリ
+   * @param courseMasterCache コースマスタのキャッシュ（カテゴリの判定に使用）
+   * @param searchMode        詳細検索の実行方式（INDEXの場合は起動時にインデックスを構築）
+   */
+  @Autowired
+  public StudentSearchIndex(StudentRepository studentRepository,
+      CourseMasterCache courseMasterCache,
+      @Value("${student.search.mode:SEPARATE}") SearchMode searchMode) {
+    this.studentRepository = studentRepository;
+    this.courseMasterCache = courseMasterCache;
+    this.searchMode = searchMode;
+  }
+
+  /**
+   * 検索モードがINDEXの場合、起動完了時にインデックスを構築する。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (searchMode == SearchMode.INDEX) {
+      rebuild();
+    }
+  }
+
+  /**
+   * 【インデックスの構築】 全受講生・受講コース情報・受講ステータスを読み込み直してインデックスを作り直す。
+   * 読み込み中にコミットされた受講生は、読み込んだ内容が古い可能性があるため、反映後に読み込み直す。
+   */
+  public void rebuild() {
+    refreshLock.lock();
+    try {
+      building = true;
+      try {
+        List<Student> loadedStudents = studentRepository.displayStudent();
+        List<StudentsCourse> courses = studentRepository.displayCourse();
+        List<CourseStatus> statuses = studentRepository.displayStatus();
+
+        lock.writeLock().lock();
+        try {
+          students.keySet().stream().toList().forEach(this::removeStudent);
+          addStudents(loadedStudents, courses, statuses);
+          built = true;
+        } finally {
+          lock.writeLock().unlock();
+        }
+      } finally {
+        building = false;
+      }
+      refreshPending();
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 【受講生の読み込み直し】 トランザクション中の場合はコミット後に、指定した受講生をDBから読み込み直して反映する。
+   * インデックスが未構築の場合は何もしない（構築時に最新の内容を読み込むため）。 構築中の場合は、構築の完了後に読み込み直す。
+   *
+   * @param ids 登録・更新・論理削除した受講生ID
+   */
+  public void refreshAfterCommit(Collection<Integer> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    List<Integer> targets = List.copyOf(ids);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          onCommitted(targets);
+        }
+      });
+    } else {
+      onCommitted(targets);
+    }
+  }
+
+  /**
+   * 【受講生詳細の検索】 受講生ID順に、カーソル（afterStudentId）より後ろの受講生を最大limit件検索する。
+   * 受講生・受講コース情報・受講ステータスはコピーを返すため、呼び出し元で変更してもインデックスに影響しない。
+   *
+   * @param condition 検索条件
+   * @return 該当する受講生詳細のリスト（受講コース情報は条件に一致するもののみ、受講ID順）
+   */
+  public List<StudentDetail> search(StudentSearchDTO condition) {
+    if (!built) {
+      buildIfAbsent();
+    }
+
+    lock.readLock().lock();
+    try {
+      BitSet candidates = (BitSet) studentIds.clone();
+      if (hasText(condition.name())) {
+        matchText(candidates, names, condition.name(), student -> List.of(
+            student.getFullName(), student.getNamePronunciation(), student.getNickname()));
+      }
+      if (hasText(condition.area())) {
+        matchText(candidates, areas, condition.area(), student -> List.of(student.getArea()));
+      }
+      if (hasText(condition.remark())) {
+        matchText(candidates, remarks, condition.remark(),
+            student -> List.of(Objects.toString(student.getRemark(), "")));
+      }
+      if (hasText(condition.email())) {
+        andPosting(candidates, emails.get(normalize(condition.email())));
+      }
+      if (hasText(condition.gender())) {
+        andPosting(candidates, genders.get(normalize(condition.gender())));
+      }
+      if (condition.startBirthDate() != null || condition.endBirthDate() != null) {
+        candidates.and(birthDateRange(condition.startBirthDate(), condition.endBirthDate()));
+      }
+      if (condition.afterStudentId() != null) {
+        candidates.clear(0, Math.max(0, condition.afterStudentId() + 1));
+      }
+
+      BitSet rows = matchingRows(condition);
+      int limit = Objects.requireNonNullElse(condition.limit(), Integer.MAX_VALUE);
+      List<StudentDetail> studentDetails = new ArrayList<>();
+      for (int id = candidates.nextSetBit(0); id >= 0 && studentDetails.size() < limit;
+          id = candidates.nextSetBit(id + 1)) {
+        List<CourseDetail> courseDetails = new ArrayList<>();
+        for (Row row : rowsByStudent.get(id)) {
+          if (rows.get(row.id()) && overlaps(row.course(), condition)) {
+            courseDetails.add(new CourseDetail(copyOf(row.course()), copyOf(row.status())));
+          }
+        }
+        // 条件に一致する受講コース情報がない受講生は含めない
+        if (!courseDetails.isEmpty()) {
+          studentDetails.add(new StudentDetail(copyOf(students.get(id)), courseDetails));
+        }
+      }
+      return studentDetails;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return インデックス内の受講生数
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return students.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // 同時に未構築のまま検索された場合に構築を繰り返さないよう、ロックの取得後に構築済みかを確認し直す
+  private void buildIfAbsent() {
+    refreshLock.lock();
+    try {
+      if (!built) {
+        rebuild();
+      }
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  // 構築の状態を先に確認し、構築中の場合は構築の完了後に読み込み直す（構築前の場合は構築時に最新の内容を読み込む）
+  private void onCommitted(List<Integer> ids) {
+    boolean wasBuilding = building;
+    if (built) {
+      refresh(ids);
+      return;
+    }
+    if (!wasBuilding) {
+      return;
+    }
+    pendingIds.addAll(ids);
+    // 追加する前に構築が完了していた場合は、構築側では読み込み直されないためここで読み込み直す
+    if (built) {
+      refreshPending();
+    }
+  }
+
+  private void refreshPending() {
+    List<Integer> ids = new ArrayList<>();
+    for (Integer id : pendingIds) {
+      if (pendingIds.remove(id)) {
+        ids.add(id);
+      }
+    }
+    if (!ids.isEmpty()) {
+      refresh(ids);
+    }
+  }
+
+  private void refresh(List<Integer> ids) {
+    refreshLock.lock();
+    try {
+      List<Student> loadedStudents = studentRepository.searchStudentsByIds(ids);
+      List<StudentsCourse> courses = studentRepository.searchStudentsCoursesByStudentIds(ids);
+      List<Long> attendingIds = courses.stream().map(StudentsCourse::getAttendingId).toList();
+      List<CourseStatus> statuses = attendingIds.isEmpty()
+          ? List.of() : studentRepository.searchCourseStatuses(attendingIds);
+
+      lock.writeLock().lock();
+      try {
+        // 論理削除された受講生は読み込まれないため、削除のみ行われる
+        ids.forEach(this::removeStudent);
+        addStudents(loadedStudents, courses, statuses);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 受講生と、受講コース情報・受講ステータスを結合した行をインデックスに追加する。
+   */
+  private void addStudents(List<Student> loadedStudents, List<StudentsCourse> courses,
+      List<CourseStatus> statuses) {
+    Map<Long, StudentsCourse> courseMap = new HashMap<>();
+    for (StudentsCourse course : courses) {
+      courseMap.putIfAbsent(course.getAttendingId(), course);
+    }
+    Map<Integer, List<Row>> rowMap = new HashMap<>();
+    for (CourseStatus status : statuses) {
+      StudentsCourse course = courseMap.get(status.getAttendingId());
+      if (course != null) {
+        rowMap.computeIfAbsent(course.getStudentId(), key -> new ArrayList<>())
+            .add(new Row(status.getId(), course, status));
+      }
+    }
+
+    for (Student student : loadedStudents) {
+      List<Row> rows = new ArrayList<>(rowMap.getOrDefault(student.getStudentId(), List.of()));
+      rows.sort(Comparator.comparing((Row row) -> row.course().getAttendingId())
+          .thenComparingInt(Row::id));
+      addStudent(student, rows);
+    }
+  }
+
+  private void addStudent(Student student, List<Row> rows) {
+    int id = student.getStudentId();
+    students.put(id, student);
+    rowsByStudent.put(id, rows);
+    studentIds.set(id);
+    names.add(id, student.getFullName(), student.getNamePronunciation(), student.getNickname());
+    areas.add(id, student.getArea());
+    remarks.add(id, student.getRemark());
+    post(emails, normalize(student.getEmail()), id);
+    post(genders, normalize(student.getGender()), id);
+    if (student.getBirthDate() != null) {
+      birthDates.add(birthDateKey(student.getBirthDate(), id));
+    }
+    for (Row row : rows) {
+      rowIds.set(row.id());
+      post(courseRows, row.course().getCourseId(), row.id());
+      post(statusRows, row.status().getStatusId(), row.id());
+    }
+  }
+
+  private void removeStudent(Integer id) {
+    Student student = students.remove(id);
+    if (student == null) {
+      return;
+    }
+    studentIds.clear(id);
+    names.remove(id, student.getFullName(), student.getNamePronunciation(),
+        student.getNickname());
+    areas.remove(id, student.getArea());
+    remarks.remove(id, student.getRemark());
+    unpost(emails, normalize(student.getEmail()), id);
+    unpost(genders, normalize(student.getGender()), id);
+    if (student.getBirthDate() != null) {
+      birthDates.remove(birthDateKey(student.getBirthDate(), id));
+    }
+    for (Row row : rowsByStudent.remove(id)) {
+      rowIds.clear(row.id());
+      unpost(courseRows, row.course().getCourseId(), row.id());
+      unpost(statusRows, row.status().getStatusId(), row.id());
+    }
+  }
+
+  // 生年月日が期間内の受講生（生年月日がない受講生は含まない）
+  private BitSet birthDateRange(LocalDate start, LocalDate end) {
+    long from = start == null ? Long.MIN_VALUE : birthDateKey(start, 0);
+    long to = end == null ? Long.MAX_VALUE : birthDateKey(end, -1);
+    BitSet result = new BitSet();
+    for (long key : birthDates.subSet(from, true, to, true)) {
+      result.set((int) key);
+    }
+    return result;
+  }
+
+  // 条件に一致する受講ステータスの行（コース・カテゴリ・ステータスは同じ行で満たす）
+  private BitSet matchingRows(StudentSearchDTO condition) {
+    BitSet rows = (BitSet) rowIds.clone();
+    if (condition.courseId() != null) {
+      andPosting(rows, courseRows.get(condition.courseId()));
+    }
+    if (hasText(condition.category())) {
+      rows.and(union(courseRows, courseMasterCache.findCourseIds(condition.category())));
+    }
+    if (condition.statusIds() != null && !condition.statusIds().isEmpty()) {
+      rows.and(union(statusRows, condition.statusIds()));
+    }
+    return rows;
+  }
+
+  // 受講期間が検索期間と重なるか（受講終了日が未定のコースは受講中とみなす）
+  private static boolean overlaps(StudentsCourse course, StudentSearchDTO condition) {
+    if (condition.endDate() != null && (course.getStartDate() == null
+        || course.getStartDate().toLocalDate().isAfter(condition.endDate()))) {
+      return false;
+    }
+    return condition.startDate() == null || course.getEndDate() == null
+        || !course.getEndDate().toLocalDate().isBefore(condition.startDate());
+  }
+
+  // 転置インデックスで候補を絞り込み、実際に部分一致するかを確認する
+  private void matchText(BitSet candidates, TextIndex index, String query,
+      Function<Student, List<String>> values) {
+    String normalized = normalize(query);
+    candidates.and(index.candidates(normalized));
+    for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+      boolean matched = values.apply(students.get(id)).stream()
+          .anyMatch(value -> normalize(value).contains(normalized));
+      if (!matched) {
+        candidates.clear(id);
+      }
+    }
+  }
+
+  private static long birthDateKey(LocalDate birthDate, int studentId) {
+    return (birthDate.toEpochDay() << 32) | (studentId & 0xFFFFFFFFL);
+  }
+
+  // 検索結果のコピー（インデックス内の受講生・受講コース情報・受講ステータスを呼び出し元と共有しない）
+  private static Student copyOf(Student student) {
+    var copy = new Student(student.getStudentId(), student.getFullName(),
+        student.getNamePronunciation(), student.getNickname(), student.getEmail(),
+        student.getArea(), student.getBirthDate(), student.getGender(), student.getRemark());
+    copy.setDeleted(student.isDeleted());
+    copy.setVersion(student.getVersion());
+    copy.setUpdatedAt(student.getUpdatedAt());
+    return copy;
+  }
+
+  private static StudentsCourse copyOf(StudentsCourse course) {
+    return new StudentsCourse(course.getAttendingId(), course.getStudentId(),
+        course.getCourseId(), course.getStartDate(), course.getEndDate());
+  }
+
+  private static CourseStatus copyOf(CourseStatus status) {
+    var copy = new CourseStatus(status.getId(), status.getAttendingId(), status.getStatusId());
+    copy.setStatusName(status.getStatusName());
+    copy.setDisplayOrder(status.getDisplayOrder());
+    return copy;
+  }
+
+  private static <K> BitSet union(Map<K, BitSet> postings, Collection<K> keys) {
+    BitSet result = new BitSet();
+    for (K key : keys) {
+      BitSet posting = postings.get(key);
+      if (posting != null) {
+        result.or(posting);
+      }
+    }
+    return result;
+  }
+
+  private static void andPosting(BitSet target, BitSet posting) {
+    if (posting == null) {
+      target.clear();
+    } else {
+      target.and(posting);
+    }
+  }
+
+  private static <K> void post(Map<K, BitSet> postings, K key, int id) {
+    postings.computeIfAbsent(key, k -> new BitSet()).set(id);
+  }
+
+  private static <K> void unpost(Map<K, BitSet> postings, K key, int id) {
+    BitSet posting = postings.get(key);
+    if (posting != null) {
+      posting.clear(id);
+      if (posting.isEmpty()) {
+        postings.remove(key);
+      }
+    }
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.isBlank();
+  }
+
+  // DBの照合順序（大文字小文字を区別しない）に合わせて小文字にそろえる
+  private static String normalize(String value) {
+    return value == null ? "" : value.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 受講コース情報と受講ステータスを結合した行（受講ステータスIDごと）
+   *
+   * @param id     受講ステータスID
+   * @param course 受講コース情報
+   * @param status 受講ステータス
+   */
+  private record Row(int id, StudentsCourse course, CourseStatus status) {
+
+  }
+
+  /**
+   * 1文字・2文字単位の転置インデックス。 検索語が2文字以上の場合は2文字単位の積集合を候補とする。
+   */
+  private static final class TextIndex {
+
+    private final Map<String, BitSet> postings = new HashMap<>();
+
+    void add(int id, String... values) {
+      for (String gram : grams(values)) {
+        post(postings, gram, id);
+      }
+    }
+
+    void remove(int id, String... values) {
+      for (String gram : grams(values)) {
+        unpost(postings, gram, id);
+      }
+    }
+
+    BitSet candidates(String query) {
+      Set<String> grams = query.length() == 1 ? Set.of(query) : bigrams(query);
+      BitSet result = null;
+      for (String gram : grams) {
+        BitSet posting = postings.get(gram);
+        if (posting == null) {
+          return new BitSet();
+        }
+        if (result == null) {
+          result = (BitSet) posting.clone();
+        } else {
+          result.and(posting);
+        }
+      }
+      return result;
+    }
+
+    private static Set<String> grams(String... values) {
+      Set<String> grams = new HashSet<>();
+      for (String value : values) {
+        String normalized = normalize(value);
+        for (int i = 0; i < normalized.length(); i++) {
+          grams.add(normalized.substring(i, i + 1));
+        }
+        grams.addAll(bigrams(normalized));
+      }
+      return grams;
+    }
+
+    private static Set<String> bigrams(String value) {
+      Set<String> grams = new HashSet<>();
+      for (int i = 0; i + 2 <= value.length(); i++) {
+        grams.add(value.substring(i, i + 2));
+      }
+      return grams;
+    }
+  }
+
+}
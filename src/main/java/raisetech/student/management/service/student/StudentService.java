@@ -1,26 +1,51 @@
 package raisetech.student.management.service.student;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.student.management.converter.student.StudentConverter;
-import raisetech.student.management.data.Course;
 import raisetech.student.management.data.CourseStatus;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentsCourse;
 import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.ResourceVersion;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
+import raisetech.student.management.domain.StudentEnrollment;
+import raisetech.student.management.domain.Versioned;
 import raisetech.student.management.dto.StudentSearchDTO;
 import raisetech.student.management.exception.NoDataException;
 import raisetech.student.management.exception.ProcessFailedException;
-import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.exception.VersionConflictException;
+import raisetech.student.management.metrics.QueryCounter;
+import raisetech.student.management.repository.student.StudentBatchRepository;
+import raisetech.student.management.repository.student.StudentExportRepository;
 import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+import raisetech.student.management.service.status.StatusMaster;
+import raisetech.student.management.service.student.StudentStatistics.Contribution;
 
 /**
  * 受講生情報を取り扱うServiceです。 受講生の検索や登録、更新処理を行います。
@@ -28,24 +53,61 @@ import raisetech.student.management.repository.student.StudentRepository;
 @Service
 public class StudentService {
 
-  //	インターフェースStudentRepository、StudentConverter、CourseRepositoryを呼び出し
+  /**
+   * エクスポート時にコース情報・受講ステータスをまとめて取得する受講生の件数
+   */
+  static final int EXPORT_CHUNK_SIZE = 500;
+
+  /**
+   * 並列検索（PARALLEL）の検索を実行するスレッド（検索ごとに仮想スレッドを生成する）
+   */
+  private static final ExecutorService SEARCH_EXECUTOR = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("student-search-", 0).factory());
+
+  //	インターフェースStudentRepository、StudentConverter、CourseMasterCacheを呼び出し
   private final StudentRepository studentRepository;
+  private final StudentBatchRepository batchRepository;
+  private final StudentExportRepository exportRepository;
   private final StudentConverter converter;
-  private final CourseRepository courseRepository;
+  private final CourseMasterCache courseMasterCache;
+  private final StatusMaster statusMaster;
+  private final StudentSearchIndex searchIndex;
+  private final StudentStatistics statistics;
+  private final SearchMode searchMode;
+  private final Duration parallelTimeout;
 
   /**
    * コンストラクタ
    *
    * @param studentRepository 受講生を扱うリポジトリ
+   * @param batchRepository   受講生情報をバッチ実行するリポジトリ
+   * @param exportRepository  受講生詳細のエクスポートで使うリポジトリ
    * @param converter         受講生詳細と受講生情報・コース情報のコンバーター
-   * @param courseRepository  コースマスタを扱うリポジトリ
+   * @param courseMasterCache コースマスタのキャッシュ
+   * @param statusMaster      ステータスマスタの参照表
+   * @param searchIndex       受講生詳細検索のメモリ上のインデックス
+   * @param statistics        受講生の集計のカウンタ
+   * @param searchMode        詳細検索の実行方式
+   * @param parallelTimeout   並列検索（PARALLEL）で全ての検索の完了を待つ時間
    */
   @Autowired
-  public StudentService(StudentRepository studentRepository, StudentConverter converter,
-      CourseRepository courseRepository) {
+  public StudentService(StudentRepository studentRepository,
+      StudentBatchRepository batchRepository, StudentExportRepository exportRepository,
+      StudentConverter converter,
+      CourseMasterCache courseMasterCache, StatusMaster statusMaster,
+      StudentSearchIndex searchIndex, StudentStatistics statistics,
+      @Value("${student.search.mode:SEPARATE}") SearchMode searchMode,
+      @Value("${student.search.parallel-timeout:10s}") Duration parallelTimeout) {
     this.studentRepository = studentRepository;
+    this.batchRepository = batchRepository;
+    this.exportRepository = exportRepository;
     this.converter = converter;
-    this.courseRepository = courseRepository;
+    this.courseMasterCache = courseMasterCache;
+    this.statusMaster = statusMaster;
+    this.searchIndex = searchIndex;
+    this.statistics = statistics;
+    this.searchMode = searchMode;
+    this.parallelTimeout = parallelTimeout;
   }
 
   /**
@@ -55,13 +117,82 @@ public class StudentService {
    * @return 該当する受講生詳細情報のリスト
    */
   public List<StudentDetail> getStudentList(StudentSearchDTO searchDTO) {
+    return searchStudentPage(searchDTO).studentDetails();
+  }
+
+  /**
+   * 【詳細情報のページ検索】 受講生IDの昇順で、カーソル（afterStudentId）より後ろの受講生を最大limit件検索する。
+   * 受講生詳細のリストが空でも、次ページのカーソルがある場合は後ろに該当する受講生が残っている可能性がある。
+   *
+   * @param searchDTO リクエストに含まれる検索データ
+   * @return 該当する受講生詳細情報のリストと次ページのカーソル
+   */
+  public StudentDetailPage searchStudentPage(StudentSearchDTO searchDTO) {
+
+    // 結合クエリ（またはメモリ上のインデックス）で該当する受講生の行のみを取得
+    if (searchMode == SearchMode.JOINED || searchMode == SearchMode.INDEX) {
+      List<StudentDetail> studentDetails = searchMode == SearchMode.INDEX
+          ? searchIndex.search(searchDTO)
+          : studentRepository.findStudentDetail(searchDTO);
+      studentDetails.forEach(studentDetail -> studentDetail.getCourseDetailList()
+          .forEach(courseDetail -> statusMaster.enrich(courseDetail.getStatus())));
+      return new StudentDetailPage(studentDetails,
+          nextCursor(studentDetails, searchDTO.limit(),
+              studentDetail -> studentDetail.getStudent().getStudentId()));
+    }
+
+    List<Student> studentList;
+    List<StudentsCourse> studentsCourses;
+    List<CourseStatus> courseStatuses;
+    if (searchMode == SearchMode.PARALLEL) {
+      List<List<?>> results = searchInParallel(List.of(
+          () -> studentRepository.findStudent(searchDTO),
+          () -> studentRepository.findCourse(searchDTO),
+          () -> studentRepository.findStatus(searchDTO)));
+      studentList = cast(results.get(0));
+      studentsCourses = cast(results.get(1));
+      courseStatuses = cast(results.get(2));
+    } else {
+      studentList = studentRepository.findStudent(searchDTO);
+      studentsCourses = studentRepository.findCourse(searchDTO);
+      courseStatuses = studentRepository.findStatus(searchDTO);
+    }
 
-    List<Student> studentList = studentRepository.findStudent(searchDTO);
-    List<StudentsCourse> studentsCourses = studentRepository.findCourse(searchDTO);
-    List<CourseStatus> courseStatuses = studentRepository.findStatus(searchDTO);
+    statusMaster.enrich(courseStatuses);
+    // 受講コース情報・受講ステータスの検索も同じページの受講生に限定している
+    // 並列検索では別の接続で検索するため、検索の間に更新された受講生が除外されることがある。カーソルは検索した受講生の最後のIDとする
+    return new StudentDetailPage(
+        converter.convertStudentDetails(studentList,
+            converter.convertCourseDetails(studentsCourses, courseStatuses)),
+        nextCursor(studentList, searchDTO.limit(), Student::getStudentId));
+  }
 
-    return converter.convertStudentDetails(studentList,
-        converter.convertCourseDetails(studentsCourses, courseStatuses));
+  /**
+   * 【受講生詳細の全件エクスポート】 受講生を受講生ID順にカーソルで読み出し、{@value #EXPORT_CHUNK_SIZE}件ごとにコース情報・受講ステータスを
+   * まとめて取得して、組み立てた受講生詳細を順に渡す。 保持するのは1チャンク分のみのため、件数に関わらずメモリ使用量は一定。
+   * エクスポート用のリポジトリの読み取り専用トランザクションで実行する。
+   *
+   * @param writer 受講生詳細を1件ずつ受け取る処理
+   */
+  public void exportStudentDetails(Consumer<StudentDetail> writer) {
+    exportRepository.execute(repository -> {
+      try (Cursor<Student> students = repository.exportStudents()) {
+        List<Student> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        for (Student student : students) {
+          chunk.add(student);
+          if (chunk.size() == EXPORT_CHUNK_SIZE) {
+            writeChunk(repository, chunk, writer);
+            chunk.clear();
+          }
+        }
+        if (!chunk.isEmpty()) {
+          writeChunk(repository, chunk, writer);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return null;
+    });
   }
 
   /**
@@ -81,17 +212,41 @@ public class StudentService {
     List<StudentsCourse> studentsCourses = Optional.ofNullable(
             studentRepository.searchStudentsCourses(student.getStudentId()))
         .orElse(Collections.emptyList());
-    // コース情報のattendingIDに基づいて受講状況を検索、受講状況と紐付け
+    // コース情報のattendingIDに基づいて受講状況を一括検索、受講状況と紐付け
+    Map<Long, CourseStatus> statusMap = searchCourseStatusMap(studentRepository, studentsCourses);
+    statusMaster.enrich(statusMap.values());
     List<CourseDetail> courseDetails = new ArrayList<>();  // 空の受講コース状況リストを作成
     for (StudentsCourse course : studentsCourses) {
-      courseDetails.add(
-          new CourseDetail(course, studentRepository.searchCourseStatus(course.getAttendingId())));
+      courseDetails.add(new CourseDetail(course, statusMap.get(course.getAttendingId())));
     }
 
     // ↑の受講生情報・コース情報を持つnew StudentDetailを生成してreturn
     return new StudentDetail(student, courseDetails);
   }
 
+  /**
+   * 【受講生詳細の版の取得】 students.version・updated_at のみを主キーで検索する（受講生詳細は検索しない）。
+   * 版はDBから読むため、他のインスタンスで更新された場合も古い版は返さない。
+   *
+   * @param studentId 受講生ID
+   * @return 受講生詳細の版（受講生が見つからない場合は空）
+   */
+  public Optional<ResourceVersion> findStudentVersion(Integer studentId) {
+    return Optional.ofNullable(studentRepository.searchStudentVersion(studentId))
+        .map(ResourceVersion::of);
+  }
+
+  /**
+   * 【版の付いた受講生検索】 受講生詳細を検索し、版（students.version・updated_at）を付けて返す。
+   *
+   * @param studentId 受講生ID
+   * @return 受講生詳細情報とその版
+   */
+  public Versioned<StudentDetail> searchVersionedStudent(Integer studentId) {
+    StudentDetail studentDetail = searchStudent(studentId);
+    return new Versioned<>(studentDetail, ResourceVersion.of(studentDetail.getStudent()));
+  }
+
   /**
    * 【受講生情報の登録】 新規受講生の受講生情報と受講コース情報を登録。 StudentIDで2つの情報を紐付け。
    * attendingID,StartDate,DeadLineは自動設定されます。
@@ -124,13 +279,8 @@ public class StudentService {
             course.setStudentId(studentDetail.getStudent().getStudentId());
             // start_dateは現在日時に設定
             course.setStartDate(now);
-            // courseIdに対応するdurationを取得し、end_dateを計算
-            int duration = courseRepository.displayCourseMaster()
-                .stream()
-                .filter(c -> c.getCourseId() == course.getCourseId())
-                .map(Course::getDuration)
-                .findFirst()
-                .orElse(0);
+            // courseIdに対応するdurationをキャッシュから取得し、end_dateを計算
+            int duration = courseMasterCache.getDuration(course.getCourseId());
             course.setEndDate(now.plusMonths(duration));
           }
       );
@@ -154,6 +304,7 @@ public class StudentService {
       courseStatus.setStatusId(Optional.ofNullable(courseStatus.getStatusId()).orElse(1));
 
       registeredStatus += studentRepository.registerCourseStatus(courseStatus);
+      statusMaster.enrich(courseStatus);
 
     }
 
@@ -162,73 +313,115 @@ public class StudentService {
       throw new ProcessFailedException("受講ステータス情報の登録に失敗しました。");
     }
 
+    // コミット後に検索インデックス・集計へ反映
+    searchIndex.refreshAfterCommit(List.of(studentDetail.getStudent().getStudentId()));
+    statistics.applyAfterCommit(List.of(), List.of(Contribution.of(studentDetail)));
     return studentDetail;
   }
 
   /**
-   * 【受講生更新】 指定されたIDの受講生情報を更新。
+   * 【受講生更新】 指定されたIDの受講生情報を更新。 受講生の存在は受講生情報の更新件数で確認する（更新前の行ロックは集計の差分の計算のため）。
+   * 受講生情報にバージョン（検索時に取得したもの）を指定した場合は、その後に他の更新があれば更新しない（楽観的ロック）。
    *
    * @param studentId     更新対象の受講生ID
    * @param studentDetail 入力された更新情報（受講生詳細）
+   * @throws NoDataException          受講生情報が存在しない場合
+   * @throws VersionConflictException 指定したバージョンの後に他の更新があった場合
    */
   @Transactional
   public void updateStudent(Integer studentId, StudentDetail studentDetail) {
-    // ここに遷移した時点で既に特定のstudentIdのstudentDetailが呼び出されている
     // リクエストボディのstudentIdをパスパラメータのものに統一
-    studentDetail.getStudent().setStudentId(studentId);
-
-    // 事前に対象の受講生情報を検索（なければ例外throw）
-    Student studentExist = studentRepository.searchStudent(studentId);
-    if (studentExist == null) {
-      throw new NoDataException(
-          "更新対象の受講生情報が見つかりません。[ID: " + studentId + " ]");
-    }
+    Student student = studentDetail.getStudent();
+    student.setStudentId(studentId);
 
-    // 事前に対象の受講生のコース情報リストを取得
-    List<StudentsCourse> courseExist = studentRepository.searchStudentsCourses(studentId);
-    if (courseExist.isEmpty()) {
-      throw new NoDataException(
-          "更新対象のコース受講情報が見つかりません。[ID: " + studentId + " ]");
-    }
+    // 集計の差分を求めるため、更新前の地域・受講コース・受講ステータスを行ロックして取得
+    // （他の更新は、このトランザクションのコミットまで待つため、差分の基準が変わらない）
+    List<StudentEnrollment> before = studentRepository.lockStudentEnrollments(studentId);
 
-    // 事前に対象のコースのステータス情報リストを取得
-    List<CourseStatus> statusExist = courseExist.stream()
-        .map(course -> studentRepository.searchCourseStatus(course.getAttendingId()))
-        .filter(Objects::nonNull)
-        .toList();
-    if (statusExist.isEmpty()) {
-      throw new NoDataException(
-          "更新対象のステータス情報が見つかりません。[ID: " + studentId + " ]");
+    // 受講生情報の更新
+    if (studentRepository.updateStudent(student) == 0) {
+      throw updateFailure(studentId, student.getVersion());
     }
 
-    // 受講生情報の更新
-    int updatedStudentData = studentRepository.updateStudent(studentDetail.getStudent());
-    // コース情報・ステータス情報の更新
-    int updatedStudentsCourseData = 0;
-    int updatedCourseStatusData = 0;
-    // studentDetailに含まれるCourseDetailを一つづつ取り出して処理
+    // コース情報・ステータス情報の更新（それぞれ1回のバッチで送信する）
+    List<StudentsCourse> courses = new ArrayList<>();
+    List<CourseStatus> statuses = new ArrayList<>();
     for (CourseDetail courseDetail : studentDetail.getCourseDetailList()) {
-      // ↓ studentsCourseにはデータベースから取得した時点でattending_idが設定済みであるため、自動的にattending_idは@Updateに渡される
-      int updateCourseData = studentRepository.updateStudentsCourses(courseDetail.getCourse());
-      if (updateCourseData > 0) {
-        updatedStudentsCourseData += updateCourseData;
+      if (courseDetail.getCourse() != null) {
+        courseDetail.getCourse().setStudentId(studentId);
+        courses.add(courseDetail.getCourse());
       }
-      int updateStatusData = studentRepository.updateCourseStatus(courseDetail.getStatus());
-      if (updateStatusData > 0) {
-        updatedCourseStatusData += updateStatusData;
+      if (courseDetail.getStatus() != null) {
+        statuses.add(courseDetail.getStatus());
       }
     }
+    if (!courses.isEmpty() || !statuses.isEmpty()) {
+      int[] counts = batchRepository.executeBatch(batch -> {
+        courses.forEach(batch.mapper()::updateStudentsCourses);
+        statuses.forEach(status -> batch.mapper().updateCourseStatus(studentId, status));
+        return batch.flush();
+      });
+      checkUpdated(studentId, courses, statuses, counts);
+    }
 
-    // 更新されたデータが0の場合に例外をスルー
-    if (updatedStudentData == 0 && updatedStudentsCourseData == 0 && updatedCourseStatusData == 0) {
-      throw new ProcessFailedException(
-          "受講生情報・コース受講情報・受講ステータス情報 いずれも更新されませんでした。");
+    searchIndex.refreshAfterCommit(List.of(studentId));
+    statistics.applyAfterCommit(List.of(Contribution.of(before)),
+        List.of(Contribution.updated(before, student, courses, statuses)));
+  }
+
+  /**
+   * 受講コース情報・受講ステータスの行ごとの更新件数を確認し、更新されなかった行があれば例外をthrowする（ロールバックされる）。
+   * 件数が取得できない場合（負の値）は更新されたものとみなす。
+   *
+   * @param studentId 更新対象の受講生ID
+   * @param courses   更新した受講コース情報（送信順）
+   * @param statuses  更新した受講ステータス（送信順）
+   * @param counts    行ごとの更新件数（受講コース情報・受講ステータスの順）
+   */
+  private void checkUpdated(Integer studentId, List<StudentsCourse> courses,
+      List<CourseStatus> statuses, int[] counts) {
+    List<Long> missingCourses = new ArrayList<>();
+    for (int i = 0; i < courses.size(); i++) {
+      if (counts[i] == 0) {
+        missingCourses.add(courses.get(i).getAttendingId());
+      }
     }
+    List<Integer> missingStatuses = new ArrayList<>();
+    for (int i = 0; i < statuses.size(); i++) {
+      if (counts[courses.size() + i] == 0) {
+        missingStatuses.add(statuses.get(i).getId());
+      }
+    }
+    if (!missingCourses.isEmpty() || !missingStatuses.isEmpty()) {
+      throw new NoDataException("更新対象のコース受講情報・ステータス情報が見つかりません。[ID: " + studentId
+          + " 受講ID: " + missingCourses + " ステータスID: " + missingStatuses + " ]");
+    }
+  }
 
+  /**
+   * 受講生情報の更新件数が0件だった原因を調べ、対応する例外を返す（失敗した場合のみ検索する）。
+   *
+   * @param studentId 更新対象の受講生ID
+   * @param version   指定されたバージョン（指定なしの場合はnull）
+   * @return 例外
+   */
+  private RuntimeException updateFailure(Integer studentId, Integer version) {
+    Student current = studentRepository.searchStudent(studentId);
+    if (current == null) {
+      return new NoDataException(
+          "更新対象の受講生情報が見つかりません。[ID: " + studentId + " ]");
+    }
+    if (version != null && !version.equals(current.getVersion())) {
+      return new VersionConflictException(
+          "受講生情報は他の更新によって変更されています。最新の情報を取得してから更新してください。[ID: "
+              + studentId + " 指定バージョン: " + version + " 現在のバージョン: "
+              + current.getVersion() + " ]");
+    }
+    return new ProcessFailedException("受講生情報が更新されませんでした。[ID: " + studentId + " ]");
   }
 
   /**
-   * 【受講生情報の論理削除】指定されたIDの受講生情報を非表示にする
+   * 【受講生情報の論理削除】指定されたIDの受講生情報を非表示にする（falseの場合は論理削除済みの受講生を表示に戻す）
    *
    * @param studentId 削除対象の受講生ID
    * @param isDeleted 非表示にするかどうかのフラグ
@@ -236,19 +429,136 @@ public class StudentService {
   @Transactional
   public void updateStudentIsDeleted(Integer studentId, Boolean isDeleted) {
 
-    Student studentExist = Optional.ofNullable(studentRepository.searchStudent(studentId))
-        .orElseThrow(() -> new NoDataException(
-            "更新対象の受講生情報が見つかりません。[ID: " + studentId + " ]"));
-
-    Student update = new Student();
-    update.setStudentId(studentId);
-    update.setDeleted(isDeleted);
+    // 存在の確認と集計の差分の計算のため、地域・受講コース・受講ステータスを行ロックして取得
+    List<StudentEnrollment> enrollments = studentRepository.lockStudentEnrollments(studentId);
+    if (enrollments.isEmpty()) {
+      throw new NoDataException("更新対象の受講生情報が見つかりません。[ID: " + studentId + " ]");
+    }
 
-    int updated = studentRepository.updateStudent(update);
+    int updated = studentRepository.updateStudentIsDeleted(studentId, isDeleted);
     if (updated == 0) {
       throw new ProcessFailedException("更新が反映されませんでした");
     }
 
+    // 論理削除した受講生は集計から除き、復元した受講生は集計に戻す
+    Contribution contribution = Contribution.of(enrollments);
+    boolean wasDeleted = enrollments.getFirst().deleted();
+    statistics.applyAfterCommit(wasDeleted ? List.of() : List.of(contribution),
+        isDeleted ? List.of() : List.of(contribution));
+    searchIndex.refreshAfterCommit(List.of(studentId));
+  }
+
+  /**
+   * コース情報リストの受講IDに紐づく受講ステータスを1回のクエリで取得し、受講IDをキーにしたMapにする。
+   *
+   * @param repository      検索に使う受講生Repository
+   * @param studentsCourses コース情報リスト
+   * @return 受講IDと受講ステータスのMap（コース情報がない場合は空のMap）
+   */
+  private Map<Long, CourseStatus> searchCourseStatusMap(StudentRepository repository,
+      List<StudentsCourse> studentsCourses) {
+    List<Long> attendingIds = studentsCourses.stream()
+        .map(StudentsCourse::getAttendingId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+    if (attendingIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<Long, CourseStatus> statusMap = new HashMap<>();
+    for (CourseStatus status : repository.searchCourseStatuses(attendingIds)) {
+      statusMap.putIfAbsent(status.getAttendingId(), status);
+    }
+    return statusMap;
+  }
+
+  /**
+   * 【並列検索】 検索をそれぞれ別の仮想スレッド（別の接続）で同時に実行し、全ての完了を待つ。 いずれかの検索が失敗した場合・
+   * 待ち時間を過ぎた場合・呼び出し元が割り込まれた場合は、残りの検索を割り込みで中断する（DBの応答待ちの場合は接続が閉じられる）。
+   * 別の接続で実行するため、呼び出し元のトランザクションには参加しない。 実行したSQLは呼び出し元のSQLの計測範囲に数える。
+   *
+   * @param searches 検索処理
+   * @return 検索処理と同じ順の検索結果
+   */
+  private List<List<?>> searchInParallel(List<Callable<List<?>>> searches) {
+    var completionService = new ExecutorCompletionService<List<?>>(SEARCH_EXECUTOR);
+    // 検索は別のスレッドで実行するため、リクエストのSQLの計測範囲（件数の上限を含む）を引き継ぐ
+    List<Future<List<?>>> futures = searches.stream()
+        .map(QueryCounter::wrap)
+        .map(completionService::submit)
+        .toList();
+    long deadline = System.nanoTime() + parallelTimeout.toNanos();
+    try {
+      // 完了した順に確認し、失敗した検索があれば残りの完了を待たずに中断する
+      for (int i = 0; i < futures.size(); i++) {
+        Future<List<?>> done = completionService.poll(deadline - System.nanoTime(),
+            TimeUnit.NANOSECONDS);
+        if (done == null) {
+          throw new ProcessFailedException(
+              "受講生詳細の検索が " + parallelTimeout.toMillis() + "ms 以内に完了しませんでした。");
+        }
+        done.get();
+      }
+      return futures.stream().<List<?>>map(Future::resultNow).toList();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new ProcessFailedException("受講生詳細の検索に失敗しました。：" + e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessFailedException("受講生詳細の検索が中断されました。");
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> cast(List<?> rows) {
+    return (List<T>) rows;
+  }
+
+  /**
+   * 受講生のチャンクに紐づくコース情報・受講ステータスを取得し、受講生詳細を組み立てて渡す。 コース情報のない受講生は空のリストで渡す。
+   *
+   * @param repository 検索に使う受講生Repository（エクスポート用）
+   * @param students   受講生のチャンク
+   * @param writer     受講生詳細を1件ずつ受け取る処理
+   */
+  private void writeChunk(StudentRepository repository, List<Student> students,
+      Consumer<StudentDetail> writer) {
+    List<Integer> studentIds = students.stream().map(Student::getStudentId).toList();
+    List<StudentsCourse> studentsCourses =
+        repository.searchStudentsCoursesByStudentIds(studentIds);
+    Map<Long, CourseStatus> statusMap = searchCourseStatusMap(repository, studentsCourses);
+    statusMaster.enrich(statusMap.values());
+
+    Map<Integer, List<CourseDetail>> courseDetailMap = new HashMap<>();
+    for (StudentsCourse course : studentsCourses) {
+      courseDetailMap.computeIfAbsent(course.getStudentId(), key -> new ArrayList<>())
+          .add(new CourseDetail(course, statusMap.get(course.getAttendingId())));
+    }
+
+    for (Student student : students) {
+      writer.accept(new StudentDetail(student,
+          courseDetailMap.getOrDefault(student.getStudentId(), Collections.emptyList())));
+    }
+  }
+
+  /**
+   * 取得件数がlimitに達していれば、最後の行の受講生IDを次ページのカーソルとする。
+   *
+   * @param rows  取得結果
+   * @param limit 取得件数の上限（nullの場合は制限なし）
+   * @param idOf  行から受講生IDを取り出す関数
+   * @return 次ページのカーソル（次ページがない場合はnull）
+   */
+  private <T> Integer nextCursor(List<T> rows, Integer limit, Function<T, Integer> idOf) {
+    if (limit == null || rows.size() < limit) {
+      return null;
+    }
+    return idOf.apply(rows.getLast());
   }
 
 }
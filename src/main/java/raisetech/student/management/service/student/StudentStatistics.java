@@ -0,0 +1,398 @@
+package raisetech.student.management.service.student;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatisticsCount;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentEnrollment;
+import raisetech.student.management.domain.StudentStatisticsReport;
+import raisetech.student.management.domain.StudentStatisticsReport.CourseStatusCount;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+
+/**
+ * 受講生の集計（コース×ステータス・コースカテゴリ・ステータスごとの受講の件数と、地域ごとの受講生の人数）をメモリ上のカウンタで保持します。
+ * 起動時に1回の集計クエリ（GROUP BY）で初期化し、以降の登録・更新・論理削除・受講ステータスの遷移はコミット後に差分（増減）だけを反映するため、
+ * 集計の取得ではSQLを実行しません。 コースカテゴリはコースマスタから取得時に求めるため、コースのカテゴリを変更しても集計し直す必要はありません。
+ * 差分を反映できない更新（アプリを経由しない更新など）とのずれは、定期的な集計し直し（{@link #reconcile()}）で解消します。
+ * 集計し直しの間に差分が反映された場合・コミット待ちの差分がある場合は、差分が集計に含まれているか判定できないため、次の取得時に集計し直します。
+ * 集計の対象は論理削除されていない受講生のみです。
+ */
+@Slf4j
+@Component
+public class StudentStatistics {
+
+  private final StudentRepository studentRepository;
+  private final CourseMasterCache courseMasterCache;
+  private final MeterRegistry meterRegistry;
+
+  // 以下はthisで保護する（未集計の場合はreconciledAtがnull）
+  private final Map<Enrollment, Long> enrollments = new HashMap<>();
+  private final Map<String, Long> areas = new HashMap<>();
+  private LocalDateTime reconciledAt;
+  private boolean stale;
+  // 反映した差分の数（集計し直しの間に反映されたかの判定に使う）と、登録済みでコミット・ロールバック待ちの差分の数
+  private long applied;
+  private int pending;
+
+  /**
+   * コンストラクタ
+   *
+   * @param studentRepository 受講生を扱うリポジトリ
+   * @param courseMasterCache コースマスタのキャッシュ（カテゴリの判定に使用）
+   * @param meterRegistry     メトリクスの登録先（集計し直した際のずれを記録）
+   */
+  @Autowired
+  public StudentStatistics(StudentRepository studentRepository,
+      CourseMasterCache courseMasterCache, MeterRegistry meterRegistry) {
+    this.studentRepository = studentRepository;
+    this.courseMasterCache = courseMasterCache;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * 【起動時の集計】 最初のリクエストで集計しないよう、起動完了時に集計する。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    reconcile();
+  }
+
+  /**
+   * 【定期的な集計し直し】 設定（student.statistics.reconcile-interval）の間隔で集計し直す。
+   */
+  @Scheduled(fixedDelayString = "${student.statistics.reconcile-interval:PT10M}",
+      initialDelayString = "${student.statistics.reconcile-interval:PT10M}")
+  public void reconcileScheduled() {
+    reconcile();
+  }
+
+  /**
+   * 【集計し直し】 DBで集計し直してカウンタを置き換える。 カウンタとの差（ずれ）があった場合は警告ログに出力し、
+   * メトリクス student.statistics.drift に加算する。 集計中に差分が反映された場合・コミット待ちの差分がある場合は、
+   * 集計結果に差分が含まれているか判定できないため、ずれは記録せず次の取得時に集計し直す。
+   *
+   * @return 集計し直した集計結果
+   */
+  public StudentStatisticsReport reconcile() {
+    long appliedAtStart;
+    synchronized (this) {
+      appliedAtStart = applied;
+    }
+    Map<Enrollment, Long> loadedEnrollments = new HashMap<>();
+    Map<String, Long> loadedAreas = new HashMap<>();
+    for (StatisticsCount count : studentRepository.countStatistics()) {
+      if (StatisticsCount.ENROLLMENT.equals(count.kind())) {
+        loadedEnrollments.merge(new Enrollment(count.courseId(), count.statusId()), count.total(),
+            Long::sum);
+      } else {
+        loadedAreas.merge(areaOf(count.area()), count.total(), Long::sum);
+      }
+    }
+
+    long drift;
+    LocalDateTime loadedAt = LocalDateTime.now();
+    synchronized (this) {
+      // 集計中に反映された差分は集計結果に含まれている可能性があり、コミット待ちの差分はコミットが集計の前か後か分からない
+      boolean concurrent = applied != appliedAtStart || pending > 0;
+      // 集計し直すことが分かっていたカウンタ（未集計・集計し直しの予約済み）との差はずれとして記録しない
+      drift = reconciledAt == null || stale || concurrent ? 0
+          : difference(enrollments, loadedEnrollments) + difference(areas, loadedAreas);
+      enrollments.clear();
+      enrollments.putAll(loadedEnrollments);
+      areas.clear();
+      areas.putAll(loadedAreas);
+      reconciledAt = loadedAt;
+      stale = concurrent;
+    }
+    if (drift > 0) {
+      log.warn("受講生の集計にずれがあったため集計し直しました。：{}件", drift);
+      meterRegistry.counter("student.statistics.drift").increment(drift);
+    }
+    // 次の取得時に集計し直す場合も、集計し直しを繰り返さないよう今回の集計結果を返す
+    return reportOf(loadedAt, loadedEnrollments, new TreeMap<>(loadedAreas));
+  }
+
+  /**
+   * 【集計の取得】 SQLは実行しない（未集計、または差分を反映できない更新があった場合のみ集計し直す）。
+   *
+   * @return 集計結果
+   */
+  public StudentStatisticsReport report() {
+    Map<Enrollment, Long> currentEnrollments;
+    Map<String, Long> currentAreas;
+    LocalDateTime currentReconciledAt;
+    synchronized (this) {
+      if (reconciledAt == null || stale) {
+        currentReconciledAt = null;
+        currentEnrollments = null;
+        currentAreas = null;
+      } else {
+        currentReconciledAt = reconciledAt;
+        currentEnrollments = new HashMap<>(enrollments);
+        currentAreas = new TreeMap<>(areas);
+      }
+    }
+    if (currentReconciledAt == null) {
+      return reconcile();
+    }
+    return reportOf(currentReconciledAt, currentEnrollments, currentAreas);
+  }
+
+  // カウンタのコピーから集計結果を組み立てる（カテゴリはコースマスタから求める）
+  private StudentStatisticsReport reportOf(LocalDateTime currentReconciledAt,
+      Map<Enrollment, Long> currentEnrollments, Map<String, Long> currentAreas) {
+    List<CourseStatusCount> courseStatuses = new ArrayList<>();
+    Map<String, Long> categories = new TreeMap<>();
+    Map<Integer, Long> statuses = new TreeMap<>();
+    currentEnrollments.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey(Comparator
+            .comparing(Enrollment::courseId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Enrollment::statusId, Comparator.nullsLast(Comparator.naturalOrder()))))
+        .forEach(entry -> {
+          Enrollment enrollment = entry.getKey();
+          long count = entry.getValue();
+          courseStatuses.add(new CourseStatusCount(enrollment.courseId(), enrollment.statusId(),
+              count));
+          courseMasterCache.findCourse(enrollment.courseId())
+              .map(course -> course.getCategory().name())
+              .ifPresent(category -> categories.merge(category, count, Long::sum));
+          if (enrollment.statusId() != null) {
+            statuses.merge(enrollment.statusId(), count, Long::sum);
+          }
+        });
+    long students = currentAreas.values().stream().mapToLong(Long::longValue).sum();
+    return new StudentStatisticsReport(currentReconciledAt, students, courseStatuses, categories,
+        statuses, currentAreas);
+  }
+
+  /**
+   * 【差分の反映】 トランザクション中の場合はコミット後に、受講生ごとの集計への寄与を差し引き・加算する（ロールバックした場合は反映しない）。
+   * 未集計の場合は何もしない（集計時に最新の内容を集計するため）。
+   *
+   * @param removed 差し引く寄与（更新前・論理削除した受講生など）
+   * @param added   加算する寄与（更新後・登録した受講生など）
+   */
+  public void applyAfterCommit(Collection<Contribution> removed, Collection<Contribution> added) {
+    if (removed.isEmpty() && added.isEmpty()) {
+      return;
+    }
+    List<Contribution> removedCopy = List.copyOf(removed);
+    List<Contribution> addedCopy = List.copyOf(added);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(removedCopy, addedCopy);
+      return;
+    }
+    // コミット・ロールバックまでの間に集計し直した場合に、差分が集計に含まれるか判定できないことが分かるよう数えておく
+    synchronized (this) {
+      pending++;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        apply(removedCopy, addedCopy);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        synchronized (StudentStatistics.this) {
+          pending--;
+        }
+      }
+    });
+  }
+
+  /**
+   * 【集計し直しの予約】 差分を特定できない更新をした場合に呼び出す。 コミット後の最初の取得時に集計し直す。
+   */
+  public void invalidateAfterCommit() {
+    afterCommit(() -> {
+      synchronized (this) {
+        stale = true;
+      }
+    });
+  }
+
+  private synchronized void apply(List<Contribution> removed, List<Contribution> added) {
+    // 未集計の場合も、集計中の反映として数える
+    applied++;
+    if (reconciledAt == null) {
+      return;
+    }
+    removed.forEach(contribution -> add(contribution, -1));
+    added.forEach(contribution -> add(contribution, 1));
+  }
+
+  // thisのロックを取得して呼び出す
+  private void add(Contribution contribution, long sign) {
+    if (contribution.area() != null) {
+      merge(areas, areaOf(contribution.area()), sign);
+    }
+    contribution.enrollments().forEach(enrollment -> merge(enrollments, enrollment, sign));
+  }
+
+  private static <K> void merge(Map<K, Long> counters, K key, long delta) {
+    // 件数が0になったキーは取り除く
+    counters.merge(key, delta, (current, value) -> current + value == 0 ? null : current + value);
+  }
+
+  private static <K> long difference(Map<K, Long> current, Map<K, Long> loaded) {
+    long difference = 0;
+    for (Map.Entry<K, Long> entry : current.entrySet()) {
+      difference += Math.abs(entry.getValue() - loaded.getOrDefault(entry.getKey(), 0L));
+    }
+    for (Map.Entry<K, Long> entry : loaded.entrySet()) {
+      if (!current.containsKey(entry.getKey())) {
+        difference += entry.getValue();
+      }
+    }
+    return difference;
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private static String areaOf(String area) {
+    return Objects.requireNonNullElse(area, "");
+  }
+
+  /**
+   * 集計するコースとステータスの組み合わせ
+   *
+   * @param courseId コースID
+   * @param statusId ステータスID
+   */
+  public record Enrollment(Integer courseId, Integer statusId) {
+
+  }
+
+  /**
+   * 受講生の集計への寄与（地域ごとの人数と、受講コース・ステータスごとの受講の件数）
+   *
+   * @param area        地域（nullの場合は地域ごとの人数に寄与しない）
+   * @param enrollments 受講コース・ステータスの組み合わせ（受講ごと）
+   */
+  public record Contribution(String area, List<Enrollment> enrollments) {
+
+    /**
+     * 【登録した受講生の寄与】 ステータスがない受講コース情報は受講ステータスの登録時と同じく仮申し込み（1）とする。
+     *
+     * @param studentDetail 登録した受講生詳細
+     * @return 受講生の寄与
+     */
+    public static Contribution of(StudentDetail studentDetail) {
+      List<Enrollment> enrollments = new ArrayList<>();
+      for (CourseDetail courseDetail : studentDetail.getCourseDetailList()) {
+        if (courseDetail.getCourse() != null) {
+          Integer statusId = courseDetail.getStatus() == null ? null
+              : courseDetail.getStatus().getStatusId();
+          enrollments.add(new Enrollment(courseDetail.getCourse().getCourseId(),
+              Objects.requireNonNullElse(statusId, 1)));
+        }
+      }
+      return new Contribution(areaOf(studentDetail.getStudent().getArea()),
+          List.copyOf(enrollments));
+    }
+
+    /**
+     * 【受講ステータスの寄与】 論理削除された受講生の受講は除く（地域ごとの人数には寄与しない）。
+     *
+     * @param rows 受講IDごとの受講ステータス
+     * @return 現在のステータスでの寄与
+     */
+    public static Contribution ofEnrollments(List<EnrollmentStatus> rows) {
+      return new Contribution(null, rows.stream()
+          .filter(row -> !row.studentDeleted())
+          .map(row -> new Enrollment(row.courseId(), row.statusId()))
+          .toList());
+    }
+
+    /**
+     * 【遷移後の受講ステータスの寄与】 論理削除された受講生の受講は除く（地域ごとの人数には寄与しない）。
+     *
+     * @param rows     受講IDごとの遷移前の受講ステータス
+     * @param statusId 遷移先のステータスID
+     * @return 遷移先のステータスでの寄与
+     */
+    public static Contribution ofEnrollments(List<EnrollmentStatus> rows, Integer statusId) {
+      return new Contribution(null, rows.stream()
+          .filter(row -> !row.studentDeleted())
+          .map(row -> new Enrollment(row.courseId(), statusId))
+          .toList());
+    }
+
+    /**
+     * 【DBの受講生の寄与】
+     *
+     * @param rows {@link StudentRepository#lockStudentEnrollments(Integer)} の結果（空の場合は寄与なし）
+     * @return 受講生の寄与
+     */
+    public static Contribution of(List<StudentEnrollment> rows) {
+      return updated(rows, null, List.of(), List.of());
+    }
+
+    /**
+     * 【更新後の受講生の寄与】 更新前の行に、受講生情報・受講コース情報・受講ステータスの更新内容を重ねる。
+     * 更新内容のうち、その受講生の受講ID・受講ステータスのIDに一致しないものは使わない（他の受講生の行は更新されず、
+     * 更新件数が0件となってロールバックされるため）。
+     *
+     * @param rows     更新前の {@link StudentRepository#lockStudentEnrollments(Integer)} の結果
+     * @param student  更新した受講生情報（nullの項目は更新しない）
+     * @param courses  更新した受講コース情報
+     * @param statuses 更新した受講ステータス
+     * @return 更新後の受講生の寄与
+     */
+    public static Contribution updated(List<StudentEnrollment> rows, Student student,
+        List<StudentsCourse> courses, List<CourseStatus> statuses) {
+      if (rows.isEmpty()) {
+        return new Contribution(null, List.of());
+      }
+      Map<Long, Integer> courseIds = new HashMap<>();
+      courses.forEach(course -> courseIds.put(course.getAttendingId(), course.getCourseId()));
+      Map<Integer, Integer> statusIds = new HashMap<>();
+      statuses.forEach(status -> statusIds.put(status.getId(), status.getStatusId()));
+
+      String area = student == null || student.getArea() == null ? rows.getFirst().area()
+          : student.getArea();
+      List<Enrollment> enrollments = rows.stream()
+          .filter(row -> row.statusRowId() != null)
+          .map(row -> new Enrollment(
+              courseIds.getOrDefault(row.attendingId(), row.courseId()),
+              statusIds.getOrDefault(row.statusRowId(), row.statusId())))
+          .toList();
+      return new Contribution(areaOf(area), enrollments);
+    }
+  }
+
+}
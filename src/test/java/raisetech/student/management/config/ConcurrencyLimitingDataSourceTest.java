@@ -0,0 +1,75 @@
+package raisetech.student.management.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitingDataSourceTest {
+
+  @Mock
+  private DataSource target;
+
+  @Mock
+  private Connection connection;
+
+  private ConcurrencyLimitingDataSource sut;
+
+  @BeforeEach
+  void before() {
+    sut = new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+  }
+
+  @Test
+  void 接続取得_上限に達している場合は待機した後に失敗し接続を閉じると取得できること()
+      throws SQLException {
+    when(target.getConnection()).thenReturn(connection);
+
+    Connection first = sut.getConnection();
+    assertEquals(1, sut.getActiveConnections());
+    assertThrows(SQLTransientConnectionException.class, () -> sut.getConnection());
+
+    first.close();
+    assertEquals(0, sut.getActiveConnections());
+    sut.getConnection().close();
+
+    verify(target, times(2)).getConnection();
+    verify(connection, times(2)).close();
+  }
+
+  @Test
+  void 接続取得_同じ接続を2回閉じても許可は1つしか返らないこと() throws SQLException {
+    when(target.getConnection()).thenReturn(connection);
+
+    Connection first = sut.getConnection();
+    first.close();
+    first.close();
+    sut.getConnection();
+
+    assertThrows(SQLTransientConnectionException.class, () -> sut.getConnection());
+  }
+
+  @Test
+  void 接続取得_接続プールからの取得に失敗した場合は許可が返ること() throws SQLException {
+    when(target.getConnection()).thenThrow(new SQLException("接続エラー")).thenReturn(connection);
+
+    assertThrows(SQLException.class, () -> sut.getConnection());
+
+    assertEquals(0, sut.getActiveConnections());
+    sut.getConnection();
+    assertEquals(1, sut.getActiveConnections());
+  }
+
+}
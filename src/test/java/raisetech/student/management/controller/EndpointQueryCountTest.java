@@ -0,0 +1,278 @@
+package raisetech.student.management.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import static org.hamcrest.Matchers.not;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.transaction.annotation.Transactional;
+import static raisetech.student.management.metrics.QueryCountAssertions.assertQueryCount;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+import raisetech.student.management.service.student.StudentService;
+import raisetech.student.management.service.student.StudentStatistics;
+
+/**
+ * StudentController・CourseController の各エンドポイントが実行するSQLの件数を確認するテストです。
+ * 件数が変わった場合（N+1の追加・解消）はこのテストが失敗するため、意図した変更であれば期待値を更新します。
+ * 組み込みDB（テスト用の schema.sql・data.sql）を使い、テスト終了時にロールバックします。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class EndpointQueryCountTest {
+
+  private static final String STUDENT = """
+      {"fullName": "テスト花子", "namePronunciation": "てすとはなこ", "nickname": "てすこ",
+       "email": "test@example.com", "area": "テスト区", "birthDate": "2000-01-01",
+       "gender": "Female", "remark": ""}""";
+
+  private static final String STUDENT_DETAIL = """
+      {"student": %s, "courseDetailList": [{"course": {"courseId": 1}}]}"""
+      .formatted(STUDENT);
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private StudentService studentService;
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  @Autowired
+  private CourseMasterCache courseMasterCache;
+
+  @Autowired
+  private StudentStatistics statistics;
+
+  @BeforeEach
+  void before() {
+    // コースマスタの読み込み（キャッシュの状態）で件数が変わらないよう、先に読み込んでおく
+    courseMasterCache.findCourse(1);
+  }
+
+  @Test
+  void 受講生詳細検索_3件のSQLで検索すること() throws Throwable {
+    assertQueryCount(3, () -> mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+        .andExpect(status().isOk()));
+  }
+
+  @Test
+  void 受講生検索_受講コース情報の件数に関わらず3件のSQLで検索すること() throws Throwable {
+    assertQueryCount(3, () -> mockMvc.perform(MockMvcRequestBuilders.get("/students/1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.courseDetailList.length()").value(2))
+        // ステータス名は起動時に読み込んだステータスマスタから設定する（結合しない）
+        .andExpect(jsonPath("$.courseDetailList[0].status.statusName").value("受講終了")));
+  }
+
+  @Test
+  void 受講生検索_ETagが一致する条件付きGETでは版の検索1件のSQLのみ実行すること() throws Throwable {
+    String etag = mockMvc.perform(MockMvcRequestBuilders.get("/students/1"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    assertQueryCount(1, () -> mockMvc.perform(MockMvcRequestBuilders.get("/students/1")
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified()));
+  }
+
+  @Test
+  void 受講生検索_更新後の条件付きGETでは受講生詳細を検索し直すこと() throws Throwable {
+    String etag = mockMvc.perform(MockMvcRequestBuilders.get("/students/1"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+    // 版はDBから読むため、どのインスタンスで更新されても（レジストリを経由しなくても）反映される
+    studentRepository.touchStudents(List.of(1));
+
+    assertQueryCount(4, () -> mockMvc.perform(MockMvcRequestBuilders.get("/students/1")
+            .header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", not(etag))));
+  }
+
+  @Test
+  void 全件エクスポート_書き出しがチャンクごとに3件のSQLで行われること() throws Throwable {
+    // 書き出しは別スレッドで行われるため、リクエストではなくサービスの呼び出しを数える
+    assertQueryCount(3, () -> studentService.exportStudentDetails(studentDetail -> {
+    }));
+  }
+
+  @Test
+  void 受講生登録_受講コース情報1件につき2件のSQLで登録すること() throws Throwable {
+    assertQueryCount(3, () -> mockMvc.perform(MockMvcRequestBuilders.post("/students")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(STUDENT_DETAIL))
+        .andExpect(status().isCreated()));
+  }
+
+  @Test
+  void 受講生一括登録_受講生1件につき3件のSQLをバッチで登録すること() throws Throwable {
+    assertQueryCount(6, () -> mockMvc.perform(MockMvcRequestBuilders.post("/students/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[" + STUDENT_DETAIL + "," + STUDENT_DETAIL + "]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.succeeded").value(2)));
+  }
+
+  @Test
+  void 受講生一括登録_NDJSONでも受講生1件につき3件のSQLをバッチで登録すること() throws Throwable {
+    String line = STUDENT_DETAIL.replace("\n", "");
+    assertQueryCount(6, () -> mockMvc.perform(MockMvcRequestBuilders.post("/students/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(line + "\n" + line + "\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.succeeded").value(2)));
+  }
+
+  @Test
+  void 受講生CSV取り込み_受講生1件につき3件のSQLをバッチで登録すること() throws Throwable {
+    var file = new MockMultipartFile("file", "students.csv", "text/csv", """
+        full_name,name_pronunciation,nickname,email,area,birth_date,gender,remark,course_ids
+        テスト花子,てすとはなこ,てすこ,hanako@example.com,テスト区,2000-01-01,Female,,1
+        テスト太郎,てすとたろう,てすたろ,taro@example.com,テスト区,2000-01-01,Male,,2
+        """.getBytes(StandardCharsets.UTF_8));
+
+    assertQueryCount(6, () -> mockMvc.perform(
+            MockMvcRequestBuilders.multipart("/students/import").file(file))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2)));
+  }
+
+  @Test
+  void 受講生更新_集計の差分用の行ロック1件と受講生1件に加えて受講コース情報1件につき2件のSQLで更新すること()
+      throws Throwable {
+    // バッチ実行のSQLも1件ずつ数える（送信は受講コース情報・ステータスごとに1回）
+    String request = """
+        {"student": %s, "courseDetailList": [
+          {"course": {"attendingId": 1, "courseId": 2}, "status": {"id": 1, "statusId": 4}},
+          {"course": {"attendingId": 6, "courseId": 6}, "status": {"id": 6, "statusId": 4}}]}"""
+        .formatted(STUDENT);
+
+    assertQueryCount(6, () -> mockMvc.perform(MockMvcRequestBuilders.put("/students/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(request))
+        .andExpect(status().isOk()));
+  }
+
+  @Test
+  void 受講生論理削除_2件のSQLで更新すること() throws Throwable {
+    assertQueryCount(2, () -> mockMvc.perform(MockMvcRequestBuilders.patch("/students/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"deleted\": true}"))
+        .andExpect(status().isNoContent()));
+  }
+
+  @Test
+  void ステータスマスタ全件取得_SQLを実行しないこと() throws Throwable {
+    assertQueryCount(0, () -> mockMvc.perform(MockMvcRequestBuilders.get("/statuses"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(7)));
+  }
+
+  @Test
+  void 受講ステータス一括遷移_受講IDの件数によらず3件のSQLで遷移すること() throws Throwable {
+    // 受講ID 5, 6 は本申し込み（受講中に遷移できる）、受講ID 1 は受講終了（遷移できない）
+    assertQueryCount(3, () -> mockMvc.perform(MockMvcRequestBuilders.post("/statuses/transitions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"toStatusId\": 4, \"attendingIds\": [5, 6, 1]}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.moved.length()").value(2))
+        .andExpect(jsonPath("$.rejected[0].attendingId").value(1)));
+  }
+
+  @Test
+  void 受講ステータス自動更新_ロックの取得と解放の2件と遷移ごとにチャンクあたり3件のSQLで更新すること()
+      throws Throwable {
+    // 受講開始日・受講終了日とも過ぎているため、本申し込みは受講中を経て受講終了まで進む
+    assertQueryCount(8, () -> mockMvc.perform(MockMvcRequestBuilders.post("/statuses/advancements"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.steps[0].changed").value(2))
+        .andExpect(jsonPath("$.steps[1].changed").value(4)));
+  }
+
+  @Test
+  void 受講生集計取得_SQLを実行しないこと() throws Throwable {
+    // 起動時に集計済みのカウンタから返す
+    statistics.report();
+
+    assertQueryCount(0, () -> mockMvc.perform(MockMvcRequestBuilders.get("/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.students").value(5)));
+  }
+
+  @Test
+  void 受講生名簿集計_SQLを実行しないこと() throws Throwable {
+    // 起動時に作成済みのスナップショットで集計する
+    assertQueryCount(0, () -> mockMvc.perform(MockMvcRequestBuilders.get("/statistics/roster")
+            .param("groupBy", "COURSE"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(7)));
+  }
+
+  @Test
+  void コースマスタ全件取得_1件のSQLで取得すること() throws Throwable {
+    assertQueryCount(1, () -> mockMvc.perform(MockMvcRequestBuilders.get("/courses"))
+        .andExpect(status().isOk()));
+  }
+
+  @Test
+  void コースマスタキャッシュ統計_SQLを実行しないこと() throws Throwable {
+    assertQueryCount(0, () -> mockMvc.perform(MockMvcRequestBuilders.get("/courses/cache/stats"))
+        .andExpect(status().isOk()));
+  }
+
+  @Test
+  void コースマスタ登録_登録と登録結果の取得の2件のSQLを実行すること() throws Throwable {
+    assertQueryCount(2, () -> mockMvc.perform(MockMvcRequestBuilders.post("/courses")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"courseName\": \"Pythonコース\", \"category\": \"開発系コース\", \"duration\": 6}"))
+        .andExpect(status().isCreated()));
+  }
+
+  @Test
+  void コースマスタ更新_2件のSQLで更新すること() throws Throwable {
+    assertQueryCount(2, () -> mockMvc.perform(MockMvcRequestBuilders.put("/courses/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"courseName\": \"Javaコース\", \"category\": \"開発系コース\", \"duration\": 12}"))
+        .andExpect(status().isOk()));
+  }
+
+  @Test
+  void コースマスタ閉講_2件のSQLで更新すること() throws Throwable {
+    assertQueryCount(2, () -> mockMvc.perform(MockMvcRequestBuilders.patch("/courses/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"closed\": true}"))
+        .andExpect(status().isNoContent()));
+  }
+
+  /**
+   * 並列検索（PARALLEL）では検索を別の仮想スレッドで実行するため、リクエストのSQLの計測範囲を引き継いで数えることを確認する
+   */
+  @Nested
+  @TestPropertySource(properties = "student.search.mode=PARALLEL")
+  class ParallelSearch {
+
+    @Test
+    void 受講生詳細検索_並列検索でも3件のSQLが数えられること() throws Throwable {
+      assertQueryCount(3, () -> mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+          .andExpect(status().isOk()));
+    }
+  }
+
+}
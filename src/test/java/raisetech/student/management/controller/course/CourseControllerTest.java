@@ -3,10 +3,13 @@ package raisetech.student.management.controller.course;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TimeZone;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +19,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,10 +32,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import raisetech.student.management.data.Course;
 import raisetech.student.management.data.Course.CourseCategory;
+import raisetech.student.management.domain.ResourceVersion;
+import raisetech.student.management.domain.Versioned;
 import raisetech.student.management.exception.ProcessFailedException;
 import raisetech.student.management.service.course.CourseService;
 
@@ -60,6 +67,12 @@ class CourseControllerTest {
     public CourseService courseService() {
       return Mockito.mock(CourseService.class); // Mockitoでモック化
     }
+
+    // SQL件数を記録するフィルタ（QueryCountFilter）の記録先
+    @Bean
+    public MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
   }
 
   @BeforeAll
@@ -81,7 +94,8 @@ class CourseControllerTest {
   @Test
   void コースマスタ全件取得_正常完了_200OKとマスタリストが返ってくること()
       throws Exception {
-    when(service.getCourseList()).thenReturn(List.of(course));
+    when(service.getVersionedCourseList()).thenReturn(
+        new Versioned<>(List.of(course), new ResourceVersion("courses-1-abc", -1)));
 
     // リクエストを想定
     mockMvc.perform(MockMvcRequestBuilders.get("/courses")
@@ -94,22 +108,38 @@ class CourseControllerTest {
         .andExpect(jsonPath("$[0].category").value("開発系コース"))
         .andExpect(jsonPath("$[0].createdAt").value("2021-05-07T16:00:00.000+00:00"))
         .andExpect(jsonPath("$[0].updatedAt").value("2021-05-07T16:00:00.000+00:00"))
+        .andExpect(header().string("ETag", "\"courses-1-abc\""))
     ;
 
     // serviceメソッドが呼ばれたことを確認
-    verify(service, times(1)).getCourseList();
+    verify(service, times(1)).getVersionedCourseList();
+  }
+
+  @Test
+  void コースマスタ全件取得_ETagが一致する場合_取得せずに304NotModifiedが返ること()
+      throws Exception {
+    when(service.findCourseListVersion()).thenReturn(
+        Optional.of(new ResourceVersion("courses-1-abc", -1)));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/courses")
+            .header("If-None-Match", "\"courses-1-abc\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    verify(service, never()).getVersionedCourseList();
   }
 
   @Test
   void コースマスタ全件取得_コースマスタが存在しない場合_404NotFoundが返ること()
       throws Exception {
-    when(service.getCourseList()).thenReturn(List.of());
+    when(service.getVersionedCourseList()).thenReturn(
+        new Versioned<>(List.of(), new ResourceVersion("courses-0-1", -1)));
 
     mockMvc.perform(MockMvcRequestBuilders.get("/courses")
             .contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isNotFound());
 
-    verify(service, times(1)).getCourseList();
+    verify(service, times(1)).getVersionedCourseList();
   }
 
   @Test
@@ -0,0 +1,140 @@
+package raisetech.student.management.controller.statistics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import raisetech.student.management.domain.RosterCountResult;
+import raisetech.student.management.domain.RosterCountResult.Group;
+import raisetech.student.management.domain.StudentStatisticsReport;
+import raisetech.student.management.domain.StudentStatisticsReport.CourseStatusCount;
+import raisetech.student.management.dto.RosterQueryDTO;
+import raisetech.student.management.dto.RosterQueryDTO.GroupBy;
+import raisetech.student.management.service.student.StudentRosterSnapshot;
+import raisetech.student.management.service.student.StudentStatistics;
+
+@WebMvcTest(StatisticsController.class)
+@Import(StatisticsControllerTest.MockConfig.class)
+class StatisticsControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private StudentStatistics statistics;
+
+  @Autowired
+  private StudentRosterSnapshot rosterSnapshot;
+
+  private StudentStatisticsReport report;
+
+  @TestConfiguration
+  static class MockConfig {
+
+    @Bean
+    public StudentStatistics studentStatistics() {
+      return Mockito.mock(StudentStatistics.class);
+    }
+
+    @Bean
+    public StudentRosterSnapshot studentRosterSnapshot() {
+      return Mockito.mock(StudentRosterSnapshot.class);
+    }
+
+    // SQL件数を記録するフィルタ（QueryCountFilter）の記録先
+    @Bean
+    public MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @BeforeEach
+  void before() {
+    Mockito.reset(statistics, rosterSnapshot);
+    report = new StudentStatisticsReport(LocalDateTime.of(2025, 4, 1, 0, 10), 2,
+        List.of(new CourseStatusCount(1, 4, 2), new CourseStatusCount(3, 1, 1)),
+        Map.of("開発系コース", 3L), Map.of(1, 1L, 4, 2L), Map.of("大阪", 1L, "東京", 1L));
+  }
+
+  @Test
+  void 受講生集計取得_正常完了_200OKとメモリ上の集計が返ってくること() throws Exception {
+    when(statistics.report()).thenReturn(report);
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.reconciledAt").value("2025-04-01T00:10:00"))
+        .andExpect(jsonPath("$.students").value(2))
+        .andExpect(jsonPath("$.courseStatuses[0].courseId").value(1))
+        .andExpect(jsonPath("$.courseStatuses[0].statusId").value(4))
+        .andExpect(jsonPath("$.courseStatuses[0].count").value(2))
+        .andExpect(jsonPath("$.categories['開発系コース']").value(3))
+        .andExpect(jsonPath("$.statuses['4']").value(2))
+        .andExpect(jsonPath("$.areas['東京']").value(1));
+
+    verify(statistics, times(1)).report();
+    verify(statistics, never()).reconcile();
+  }
+
+  @Test
+  void 受講生集計し直し_正常完了_200OKと集計し直した集計が返ってくること() throws Exception {
+    when(statistics.reconcile()).thenReturn(report);
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/statistics/reconcile"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.students").value(2));
+
+    verify(statistics, times(1)).reconcile();
+  }
+
+  @Test
+  void 受講生名簿集計_正常完了_200OKとグループごとの件数が返ってくること() throws Exception {
+    var query = new RosterQueryDTO(GroupBy.AGE, "Female", null, 1, 20, 29, null, null,
+        LocalDate.of(2025, 4, 1));
+    when(rosterSnapshot.count(query)).thenReturn(new RosterCountResult(
+        LocalDateTime.of(2025, 4, 1, 0, 10), GroupBy.AGE, 3,
+        List.of(new Group("24", 1), new Group("25", 2))));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/statistics/roster")
+            .param("groupBy", "AGE")
+            .param("gender", "Female")
+            .param("courseId", "1")
+            .param("minAge", "20")
+            .param("maxAge", "29")
+            .param("baseDate", "2025-04-01"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.groupBy").value("AGE"))
+        .andExpect(jsonPath("$.total").value(3))
+        .andExpect(jsonPath("$.groups[1].key").value("25"))
+        .andExpect(jsonPath("$.groups[1].count").value(2));
+
+    verify(rosterSnapshot, times(1)).count(query);
+  }
+
+  @Test
+  void 受講生名簿集計_groupByの指定なし_400BadRequestが返ってくること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/statistics/roster"))
+        .andExpect(status().isBadRequest());
+
+    verify(rosterSnapshot, never()).count(any());
+  }
+
+}
@@ -0,0 +1,175 @@
+package raisetech.student.management.controller.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.domain.StatusAdvancementResult;
+import raisetech.student.management.domain.StatusAdvancementResult.Step;
+import raisetech.student.management.domain.StatusTransitionResult;
+import raisetech.student.management.domain.StatusTransitionResult.Rejected;
+import raisetech.student.management.exception.NoDataException;
+import raisetech.student.management.service.status.StatusAdvancementJob;
+import raisetech.student.management.service.status.StatusMaster;
+import raisetech.student.management.service.status.StatusTransitionService;
+
+@WebMvcTest(StatusController.class)
+@Import(StatusControllerTest.MockConfig.class)
+class StatusControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private StatusMaster statusMaster;
+
+  @Autowired
+  private StatusTransitionService transitionService;
+
+  @Autowired
+  private StatusAdvancementJob advancementJob;
+
+  private List<Status> statuses;
+
+  @TestConfiguration
+  static class MockConfig {
+
+    @Bean
+    public StatusMaster statusMaster() {
+      return Mockito.mock(StatusMaster.class);
+    }
+
+    @Bean
+    public StatusTransitionService statusTransitionService() {
+      return Mockito.mock(StatusTransitionService.class);
+    }
+
+    @Bean
+    public StatusAdvancementJob statusAdvancementJob() {
+      return Mockito.mock(StatusAdvancementJob.class);
+    }
+
+    // SQL件数を記録するフィルタ（QueryCountFilter）の記録先
+    @Bean
+    public MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @BeforeEach
+  void before() {
+    Mockito.reset(statusMaster, transitionService, advancementJob);
+    statuses = List.of(
+        new Status(1, "仮申し込み", 1, null, null),
+        new Status(99, "キャンセル", 99, null, null));
+  }
+
+  @Test
+  void ステータスマスタ全件取得_正常完了_200OKと表示順のマスタリストが返ってくること() throws Exception {
+    when(statusMaster.getStatusList()).thenReturn(statuses);
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/statuses"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].statusId").value(1))
+        .andExpect(jsonPath("$[0].statusName").value("仮申し込み"))
+        .andExpect(jsonPath("$[0].displayOrder").value(1))
+        .andExpect(jsonPath("$[1].statusId").value(99));
+
+    verify(statusMaster, times(1)).getStatusList();
+  }
+
+  @Test
+  void ステータスマスタ読み込み直し_正常完了_200OKと読み込んだマスタリストが返ってくること() throws Exception {
+    when(statusMaster.refresh()).thenReturn(statuses);
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/statuses/refresh"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2));
+
+    verify(statusMaster, times(1)).refresh();
+  }
+
+  @Test
+  void 受講ステータス一括遷移_正常完了_200OKと遷移した受講IDと遷移しなかった受講IDが返ってくること()
+      throws Exception {
+    when(transitionService.transition(4, List.of(5L, 1L, 100L))).thenReturn(
+        new StatusTransitionResult(4, List.of(5L), List.of(new Rejected(1L, 5)), List.of(100L)));
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/statuses/transitions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"toStatusId\": 4, \"attendingIds\": [5, 1, 100]}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.moved[0]").value(5))
+        .andExpect(jsonPath("$.rejected[0].attendingId").value(1))
+        .andExpect(jsonPath("$.rejected[0].statusId").value(5))
+        .andExpect(jsonPath("$.notFound[0]").value(100));
+
+    verify(transitionService, times(1)).transition(4, List.of(5L, 1L, 100L));
+  }
+
+  @Test
+  void 受講ステータス一括遷移_受講IDリストが空の場合_400BadRequestが返ってくること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.post("/statuses/transitions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"toStatusId\": 4, \"attendingIds\": []}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.attendingIds").exists());
+
+    verify(transitionService, never()).transition(any(), any());
+  }
+
+  @Test
+  void 受講ステータス一括遷移_遷移先のステータスがない場合_404NotFoundが返ってくること() throws Exception {
+    when(transitionService.transition(100, List.of(1L)))
+        .thenThrow(new NoDataException("該当するステータスが見つかりません。ID：100"));
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/statuses/transitions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"toStatusId\": 100, \"attendingIds\": [1]}"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void 受講ステータス自動更新_正常完了_200OKと遷移ごとの件数が返ってくること() throws Exception {
+    when(advancementJob.run(any())).thenReturn(Optional.of(new StatusAdvancementResult(
+        LocalDateTime.of(2025, 4, 1, 0, 5), List.of(new Step(3, 4, 3, 2), new Step(4, 5, 1, 1)))));
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/statuses/advancements"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.steps[0].fromStatusId").value(3))
+        .andExpect(jsonPath("$.steps[0].scanned").value(3))
+        .andExpect(jsonPath("$.steps[0].changed").value(2))
+        .andExpect(jsonPath("$.steps[1].toStatusId").value(5));
+
+    verify(advancementJob, times(1)).run(any());
+  }
+
+  @Test
+  void 受講ステータス自動更新_実行中の場合_409Conflictが返ってくること() throws Exception {
+    when(advancementJob.run(any())).thenReturn(Optional.empty());
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/statuses/advancements"))
+        .andExpect(status().isConflict());
+  }
+
+}
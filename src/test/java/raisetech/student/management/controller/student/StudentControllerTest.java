@@ -3,17 +3,29 @@ package raisetech.student.management.controller.student;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mockito;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,18 +35,33 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import raisetech.student.management.data.CourseStatus;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.BulkRegisterResult;
+import raisetech.student.management.domain.BulkRegisterResult.Item;
 import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.CsvImportResult;
+import raisetech.student.management.domain.CsvImportResult.RowError;
+import raisetech.student.management.domain.ResourceVersion;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
+import raisetech.student.management.domain.Versioned;
 import raisetech.student.management.exception.NoDataException;
 import raisetech.student.management.exception.ProcessFailedException;
+import raisetech.student.management.exception.VersionConflictException;
+import raisetech.student.management.service.student.StudentBulkService;
+import raisetech.student.management.service.student.StudentCsvImportService;
 import raisetech.student.management.service.student.StudentService;
 
 @WebMvcTest(StudentController.class)
@@ -47,6 +74,12 @@ class StudentControllerTest {
   @Autowired
   private StudentService service; // モックBeanを注入
 
+  @Autowired
+  private StudentBulkService bulkService; // モックBeanを注入
+
+  @Autowired
+  private StudentCsvImportService importService; // モックBeanを注入
+
   @Autowired
   private ObjectMapper objectMapper;
 
@@ -67,6 +100,22 @@ class StudentControllerTest {
     public StudentService studentService() {
       return Mockito.mock(StudentService.class); // Mockitoでモック化
     }
+
+    @Bean
+    public StudentBulkService studentBulkService() {
+      return Mockito.mock(StudentBulkService.class);
+    }
+
+    @Bean
+    public StudentCsvImportService studentCsvImportService() {
+      return Mockito.mock(StudentCsvImportService.class);
+    }
+
+    // SQL件数を記録するフィルタ（QueryCountFilter）の記録先
+    @Bean
+    public MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
   }
 
   @BeforeEach
@@ -88,7 +137,7 @@ class StudentControllerTest {
 
     studentDetail = new StudentDetail(student, List.of(courseDetail1, courseDetail2));
 
-    Mockito.reset(service); // モックをリセット
+    Mockito.reset(service, bulkService, importService); // モックをリセット
 
   }
 
@@ -96,9 +145,10 @@ class StudentControllerTest {
   void 詳細検索_正常完了_200OKと該当する受講生情報が返ってくること() throws Exception {
     // 検索条件設定
     var searchForm = new StudentSearchForm(
-        "テスト", 0, 100, null, null, null, null, null, null, null, null, null);
+        "テスト", 0, 100, null, null, null, null, null, null, null, null, null, null, null);
 
-    when(service.getStudentList(Mockito.any())).thenReturn(List.of(studentDetail));
+    when(service.searchStudentPage(Mockito.any()))
+        .thenReturn(new StudentDetailPage(List.of(studentDetail), null));
 
     // リクエストを想定
     mockMvc.perform(MockMvcRequestBuilders.get("/students")
@@ -108,10 +158,11 @@ class StudentControllerTest {
         .andExpect(
             content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))  // JSONレスポンスであること
         .andExpect(jsonPath("$[0].student.studentId").value(999))  // 受講生IDが正しい
-        .andExpect(jsonPath("$[0].student.fullName").value("テスト花子"));  // 受講生名が正しい
+        .andExpect(jsonPath("$[0].student.fullName").value("テスト花子"))  // 受講生名が正しい
+        .andExpect(header().doesNotExist(StudentController.NEXT_CURSOR_HEADER));  // 次ページなし
 
     // serviceメソッドが呼ばれたことを確認
-    verify(service, times(1)).getStudentList(Mockito.any());
+    verify(service, times(1)).searchStudentPage(Mockito.any());
   }
 
   @Test
@@ -119,9 +170,10 @@ class StudentControllerTest {
       throws Exception {
     // 検索条件設定
     var searchForm = new StudentSearchForm(
-        "存在しない名前", 0, 100, null, null, null, null, null, null, null, null, null);
+        "存在しない名前", 0, 100, null, null, null, null, null, null, null, null, null, null, null);
 
-    when(service.getStudentList(Mockito.any())).thenReturn(List.of());
+    when(service.searchStudentPage(Mockito.any()))
+        .thenReturn(new StudentDetailPage(List.of(), null));
 
     // リクエストの想定
     mockMvc.perform(MockMvcRequestBuilders.get("/students")
@@ -129,7 +181,133 @@ class StudentControllerTest {
             .contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isNotFound());  // ステータスコード404
 
-    verify(service, times(1)).getStudentList(Mockito.any());
+    verify(service, times(1)).searchStudentPage(Mockito.any());
+  }
+
+  @Test
+  void 詳細検索_次ページがある場合_カーソルがヘッダに設定されること() throws Exception {
+    when(service.searchStudentPage(Mockito.any()))
+        .thenReturn(new StudentDetailPage(List.of(studentDetail), studentId));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("cursor", "10")
+            .param("limit", "1")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().string(StudentController.NEXT_CURSOR_HEADER, "999"))
+        .andExpect(jsonPath("$[0].student.studentId").value(999));
+
+    verify(service, times(1)).searchStudentPage(
+        argThat(condition -> condition.afterStudentId() == 10 && condition.limit() == 1));
+  }
+
+  @Test
+  void 詳細検索_このページに該当がなくても次ページがある場合_200OKと空のリストとカーソルが返ってくること()
+      throws Exception {
+    when(service.searchStudentPage(Mockito.any()))
+        .thenReturn(new StudentDetailPage(List.of(), 20));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("cursor", "10")
+            .param("limit", "10")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().string(StudentController.NEXT_CURSOR_HEADER, "20"))
+        .andExpect(jsonPath("$").isEmpty());
+  }
+
+  @Test
+  void 全件エクスポート_正常完了_受講生詳細が1行1件のJSONで返ってくること() throws Exception {
+    doAnswer(invocation -> {
+      Consumer<StudentDetail> writer = invocation.getArgument(0);
+      writer.accept(studentDetail);
+      writer.accept(studentDetail);
+      return null;
+    }).when(service).exportStudentDetails(any());
+
+    // ストリーミングのため非同期で書き出される
+    MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/students/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(body.endsWith("\n"));
+    assertEquals(999, objectMapper.readTree(lines[0]).at("/student/studentId").asInt());
+    assertEquals("テスト花子", objectMapper.readTree(lines[1]).at("/student/fullName").asText());
+    verify(service, times(1)).exportStudentDetails(any());
+  }
+
+  @Test
+  void 受講生一括登録_正常完了_200OKと1件ごとの登録結果が返ってくること() throws Exception {
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    String request = objectMapper.writeValueAsString(List.of(studentDetail, studentDetail));
+
+    when(bulkService.registerStudents(any())).thenReturn(BulkRegisterResult.of(List.of(
+        Item.succeeded(0, studentDetail), Item.failed(1, "受講コース情報が必要です。"))));
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(request))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(2))
+        .andExpect(jsonPath("$.succeeded").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.items[0].studentId").value(999))
+        .andExpect(jsonPath("$.items[0].attendingIds[1]").value(999))
+        .andExpect(jsonPath("$.items[1].success").value(false))
+        .andExpect(jsonPath("$.items[1].message").value("受講コース情報が必要です。"));
+
+    verify(bulkService, times(1)).registerStudents(any());
+  }
+
+  @Test
+  void 受講生一括登録_NDJSONの各行が受講生詳細として読み込まれること() throws Exception {
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    String line = objectMapper.writeValueAsString(studentDetail);
+
+    when(bulkService.registerStudents(any())).thenAnswer(invocation -> {
+      Iterator<StudentDetail> studentDetails = invocation.getArgument(0);
+      List<Item> items = new ArrayList<>();
+      while (studentDetails.hasNext()) {
+        items.add(Item.succeeded(items.size(), studentDetails.next()));
+      }
+      return BulkRegisterResult.of(items);
+    });
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(line + "\n" + line + "\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(2))
+        .andExpect(jsonPath("$.items[1].index").value(1))
+        .andExpect(jsonPath("$.items[1].studentId").value(999));
+  }
+
+  @Test
+  void 受講生CSV取り込み_正常完了_200OKと処理件数とエラー行が返ってくること() throws Exception {
+    var file = new MockMultipartFile("file", "students.csv", "text/csv",
+        "full_name\n".getBytes(StandardCharsets.UTF_8));
+    when(importService.importStudents(any())).thenReturn(new CsvImportResult(
+        3, 2, 1, 1500, 2.0, List.of(new RowError(3, "列数が不足しています。")), false));
+
+    mockMvc.perform(MockMvcRequestBuilders.multipart("/students/import").file(file))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows").value(3))
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.rowsPerSecond").value(2.0))
+        .andExpect(jsonPath("$.errors[0].line").value(3))
+        .andExpect(jsonPath("$.errors[0].message").value("列数が不足しています。"));
+
+    verify(importService, times(1)).importStudents(any());
   }
 
   @Test
@@ -182,7 +360,8 @@ class StudentControllerTest {
         .registerModule(new JavaTimeModule())
         .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-    when(service.searchStudent(studentId)).thenReturn(studentDetail);
+    when(service.searchVersionedStudent(studentId)).thenReturn(
+        new Versioned<>(studentDetail, new ResourceVersion("student-999-v0", -1)));
 
     // リクエストの送信
     mockMvc.perform(MockMvcRequestBuilders.get("/students/{studentId}", studentId)
@@ -212,9 +391,40 @@ class StudentControllerTest {
         .andExpect(jsonPath("$.courseDetailList[1].course.endDate").value("2022-05-07T16:00:00"))
         .andExpect(jsonPath("$.courseDetailList[1].status.id").value("2"))
         .andExpect(jsonPath("$.courseDetailList[1].status.attendingId").value("999"))
-        .andExpect(jsonPath("$.courseDetailList[1].status.statusId").value("4"));
+        .andExpect(jsonPath("$.courseDetailList[1].status.statusId").value("4"))
+        .andExpect(header().string("ETag", "\"student-999-v0\""));
 
-    verify(service, times(1)).searchStudent(studentId);
+    verify(service, times(1)).searchVersionedStudent(studentId);
+    // 条件付きGETでない場合は版を検索しない
+    verify(service, never()).findStudentVersion(any());
+  }
+
+  @Test
+  void 受講生検索_ETagが一致する場合_検索せずに304NotModifiedが返ること() throws Exception {
+    when(service.findStudentVersion(studentId)).thenReturn(
+        Optional.of(new ResourceVersion("student-999-v3", -1)));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/{studentId}", studentId)
+            .header("If-None-Match", "\"student-999-v3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"student-999-v3\""))
+        .andExpect(content().string(""));
+
+    verify(service, never()).searchVersionedStudent(any());
+  }
+
+  @Test
+  void 受講生検索_ETagが一致しない場合_200OKと新しいETagが返ること() throws Exception {
+    when(service.findStudentVersion(studentId)).thenReturn(
+        Optional.of(new ResourceVersion("student-999-v4", -1)));
+    when(service.searchVersionedStudent(studentId)).thenReturn(
+        new Versioned<>(studentDetail, new ResourceVersion("student-999-v4", -1)));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/{studentId}", studentId)
+            .header("If-None-Match", "\"student-999-v3\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"student-999-v4\""))
+        .andExpect(jsonPath("$.student.studentId").value("999"));
   }
 
   @Test
@@ -237,13 +447,33 @@ class StudentControllerTest {
     verify(service, times(1)).updateStudent(eq(999), any(StudentDetail.class));
   }
 
+  @Test
+  void 受講生更新_他の更新と競合した場合_409Conflictとエラーメッセージが返ること() throws Exception {
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    studentDetail.getStudent().setVersion(3);
+    String request = objectMapper.writeValueAsString(studentDetail);
+    doThrow(new VersionConflictException("受講生情報は他の更新によって変更されています。"))
+        .when(service).updateStudent(eq(999), any(StudentDetail.class));
+
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/{studentId}", 999)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(request))
+        .andExpect(status().isConflict())
+        .andExpect(content().string("受講生情報は他の更新によって変更されています。"));
+
+    verify(service).updateStudent(eq(999),
+        argThat(detail -> detail.getStudent().getVersion() == 3));
+  }
+
   @Test
   void 受講生検索_存在しないstudentIdを指定した時_404NotFoundとエラーメッセージが返ること()
       throws Exception {
     int testStudentId = 1234567890;
 
     // Service 例外スロー
-    Mockito.when(service.searchStudent(testStudentId))
+    Mockito.when(service.searchVersionedStudent(testStudentId))
         .thenThrow(new NoDataException("受講生情報が見つかりませんでした。ID: " + testStudentId));
 
     // Controller エラーハンドリングを検証
@@ -12,7 +12,7 @@ class StudentSearchFormTest {
   void DTOへの変換メソッド_すべての値が正しく変換されること() {
     // 入力データの準備
     var form = new StudentSearchForm("テスト", 25, 30, "テスト", "test@email.com", "Other", "", 1,
-        "開発系コース", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 1), List.of(4));
+        "開発系コース", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 1), List.of(4), null, null);
 
     StudentSearchDTO actual = form.toDTO();
 
@@ -23,7 +23,7 @@ class StudentSearchFormTest {
 
     var expected = new StudentSearchDTO("テスト", expectedStartBirthDate, expectedEndBirthDate,
         "テスト", "test@email.com", "Other", "", 1, "開発系コース", LocalDate.of(2025, 1, 1),
-        LocalDate.of(2025, 7, 1), List.of(4));
+        LocalDate.of(2025, 7, 1), List.of(4), null, StudentSearchForm.DEFAULT_LIMIT);
 
     // 検証
     assertThat(actual).isEqualTo(expected);
@@ -33,7 +33,8 @@ class StudentSearchFormTest {
   void DTOへの変換メソッド_年齢指定なしの場合_生年月日指定がNullになること() {
     // 入力データの準備
     var form = new StudentSearchForm("テスト", null, null, "テスト", "test@email.com", "Other", "",
-        1, "開発系コース", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 1), List.of(4));
+        1, "開発系コース", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 1), List.of(4), null,
+        null);
 
     var dto = form.toDTO();
 
@@ -45,11 +46,23 @@ class StudentSearchFormTest {
   void DTOへの変換メソッド_statusがNullの場合_空リストになること() {
     var form = new StudentSearchForm("ステータスがnullのテスト", 0, 100,
         "テスト", "test@email.com", "Other",
-        "", 1, "開発系コース", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 1), null);
+        "", 1, "開発系コース", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 1), null, null,
+        null);
 
     StudentSearchDTO dto = form.toDTO();
 
     assertThat(dto.statusIds()).isEmpty();
   }
 
+  @Test
+  void DTOへの変換メソッド_カーソルと取得件数が引き継がれ_取得件数が上限に制限されること() {
+    var form = new StudentSearchForm(null, null, null, null, null, null, null, null, null, null,
+        null, null, 120, 5000);
+
+    var dto = form.toDTO();
+
+    assertThat(dto.afterStudentId()).isEqualTo(120);
+    assertThat(dto.limit()).isEqualTo(StudentSearchForm.MAX_LIMIT);
+  }
+
 }
@@ -2,6 +2,8 @@ package raisetech.student.management.converter.student;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
@@ -107,4 +109,51 @@ class StudentConverterTest {
 
   }
 
+  @Test
+  void 結合時に入力の並び順を保ちnullとステータスのないコース情報をスキップすること() {
+    // 事前準備　* null・ステータスなし・コースなしを含むテストデータ作成 *
+    var student1 = new Student(1, "テスト１子", "てすといちこ", "いちこ", "1@test.email",
+        "テスト区", LocalDate.of(2000, 1, 11), "Female", "");
+    var student2 = new Student(2, "テスト２斗", "てすとにと", "にと", "2@test.email",
+        "テスト区", LocalDate.of(2000, 2, 22), "Male", "");
+    var student3 = new Student(3, "テスト３郎", "てすとさぶろう", "さぶ", "3@test.email",
+        "テスト区", LocalDate.of(2000, 3, 3), "Male", "");
+    List<Student> studentList = Arrays.asList(student2, null, student1, student3);
+
+    var course1 = new StudentsCourse(111L, 1, 1, fixedDateTime, fixedDateTime.plusYears(1));
+    var course2 = new StudentsCourse(222L, 2, 2, fixedDateTime, fixedDateTime.plusYears(1));
+    var course3 = new StudentsCourse(333L, 1, 8, fixedDateTime, fixedDateTime.plusYears(1));
+    var course4 = new StudentsCourse(444L, 3, 3, fixedDateTime, fixedDateTime.plusYears(1));
+    List<StudentsCourse> studentsCourseList = Arrays.asList(course3, null, course1, course2,
+        course4);
+
+    // course4(444L)にはステータスが存在しない、333Lは重複（先に出現したものを採用）
+    var status1 = new CourseStatus(1, 111L, 4);
+    var status2 = new CourseStatus(2, 222L, 3);
+    var status3 = new CourseStatus(3, 333L, 1);
+    var status3Duplicated = new CourseStatus(4, 333L, 2);
+    List<CourseStatus> courseStatusList = new ArrayList<>(
+        Arrays.asList(status2, null, status3, status1, status3Duplicated));
+
+    // 実行
+    List<CourseDetail> actualCourseDetails = sut.convertCourseDetails(studentsCourseList,
+        courseStatusList);
+    List<StudentDetail> actualStudentDetails = sut.convertStudentDetails(studentList,
+        actualCourseDetails);
+
+    // 検証
+    assertThat(actualCourseDetails)
+        .usingRecursiveComparison()
+        .isEqualTo(List.of(new CourseDetail(course3, status3), new CourseDetail(course1, status1),
+            new CourseDetail(course2, status2)));
+    assertThat(actualStudentDetails)
+        .usingRecursiveComparison()
+        .isEqualTo(List.of(
+            new StudentDetail(student2, List.of(new CourseDetail(course2, status2))),
+            new StudentDetail(student1, List.of(new CourseDetail(course3, status3),
+                new CourseDetail(course1, status1)))));
+    assertThat(actualStudentDetails).extracting(detail -> detail.getStudent().getStudentId())
+        .containsExactly(2, 1);
+  }
+
 }
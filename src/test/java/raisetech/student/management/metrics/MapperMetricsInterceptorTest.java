@@ -0,0 +1,107 @@
+package raisetech.student.management.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MapperMetricsInterceptorTest {
+
+  private static final String STATEMENT =
+      "raisetech.student.management.repository.student.StudentRepository.";
+
+  @Mock
+  private Executor executor;
+
+  private SimpleMeterRegistry registry;
+  private MapperMetricsInterceptor sut;
+
+  @BeforeEach
+  void before() {
+    registry = new SimpleMeterRegistry();
+    sut = new MapperMetricsInterceptor(registry);
+  }
+
+  private MappedStatement statement(String id, SqlCommandType command) {
+    var configuration = new Configuration();
+    return new MappedStatement.Builder(configuration, STATEMENT + id,
+        new StaticSqlSource(configuration, "SELECT 1"), command).build();
+  }
+
+  private Invocation query(MappedStatement statement) throws NoSuchMethodException {
+    return new Invocation(executor, Executor.class.getMethod("query", MappedStatement.class,
+        Object.class, RowBounds.class, ResultHandler.class),
+        new Object[]{statement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER});
+  }
+
+  @Test
+  void 検索_SQLごとの実行時間と取得件数が記録され計測範囲の件数が加算されること() throws Throwable {
+    var statement = statement("findStudent", SqlCommandType.SELECT);
+    when(executor.query(any(), any(), any(), any())).thenReturn(List.of("a", "b", "c"));
+
+    try (QueryCounter.Scope scope = QueryCounter.open()) {
+      sut.intercept(query(statement));
+      sut.intercept(query(statement));
+
+      assertEquals(2, scope.count());
+    }
+
+    assertEquals(2, registry.get("mybatis.statement")
+        .tag("statement", "StudentRepository.findStudent")
+        .tag("command", "SELECT")
+        .tag("exception", "none")
+        .timer().count());
+    var rows = registry.get("mybatis.statement.rows")
+        .tag("statement", "StudentRepository.findStudent")
+        .tag("type", "returned")
+        .summary();
+    assertEquals(2, rows.count());
+    assertEquals(6, rows.totalAmount());
+  }
+
+  @Test
+  void 更新_更新件数が記録されること() throws Throwable {
+    var statement = statement("updateStudent", SqlCommandType.UPDATE);
+    when(executor.update(any(), any())).thenReturn(1);
+
+    sut.intercept(new Invocation(executor,
+        Executor.class.getMethod("update", MappedStatement.class, Object.class),
+        new Object[]{statement, null}));
+
+    assertEquals(1, registry.get("mybatis.statement.rows")
+        .tag("statement", "StudentRepository.updateStudent")
+        .tag("type", "affected")
+        .summary().totalAmount());
+  }
+
+  @Test
+  void 例外_例外名のタグで実行時間が記録され例外がそのまま投げられること() throws Throwable {
+    var statement = statement("findStudent", SqlCommandType.SELECT);
+    when(executor.query(any(), any(), any(), any()))
+        .thenThrow(new IllegalStateException("DBエラー"));
+
+    assertThrows(IllegalStateException.class, () -> sut.intercept(query(statement)));
+
+    assertEquals(1, registry.get("mybatis.statement")
+        .tag("statement", "StudentRepository.findStudent")
+        .tag("exception", "IllegalStateException")
+        .timer().count());
+  }
+
+}
@@ -0,0 +1,44 @@
+package raisetech.student.management.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * テストで処理中に実行されたSQLの件数を確認するユーティリティです。 SQLを数えるのは {@link MapperMetricsInterceptor} のため、
+ * マッパーを含むSpringのコンテキスト（@SpringBootTest・@MybatisTest）で使います。 テストと同じスレッドで実行されたSQLのみ数えます。
+ */
+public final class QueryCountAssertions {
+
+  private QueryCountAssertions() {
+  }
+
+  /**
+   * 【SQLの件数の計測】
+   *
+   * @param action 計測する処理
+   * @return 処理中に実行されたSQLの件数とSQLごとの件数
+   * @throws Throwable 処理で発生した例外
+   */
+  public static QueryCounter.Scope countQueries(Executable action) throws Throwable {
+    try (QueryCounter.Scope scope = QueryCounter.open()) {
+      action.execute();
+      return scope;
+    }
+  }
+
+  /**
+   * 【SQLの件数の確認】 一致しない場合は、実行されたSQLごとの件数をメッセージに含める。
+   *
+   * @param expected 期待するSQLの件数
+   * @param action   計測する処理
+   * @return 処理中に実行されたSQLの件数とSQLごとの件数
+   * @throws Throwable 処理で発生した例外
+   */
+  public static QueryCounter.Scope assertQueryCount(int expected, Executable action)
+      throws Throwable {
+    QueryCounter.Scope scope = countQueries(action);
+    assertEquals(expected, scope.count(), () -> "実行されたSQL：" + scope.statements());
+    return scope;
+  }
+
+}
@@ -0,0 +1,153 @@
+package raisetech.student.management.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import raisetech.student.management.exception.QueryBudgetExceededException;
+import raisetech.student.management.metrics.QueryBudgetProperties.Mode;
+
+class QueryCountFilterTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private QueryCountFilter filter(Mode mode) {
+    return new QueryCountFilter(registry,
+        new QueryBudgetProperties(mode, 10, Map.of("Handler.handle", 2)));
+  }
+
+  // Controllerの代わりにハンドラを設定し、指定したSQLを実行したものとして数える
+  private MockFilterChain chain(String... statementIds) throws NoSuchMethodException {
+    var handler = new HandlerMethod(new Handler(), Handler.class.getMethod("handle"));
+    return new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse resp) {
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/students/{studentId}");
+        req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+        for (String statementId : statementIds) {
+          QueryCounter.increment(statementId);
+        }
+      }
+    });
+  }
+
+  // 指定したSQLをそれぞれ別の仮想スレッドで実行したものとして数える（並列検索と同じく計測範囲を引き継ぐ）
+  private MockFilterChain parallelChain(String... statementIds) throws NoSuchMethodException {
+    var handler = new HandlerMethod(new Handler(), Handler.class.getMethod("handle"));
+    return new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse resp) {
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/students");
+        req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+          List<Future<Object>> futures = new ArrayList<>();
+          for (String statementId : statementIds) {
+            futures.add(executor.submit(QueryCounter.wrap(() -> {
+              QueryCounter.increment(statementId);
+              return null;
+            })));
+          }
+          for (Future<Object> future : futures) {
+            future.get();
+          }
+        } catch (ExecutionException e) {
+          throw (RuntimeException) e.getCause();
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    });
+  }
+
+  static class Handler {
+
+    public void handle() {
+    }
+  }
+
+  @Test
+  void リクエスト中に実行されたSQLの件数がURIのパターンごとに記録されること() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/students/1");
+
+    filter(Mode.LOG).doFilter(request, new MockHttpServletResponse(),
+        chain("StudentRepository.searchStudent", "StudentRepository.searchStudentsCourses",
+            "StudentRepository.searchCourseStatuses"));
+
+    var summary = registry.get("http.server.requests.queries")
+        .tag("method", "GET")
+        .tag("uri", "/students/{studentId}")
+        .summary();
+    assertEquals(1, summary.count());
+    assertEquals(3, summary.totalAmount());
+  }
+
+  @Test
+  void 上限超過_REJECTの場合は上限を超えるSQLの実行前に中断されSQLごとの件数が返ること() throws Exception {
+    var request = new MockHttpServletRequest("PUT", "/students/1");
+
+    var actual = assertThrows(QueryBudgetExceededException.class,
+        () -> filter(Mode.REJECT).doFilter(request, new MockHttpServletResponse(),
+            chain("StudentRepository.searchStudent", "StudentRepository.updateCourseStatus",
+                "StudentRepository.updateCourseStatus", "StudentRepository.updateCourseStatus")));
+
+    assertEquals("Handler.handle", actual.getEndpoint());
+    assertEquals(2, actual.getBudget());
+    assertThat(actual.getStatements()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        "StudentRepository.searchStudent", 1, "StudentRepository.updateCourseStatus", 2));
+    assertThat(actual.getMessage()).contains("[Handler.handle] 3件（上限 2件）",
+        "StudentRepository.updateCourseStatus x2, StudentRepository.searchStudent x1");
+  }
+
+  @Test
+  void 上限超過_LOGの場合はリクエストが中断されないこと() throws Exception {
+    var request = new MockHttpServletRequest("PUT", "/students/1");
+
+    filter(Mode.LOG).doFilter(request, new MockHttpServletResponse(),
+        chain("StudentRepository.updateCourseStatus", "StudentRepository.updateCourseStatus",
+            "StudentRepository.updateCourseStatus"));
+
+    assertEquals(3, registry.get("http.server.requests.queries").summary().totalAmount());
+  }
+
+  @Test
+  void 別のスレッドで実行されたSQLも計測範囲を引き継いでリクエストの件数に数えられること() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/students");
+
+    filter(Mode.LOG).doFilter(request, new MockHttpServletResponse(),
+        parallelChain("StudentRepository.findStudent", "StudentRepository.findCourse",
+            "StudentRepository.findStatus"));
+
+    assertEquals(3, registry.get("http.server.requests.queries")
+        .tag("uri", "/students")
+        .summary().totalAmount());
+  }
+
+  @Test
+  void 上限超過_別のスレッドで実行されたSQLもREJECTの上限の対象になること() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/students");
+
+    var actual = assertThrows(QueryBudgetExceededException.class,
+        () -> filter(Mode.REJECT).doFilter(request, new MockHttpServletResponse(),
+            parallelChain("StudentRepository.findStudent", "StudentRepository.findCourse",
+                "StudentRepository.findStatus")));
+
+    assertEquals(2, actual.getBudget());
+  }
+
+}
@@ -0,0 +1,300 @@
+package raisetech.student.management.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.data.Course.CourseCategory;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.dto.StudentSearchDTO;
+import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.repository.job.JobLockRepository;
+import raisetech.student.management.repository.status.StatusRepository;
+import raisetech.student.management.repository.student.StudentRepository;
+
+/**
+ * 全てのマッパーのSQLを EXPLAIN し、受講生・受講コース・受講ステータスのテーブルを全件走査していないことを確認するテストです。
+ * インデックスが使われるかどうかは件数によって変わるため、数千件のデータを追加した上で実行します（テスト終了時にロールバック）。
+ */
+@MybatisTest
+class MapperIndexUsageTest {
+
+  private static final String STUDENT = StudentRepository.class.getName() + ".";
+  private static final String COURSE = CourseRepository.class.getName() + ".";
+  private static final String STATUS = StatusRepository.class.getName() + ".";
+  private static final String JOB = JobLockRepository.class.getName() + ".";
+
+  /**
+   * 追加する受講生の件数
+   */
+  private static final int SEEDED_STUDENTS = 5000;
+
+  /**
+   * 全件走査を許容するマスタテーブル（件数が少なく増えないため）
+   */
+  private static final Set<String> MASTER_TABLES = Set.of("COURSES", "STATUSES");
+
+  /**
+   * 全件取得・全件の集計が目的のため、全件走査を許容するSQL
+   */
+  private static final Set<String> FULL_SCAN_STATEMENTS = Set.of(
+      STUDENT + "displayCourse",
+      STUDENT + "displayStatus",
+      STUDENT + "countStatistics");
+
+  /**
+   * 検索フォームの条件で組み立てるSQL（検索条件の組み合わせごとに確認する）
+   */
+  private static final List<String> SEARCH_STATEMENTS = List.of(
+      STUDENT + "findStudent",
+      STUDENT + "findCourse",
+      STUDENT + "findStatus",
+      STUDENT + "findStudentDetail");
+
+  /**
+   * 検索条件の組み合わせごとに全件走査を許容するテーブル。 氏名・地域・備考の部分一致（前後の%）はインデックスで絞り込めず、
+   * 受講生を is_deleted = 0 の全件から受講生ID順に読み進めて件数（limit）に達した時点で終了するため許容する。
+   */
+  private static final Map<String, Set<String>> KNOWN_SCANS = Map.of(
+      "氏名のみ", Set.of("STUDENTS"),
+      "地域のみ", Set.of("STUDENTS"),
+      "備考のみ", Set.of("STUDENTS"));
+
+  private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @BeforeEach
+  void seed() throws SQLException {
+    try (Statement statement = connection().createStatement()) {
+      statement.executeUpdate("""
+          INSERT INTO students (full_name, name_pronunciation, nickname, email, area, birth_date,
+            gender, remark, is_deleted)
+          SELECT CONCAT('受講生', X), 'じゅこうせい', 'ニック', CONCAT('seed', X, '@example.com'),
+            '東京', DATEADD('DAY', X, DATE '1990-01-01'),
+            CASE MOD(X, 3) WHEN 0 THEN 'Male' WHEN 1 THEN 'Female' ELSE 'Other' END, NULL,
+            CASE WHEN MOD(X, 10) = 0 THEN 1 ELSE 0 END
+          FROM SYSTEM_RANGE(1, %d)
+          """.formatted(SEEDED_STUDENTS));
+      statement.executeUpdate("""
+          INSERT INTO students_courses (student_id, course_id, start_date, end_date)
+          SELECT student_id, MOD(student_id, 7) + 1, DATE '2025-01-01', DATE '2025-07-01'
+          FROM students WHERE student_id > 5
+          """);
+      statement.executeUpdate("""
+          INSERT INTO course_status (attending_id, status_id)
+          SELECT attending_id, MOD(attending_id, 5) + 1 FROM students_courses WHERE attending_id > 7
+          """);
+    }
+  }
+
+  // テストのトランザクションに参加する接続（ロールバックで追加したデータは消える）
+  private Connection connection() {
+    return DataSourceUtils.getConnection(dataSource);
+  }
+
+  /**
+   * 検索フォームで指定できる検索条件の組み合わせ（氏名の全文検索はMySQLのみのため、H2では部分一致のSQLを確認する）
+   */
+  private Map<String, StudentSearchDTO> searchConditions() {
+    Map<String, StudentSearchDTO> conditions = new LinkedHashMap<>();
+    conditions.put("条件なし（先頭ページ）", new StudentSearchDTO(null, null, null, null, null,
+        null, null, null, null, null, null, null, null, 100));
+    conditions.put("条件なし（カーソル以降のページ）", new StudentSearchDTO(null, null, null, null,
+        null, null, null, null, null, null, null, null, 2500, 100));
+    conditions.put("氏名のみ", new StudentSearchDTO("受講生12", null, null, null, null, null,
+        null, null, null, null, null, null, null, 100));
+    conditions.put("地域のみ", new StudentSearchDTO(null, null, null, "東京", null, null, null,
+        null, null, null, null, null, null, 100));
+    conditions.put("備考のみ", new StudentSearchDTO(null, null, null, null, null, null, "料理",
+        null, null, null, null, null, null, 100));
+    conditions.put("メールアドレスのみ", new StudentSearchDTO(null, null, null, null,
+        "seed100@example.com", null, null, null, null, null, null, null, null, 100));
+    conditions.put("性別・生年月日", new StudentSearchDTO(null, LocalDate.of(1995, 1, 1),
+        LocalDate.of(1999, 12, 31), null, null, "Male", null, null, null, null, null, null,
+        null, 100));
+    conditions.put("生年月日のみ", new StudentSearchDTO(null, LocalDate.of(1995, 1, 1),
+        LocalDate.of(1995, 12, 31), null, null, null, null, null, null, null, null, null,
+        null, 100));
+    conditions.put("コースのみ", new StudentSearchDTO(null, null, null, null, null, null, null,
+        1, null, null, null, null, null, 100));
+    conditions.put("カテゴリのみ", new StudentSearchDTO(null, null, null, null, null, null, null,
+        null, "開発系コース", null, null, null, null, 100));
+    conditions.put("ステータスのみ", new StudentSearchDTO(null, null, null, null, null, null,
+        null, null, null, null, null, List.of(3, 5), null, 100));
+    conditions.put("コース・ステータス", new StudentSearchDTO(null, null, null, null, null, null,
+        null, 1, null, null, null, List.of(3, 5), null, 100));
+    conditions.put("受講期間のみ", new StudentSearchDTO(null, null, null, null, null, null, null,
+        null, null, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), null, null, 100));
+    conditions.put("全ての条件", new StudentSearchDTO(null, LocalDate.of(1995, 1, 1), null, null,
+        "seed100@example.com", "Male", null, 1, null, LocalDate.of(2025, 3, 1),
+        LocalDate.of(2025, 3, 31), List.of(3, 5), null, 100));
+    return conditions;
+  }
+
+  /**
+   * SQLごとの代表的なパラメータ（検索のSQLは {@link #searchConditions()} の組み合わせごとに確認する）
+   */
+  private Map<String, Object> parameters() {
+    var student = new Student(1, "山田 太郎", "やまだ たろう", "たろ", "taro@example.com", "東京",
+        LocalDate.of(2000, 1, 1), "Male", "");
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put(STUDENT + "displayStudent", null);
+    parameters.put(STUDENT + "searchStudent", 1);
+    parameters.put(STUDENT + "searchStudentVersion", 1);
+    parameters.put(STUDENT + "searchStudentsCourses", 1);
+    parameters.put(STUDENT + "searchStudentsByIds", params("studentIds", List.of(1, 2, 3)));
+    parameters.put(STUDENT + "searchStudentsCoursesByStudentIds",
+        params("studentIds", List.of(1, 2, 3)));
+    parameters.put(STUDENT + "searchCourseStatus", 1L);
+    parameters.put(STUDENT + "searchCourseStatuses", params("attendingIds", List.of(1L, 2L)));
+    parameters.put(STUDENT + "updateStudent", student);
+    ParamMap<Object> isDeleted = params("studentId", 1);
+    isDeleted.put("isDeleted", true);
+    parameters.put(STUDENT + "updateStudentIsDeleted", isDeleted);
+    parameters.put(STUDENT + "updateStudentsCourses", new StudentsCourse(1L, 1, 2, null, null));
+    ParamMap<Object> courseStatus = params("studentId", 1);
+    courseStatus.put("status", new CourseStatus(1, 1L, 3));
+    parameters.put(STUDENT + "updateCourseStatus", courseStatus);
+    parameters.put(STUDENT + "lockCourseStatuses", params("attendingIds", List.of(1L, 2L)));
+    ParamMap<Object> transition = params("attendingIds", List.of(1L, 2L));
+    transition.put("fromStatusIds", List.of(3, 6));
+    transition.put("toStatusId", 4);
+    parameters.put(STUDENT + "transitionCourseStatuses", transition);
+    parameters.put(STUDENT + "touchStudents", params("studentIds", List.of(1, 2)));
+    ParamMap<Object> advanceable = params("statusId", 3);
+    advanceable.put("startedBy", LocalDateTime.of(2025, 3, 1, 0, 0));
+    advanceable.put("endedBy", null);
+    advanceable.put("afterAttendingId", 100L);
+    advanceable.put("limit", 1000);
+    parameters.put(STUDENT + "findAdvanceableStatuses", advanceable);
+    parameters.put(STUDENT + "lockStudentEnrollments", 1);
+    parameters.put(STUDENT + "countStatistics", null);
+    parameters.put(STUDENT + "exportStudents", null);
+    parameters.put(COURSE + "displayCourseMaster", null);
+    parameters.put(STATUS + "displayStatusMaster", null);
+    ParamMap<Object> lock = params("jobName", "status-advancement");
+    lock.put("owner", "instance-1");
+    lock.put("lockSeconds", 3600L);
+    parameters.put(JOB + "acquireLock", lock);
+    parameters.put(JOB + "releaseLock", lock);
+    parameters.put(COURSE + "searchCourseMaster", 1);
+    parameters.put(COURSE + "updateCourseMaster",
+        new Course(1, "Javaコース", CourseCategory.開発系コース, 6, false, null, null));
+    return parameters;
+  }
+
+  private ParamMap<Object> params(String name, Object value) {
+    ParamMap<Object> params = new ParamMap<>();
+    params.put(name, value);
+    params.put("param1", value);
+    return params;
+  }
+
+  @Test
+  void 全てのマッパーのSQLが全件走査にならないこと() throws SQLException {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    Map<String, Object> parameters = parameters();
+
+    List<String> uncovered = new ArrayList<>();
+    List<String> tableScans = new ArrayList<>();
+    for (String id : configuration.getMappedStatementNames()) {
+      // 短縮名（名前空間なし）は同じSQLのため除く
+      if (!id.contains(".")) {
+        continue;
+      }
+      MappedStatement statement = configuration.getMappedStatement(id);
+      if (statement.getSqlCommandType() == SqlCommandType.INSERT) {
+        continue;
+      }
+      if (SEARCH_STATEMENTS.contains(id)) {
+        continue;
+      }
+      if (!parameters.containsKey(id)) {
+        // SQLを追加した場合は parameters() に代表的なパラメータを追加する
+        uncovered.add(id);
+        continue;
+      }
+
+      String plan = explain(statement, parameters.get(id));
+      Matcher matcher = TABLE_SCAN.matcher(plan);
+      while (matcher.find()) {
+        if (!MASTER_TABLES.contains(matcher.group(1)) && !FULL_SCAN_STATEMENTS.contains(id)) {
+          tableScans.add(id + "：" + matcher.group(1) + "\n" + plan);
+        }
+      }
+    }
+
+    assertThat(uncovered).as("EXPLAIN のパラメータが定義されていないSQL").isEmpty();
+    assertThat(tableScans).as("全件走査になるSQL").isEmpty();
+  }
+
+  @Test
+  void 検索のSQLが検索条件の組み合わせごとに全件走査にならないこと() throws SQLException {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+
+    List<String> tableScans = new ArrayList<>();
+    for (Map.Entry<String, StudentSearchDTO> condition : searchConditions().entrySet()) {
+      Set<String> knownScans = KNOWN_SCANS.getOrDefault(condition.getKey(), Set.of());
+      for (String id : SEARCH_STATEMENTS) {
+        String plan = explain(configuration.getMappedStatement(id), condition.getValue());
+        Matcher matcher = TABLE_SCAN.matcher(plan);
+        while (matcher.find()) {
+          if (!MASTER_TABLES.contains(matcher.group(1)) && !knownScans.contains(matcher.group(1))) {
+            tableScans.add(condition.getKey() + "：" + id + "：" + matcher.group(1) + "\n" + plan);
+          }
+        }
+      }
+    }
+
+    assertThat(tableScans).as("全件走査になる検索条件の組み合わせ").isEmpty();
+  }
+
+  private String explain(MappedStatement statement, Object parameter) throws SQLException {
+    BoundSql boundSql = statement.getBoundSql(parameter);
+    try (PreparedStatement ps = connection().prepareStatement("EXPLAIN " + boundSql.getSql())) {
+      new DefaultParameterHandler(statement, parameter, boundSql).setParameters(ps);
+      try (ResultSet rs = ps.executeQuery()) {
+        StringBuilder plan = new StringBuilder();
+        while (rs.next()) {
+          plan.append(rs.getString(1)).append('\n');
+        }
+        return plan.toString();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+package raisetech.student.management.repository.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+@MybatisTest
+class JobLockRepositoryTest {
+
+  private static final String JOB_NAME = "status-advancement";
+
+  @Autowired
+  private JobLockRepository sut;
+
+  @Test
+  void ジョブのロックの取得_期限内は他の実行が取得できないこと() {
+    assertEquals(1, sut.acquireLock(JOB_NAME, "instance-1", 3600));
+
+    assertEquals(0, sut.acquireLock(JOB_NAME, "instance-2", 3600));
+  }
+
+  @Test
+  void ジョブのロックの取得_解放後は他の実行が取得できること() {
+    sut.acquireLock(JOB_NAME, "instance-1", 3600);
+
+    assertEquals(1, sut.releaseLock(JOB_NAME, "instance-1"));
+    assertEquals(1, sut.acquireLock(JOB_NAME, "instance-2", 3600));
+  }
+
+  @Test
+  void ジョブのロックの取得_期限が過ぎたロックは他の実行が取得できること() {
+    // 取得した実行が停止した（期限が既に過ぎている）
+    sut.acquireLock(JOB_NAME, "instance-1", -1);
+
+    assertEquals(1, sut.acquireLock(JOB_NAME, "instance-2", 3600));
+  }
+
+  @Test
+  void ジョブのロックの解放_他の実行が取得したロックは解放しないこと() {
+    sut.acquireLock(JOB_NAME, "instance-1", 3600);
+
+    assertEquals(0, sut.releaseLock(JOB_NAME, "instance-2"));
+    assertEquals(0, sut.acquireLock(JOB_NAME, "instance-2", 3600));
+  }
+
+  @Test
+  void ジョブのロックの取得_存在しないジョブは取得できないこと() {
+    assertEquals(0, sut.acquireLock("unknown", "instance-1", 3600));
+  }
+
+}
@@ -0,0 +1,33 @@
+package raisetech.student.management.repository.status;
+
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import raisetech.student.management.data.Status;
+
+@MybatisTest
+class StatusRepositoryTest {
+
+  @Autowired
+  private StatusRepository sut;
+
+  @Test
+  void ステータスマスタの全件取得がステータスID順に行えること() {
+    List<Status> actual = sut.displayStatusMaster();
+
+    assertThat(actual)
+        .extracting(Status::getStatusId, Status::getStatusName, Status::getDisplayOrder)
+        .containsExactly(
+            tuple(1, "仮申し込み", 1),
+            tuple(2, "入金待ち", 2),
+            tuple(3, "本申し込み", 3),
+            tuple(4, "受講中", 4),
+            tuple(5, "受講終了", 5),
+            tuple(6, "受講中断", 6),
+            tuple(7, "キャンセル", 99));
+  }
+
+}
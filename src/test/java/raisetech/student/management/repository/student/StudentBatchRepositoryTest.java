@@ -0,0 +1,81 @@
+package raisetech.student.management.repository.student;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+
+@MybatisTest
+@Import(StudentBatchRepository.class)
+class StudentBatchRepositoryTest {
+
+  @Autowired
+  private StudentBatchRepository sut;
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Test
+  void バッチ実行_送信ごとに自動採番されたIDが設定され同じトランザクションから参照できること() {
+    var student1 = new Student(null, "バッチ 一郎", "ばっち いちろう", "いち", "1@batch.test",
+        "東京", LocalDate.of(2000, 1, 1), "Male", "");
+    var student2 = new Student(null, "バッチ 二子", "ばっち ふたこ", "ふた", "2@batch.test",
+        "大阪", LocalDate.of(2000, 2, 2), "Female", "");
+    var now = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+    List<StudentsCourse> courses = sut.executeBatch(batch -> {
+      batch.mapper().registerStudent(student1);
+      batch.mapper().registerStudent(student2);
+      int[] studentCounts = batch.flush();
+      assertThat(studentCounts).hasSize(2);
+
+      var course1 = new StudentsCourse(null, student1.getStudentId(), 1, now, now.plusMonths(6));
+      var course2 = new StudentsCourse(null, student2.getStudentId(), 2, now, now.plusMonths(6));
+      batch.mapper().registerStudentsCourses(course1);
+      batch.mapper().registerStudentsCourses(course2);
+      batch.flush();
+
+      batch.mapper().registerCourseStatus(new CourseStatus(null, course1.getAttendingId(), 1));
+      batch.mapper().registerCourseStatus(new CourseStatus(null, course2.getAttendingId(), 2));
+      return List.of(course1, course2);
+    });
+
+    assertThat(student1.getStudentId()).isNotNull();
+    assertThat(student2.getStudentId()).isGreaterThan(student1.getStudentId());
+    assertEquals(student1, repository.searchStudent(student1.getStudentId()));
+    assertEquals(courses, repository.searchStudentsCoursesByStudentIds(
+        List.of(student1.getStudentId(), student2.getStudentId())));
+    assertThat(repository.searchCourseStatuses(
+        courses.stream().map(StudentsCourse::getAttendingId).toList()))
+        .extracting(CourseStatus::getStatusId)
+        .containsExactlyInAnyOrder(1, 2);
+  }
+
+  @Test
+  void バッチ実行_更新件数が送信順に行ごとに返ること() {
+    int[] counts = sut.executeBatch(batch -> {
+      batch.mapper().updateStudentsCourses(new StudentsCourse(1L, 1, 2, null, null));
+      // 受講ID 2 は受講生ID 2 のコース情報のため更新されない
+      batch.mapper().updateStudentsCourses(new StudentsCourse(2L, 1, 3, null, null));
+      batch.mapper().updateCourseStatus(1, new CourseStatus(1, 1L, 4));
+      batch.mapper().updateCourseStatus(1, new CourseStatus(999, 1L, 4));
+      // ステータスID 2 は受講生ID 2 の受講ステータスのため更新されない
+      batch.mapper().updateCourseStatus(1, new CourseStatus(2, 2L, 4));
+      return batch.flush();
+    });
+
+    assertThat(counts).containsExactly(1, 0, 1, 0, 0);
+    assertEquals(2, repository.searchStudentsCourses(1).stream()
+        .filter(course -> course.getAttendingId() == 1L)
+        .findFirst().orElseThrow().getCourseId());
+  }
+
+}
@@ -2,16 +2,30 @@ package raisetech.student.management.repository.student;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import raisetech.student.management.data.CourseStatus;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatisticsCount;
+import raisetech.student.management.domain.StudentEnrollment;
 import raisetech.student.management.dto.StudentSearchDTO;
 
 @MybatisTest
@@ -61,6 +75,15 @@ class StudentRepositoryTest {
   @Autowired
   private StudentRepository sut;
 
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
+  private StudentSearchDTO nameCondition(String name) {
+    return new StudentSearchDTO(
+        name, null, null, null, null, null, null,
+        null, null, null, null, List.of(), null, null);
+  }
+
   @Test
   void 受講生の一覧表示が行えること() {
     List<Student> actual = sut.displayStudent();
@@ -87,6 +110,26 @@ class StudentRepositoryTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  void 受講生IDから受講生の版の検索が行えること() {
+    int studentId = 1;
+    Student expected = sut.searchStudent(studentId);
+
+    Student actual = sut.searchStudentVersion(studentId);
+
+    assertEquals(expected.getStudentId(), actual.getStudentId());
+    assertEquals(expected.getVersion(), actual.getVersion());
+    assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+  }
+
+  @Test
+  void 受講生の版の検索_論理削除済みの受講生は見つからないこと() {
+    int studentId = 1;
+    sut.updateStudentIsDeleted(studentId, true);
+
+    assertNull(sut.searchStudentVersion(studentId));
+  }
+
   @Test
   void 受講生IDからコース情報検索が行えること() {
     int studentId = 1;
@@ -103,6 +146,33 @@ class StudentRepositoryTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  void 複数の受講IDから受講ステータスの一括検索が行えること() {
+    List<CourseStatus> actual = sut.searchCourseStatuses(List.of(1L, 6L, 999L));
+    assertThat(actual).containsExactlyInAnyOrder(status1, status6);
+  }
+
+  @Test
+  void 複数の受講生IDから受講生情報の一括検索が受講生ID順に行えること() {
+    List<Student> actual = sut.searchStudentsByIds(List.of(2, 1, 999));
+    assertThat(actual).containsExactly(student1, student2);
+  }
+
+  @Test
+  void 複数の受講生IDからコース情報の一括検索が行えること() {
+    List<StudentsCourse> actual = sut.searchStudentsCoursesByStudentIds(List.of(2, 1, 999));
+    assertThat(actual).containsExactly(course1, course6, course2, course7);
+  }
+
+  @Test
+  void 受講生の全件エクスポート_カーソルで受講生ID順に読み出せること() throws Exception {
+    List<Student> actual = new ArrayList<>();
+    try (Cursor<Student> cursor = sut.exportStudents()) {
+      cursor.forEach(actual::add);
+    }
+    assertThat(actual).containsExactlyElementsOf(studentList);
+  }
+
   @Test
   void 受講生の登録が行えること() {
     var student = new Student(null, "テスト１子", "てすといちこ", "いちこ", "1@test.email",
@@ -137,6 +207,27 @@ class StudentRepositoryTest {
     assertEquals(actual, student);  // 前後の比較
   }
 
+  @Test
+  void 受講生情報の更新_バージョンが一致する場合のみ更新されバージョンが1増えること() {
+    int studentId = 2;
+    int version = sut.searchStudent(studentId).getVersion();
+    var student = new Student(studentId, "テスト１子", "てすといちこ", "いちこ", "1@test.email",
+        "テスト区", LocalDate.of(2000, 1, 1), "Female", "");
+    student.setVersion(version);
+
+    assertEquals(1, sut.updateStudent(student));
+    // 同じバージョンでの2回目の更新は、1回目の更新と競合するため更新されない
+    assertEquals(0, sut.updateStudent(student));
+    assertEquals(version + 1, sut.searchStudent(studentId).getVersion());
+  }
+
+  @Test
+  void コース情報の更新_他の受講生のコース情報は更新されないこと() {
+    // 受講ID 2 は受講生ID 2 のコース情報
+    var course = new StudentsCourse(2L, 1, 1, null, null);
+    assertEquals(0, sut.updateStudentsCourses(course));
+  }
+
   @Test
   void コース情報の更新が行えること() {
     Long attendingId = 2L;
@@ -165,19 +256,160 @@ class StudentRepositoryTest {
     int id = 1;
     var status = new CourseStatus(id, 1L, 1);
 
-    int updated = sut.updateCourseStatus(status);
+    int updated = sut.updateCourseStatus(1, status);
     var actual = sut.searchCourseStatus(1L);
 
     assertEquals(1, updated);
     assertEquals(status.getStatusId(), actual.getStatusId());
   }
 
+  @Test
+  void 受講ステータスの更新_他の受講生の受講ステータスは更新されないこと() {
+    // ステータスID 2 は受講生ID 2 の受講ID 2 の受講ステータス
+    var status = new CourseStatus(2, 2L, 1);
+
+    assertEquals(0, sut.updateCourseStatus(1, status));
+    assertEquals(5, sut.searchCourseStatus(2L).getStatusId());
+  }
+
+  @Test
+  void 受講ステータスの一括ロック_受講IDごとの受講生IDと現在のステータスが受講ID順に取得できること() {
+    List<EnrollmentStatus> actual = sut.lockCourseStatuses(List.of(7L, 1L, 100L));
+
+    assertThat(actual).containsExactly(
+        new EnrollmentStatus(1L, 1, 1, 5, false),
+        new EnrollmentStatus(7L, 2, 7, 1, false));
+  }
+
+  @Test
+  void 受講ステータスの一括遷移_遷移元のステータスの受講ステータスのみ更新されること() {
+    // 受講ID 5, 6 は本申し込み（3）、受講ID 1 は受講終了（5）
+    int updated = sut.transitionCourseStatuses(List.of(1L, 5L, 6L), List.of(3, 6), 4);
+
+    assertEquals(2, updated);
+    assertEquals(5, sut.searchCourseStatus(1L).getStatusId());
+    assertEquals(4, sut.searchCourseStatus(5L).getStatusId());
+    assertEquals(4, sut.searchCourseStatus(6L).getStatusId());
+  }
+
+  @Test
+  void 日付で進める受講ステータスの検索_受講開始日が基準日時を過ぎたものが受講ID順に取得できること() {
+    // 本申し込み（3）は受講ID 5（2025-05-05開始）・6（2025-06-01開始）
+    LocalDateTime baseTime = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    assertThat(sut.findAdvanceableStatuses(3, baseTime, null, 0L, 10)).containsExactly(
+        new EnrollmentStatus(5L, 5, 5, 3, false),
+        new EnrollmentStatus(6L, 1, 6, 3, false));
+    // 前回の最後の受講IDより後ろから指定件数だけ取得する
+    assertThat(sut.findAdvanceableStatuses(3, baseTime, null, 0L, 1))
+        .containsExactly(new EnrollmentStatus(5L, 5, 5, 3, false));
+    assertThat(sut.findAdvanceableStatuses(3, baseTime, null, 5L, 1))
+        .containsExactly(new EnrollmentStatus(6L, 1, 6, 3, false));
+    assertThat(sut.findAdvanceableStatuses(3, baseTime.minusDays(1), null, 0L, 10))
+        .containsExactly(new EnrollmentStatus(5L, 5, 5, 3, false));
+  }
+
+  @Test
+  void 日付で進める受講ステータスの検索_受講終了日が基準日時を過ぎたものが取得できること() {
+    // 受講中（4）は受講ID 3（2025-09-01終了）・4（2025-10-20終了）
+    assertThat(sut.findAdvanceableStatuses(4, null, LocalDateTime.of(2025, 9, 1, 0, 0), 0L, 10))
+        .containsExactly(new EnrollmentStatus(3L, 3, 3, 4, false));
+  }
+
+  @Test
+  void 受講生のバージョン更新_指定した受講生のバージョンのみ更新されること() {
+    int version1 = sut.searchStudent(1).getVersion();
+    int version2 = sut.searchStudent(2).getVersion();
+
+    assertEquals(1, sut.touchStudents(List.of(1)));
+    assertEquals(version1 + 1, sut.searchStudent(1).getVersion());
+    assertEquals(version2, sut.searchStudent(2).getVersion());
+  }
+
+  @Test
+  void 受講生の論理削除_論理削除済みの受講生も復元できバージョンが1増えること() {
+    int version = sut.searchStudent(2).getVersion();
+
+    assertEquals(1, sut.updateStudentIsDeleted(2, true));
+    assertNull(sut.searchStudent(2));
+    assertTrue(sut.lockStudentEnrollments(2).getFirst().deleted());
+    assertEquals(1, sut.updateStudentIsDeleted(2, false));
+    assertFalse(sut.lockStudentEnrollments(2).getFirst().deleted());
+    assertEquals(version + 2, sut.searchStudent(2).getVersion());
+    assertEquals(0, sut.updateStudentIsDeleted(999, true));
+  }
+
+  @Test
+  void 受講生情報の更新_論理削除済みの受講生は更新されず復元後に更新できること() {
+    int studentId = 2;
+    var student = new Student(studentId, "テスト１子", "てすといちこ", "いちこ", "1@test.email",
+        "テスト区", LocalDate.of(2000, 1, 1), "Female", "");
+    sut.updateStudentIsDeleted(studentId, true);
+
+    // 受講生情報の更新では論理削除済みの受講生は更新されず、復元もされない
+    assertEquals(0, sut.updateStudent(student));
+    assertNull(sut.searchStudent(studentId));
+
+    assertEquals(1, sut.updateStudentIsDeleted(studentId, false));
+    assertEquals(1, sut.updateStudent(student));
+    assertEquals(student, sut.searchStudent(studentId));
+  }
+
+  @Test
+  void 受講生情報の更新_論理削除フラグは更新されないこと() {
+    int studentId = 2;
+    var student = new Student(studentId, "テスト１子", "てすといちこ", "いちこ", "1@test.email",
+        "テスト区", LocalDate.of(2000, 1, 1), "Female", "");
+    student.setDeleted(true);
+
+    assertEquals(1, sut.updateStudent(student));
+    assertFalse(sut.lockStudentEnrollments(studentId).getFirst().deleted());
+  }
+
+  @Test
+  void 受講生の受講コースと受講ステータスの検索_受講ID順に1行ずつ取得できること() {
+    assertThat(sut.lockStudentEnrollments(1)).containsExactly(
+        new StudentEnrollment(1, "東京", false, 1L, 1, 1, 5),
+        new StudentEnrollment(1, "東京", false, 6L, 6, 6, 3));
+    assertThat(sut.lockStudentEnrollments(999)).isEmpty();
+  }
+
+  @Test
+  void 受講生の受講コースと受講ステータスの検索_受講コース情報がない受講生も1行取得できること() {
+    var student = new Student(null, "テスト１子", "てすといちこ", "いちこ", "1@test.email",
+        "テスト区", LocalDate.of(2000, 1, 1), "Female", "");
+    sut.registerStudent(student);
+
+    assertThat(sut.lockStudentEnrollments(student.getStudentId())).containsExactly(
+        new StudentEnrollment(student.getStudentId(), "テスト区", false, null, null, null,
+            null));
+  }
+
+  @Test
+  void 受講生の集計_論理削除されていない受講生のコースとステータスの組み合わせごとの件数と地域ごとの人数が取得できること() {
+    sut.updateStudentIsDeleted(5, true);
+
+    List<StatisticsCount> actual = sut.countStatistics();
+
+    assertThat(actual).containsExactlyInAnyOrder(
+        new StatisticsCount(StatisticsCount.ENROLLMENT, 1, 5, null, 1),
+        new StatisticsCount(StatisticsCount.ENROLLMENT, 2, 5, null, 1),
+        new StatisticsCount(StatisticsCount.ENROLLMENT, 3, 4, null, 1),
+        new StatisticsCount(StatisticsCount.ENROLLMENT, 4, 4, null, 1),
+        new StatisticsCount(StatisticsCount.ENROLLMENT, 6, 3, null, 1),
+        new StatisticsCount(StatisticsCount.ENROLLMENT, 7, 1, null, 1),
+        new StatisticsCount(StatisticsCount.STUDENT, null, null, "東京", 1),
+        new StatisticsCount(StatisticsCount.STUDENT, null, null, "大阪", 1),
+        new StatisticsCount(StatisticsCount.STUDENT, null, null, "福岡", 1),
+        new StatisticsCount(StatisticsCount.STUDENT, null, null, "北海道", 1));
+  }
+
   @Test
   void 受講生情報の詳細検索_検索条件に一致する受講生が取得できること() {
     // 検索条件
     var condition = new StudentSearchDTO(
         "中村", LocalDate.of(1999, 12, 31), LocalDate.of(2000, 12, 31), null, null, null, null,
-        null, null, null, null, List.of());
+        null, null, null, null, List.of(), null, null);
 
     var students = sut.findStudent(condition);
 
@@ -190,7 +422,7 @@ class StudentRepositoryTest {
     // 検索条件
     var condition = new StudentSearchDTO(
         null, null, null, null, null, null, null,
-        1, "開発系コース", null, null, List.of());
+        1, "開発系コース", null, null, List.of(), null, null);
 
     var courses = sut.findCourse(condition);
 
@@ -198,12 +430,44 @@ class StudentRepositoryTest {
     assertThat(courses.getFirst().getCourseId()).isEqualTo(1);
   }
 
+  @Test
+  void コース情報の詳細検索_受講期間が検索期間と重なるコースのみ取得できること() {
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null,
+        null, null, LocalDate.of(2025, 9, 15), LocalDate.of(2025, 10, 1), List.of(), null, null);
+
+    assertThat(sut.findCourse(condition)).containsExactlyInAnyOrder(course4, course5, course6,
+        course7);
+  }
+
+  @Test
+  void コース情報の詳細検索_受講期間の開始日または最終日のみ指定した場合も絞り込めること() {
+    var from = new StudentSearchDTO(null, null, null, null, null, null, null,
+        null, null, LocalDate.of(2025, 11, 6), null, List.of(), null, null);
+    var until = new StudentSearchDTO(null, null, null, null, null, null, null,
+        null, null, null, LocalDate.of(2025, 2, 15), List.of(), null, null);
+
+    assertThat(sut.findCourse(from)).containsExactlyInAnyOrder(course6, course7);
+    assertThat(sut.findCourse(until)).containsExactlyInAnyOrder(course1, course2);
+  }
+
+  @Test
+  void 受講コース情報とステータス情報の詳細検索_受講生の検索と同じページの受講生に限定されること() {
+    // 制作系コースでステータスが本申し込み・受講中の受講生は 1, 3, 4, 5 のため、カーソル1から2件のページは 3, 4
+    var condition = new StudentSearchDTO(
+        null, null, null, null, null, null, null,
+        null, "制作系コース", null, null, List.of(3, 4), 1, 2);
+
+    assertThat(sut.findStudent(condition)).containsExactly(student3, student4);
+    assertThat(sut.findCourse(condition)).containsExactly(course3, course4);
+    assertThat(sut.findStatus(condition)).containsExactly(status3, status4);
+  }
+
   @Test
   void ステータス情報の詳細検索_検索条件に一致するステータスが取得できること() {
     // 検索条件
     var condition = new StudentSearchDTO(
         null, null, null, null, null, null, null,
-        null, null, null, null, List.of(4));
+        null, null, null, null, List.of(4), null, null);
 
     var statuses = sut.findStatus(condition);
 
@@ -211,4 +475,138 @@ class StudentRepositoryTest {
     assertThat(statuses.getFirst().getStatusId()).isEqualTo(4);
   }
 
+  @Test
+  void 受講生詳細の詳細検索_結合クエリで受講生ごとに受講コース情報とステータスが組み立てられること() {
+    // 検索条件
+    var condition = new StudentSearchDTO(
+        "山田", null, null, null, null, null, null,
+        null, null, null, null, List.of(), null, null);
+
+    var actual = sut.findStudentDetail(condition);
+
+    assertThat(actual).hasSize(1);
+    assertEquals(student1, actual.getFirst().getStudent());
+    assertThat(actual.getFirst().getCourseDetailList())
+        .extracting(CourseDetail::getCourse)
+        .containsExactly(course1, course6);
+    assertThat(actual.getFirst().getCourseDetailList())
+        .extracting(CourseDetail::getStatus)
+        .containsExactly(status1, status6);
+  }
+
+  @Test
+  void 受講生詳細の詳細検索_コースとステータスの条件に一致する行のみ取得されること() {
+    // 検索条件
+    var condition = new StudentSearchDTO(
+        null, null, null, null, null, null, null,
+        null, "制作系コース", null, null, List.of(3, 4), null, null);
+
+    var actual = sut.findStudentDetail(condition);
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getStudentId())
+        .containsExactly(1, 3, 4, 5);
+    assertThat(actual.getFirst().getCourseDetailList())
+        .extracting(CourseDetail::getCourse)
+        .containsExactly(course6);
+  }
+
+  @Test
+  void 受講生情報の詳細検索_カーソルより後ろの受講生がID順に指定件数だけ取得できること() {
+    var condition = new StudentSearchDTO(
+        null, null, null, null, null, null, null,
+        null, null, null, null, List.of(), 1, 2);
+
+    var students = sut.findStudent(condition);
+
+    assertThat(students).containsExactly(student2, student3);
+  }
+
+  @Test
+  void 受講生詳細の詳細検索_条件に一致する受講生のみでページングされること() {
+    var firstPage = sut.findStudentDetail(new StudentSearchDTO(
+        null, null, null, null, null, null, null,
+        null, "制作系コース", null, null, List.of(3, 4), null, 1));
+    var secondPage = sut.findStudentDetail(new StudentSearchDTO(
+        null, null, null, null, null, null, null,
+        null, "制作系コース", null, null, List.of(3, 4), 1, 2));
+
+    assertThat(firstPage).extracting(detail -> detail.getStudent().getStudentId())
+        .containsExactly(1);
+    assertThat(secondPage).extracting(detail -> detail.getStudent().getStudentId())
+        .containsExactly(3, 4);
+  }
+
+  @Test
+  void 受講生情報の詳細検索_全文検索モードでもH2では部分一致で氏名を検索できること() {
+    assertThat(sut.findStudent(nameCondition("はな"))).containsExactly(student2);
+    assertThat(sut.findStudent(nameCondition("健"))).containsExactly(student3);
+  }
+
+  @Test
+  void 受講生詳細の検索_受講期間が検索期間と重なるコースを受講中の受講生のみ取得できること() {
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null,
+        null, null, LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 31), List.of(), null, null);
+
+    var actual = sut.findStudentDetail(condition);
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getStudentId())
+        .containsExactly(1, 2);
+    assertThat(actual.getFirst().getCourseDetailList())
+        .extracting(CourseDetail::getCourse)
+        .containsExactly(course6);
+  }
+
+  @Test
+  void 受講生情報の詳細検索_MySQLでは2文字以上の氏名検索が全文検索インデックスを使うSQLになること() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    String databaseId = configuration.getDatabaseId();
+    configuration.setDatabaseId("mysql");
+    try {
+      MappedStatement statement = configuration.getMappedStatement(
+          StudentRepository.class.getName() + ".findStudent");
+
+      BoundSql fulltext = statement.getBoundSql(nameCondition(" やまだ \"たろう "));
+      assertThat(fulltext.getSql())
+          .contains("MATCH(full_name, name_pronunciation, nickname)")
+          .doesNotContain("LIKE");
+      // 検索語全体を1つのフレーズとして検索する
+      assertEquals("\"やまだ  たろう\"", fulltext.getAdditionalParameter("namePhrase"));
+
+      // ngramのトークン長（2文字）に満たない検索語は部分一致で検索する
+      BoundSql shortName = statement.getBoundSql(nameCondition("山"));
+      assertThat(shortName.getSql()).contains("LIKE").doesNotContain("MATCH");
+    } finally {
+      configuration.setDatabaseId(databaseId);
+    }
+  }
+
+  @Test
+  void 受講生情報の詳細検索_MySQLでは氏名条件を含む全ての検索で全文検索の検索語がバインドされること() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    String databaseId = configuration.getDatabaseId();
+    configuration.setDatabaseId("mysql");
+    try {
+      // 受講生の検索条件（studentCondition）を含む検索（受講生・コース情報・受講ステータス・受講生詳細）
+      for (String id : List.of("findStudent", "findCourse", "findStatus", "findStudentDetail")) {
+        MappedStatement statement = configuration.getMappedStatement(
+            StudentRepository.class.getName() + "." + id);
+
+        BoundSql actual = statement.getBoundSql(nameCondition("やまだ"));
+
+        assertThat(actual.getSql().replaceAll("\\s+", " "))
+            .as(id)
+            .contains("MATCH(full_name, name_pronunciation, nickname) AGAINST(? IN BOOLEAN MODE)")
+            .doesNotContain("LIKE");
+        assertThat(actual.getParameterMappings())
+            .as(id)
+            .extracting(ParameterMapping::getProperty)
+            .contains("namePhrase")
+            .doesNotContain("name");
+        assertEquals("\"やまだ\"", actual.getAdditionalParameter("namePhrase"), id);
+      }
+    } finally {
+      configuration.setDatabaseId(databaseId);
+    }
+  }
+
 }
@@ -0,0 +1,53 @@
+package raisetech.student.management.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.data.Course.CourseCategory;
+import raisetech.student.management.domain.ResourceVersion;
+
+class ResourceVersionRegistryTest {
+
+  private ResourceVersionRegistry sut;
+
+  @BeforeEach
+  void before() {
+    sut = new ResourceVersionRegistry();
+  }
+
+  @Test
+  void コースマスタ一覧の版の登録_内容が変わると版も変わること() {
+    var java = new Course(1, "Javaコース", CourseCategory.開発系コース, 6, false,
+        Timestamp.valueOf("2025-04-01 10:00:00"), Timestamp.valueOf("2025-04-01 10:00:00"));
+    var updated = new Course(1, "Javaコース", CourseCategory.開発系コース, 12, false,
+        Timestamp.valueOf("2025-04-01 10:00:00"), Timestamp.valueOf("2025-04-02 10:00:00"));
+
+    ResourceVersion before = sut.putCourses(List.of(java), sut.generation());
+    sut.invalidateCourses();
+    assertTrue(sut.findCourses().isEmpty());
+    ResourceVersion after = sut.putCourses(List.of(updated), sut.generation());
+
+    assertNotEquals(before.etag(), after.etag());
+    assertEquals(Timestamp.valueOf("2025-04-02 10:00:00").getTime(), after.lastModified());
+    assertEquals(after, sut.findCourses().orElseThrow());
+  }
+
+  @Test
+  void コースマスタ一覧の版の登録_検索中に破棄された場合は登録されないこと() {
+    var java = new Course(1, "Javaコース", CourseCategory.開発系コース, 6, false,
+        Timestamp.valueOf("2025-04-01 10:00:00"), Timestamp.valueOf("2025-04-01 10:00:00"));
+    long generation = sut.generation();
+    // 検索中に他のリクエストが更新した
+    sut.invalidateCourses();
+
+    sut.putCourses(List.of(java), generation);
+
+    assertTrue(sut.findCourses().isEmpty());
+  }
+
+}
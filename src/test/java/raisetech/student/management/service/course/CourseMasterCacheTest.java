@@ -0,0 +1,105 @@
+package raisetech.student.management.service.course;
+
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.data.Course.CourseCategory;
+import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.service.course.CourseMasterCache.CacheStats;
+
+@ExtendWith(MockitoExtension.class)
+class CourseMasterCacheTest {
+
+  @Mock
+  private CourseRepository repository;
+
+  private CourseMasterCache sut;
+
+  private Course java;
+  private Course aws;
+
+  @BeforeEach
+  void before() {
+    sut = new CourseMasterCache(repository);
+
+    java = new Course(1, "Javaコース", CourseCategory.開発系コース, 6, false, null, null);
+    aws = new Course(2, "AWSコース", CourseCategory.開発系コース, 3, false, null, null);
+  }
+
+  @Test
+  void 受講期間の取得_初回のみコースマスタを読み込み以降はスナップショットから取得すること() {
+    when(repository.displayCourseMaster()).thenReturn(List.of(java, aws));
+
+    assertEquals(6, sut.getDuration(1));
+    assertEquals(3, sut.getDuration(2));
+    assertEquals(6, sut.getDuration(1));
+
+    verify(repository, times(1)).displayCourseMaster();
+    assertEquals(new CacheStats(2, 1, 1), sut.getStats());
+  }
+
+  @Test
+  void 受講期間の取得_該当するコースがない場合は読み込み直さずに0を返すこと() {
+    when(repository.displayCourseMaster()).thenReturn(List.of(java));
+
+    assertEquals(6, sut.getDuration(1));
+    assertEquals(0, sut.getDuration(999));
+    assertTrue(sut.findCourse(999).isEmpty());
+    assertTrue(sut.findCourse(998).isEmpty());
+
+    verify(repository, times(1)).displayCourseMaster();
+    assertEquals(new CacheStats(3, 1, 1), sut.getStats());
+  }
+
+  @Test
+  void コースマスタのID検索_返したコースマスタを変更してもスナップショットに影響しないこと() {
+    when(repository.displayCourseMaster()).thenReturn(List.of(java));
+
+    Course found = sut.findCourse(1).orElseThrow();
+    found.setDuration(99);
+    found.setCourseName("変更後のコース名");
+
+    assertEquals(java, sut.findCourse(1).orElseThrow());
+    assertEquals(6, sut.getDuration(1));
+  }
+
+  @Test
+  void スナップショットの破棄_破棄後はコースマスタを読み込み直すこと() {
+    var updatedJava = new Course(1, "Javaコース", CourseCategory.開発系コース, 12, false, null,
+        null);
+    when(repository.displayCourseMaster())
+        .thenReturn(List.of(java))
+        .thenReturn(List.of(updatedJava));
+
+    assertEquals(6, sut.getDuration(1));
+    sut.invalidate();
+    assertEquals(12, sut.getDuration(1));
+
+    verify(repository, times(2)).displayCourseMaster();
+    assertEquals(new CacheStats(0, 2, 2), sut.getStats());
+  }
+
+  @Test
+  void カテゴリのコースID検索_カテゴリに属するコースIDのみ返ること() {
+    var design = new Course(3, "デザインコース", CourseCategory.制作系コース, 6, false, null,
+        null);
+    when(repository.displayCourseMaster()).thenReturn(List.of(java, aws, design));
+
+    assertThat(sut.findCourseIds("開発系コース")).containsExactlyInAnyOrder(1, 2);
+    assertThat(sut.findCourseIds("制作系コース")).containsExactly(3);
+    assertTrue(sut.findCourseIds("存在しないカテゴリ").isEmpty());
+
+    verify(repository, times(1)).displayCourseMaster();
+  }
+
+}
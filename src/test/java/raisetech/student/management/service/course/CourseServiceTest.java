@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,6 +22,7 @@ import raisetech.student.management.data.Course.CourseCategory;
 import raisetech.student.management.exception.NoDataException;
 import raisetech.student.management.exception.ProcessFailedException;
 import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.service.ResourceVersionRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class CourseServiceTest {
@@ -28,6 +30,12 @@ class CourseServiceTest {
   @Mock
   private CourseRepository repository;
 
+  @Mock
+  private CourseMasterCache courseMasterCache;
+
+  @Mock
+  private ResourceVersionRegistry versionRegistry;
+
   private CourseService sut;
 
   Integer courseId;
@@ -36,7 +44,7 @@ class CourseServiceTest {
 
   @BeforeEach
   void before() {
-    sut = new CourseService(repository);
+    sut = new CourseService(repository, courseMasterCache, versionRegistry);
 
     courseId = 1;
     input = new Course(
@@ -59,6 +67,7 @@ class CourseServiceTest {
     var master = new Course("Javaコース", CourseCategory.開発系コース, 999);
     sut.registerCourseMaster(master);
     verify(repository, times(1)).registerCourseMaster(master);
+    verify(courseMasterCache, times(1)).invalidate();
   }
 
   @Test
@@ -75,6 +84,7 @@ class CourseServiceTest {
     assertDoesNotThrow(() -> sut.updateCourseMaster(courseId, input));
 
     verify(repository).updateCourseMaster(input);
+    verify(courseMasterCache).invalidate();
   }
 
   @Test
@@ -96,6 +106,7 @@ class CourseServiceTest {
         () -> sut.updateCourseMaster(courseId, input));
 
     assertEquals("コースマスタは更新されませんでした。", ex.getMessage());
+    verify(courseMasterCache, never()).invalidate();
   }
 
   @Test
@@ -108,6 +119,7 @@ class CourseServiceTest {
 
     assertDoesNotThrow(() -> sut.updateCourseMasterIsClosed(courseId, isClosed));
     verify(repository).updateCourseMaster(any(Course.class));
+    verify(courseMasterCache).invalidate();
   }
 
   @Test
@@ -0,0 +1,194 @@
+package raisetech.student.management.service.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatusAdvancementResult;
+import raisetech.student.management.domain.StatusAdvancementResult.Step;
+import raisetech.student.management.repository.job.JobLockRepository;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.student.StudentSearchIndex;
+import raisetech.student.management.service.student.StudentStatistics;
+
+@ExtendWith(MockitoExtension.class)
+class StatusAdvancementJobTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private JobLockRepository jobLockRepository;
+
+  @Mock
+  private StatusMaster statusMaster;
+
+  @Mock
+  private StudentSearchIndex searchIndex;
+
+  @Mock
+  private StudentStatistics statistics;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private StatusAdvancementJob sut;
+
+  private final LocalDateTime baseTime = LocalDateTime.of(2025, 6, 1, 0, 5);
+
+  private final Status reserved = new Status(3, "本申し込み", 3, null, null);
+  private final Status attending = new Status(4, "受講中", 4, null, null);
+  private final Status finished = new Status(5, "受講終了", 5, null, null);
+
+  @BeforeEach
+  void before() {
+    meterRegistry = new SimpleMeterRegistry();
+    // 1回のトランザクションで2件ずつ更新する
+    sut = new StatusAdvancementJob(studentRepository, jobLockRepository, statusMaster,
+        searchIndex, statistics, transactionManager, meterRegistry, 2, Duration.ofHours(1));
+
+    lenient().when(jobLockRepository.acquireLock(eq(StatusAdvancementJob.LOCK_NAME), anyString(),
+        eq(3600L))).thenReturn(1);
+
+    lenient().when(statusMaster.getStatusList()).thenReturn(List.of(reserved, attending, finished));
+    lenient().when(statusMaster.transitions())
+        .thenReturn(new StatusTransitions(new Status[]{null, null, null, reserved, attending,
+            finished}));
+  }
+
+  @Test
+  void 受講ステータスの自動更新_チャンクごとに読み進めて遷移元のステータスのものだけ更新すること() {
+    when(studentRepository.findAdvanceableStatuses(3, baseTime, null, 0L, 2)).thenReturn(List.of(
+        new EnrollmentStatus(5L, 5, 5, 3, false),
+        new EnrollmentStatus(6L, 1, 6, 3, false)));
+    when(studentRepository.findAdvanceableStatuses(3, baseTime, null, 6L, 2))
+        .thenReturn(List.of(new EnrollmentStatus(8L, 2, 8, 3, false)));
+    when(studentRepository.transitionCourseStatuses(List.of(5L, 6L), List.of(3), 4)).thenReturn(2);
+    // 読み込み後に他の更新で遷移元のステータスでなくなった
+    when(studentRepository.transitionCourseStatuses(List.of(8L), List.of(3), 4)).thenReturn(0);
+    when(studentRepository.findAdvanceableStatuses(4, null, baseTime, 0L, 2)).thenReturn(List.of());
+
+    StatusAdvancementResult actual = sut.run(baseTime).orElseThrow();
+
+    assertEquals(baseTime, actual.baseTime());
+    assertThat(actual.steps()).containsExactly(new Step(3, 4, 3, 2), new Step(4, 5, 0, 0));
+    verify(studentRepository, times(1)).touchStudents(List.of(1, 5));
+    verify(studentRepository, never()).touchStudents(List.of(2));
+    verify(transactionManager, times(2)).commit(any());
+    // 取得したロックを解放する
+    ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+    verify(jobLockRepository).acquireLock(eq(StatusAdvancementJob.LOCK_NAME), owner.capture(),
+        eq(3600L));
+    verify(jobLockRepository).releaseLock(StatusAdvancementJob.LOCK_NAME, owner.getValue());
+
+    assertEquals(3, meterRegistry.get("student.status.advancement.rows")
+        .tags("from", "3", "to", "4", "result", "scanned").counter().count());
+    assertEquals(2, meterRegistry.get("student.status.advancement.rows")
+        .tags("from", "3", "to", "4", "result", "changed").counter().count());
+    assertEquals(1, meterRegistry.get("student.status.advancement")
+        .tag("exception", "none").timer().count());
+  }
+
+  @Test
+  void 受講ステータスの自動更新_ステータスマスタにない遷移はスキップすること() {
+    when(statusMaster.getStatusList()).thenReturn(List.of(reserved, attending));
+
+    StatusAdvancementResult actual = sut.run(baseTime).orElseThrow();
+
+    assertThat(actual.steps()).containsExactly(new Step(3, 4, 0, 0));
+    verify(studentRepository, never()).findAdvanceableStatuses(4, null, baseTime, 0L, 2);
+  }
+
+  @Test
+  void 受講ステータスの自動更新_失敗した場合はそれまでのチャンクをコミットしたまま例外が発生し再実行できること() {
+    when(studentRepository.findAdvanceableStatuses(3, baseTime, null, 0L, 2)).thenReturn(List.of(
+        new EnrollmentStatus(5L, 5, 5, 3, false),
+        new EnrollmentStatus(6L, 1, 6, 3, false)));
+    when(studentRepository.findAdvanceableStatuses(3, baseTime, null, 6L, 2))
+        .thenReturn(List.of(new EnrollmentStatus(8L, 2, 8, 3, false)));
+    when(studentRepository.transitionCourseStatuses(List.of(5L, 6L), List.of(3), 4)).thenReturn(2);
+    when(studentRepository.transitionCourseStatuses(List.of(8L), List.of(3), 4))
+        .thenThrow(new IllegalStateException("接続が切断されました"));
+
+    assertThrows(IllegalStateException.class, () -> sut.run(baseTime));
+    verify(transactionManager, times(1)).commit(any());
+    verify(transactionManager, times(1)).rollback(any());
+    verify(jobLockRepository, times(1))
+        .releaseLock(eq(StatusAdvancementJob.LOCK_NAME), anyString());
+    assertEquals(1, meterRegistry.get("student.status.advancement")
+        .tag("exception", "IllegalStateException").timer().count());
+
+    // 実行中の状態は解除されている
+    when(statusMaster.getStatusList()).thenReturn(List.of());
+    assertTrue(sut.run(baseTime).orElseThrow().steps().isEmpty());
+  }
+
+  @Test
+  void 受講ステータスの自動更新_実行中の場合は実行しないこと() {
+    // 1回目の実行中に2回目を実行する
+    when(studentRepository.findAdvanceableStatuses(3, baseTime, null, 0L, 2)).thenAnswer(
+        invocation -> {
+          assertTrue(sut.run(baseTime).isEmpty());
+          return List.of();
+        });
+    when(studentRepository.findAdvanceableStatuses(4, null, baseTime, 0L, 2)).thenReturn(List.of());
+
+    assertTrue(sut.run(baseTime).isPresent());
+    verify(studentRepository, never()).transitionCourseStatuses(anyList(), anyList(), any());
+  }
+
+  @Test
+  void 受講ステータスの自動更新_他のインスタンスで実行中の場合は実行しないこと() {
+    when(jobLockRepository.acquireLock(eq(StatusAdvancementJob.LOCK_NAME), anyString(),
+        anyLong()))
+        .thenReturn(0);
+
+    assertTrue(sut.run(baseTime).isEmpty());
+    verify(studentRepository, never())
+        .findAdvanceableStatuses(any(), any(), any(), any(), anyInt());
+    verify(jobLockRepository, never()).releaseLock(any(), any());
+
+    // 実行中の状態は解除されている（ロックの期限が過ぎれば実行できる）
+    when(jobLockRepository.acquireLock(eq(StatusAdvancementJob.LOCK_NAME), anyString(),
+        anyLong()))
+        .thenReturn(1);
+    when(statusMaster.getStatusList()).thenReturn(List.of());
+    assertTrue(sut.run(baseTime).isPresent());
+  }
+
+  @Test
+  void 受講ステータスの自動更新_ロックの解放に失敗しても結果が返ること() {
+    when(statusMaster.getStatusList()).thenReturn(List.of());
+    when(jobLockRepository.releaseLock(eq(StatusAdvancementJob.LOCK_NAME), anyString()))
+        .thenThrow(new IllegalStateException("接続が切断されました"));
+
+    assertTrue(sut.run(baseTime).orElseThrow().steps().isEmpty());
+  }
+
+}
@@ -0,0 +1,108 @@
+package raisetech.student.management.service.status;
+
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.repository.status.StatusRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StatusMasterTest {
+
+  @Mock
+  private StatusRepository repository;
+
+  private StatusMaster sut;
+
+  private Status applied;
+  private Status attending;
+  private Status canceled;
+
+  @BeforeEach
+  void before() {
+    sut = new StatusMaster(repository);
+
+    applied = new Status(1, "仮申し込み", 1, null, null);
+    attending = new Status(4, "受講中", 4, null, null);
+    canceled = new Status(7, "キャンセル", 99, null, null);
+  }
+
+  @Test
+  void ステータス名と表示順の設定_初回のみステータスマスタを読み込み以降は配列から設定すること() {
+    when(repository.displayStatusMaster()).thenReturn(List.of(applied, attending, canceled));
+    var status1 = new CourseStatus(1, 1L, 4);
+    var status2 = new CourseStatus(2, 2L, 7);
+
+    sut.enrich(List.of(status1, status2));
+    sut.enrich(status1);
+
+    assertEquals("受講中", status1.getStatusName());
+    assertEquals(4, status1.getDisplayOrder());
+    assertEquals("キャンセル", status2.getStatusName());
+    assertEquals(99, status2.getDisplayOrder());
+    verify(repository, times(1)).displayStatusMaster();
+  }
+
+  @Test
+  void ステータス名と表示順の設定_ステータスマスタにないステータスIDの場合はnullになること() {
+    when(repository.displayStatusMaster()).thenReturn(List.of(applied));
+    var unknown = new CourseStatus(1, 1L, 5);
+    unknown.setStatusName("古い名前");
+    var outOfRange = new CourseStatus(2, 2L, 1000);
+
+    sut.enrich(unknown);
+    sut.enrich(outOfRange);
+
+    assertNull(unknown.getStatusName());
+    assertNull(unknown.getDisplayOrder());
+    assertNull(outOfRange.getStatusName());
+    assertTrue(sut.findStatus(null).isEmpty());
+  }
+
+  @Test
+  void ステータスマスタの全件取得_表示順で返ること() {
+    when(repository.displayStatusMaster()).thenReturn(List.of(canceled, attending, applied));
+
+    assertThat(sut.getStatusList()).containsExactly(applied, attending, canceled);
+  }
+
+  @Test
+  void ステータスマスタの読み込み直し_読み込み直した後は新しいステータス名が設定されること() {
+    var renamed = new Status(4, "受講中（オンライン）", 4, null, null);
+    when(repository.displayStatusMaster())
+        .thenReturn(List.of(applied, attending))
+        .thenReturn(List.of(applied, renamed));
+    sut.load();
+    var status = new CourseStatus(1, 1L, 4);
+
+    sut.enrich(status);
+    assertEquals("受講中", status.getStatusName());
+
+    sut.refresh();
+    sut.enrich(status);
+    assertEquals("受講中（オンライン）", status.getStatusName());
+    verify(repository, times(2)).displayStatusMaster();
+  }
+
+  @Test
+  void 遷移表の取得_読み込んだステータスマスタから遷移表が作成されること() {
+    var reserved = new Status(3, "本申し込み", 3, null, null);
+    when(repository.displayStatusMaster()).thenReturn(List.of(applied, reserved, attending));
+
+    assertTrue(sut.transitions().canTransition(3, 4));
+    assertThat(sut.transitions().predecessorsOf(4)).containsExactly(3);
+    verify(repository, times(1)).displayStatusMaster();
+  }
+
+}
@@ -0,0 +1,118 @@
+package raisetech.student.management.service.status;
+
+import java.util.List;
+import java.util.Optional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.data.Status;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatusTransitionResult;
+import raisetech.student.management.domain.StatusTransitionResult.Rejected;
+import raisetech.student.management.exception.NoDataException;
+import raisetech.student.management.exception.ProcessFailedException;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.student.StudentSearchIndex;
+import raisetech.student.management.service.student.StudentStatistics;
+
+@ExtendWith(MockitoExtension.class)
+class StatusTransitionServiceTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private StatusMaster statusMaster;
+
+  @Mock
+  private StudentSearchIndex searchIndex;
+
+  @Mock
+  private StudentStatistics statistics;
+
+  private StatusTransitionService sut;
+
+  private final Status attending = new Status(4, "受講中", 4, null, null);
+
+  @BeforeEach
+  void before() {
+    sut = new StatusTransitionService(studentRepository, statusMaster, searchIndex, statistics);
+
+    Status[] table = {null,
+        new Status(1, "仮申し込み", 1, null, null),
+        new Status(2, "入金待ち", 2, null, null),
+        new Status(3, "本申し込み", 3, null, null),
+        attending,
+        new Status(5, "受講終了", 5, null, null),
+        new Status(6, "受講中断", 6, null, null),
+        new Status(7, "キャンセル", 99, null, null)};
+    lenient().when(statusMaster.transitions()).thenReturn(new StatusTransitions(table));
+  }
+
+  @Test
+  void 受講ステータスの一括遷移_遷移できる受講IDのみ1回の更新で遷移し結果を返すこと() {
+    when(statusMaster.findStatus(4)).thenReturn(Optional.of(attending));
+    when(studentRepository.lockCourseStatuses(List.of(5L, 1L, 6L, 100L))).thenReturn(List.of(
+        new EnrollmentStatus(1L, 1, 1, 5, false),
+        new EnrollmentStatus(5L, 5, 5, 3, false),
+        new EnrollmentStatus(6L, 1, 6, 6, false)));
+    when(studentRepository.transitionCourseStatuses(List.of(5L, 6L), List.of(3, 6), 4))
+        .thenReturn(2);
+
+    StatusTransitionResult actual = sut.transition(4, List.of(5L, 1L, 6L, 5L, 100L));
+
+    assertEquals(4, actual.toStatusId());
+    assertThat(actual.moved()).containsExactly(5L, 6L);
+    assertThat(actual.rejected()).containsExactly(new Rejected(1L, 5));
+    assertThat(actual.notFound()).containsExactly(100L);
+    verify(studentRepository, times(1)).touchStudents(List.of(1, 5));
+    verify(searchIndex, times(1)).refreshAfterCommit(List.of(1, 5));
+  }
+
+  @Test
+  void 受講ステータスの一括遷移_遷移できる受講IDがない場合は更新しないこと() {
+    when(statusMaster.findStatus(4)).thenReturn(Optional.of(attending));
+    when(studentRepository.lockCourseStatuses(List.of(1L)))
+        .thenReturn(List.of(new EnrollmentStatus(1L, 1, 1, 5, false)));
+
+    StatusTransitionResult actual = sut.transition(4, List.of(1L));
+
+    assertThat(actual.moved()).isEmpty();
+    assertThat(actual.rejected()).containsExactly(new Rejected(1L, 5));
+    verify(studentRepository, never()).transitionCourseStatuses(anyList(), anyList(), any());
+    verify(studentRepository, never()).touchStudents(anyList());
+  }
+
+  @Test
+  void 受講ステータスの一括遷移_遷移先のステータスがない場合は例外が発生すること() {
+    when(statusMaster.findStatus(100)).thenReturn(Optional.empty());
+
+    assertThrows(NoDataException.class, () -> sut.transition(100, List.of(1L)));
+    verify(studentRepository, never()).lockCourseStatuses(anyList());
+  }
+
+  @Test
+  void 受講ステータスの一括遷移_更新件数が遷移できる件数と一致しない場合は例外が発生すること() {
+    when(statusMaster.findStatus(4)).thenReturn(Optional.of(attending));
+    when(studentRepository.lockCourseStatuses(List.of(5L)))
+        .thenReturn(List.of(new EnrollmentStatus(5L, 5, 5, 3, false)));
+    when(studentRepository.transitionCourseStatuses(List.of(5L), List.of(3, 6), 4))
+        .thenReturn(0);
+
+    assertThrows(ProcessFailedException.class, () -> sut.transition(4, List.of(5L)));
+    verify(studentRepository, never()).touchStudents(anyList());
+  }
+
+}
@@ -0,0 +1,92 @@
+package raisetech.student.management.service.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.data.Status;
+
+class StatusTransitionsTest {
+
+  private StatusTransitions sut;
+
+  // ステータスIDを添字にしたステータスマスタ（キャンセルは連番ではないID）
+  private static Status[] table(Status... statuses) {
+    int maxId = 0;
+    for (Status status : statuses) {
+      maxId = Math.max(maxId, status.getStatusId());
+    }
+    Status[] table = new Status[maxId + 1];
+    for (Status status : statuses) {
+      table[status.getStatusId()] = status;
+    }
+    return table;
+  }
+
+  @BeforeEach
+  void before() {
+    sut = new StatusTransitions(table(
+        new Status(1, "仮申し込み", 1, null, null),
+        new Status(2, "入金待ち", 2, null, null),
+        new Status(3, "本申し込み", 3, null, null),
+        new Status(4, "受講中", 4, null, null),
+        new Status(5, "受講終了", 5, null, null),
+        new Status(6, "受講中断", 6, null, null),
+        new Status(99, "キャンセル", 99, null, null)));
+  }
+
+  @Test
+  void 遷移の判定_状態遷移図にある遷移のみ遷移できること() {
+    assertTrue(sut.canTransition(1, 2));
+    assertTrue(sut.canTransition(3, 4));
+    assertTrue(sut.canTransition(6, 4));
+    assertTrue(sut.canTransition(4, 99));
+
+    assertFalse(sut.canTransition(1, 4));
+    assertFalse(sut.canTransition(4, 4));
+    assertFalse(sut.canTransition(5, 4));
+    assertFalse(sut.canTransition(99, 1));
+  }
+
+  @Test
+  void 遷移の判定_ステータスマスタにないステータスIDは遷移できないこと() {
+    assertFalse(sut.canTransition(null, 4));
+    assertFalse(sut.canTransition(3, null));
+    assertFalse(sut.canTransition(7, 4));
+    assertFalse(sut.canTransition(1000, 4));
+    assertFalse(sut.canTransition(-1, 4));
+  }
+
+  @Test
+  void 遷移元と遷移先の取得_ステータスID順に取得できること() {
+    assertThat(sut.predecessorsOf(4)).containsExactly(3, 6);
+    assertThat(sut.predecessorsOf(99)).containsExactly(1, 2, 3, 4);
+    assertThat(sut.predecessorsOf(1)).isEmpty();
+    assertThat(sut.successorsOf(4)).containsExactly(5, 6, 99);
+    assertThat(sut.successorsOf(5)).isEmpty();
+    assertThat(sut.successorsOf(7)).isEmpty();
+  }
+
+  @Test
+  void 遷移表の作成_ステータスマスタにないステータス名の遷移は除かれること() {
+    var transitions = new StatusTransitions(table(
+        new Status(1, "仮申し込み", 1, null, null),
+        new Status(2, "キャンセル", 99, null, null)));
+
+    assertThat(transitions.successorsOf(1)).containsExactly(2);
+    assertThat(transitions.predecessorsOf(2)).containsExactly(1);
+  }
+
+  @Test
+  void 遷移表の作成_ステータスが64件を超える場合は例外が発生すること() {
+    Status[] statuses = new Status[65];
+    for (int i = 0; i < statuses.length; i++) {
+      statuses[i] = new Status(i + 1, "ステータス" + i, i + 1, null, null);
+    }
+
+    assertThrows(IllegalStateException.class, () -> new StatusTransitions(table(statuses)));
+  }
+
+}
@@ -0,0 +1,60 @@
+package raisetech.student.management.service.student;
+
+import java.io.StringReader;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.service.student.CsvRecordReader.CsvRecord;
+
+class CsvRecordReaderTest {
+
+  @Test
+  void レコード読み込み_カンマ区切りの項目とCRLF改行が読み込めること() throws Exception {
+    try (var sut = new CsvRecordReader(new StringReader("a,b,c\r\n1,,3\r\n"))) {
+      assertEquals(List.of("a", "b", "c"), sut.next().fields());
+      CsvRecord second = sut.next();
+      assertEquals(List.of("1", "", "3"), second.fields());
+      assertEquals(2, second.line());
+      assertNull(sut.next());
+    }
+  }
+
+  @Test
+  void レコード読み込み_ダブルクォート内のカンマと改行と2重のダブルクォートが項目として読み込めること()
+      throws Exception {
+    try (var sut = new CsvRecordReader(
+        new StringReader("\"山田, 太郎\",\"1行目\n2行目\",\"\"\"引用\"\"\"\nnext"))) {
+      CsvRecord first = sut.next();
+      assertEquals(List.of("山田, 太郎", "1行目\n2行目", "\"引用\""), first.fields());
+      assertFalse(first.unterminated());
+
+      // 項目内の改行を含めて行番号が数えられる
+      CsvRecord second = sut.next();
+      assertEquals(List.of("next"), second.fields());
+      assertEquals(3, second.line());
+    }
+  }
+
+  @Test
+  void レコード読み込み_先頭のBOMが読み飛ばされ空行が判定できること() throws Exception {
+    try (var sut = new CsvRecordReader(new StringReader("\uFEFFfull_name\n\nvalue"))) {
+      assertEquals(List.of("full_name"), sut.next().fields());
+      assertTrue(sut.next().isBlank());
+      assertEquals(List.of("value"), sut.next().fields());
+    }
+  }
+
+  @Test
+  void レコード読み込み_ダブルクォートが閉じられていない場合に判定できること() throws Exception {
+    try (var sut = new CsvRecordReader(new StringReader("a,\"bc"))) {
+      CsvRecord actual = sut.next();
+      assertTrue(actual.unterminated());
+      assertEquals(List.of("a", "bc"), actual.fields());
+      assertNull(sut.next());
+    }
+  }
+
+}
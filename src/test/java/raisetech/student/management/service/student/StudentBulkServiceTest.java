@@ -0,0 +1,163 @@
+package raisetech.student.management.service.student;
+
+import jakarta.validation.Validation;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.BulkRegisterResult;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.student.StudentBatchRepository;
+import raisetech.student.management.repository.student.StudentBatchRepository.Batch;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+
+@ExtendWith(MockitoExtension.class)
+class StudentBulkServiceTest {
+
+  @Mock
+  private StudentBatchRepository batchRepository;
+
+  @Mock
+  private CourseMasterCache courseMasterCache;
+
+  @Mock
+  private StudentSearchIndex searchIndex;
+
+  @Mock
+  private StudentStatistics statistics;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private Batch batch;
+
+  @Mock
+  private StudentRepository mapper;
+
+  private StudentBulkService sut;
+
+  private final AtomicInteger studentIds = new AtomicInteger(100);
+  private final AtomicInteger attendingIds = new AtomicInteger(500);
+
+  @BeforeEach
+  void before() {
+    sut = new StudentBulkService(batchRepository, courseMasterCache, searchIndex, statistics,
+        transactionManager, Validation.buildDefaultValidatorFactory().getValidator(), 2);
+
+    // バッチ実行では登録時に自動採番されたIDが設定される
+    lenient().when(batchRepository.executeBatch(any())).thenAnswer(invocation -> {
+      Function<Batch, ?> work = invocation.getArgument(0);
+      return work.apply(batch);
+    });
+    lenient().when(batch.mapper()).thenReturn(mapper);
+    lenient().when(mapper.registerStudent(any())).thenAnswer(invocation -> {
+      invocation.<Student>getArgument(0).setStudentId(studentIds.incrementAndGet());
+      return 1;
+    });
+    lenient().when(mapper.registerStudentsCourses(any())).thenAnswer(invocation -> {
+      invocation.<StudentsCourse>getArgument(0).setAttendingId(
+          (long) attendingIds.incrementAndGet());
+      return 1;
+    });
+    lenient().when(courseMasterCache.findCourse(anyInt())).thenReturn(Optional.of(new Course()));
+  }
+
+  private StudentDetail studentDetail(String email, int... courseIds) {
+    var student = new Student(null, "一括 太郎", "いっかつ たろう", "たろ", email, "東京",
+        LocalDate.of(2000, 1, 1), "Male", "");
+    List<CourseDetail> courseDetails = new ArrayList<>();
+    for (int courseId : courseIds) {
+      courseDetails.add(new CourseDetail(
+          new StudentsCourse(null, null, courseId, null, null), null));
+    }
+    return new StudentDetail(student, courseDetails);
+  }
+
+  @Test
+  void 一括登録_チャンクごとに登録され自動採番されたIDが受け付けた順に返ること() {
+    var details = List.of(studentDetail("1@test.com", 1, 2), studentDetail("2@test.com", 3),
+        studentDetail("3@test.com", 1));
+
+    BulkRegisterResult actual = sut.registerStudents(details.iterator());
+
+    assertEquals(3, actual.total());
+    assertEquals(3, actual.succeeded());
+    assertThat(actual.items()).extracting(BulkRegisterResult.Item::studentId)
+        .containsExactly(101, 102, 103);
+    assertThat(actual.items().getFirst().attendingIds()).containsExactly(501L, 502L);
+    // ステータス未指定の場合は1（仮申し込み）で登録される
+    assertThat(details.getFirst().getCourseDetailList())
+        .extracting(courseDetail -> courseDetail.getStatus().getStatusId())
+        .containsExactly(1, 1);
+    assertEquals(101, details.getFirst().getCourseDetailList().getFirst().getCourse()
+        .getStudentId());
+    // チャンクサイズ2のため2回に分けて登録・コミットされる
+    verify(batchRepository, times(2)).executeBatch(any());
+    verify(transactionManager, times(2)).commit(any());
+    verify(mapper, times(3)).registerCourseStatus(any(CourseStatus.class));
+    // 登録した受講生はチャンクごとに検索インデックスへ反映される
+    verify(searchIndex).refreshAfterCommit(List.of(101, 102));
+    verify(searchIndex).refreshAfterCommit(List.of(103));
+  }
+
+  @Test
+  void 一括登録_入力チェックに失敗した受講生は登録されず理由が返ること() {
+    var details = List.of(studentDetail("不正なメール", 1), studentDetail("2@test.com"),
+        studentDetail("3@test.com", 99));
+    when(courseMasterCache.findCourse(99)).thenReturn(Optional.empty());
+
+    BulkRegisterResult actual = sut.registerStudents(details.iterator());
+
+    assertEquals(3, actual.failed());
+    assertThat(actual.items().get(0).message()).contains("student.email");
+    assertEquals("受講コース情報が必要です。", actual.items().get(1).message());
+    assertThat(actual.items().get(2).message()).contains("99");
+    verify(batchRepository, never()).executeBatch(any());
+  }
+
+  @Test
+  void 一括登録_登録に失敗したチャンクのみロールバックされ以降のチャンクは登録されること() {
+    var details = List.of(studentDetail("1@test.com", 1), studentDetail("2@test.com", 1),
+        studentDetail("3@test.com", 1));
+    doAnswer(invocation -> {
+      throw new IllegalStateException("Duplicate entry");
+    }).doAnswer(invocation -> invocation.<Function<Batch, ?>>getArgument(0).apply(batch))
+        .when(batchRepository).executeBatch(any());
+
+    BulkRegisterResult actual = sut.registerStudents(details.iterator());
+
+    assertEquals(1, actual.succeeded());
+    assertEquals(2, actual.failed());
+    assertThat(actual.items().get(0).message()).contains("Duplicate entry");
+    assertThat(actual.items().get(1).success()).isFalse();
+    assertThat(actual.items().get(2).success()).isTrue();
+    verify(transactionManager, times(1)).rollback(any());
+    verify(transactionManager, times(1)).commit(any());
+  }
+
+}
@@ -0,0 +1,129 @@
+package raisetech.student.management.service.student;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.domain.BulkRegisterResult.Item;
+import raisetech.student.management.domain.CsvImportResult;
+import raisetech.student.management.domain.CsvImportResult.RowError;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.exception.MissingParameterException;
+import raisetech.student.management.service.student.StudentBulkService.Entry;
+
+@ExtendWith(MockitoExtension.class)
+class StudentCsvImportServiceTest {
+
+  private static final String HEADER =
+      "full_name,name_pronunciation,nickname,email,area,birth_date,gender,remark,course_ids\n";
+
+  @Mock
+  private StudentBulkService bulkService;
+
+  private StudentCsvImportService sut;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentCsvImportService(bulkService, 2);
+  }
+
+  @AfterEach
+  void after() {
+    sut.shutdown();
+  }
+
+  private CsvImportResult importCsv(String csv) {
+    return sut.importStudents(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private String row(int n) {
+    return "受講生" + n + ",じゅこうせい,ニック," + n + "@test.com,東京,2000-01-01,Other,,1;2\n";
+  }
+
+  @Test
+  void CSV取り込み_全行が変換されチャンクごとに受け付けた順で登録されること() {
+    when(bulkService.getChunkSize()).thenReturn(2);
+    when(bulkService.registerChunk(any())).thenAnswer(invocation -> invocation
+        .<List<Entry>>getArgument(0).stream()
+        .map(entry -> Item.succeeded(entry.index(), entry.studentDetail()))
+        .toList());
+
+    var csv = new StringBuilder(HEADER);
+    for (int i = 1; i <= 5; i++) {
+      csv.append(row(i));
+    }
+    CsvImportResult actual = importCsv(csv.toString());
+
+    assertEquals(5, actual.rows());
+    assertEquals(5, actual.imported());
+    assertEquals(0, actual.failed());
+    assertThat(actual.errors()).isEmpty();
+    // 2件ずつ3回に分けて、CSVの行番号順に登録される
+    verify(bulkService, times(3)).registerChunk(any());
+    verify(bulkService).registerChunk(argThat(chunk -> chunk.size() == 2
+        && chunk.get(0).index() == 2
+        && chunk.get(0).studentDetail().getStudent().getEmail().equals("1@test.com")
+        && chunk.get(0).studentDetail().getCourseDetailList().size() == 2));
+    verify(bulkService).registerChunk(argThat(chunk -> chunk.size() == 1
+        && chunk.getFirst().index() == 6));
+  }
+
+  @Test
+  void CSV取り込み_変換や入力チェックや登録に失敗した行が行番号とともに返ること() {
+    when(bulkService.getChunkSize()).thenReturn(10);
+    when(bulkService.validate(any(StudentDetail.class))).thenAnswer(invocation ->
+        invocation.<StudentDetail>getArgument(0).getStudent().getEmail().equals("3@test.com")
+            ? "student.email：不正なメールアドレスです" : null);
+    when(bulkService.registerChunk(any())).thenAnswer(invocation -> invocation
+        .<List<Entry>>getArgument(0).stream()
+        .map(entry -> entry.index() == 6
+            ? Item.failed(entry.index(), "登録に失敗しました")
+            : Item.succeeded(entry.index(), entry.studentDetail()))
+        .toList());
+
+    String csv = HEADER
+        + row(1)
+        + "受講生2,じゅこうせい,ニック,2@test.com,東京,2000/01/01,Other,,1\n"
+        + row(3)
+        + "受講生4,じゅこうせい\n"
+        + row(5)
+        + "受講生6,じゅこうせい,ニック,6@test.com,東京,,Other,,x\n";
+    CsvImportResult actual = importCsv(csv);
+
+    assertEquals(6, actual.rows());
+    assertEquals(1, actual.imported());
+    assertEquals(5, actual.failed());
+    assertThat(actual.errors()).extracting(RowError::line).containsExactly(3L, 4L, 5L, 6L, 7L);
+    assertThat(actual.errors().get(0).message()).contains("birth_date");
+    assertThat(actual.errors().get(1).message()).contains("student.email");
+    assertThat(actual.errors().get(2).message()).contains("列数");
+    assertEquals("登録に失敗しました", actual.errors().get(3).message());
+    assertThat(actual.errors().get(4).message()).contains("course_ids");
+  }
+
+  @Test
+  void CSV取り込み_必要な列がヘッダにない場合にMissingParameterExceptionをスローすること() {
+    when(bulkService.getChunkSize()).thenReturn(10);
+
+    var ex = assertThrows(MissingParameterException.class,
+        () -> importCsv("full_name,email\n山田,taro@test.com\n"));
+
+    assertThat(ex.getMessage()).contains("course_ids");
+    verify(bulkService, never()).registerChunk(any());
+  }
+
+}
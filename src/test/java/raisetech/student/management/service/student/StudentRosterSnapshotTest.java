@@ -0,0 +1,124 @@
+package raisetech.student.management.service.student;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.RosterCountResult;
+import raisetech.student.management.domain.RosterCountResult.Group;
+import raisetech.student.management.dto.RosterQueryDTO;
+import raisetech.student.management.dto.RosterQueryDTO.GroupBy;
+import raisetech.student.management.repository.student.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentRosterSnapshotTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  private StudentRosterSnapshot sut;
+
+  private final LocalDate baseDate = LocalDate.of(2025, 4, 1);
+
+  @BeforeEach
+  void before() {
+    sut = new StudentRosterSnapshot(studentRepository);
+
+    // 基準日（2025-04-01）の年齢は、太郎 25歳（誕生日当日）・花子 24歳（誕生日の前日）・健 不明
+    when(studentRepository.displayStudent()).thenReturn(List.of(
+        new Student(2, "鈴木 花子", "すずき はなこ", "はな", "hanako@test.com", "大阪",
+            LocalDate.of(2000, 4, 2), "Female", ""),
+        new Student(1, "山田 太郎", "やまだ たろう", "たろ", "taro@test.com", "東京",
+            LocalDate.of(2000, 4, 1), "Male", ""),
+        new Student(3, "佐藤 健", "さとう けん", "けん", "ken@test.com", "東京", null, "Male",
+            "")));
+    // 受講生ID 9 は論理削除された受講生の受講
+    when(studentRepository.displayCourse()).thenReturn(List.of(
+        new StudentsCourse(1L, 1, 1, date(2025, 1, 10), date(2025, 6, 30)),
+        new StudentsCourse(2L, 2, 2, date(2025, 2, 15), date(2025, 8, 15)),
+        new StudentsCourse(3L, 1, 2, date(2025, 2, 1), null),
+        new StudentsCourse(4L, 9, 1, date(2025, 3, 1), null)));
+  }
+
+  @Test
+  void 名簿の集計_年齢ごとの人数を基準日で数え生年月日が不明の受講生は最後のグループにすること() {
+    RosterCountResult actual = sut.count(query(GroupBy.AGE, null, null, null, null, null));
+
+    assertEquals(3, actual.total());
+    assertThat(actual.groups()).containsExactly(
+        new Group("24", 1), new Group("25", 1), new Group(null, 1));
+  }
+
+  @Test
+  void 名簿の集計_年齢の範囲で絞り込むと生年月日が不明の受講生は除くこと() {
+    RosterCountResult actual = sut.count(
+        new RosterQueryDTO(GroupBy.GENDER, null, null, null, 25, 30, null, null, baseDate));
+
+    assertThat(actual.groups()).containsExactly(new Group("Male", 1));
+  }
+
+  @Test
+  void 名簿の集計_性別と地域で絞り込み地域ごとに数えること() {
+    RosterCountResult actual = sut.count(query(GroupBy.AREA, "Male", null, null, null, null));
+
+    assertThat(actual.groups()).containsExactly(new Group("東京", 2));
+    assertEquals(0,
+        sut.count(query(GroupBy.AREA, null, "福岡", null, null, null)).total());
+  }
+
+  @Test
+  void 名簿の集計_受講の条件で絞り込むと一致する受講がある受講生の人数を数えること() {
+    RosterCountResult actual = sut.count(query(GroupBy.BIRTH_YEAR, null, null, 2, null, null));
+
+    assertEquals(2, actual.total());
+    assertThat(actual.groups()).containsExactly(new Group("2000", 2));
+  }
+
+  @Test
+  void 名簿の集計_受講の項目でグループ化すると論理削除された受講生を除いた受講の件数を数えること() {
+    assertThat(sut.count(query(GroupBy.COURSE, null, null, null, null, null)).groups())
+        .containsExactly(new Group("1", 1), new Group("2", 2));
+
+    RosterCountResult actual = sut.count(query(GroupBy.START_MONTH, null, null, null,
+        LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 31)));
+    assertEquals(2, actual.total());
+    assertThat(actual.groups()).containsExactly(new Group("2025-02", 2));
+  }
+
+  @Test
+  void 名簿の集計_作り直すまでは同じスナップショットで集計すること() {
+    LocalDateTime builtAt = sut.count(query(GroupBy.GENDER, null, null, null, null, null))
+        .builtAt();
+    sut.count(query(GroupBy.AREA, null, null, null, null, null));
+    verify(studentRepository, times(1)).displayStudent();
+
+    sut.rebuild();
+
+    verify(studentRepository, times(2)).displayStudent();
+    assertFalse(sut.count(query(GroupBy.GENDER, null, null, null, null, null)).builtAt()
+        .isBefore(builtAt));
+  }
+
+  private RosterQueryDTO query(GroupBy groupBy, String gender, String area, Integer courseId,
+      LocalDate startDate, LocalDate endDate) {
+    return new RosterQueryDTO(groupBy, gender, area, courseId, null, null, startDate, endDate,
+        baseDate);
+  }
+
+  private static LocalDateTime date(int year, int month, int day) {
+    return LocalDate.of(year, month, day).atStartOfDay();
+  }
+
+}
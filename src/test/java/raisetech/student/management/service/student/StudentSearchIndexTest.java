@@ -0,0 +1,252 @@
+package raisetech.student.management.service.student;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.dto.StudentSearchDTO;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSearchIndexTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private CourseMasterCache courseMasterCache;
+
+  private StudentSearchIndex sut;
+
+  private Student taro;
+  private Student hanako;
+  private Student jiro;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentSearchIndex(studentRepository, courseMasterCache, SearchMode.INDEX);
+
+    taro = new Student(1, "山田 太郎", "やまだ たろう", "Taro", "taro@test.com", "東京都",
+        LocalDate.of(2000, 1, 1), "Male", "料理が趣味");
+    hanako = new Student(2, "佐藤 花子", "さとう はなこ", "はな", "hanako@test.com", "大阪府",
+        LocalDate.of(1995, 5, 5), "Female", null);
+    jiro = new Student(3, "山田 次郎", "やまだ じろう", "じろ", "jiro@test.com", "東京都",
+        LocalDate.of(2002, 3, 3), "Male", "");
+
+    when(studentRepository.displayStudent()).thenReturn(List.of(taro, hanako, jiro));
+    when(studentRepository.displayCourse()).thenReturn(List.of(
+        new StudentsCourse(10L, 1, 1, date(2025, 1, 1), date(2025, 6, 30)),
+        new StudentsCourse(11L, 1, 3, date(2025, 7, 1), null),
+        new StudentsCourse(20L, 2, 1, date(2025, 4, 1), date(2025, 9, 30)),
+        new StudentsCourse(30L, 3, 2, date(2025, 10, 1), date(2026, 3, 31))));
+    when(studentRepository.displayStatus()).thenReturn(List.of(
+        new CourseStatus(100, 10L, 3), new CourseStatus(101, 11L, 1),
+        new CourseStatus(200, 20L, 5), new CourseStatus(300, 30L, 3)));
+  }
+
+  private LocalDateTime date(int year, int month, int day) {
+    return LocalDate.of(year, month, day).atStartOfDay();
+  }
+
+  private StudentSearchDTO condition(String name, String area, LocalDate startBirthDate,
+      String category, List<Integer> statusIds, Integer afterStudentId, Integer limit) {
+    return new StudentSearchDTO(name, startBirthDate, null, area, null, null, null, null,
+        category, null, null, statusIds, afterStudentId, limit);
+  }
+
+  private List<Integer> studentIds(List<StudentDetail> studentDetails) {
+    return studentDetails.stream()
+        .map(studentDetail -> studentDetail.getStudent().getStudentId())
+        .toList();
+  }
+
+  @Test
+  void 検索_初回に全件を読み込み以降はDBを検索せずに氏名の部分一致で検索できること() {
+    assertThat(studentIds(sut.search(condition("山田", null, null, null, null, null, null))))
+        .containsExactly(1, 3);
+    // ふりがな・ニックネームも対象で、大文字小文字は区別しない
+    assertThat(studentIds(sut.search(condition("たろう", null, null, null, null, null, null))))
+        .containsExactly(1);
+    assertThat(studentIds(sut.search(condition("taro", null, null, null, null, null, null))))
+        .containsExactly(1);
+    assertThat(studentIds(sut.search(condition("田", null, null, null, null, null, null))))
+        .containsExactly(1, 3);
+    assertTrue(sut.search(condition("田中", null, null, null, null, null, null)).isEmpty());
+
+    verify(studentRepository, times(1)).displayStudent();
+    assertEquals(3, sut.size());
+  }
+
+  @Test
+  void 検索_未構築のまま同時に検索された場合も構築は1回のみ行われること() throws Exception {
+    int threads = 4;
+    var barrier = new CyclicBarrier(threads);
+    List<Future<List<StudentDetail>>> futures = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          barrier.await(10, TimeUnit.SECONDS);
+          return sut.search(condition("山田", null, null, null, null, null, null));
+        }));
+      }
+      for (Future<List<StudentDetail>> future : futures) {
+        assertThat(studentIds(future.get(30, TimeUnit.SECONDS))).containsExactly(1, 3);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(studentRepository, times(1)).displayStudent();
+  }
+
+  @Test
+  void 検索_受講生の条件とコースの条件の両方に一致する受講コース情報のみ返ること() {
+    when(courseMasterCache.findCourseIds("開発系コース")).thenReturn(List.of(1, 2));
+
+    var actual = sut.search(condition(null, "東京", LocalDate.of(2000, 1, 1), "開発系コース",
+        List.of(3), null, null));
+
+    assertThat(studentIds(actual)).containsExactly(1, 3);
+    assertThat(actual.getFirst().getCourseDetailList())
+        .extracting(courseDetail -> courseDetail.getCourse().getAttendingId())
+        .containsExactly(10L);
+    assertEquals(100, actual.getFirst().getCourseDetailList().getFirst().getStatus().getId());
+  }
+
+  @Test
+  void 検索_受講期間が検索期間と重なる受講コース情報のみ返ること() {
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        LocalDate.of(2025, 7, 1), LocalDate.of(2025, 8, 31), List.of(), null, null);
+
+    var actual = sut.search(condition);
+
+    // 受講終了日が未定のコースは受講中とみなす
+    assertThat(studentIds(actual)).containsExactly(1, 2);
+    assertThat(actual.getFirst().getCourseDetailList())
+        .extracting(courseDetail -> courseDetail.getCourse().getAttendingId())
+        .containsExactly(11L);
+  }
+
+  @Test
+  void 検索_カーソルより後ろの受講生を受講生ID順に最大件数まで返すこと() {
+    assertThat(studentIds(sut.search(condition(null, null, null, null, List.of(), null, 2))))
+        .containsExactly(1, 2);
+    assertThat(studentIds(sut.search(condition(null, null, null, null, List.of(), 2, 2))))
+        .containsExactly(3);
+  }
+
+  @Test
+  void 読み込み直し_更新や論理削除した受講生がインデックスに反映されること() {
+    sut.rebuild();
+    var renamed = new Student(1, "鈴木 太郎", "すずき たろう", "Taro", "taro@test.com", "東京都",
+        LocalDate.of(1990, 1, 1), "Male", "");
+    when(studentRepository.searchStudentsByIds(List.of(1, 3))).thenReturn(List.of(renamed));
+    when(studentRepository.searchStudentsCoursesByStudentIds(List.of(1, 3))).thenReturn(
+        List.of(new StudentsCourse(10L, 1, 1, null, null)));
+    when(studentRepository.searchCourseStatuses(List.of(10L))).thenReturn(
+        List.of(new CourseStatus(100, 10L, 3)));
+
+    sut.refreshAfterCommit(List.of(1, 3));
+
+    // 受講生3は論理削除されたため読み込まれず、インデックスから除かれる
+    assertTrue(sut.search(condition("山田", null, null, null, null, null, null)).isEmpty());
+    var actual = sut.search(condition("鈴木", null, null, null, null, null, null));
+    assertThat(studentIds(actual)).containsExactly(1);
+    assertEquals(1, actual.getFirst().getCourseDetailList().size());
+    // 生年月日の変更前・論理削除した受講生の生年月日では検索されない
+    assertTrue(sut.search(condition(null, null, LocalDate.of(1999, 1, 1), null, null, null,
+        null)).isEmpty());
+    assertThat(studentIds(sut.search(condition(null, null, LocalDate.of(1990, 1, 1), null, null,
+        null, null)))).containsExactly(1, 2);
+    assertEquals(2, sut.size());
+  }
+
+  @Test
+  void 読み込み直し_構築中にコミットされた受講生は構築の完了後に反映されること() {
+    when(studentRepository.displayStudent()).thenAnswer(invocation -> {
+      // 全件の読み込み中に受講生2が論理削除された
+      sut.refreshAfterCommit(List.of(2));
+      return List.of(taro, hanako, jiro);
+    });
+    when(studentRepository.searchStudentsByIds(List.of(2))).thenReturn(List.of());
+    when(studentRepository.searchStudentsCoursesByStudentIds(List.of(2))).thenReturn(List.of());
+
+    sut.rebuild();
+
+    verify(studentRepository, times(1)).searchStudentsByIds(List.of(2));
+    assertThat(studentIds(sut.search(condition(null, null, null, null, null, null, null))))
+        .containsExactly(1, 3);
+  }
+
+  @Test
+  void 読み込み直し_構築前にコミットされた受講生は読み込み直さないこと() {
+    sut.refreshAfterCommit(List.of(2));
+
+    // 構築時に最新の内容を読み込むため、読み込み直さない
+    assertThat(studentIds(sut.search(condition(null, null, null, null, null, null, null))))
+        .containsExactly(1, 2, 3);
+    verify(studentRepository, never()).searchStudentsByIds(List.of(2));
+  }
+
+  @Test
+  void 検索_返した受講生詳細を変更してもインデックスに影響しないこと() {
+    var actual = sut.search(condition("山田", null, null, null, null, null, null));
+    actual.getFirst().getStudent().setFullName("変更 太郎");
+    actual.getFirst().getCourseDetailList().getFirst().getStatus().setStatusName("変更");
+
+    var searchedAgain = sut.search(condition("山田", null, null, null, null, null, null));
+
+    assertThat(studentIds(searchedAgain)).containsExactly(1, 3);
+    assertEquals("山田 太郎", searchedAgain.getFirst().getStudent().getFullName());
+    assertThat(searchedAgain.getFirst().getCourseDetailList().getFirst().getStatus()
+        .getStatusName()).isNull();
+  }
+
+  @Test
+  void 読み込み直し_トランザクション中の場合はコミット後に反映されること() {
+    sut.rebuild();
+    when(studentRepository.searchStudentsByIds(List.of(2))).thenReturn(List.of());
+    when(studentRepository.searchStudentsCoursesByStudentIds(List.of(2))).thenReturn(List.of());
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      sut.refreshAfterCommit(List.of(2));
+      verify(studentRepository, never()).searchStudentsByIds(List.of(2));
+      assertEquals(3, sut.size());
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(2, sut.size());
+    verify(studentRepository, never()).searchCourseStatuses(List.of());
+  }
+
+}
@@ -0,0 +1,129 @@
+package raisetech.student.management.service.student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.exception.VersionConflictException;
+
+/**
+ * 受講生情報の同時更新（楽観的ロック・集計の差分の行ロック）を組み込みDBで確認するテストです。 更新をコミットする必要があるため、テストのトランザクションは使いません。
+ * 受講生情報の内容は変えずに更新するため、バージョン以外は変わりません。
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class StudentServiceConcurrentUpdateTest {
+
+  private static final int STUDENT_ID = 2;
+
+  @Autowired
+  private StudentService sut;
+
+  @Autowired
+  private StudentStatistics statistics;
+
+  /**
+   * @param version 検索時に取得したバージョン
+   * @return 内容を変えない更新情報
+   */
+  private StudentDetail updateOf(Integer version) {
+    Student student = sut.searchStudent(STUDENT_ID).getStudent();
+    student.setVersion(version);
+    return new StudentDetail(student, List.of());
+  }
+
+  @Test
+  void 受講生更新_取得後に他の更新があった場合はVersionConflictExceptionをスローすること() {
+    int version = sut.searchStudent(STUDENT_ID).getStudent().getVersion();
+
+    sut.updateStudent(STUDENT_ID, updateOf(version));
+
+    assertThrows(VersionConflictException.class,
+        () -> sut.updateStudent(STUDENT_ID, updateOf(version)));
+    assertEquals(version + 1, sut.searchStudent(STUDENT_ID).getStudent().getVersion());
+  }
+
+  @Test
+  void 受講生更新_同じバージョンで同時に更新した場合は1件のみ成功し残りは競合になること()
+      throws Exception {
+    int version = sut.searchStudent(STUDENT_ID).getStudent().getVersion();
+    int threads = 4;
+    var barrier = new CyclicBarrier(threads);
+
+    List<Future<?>> futures = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int i = 0; i < threads; i++) {
+        StudentDetail update = updateOf(version);
+        futures.add(executor.submit(() -> {
+          barrier.await(10, TimeUnit.SECONDS);
+          sut.updateStudent(STUDENT_ID, update);
+          return null;
+        }));
+      }
+
+      int succeeded = 0;
+      int conflicted = 0;
+      for (Future<?> future : futures) {
+        try {
+          future.get(30, TimeUnit.SECONDS);
+          succeeded++;
+        } catch (ExecutionException e) {
+          assertThat(e.getCause()).isInstanceOf(VersionConflictException.class);
+          conflicted++;
+        }
+      }
+
+      assertEquals(1, succeeded);
+      assertEquals(threads - 1, conflicted);
+      assertEquals(version + 1, sut.searchStudent(STUDENT_ID).getStudent().getVersion());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void 受講生の論理削除_同時に論理削除した場合も集計の差分が1回だけ反映されること() throws Exception {
+    statistics.reconcile();
+    int threads = 4;
+    var barrier = new CyclicBarrier(threads);
+
+    List<Future<?>> futures = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          barrier.await(10, TimeUnit.SECONDS);
+          sut.updateStudentIsDeleted(STUDENT_ID, true);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+
+      // 差分で反映したカウンタが、DBで集計し直した結果と一致する（論理削除済みの受講生を二重に除いていない）
+      var applied = statistics.report();
+      var reconciled = statistics.reconcile();
+      assertEquals(reconciled.students(), applied.students());
+      assertEquals(reconciled.courseStatuses(), applied.courseStatuses());
+    } finally {
+      executor.shutdownNow();
+      sut.updateStudentIsDeleted(STUDENT_ID, false);
+    }
+  }
+
+}
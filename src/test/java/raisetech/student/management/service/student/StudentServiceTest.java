@@ -1,13 +1,21 @@
 package raisetech.student.management.service.student;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.apache.ibatis.cursor.Cursor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +23,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,24 +38,53 @@ import raisetech.student.management.data.CourseStatus;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentsCourse;
 import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.ResourceVersion;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentEnrollment;
 import raisetech.student.management.dto.StudentSearchDTO;
 import raisetech.student.management.exception.NoDataException;
 import raisetech.student.management.exception.ProcessFailedException;
-import raisetech.student.management.repository.course.CourseRepository;
+import raisetech.student.management.exception.VersionConflictException;
+import raisetech.student.management.repository.student.StudentBatchRepository;
+import raisetech.student.management.repository.student.StudentBatchRepository.Batch;
+import raisetech.student.management.repository.student.StudentExportRepository;
 import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+import raisetech.student.management.service.status.StatusMaster;
+import raisetech.student.management.service.student.StudentStatistics.Contribution;
+import raisetech.student.management.service.student.StudentStatistics.Enrollment;
 
 @ExtendWith(MockitoExtension.class)
 class StudentServiceTest {
 
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
   @Mock
   private StudentRepository studentRepository;
 
+  @Mock
+  private StudentBatchRepository batchRepository;
+
+  @Mock
+  private Batch batch;
+
+  @Mock
+  private StudentExportRepository exportRepository;
+
   @Mock
   private StudentConverter converter;
 
   @Mock
-  private CourseRepository courseRepository;
+  private CourseMasterCache courseMasterCache;
+
+  @Mock
+  private StatusMaster statusMaster;
+
+  @Mock
+  private StudentSearchIndex searchIndex;
+
+  @Mock
+  private StudentStatistics statistics;
 
   private StudentService sut;
 
@@ -63,7 +105,21 @@ class StudentServiceTest {
 
   @BeforeEach
   void before() {
-    sut = new StudentService(studentRepository, converter, courseRepository);
+    sut = new StudentService(studentRepository, batchRepository, exportRepository, converter,
+        courseMasterCache, statusMaster, searchIndex, statistics,
+        SearchMode.SEPARATE, TIMEOUT);
+
+    // バッチ実行でも同じマッパーのモックを使う
+    lenient().when(batchRepository.executeBatch(any())).thenAnswer(invocation -> {
+      Function<Batch, ?> work = invocation.getArgument(0);
+      return work.apply(batch);
+    });
+    lenient().when(batch.mapper()).thenReturn(studentRepository);
+    // エクスポートでも同じマッパーのモックを使う
+    lenient().when(exportRepository.execute(any())).thenAnswer(invocation -> {
+      Function<StudentRepository, ?> work = invocation.getArgument(0);
+      return work.apply(studentRepository);
+    });
 
     studentId = 1;
     student = new Student(
@@ -111,7 +167,7 @@ class StudentServiceTest {
     // 実行
     var actual = sut.getStudentList(
         new StudentSearchDTO(null, LocalDate.of(1900, 1, 1), LocalDate.of(2500, 1, 1), null,
-            null, null, null, null, null, null, null, null));
+            null, null, null, null, null, null, null, null, null, null));
 
     // 検証
     verify(studentRepository, times(1)).findStudent(any());
@@ -124,13 +180,204 @@ class StudentServiceTest {
     assertEquals(expected, actual);  // 期待値との一致を確認
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void 全件エクスポート_チャンクごとにコース情報とステータスを一括取得し受講生ID順に渡されること()
+      throws Exception {
+    List<Student> students = new ArrayList<>(List.of(student));
+    IntStream.rangeClosed(2, StudentService.EXPORT_CHUNK_SIZE + 1).forEach(id -> students.add(
+        new Student(id, "受講生" + id, "じゅこうせい", "", id + "@email.com", "",
+            LocalDate.of(2000, 1, 1), "Other", "")));
+    Cursor<Student> cursor = mock(Cursor.class);
+    when(cursor.iterator()).thenReturn(students.iterator());
+    when(studentRepository.exportStudents()).thenReturn(cursor);
+    when(studentRepository.searchStudentsCoursesByStudentIds(any()))
+        .thenReturn(courseList, List.of());
+    when(studentRepository.searchCourseStatuses(List.of(attendingId1, attendingId2)))
+        .thenReturn(List.of(status1, status2));
+
+    List<StudentDetail> actual = new ArrayList<>();
+    sut.exportStudentDetails(actual::add);
+
+    assertThat(actual).hasSize(students.size());
+    assertEquals(studentDetail, actual.getFirst());
+    assertEquals(students.getLast(), actual.getLast().getStudent());
+    assertThat(actual.getLast().getCourseDetailList()).isEmpty();
+    verify(studentRepository, times(2)).searchStudentsCoursesByStudentIds(any());
+    verify(studentRepository, times(1)).searchCourseStatuses(any());
+    verify(cursor).close();
+  }
+
+  @Test
+  void ページ検索機能_取得件数が上限に達した場合_最後に検索した受講生IDが次ページのカーソルになること() {
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        null, null, List.of(), null, 1);
+    List<Student> studentList = List.of(student);
+    List<StudentsCourse> studentCourseList = List.of(course1);
+    List<CourseStatus> courseStatusList = List.of(status1);
+    List<CourseDetail> courseDetails = List.of(courseDetail1);
+    List<StudentDetail> expected = List.of(studentDetail);
+
+    when(studentRepository.findStudent(condition)).thenReturn(studentList);
+    when(studentRepository.findCourse(condition)).thenReturn(studentCourseList);
+    when(studentRepository.findStatus(condition)).thenReturn(courseStatusList);
+    when(converter.convertCourseDetails(studentCourseList, courseStatusList))
+        .thenReturn(courseDetails);
+    when(converter.convertStudentDetails(studentList, courseDetails)).thenReturn(expected);
+
+    var actual = sut.searchStudentPage(condition);
+
+    assertEquals(expected, actual.studentDetails());
+    assertEquals(studentId, actual.nextCursor());
+  }
+
+  @Test
+  void ページ検索機能_結合検索モードで取得件数が上限未満の場合_次ページのカーソルがnullになること() {
+    sut = new StudentService(studentRepository, batchRepository, exportRepository, converter,
+        courseMasterCache, statusMaster, searchIndex, statistics,
+        SearchMode.JOINED, TIMEOUT);
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        null, null, List.of(), null, 2);
+    when(studentRepository.findStudentDetail(condition)).thenReturn(List.of(studentDetail));
+
+    var actual = sut.searchStudentPage(condition);
+
+    assertEquals(List.of(studentDetail), actual.studentDetails());
+    assertNull(actual.nextCursor());
+  }
+
+  @Test
+  void 受講生一覧表示機能_結合検索モードの場合_結合クエリのみで受講生詳細が返ること() {
+    sut = new StudentService(studentRepository, batchRepository, exportRepository, converter,
+        courseMasterCache, statusMaster, searchIndex, statistics,
+        SearchMode.JOINED, TIMEOUT);
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        null, null, List.of(), null, null);
+    List<StudentDetail> expected = List.of(studentDetail);
+    when(studentRepository.findStudentDetail(condition)).thenReturn(expected);
+
+    var actual = sut.getStudentList(condition);
+
+    verify(studentRepository, times(1)).findStudentDetail(condition);
+    verify(studentRepository, never()).findStudent(any());
+    verify(studentRepository, never()).findCourse(any());
+    verify(studentRepository, never()).findStatus(any());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void 受講生一覧表示機能_並列検索モードの場合_3つの検索を別スレッドで同時に実行して結合すること()
+      throws InterruptedException {
+    sut = new StudentService(studentRepository, batchRepository, exportRepository, converter,
+        courseMasterCache, statusMaster, searchIndex, statistics,
+        SearchMode.PARALLEL, TIMEOUT);
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        null, null, List.of(), null, null);
+    List<Student> studentList = List.of(student);
+    List<CourseDetail> courseDetails = List.of(courseDetail1);
+    // 3つの検索が揃うまで完了しない（順に実行すると待ち時間を過ぎて失敗する）
+    var started = new CountDownLatch(3);
+    when(studentRepository.findStudent(condition)).thenAnswer(invocation -> {
+      started.countDown();
+      started.await(5, TimeUnit.SECONDS);
+      return studentList;
+    });
+    when(studentRepository.findCourse(condition)).thenAnswer(invocation -> {
+      started.countDown();
+      started.await(5, TimeUnit.SECONDS);
+      return courseList;
+    });
+    when(studentRepository.findStatus(condition)).thenAnswer(invocation -> {
+      started.countDown();
+      started.await(5, TimeUnit.SECONDS);
+      return List.of(status1, status2);
+    });
+    when(converter.convertCourseDetails(courseList, List.of(status1, status2)))
+        .thenReturn(courseDetails);
+    when(converter.convertStudentDetails(studentList, courseDetails))
+        .thenReturn(List.of(studentDetail));
+
+    var actual = sut.getStudentList(condition);
+
+    assertEquals(List.of(studentDetail), actual);
+    assertEquals(0, started.getCount());
+  }
+
+  @Test
+  void 受講生一覧表示機能_並列検索モードで1つの検索が失敗した場合_残りの検索を中断して例外が返ること()
+      throws InterruptedException {
+    sut = new StudentService(studentRepository, batchRepository, exportRepository, converter,
+        courseMasterCache, statusMaster, searchIndex, statistics,
+        SearchMode.PARALLEL, TIMEOUT);
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        null, null, List.of(), null, null);
+    var interrupted = new CountDownLatch(2);
+    when(studentRepository.findStudent(condition)).thenAnswer(invocation -> awaitInterrupt(
+        interrupted));
+    when(studentRepository.findCourse(condition)).thenAnswer(invocation -> awaitInterrupt(
+        interrupted));
+    when(studentRepository.findStatus(condition)).thenThrow(new IllegalStateException("DBエラー"));
+
+    var actual = assertThrows(IllegalStateException.class, () -> sut.getStudentList(condition));
+
+    assertEquals("DBエラー", actual.getMessage());
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    verify(converter, never()).convertStudentDetails(any(), any());
+  }
+
+  @Test
+  void 受講生一覧表示機能_並列検索モードで待ち時間を過ぎた場合_検索を中断して例外が返ること()
+      throws InterruptedException {
+    sut = new StudentService(studentRepository, batchRepository, exportRepository, converter,
+        courseMasterCache, statusMaster, searchIndex, statistics,
+        SearchMode.PARALLEL, Duration.ofMillis(100));
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        null, null, List.of(), null, null);
+    var interrupted = new CountDownLatch(1);
+    when(studentRepository.findStudent(condition)).thenReturn(List.of(student));
+    when(studentRepository.findCourse(condition)).thenReturn(courseList);
+    when(studentRepository.findStatus(condition)).thenAnswer(invocation -> awaitInterrupt(
+        interrupted));
+
+    assertThrows(ProcessFailedException.class, () -> sut.getStudentList(condition));
+
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  // 割り込まれるまで待ち、割り込まれたことを記録する
+  private List<Object> awaitInterrupt(CountDownLatch interrupted) {
+    try {
+      Thread.sleep(Duration.ofSeconds(30));
+    } catch (InterruptedException e) {
+      interrupted.countDown();
+    }
+    return List.of();
+  }
+
+  @Test
+  void ページ検索機能_インデックス検索モードの場合_DBを検索せずインデックスの結果が返ること() {
+    sut = new StudentService(studentRepository, batchRepository, exportRepository, converter,
+        courseMasterCache, statusMaster, searchIndex, statistics,
+        SearchMode.INDEX, TIMEOUT);
+    var condition = new StudentSearchDTO(null, null, null, null, null, null, null, null, null,
+        null, null, List.of(), null, 1);
+    when(searchIndex.search(condition)).thenReturn(List.of(studentDetail));
+
+    var actual = sut.searchStudentPage(condition);
+
+    verify(studentRepository, never()).findStudentDetail(any());
+    verify(studentRepository, never()).findStudent(any());
+    assertEquals(List.of(studentDetail), actual.studentDetails());
+    assertEquals(studentId, actual.nextCursor());
+  }
+
   @Test
   void 受講生詳細情報の検索機能_リポジトリを適切に呼び出し結果が返ること() {
     // Mock設定
     when(studentRepository.searchStudent(studentId)).thenReturn(student);
     when(studentRepository.searchStudentsCourses(studentId)).thenReturn(courseList);
-    when(studentRepository.searchCourseStatus(attendingId1)).thenReturn(status1);
-    when(studentRepository.searchCourseStatus(attendingId2)).thenReturn(status2);
+    when(studentRepository.searchCourseStatuses(List.of(attendingId1, attendingId2)))
+        .thenReturn(List.of(status1, status2));
 
     // 実行
     var actual = sut.searchStudent(studentId);
@@ -138,8 +385,8 @@ class StudentServiceTest {
     // 検証
     verify(studentRepository, times(1)).searchStudent(studentId);
     verify(studentRepository, times(1)).searchStudentsCourses(studentId);
-    verify(studentRepository, times(1)).searchCourseStatus(attendingId1);
-    verify(studentRepository, times(1)).searchCourseStatus(attendingId2);
+    verify(studentRepository, times(1))
+        .searchCourseStatuses(List.of(attendingId1, attendingId2));
 
     assertNotNull(actual);
     assertEquals(student, actual.getStudent());
@@ -174,8 +421,8 @@ class StudentServiceTest {
   void 受講生詳細情報の検索機能_受講コースが複数の場合_正しくリストされること() {
     when(studentRepository.searchStudent(studentId)).thenReturn(student);
     when(studentRepository.searchStudentsCourses(studentId)).thenReturn(courseList);
-    when(studentRepository.searchCourseStatus(attendingId1)).thenReturn(status1);
-    when(studentRepository.searchCourseStatus(attendingId2)).thenReturn(status2);
+    when(studentRepository.searchCourseStatuses(List.of(attendingId1, attendingId2)))
+        .thenReturn(List.of(status1, status2));
 
     var actual = sut.searchStudent(studentId);
 
@@ -186,6 +433,30 @@ class StudentServiceTest {
     assertEquals(status2, actual.getCourseDetailList().get(1).getStatus());
   }
 
+  @Test
+  void 受講生詳細の版の取得_受講生詳細を検索せずにバージョンと更新日時から版が作られること() {
+    var version = new Student();
+    version.setStudentId(studentId);
+    version.setVersion(3);
+    version.setUpdatedAt(LocalDateTime.of(2025, 4, 1, 10, 0));
+    when(studentRepository.searchStudentVersion(studentId)).thenReturn(version);
+
+    ResourceVersion actual = sut.findStudentVersion(studentId).orElseThrow();
+
+    assertEquals("student-" + studentId + "-v3", actual.etag());
+    assertEquals(LocalDateTime.of(2025, 4, 1, 10, 0).atZone(ZoneId.systemDefault()).toInstant()
+        .toEpochMilli(), actual.lastModified());
+    verify(studentRepository, never()).searchStudent(any());
+    verify(studentRepository, never()).searchStudentsCourses(any());
+  }
+
+  @Test
+  void 受講生詳細の版の取得_存在しない受講生の場合は空が返ること() {
+    when(studentRepository.searchStudentVersion(studentId)).thenReturn(null);
+
+    assertTrue(sut.findStudentVersion(studentId).isEmpty());
+  }
+
   @Test
   void 受講生情報の登録機能が動作し_受講生情報_コース情報_ステータス情報すべての登録に成功すること() {
     // Mock設定
@@ -203,6 +474,7 @@ class StudentServiceTest {
         any(StudentsCourse.class));
     verify(studentRepository, times(courseList.size())).registerCourseStatus(
         any(CourseStatus.class));
+    verify(searchIndex).refreshAfterCommit(List.of(studentId));
 
     assertNotNull(actual);
     assertEquals(student, actual.getStudent());
@@ -277,15 +549,14 @@ class StudentServiceTest {
         updateStudent);  // studentId(1) -> updateStudent
     when(studentRepository.searchStudentsCourses(studentId)).thenReturn(
         updateCourses);  // studentId(1) -> updateCourses
-    when(studentRepository.searchCourseStatus(attendingId1)).thenReturn(
-        updateStatus1);  // attendingId(1L) -> updateStatus1
-    when(studentRepository.searchCourseStatus(attendingId2)).thenReturn(
-        updateStatus2);  // attendingId(2L) -> updateStatus2
+    when(studentRepository.searchCourseStatuses(List.of(attendingId1, attendingId2))).thenReturn(
+        updateStatuses);  // attendingId(1L, 2L) -> updateStatus1, updateStatus2
     when(studentRepository.updateStudent(updateStudent)).thenReturn(1);  // updateStudent -> 更新が成功する
     when(studentRepository.updateStudentsCourses(any(StudentsCourse.class))).thenReturn(
         1);  // any() -> 更新が成功する
-    when(studentRepository.updateCourseStatus(any(CourseStatus.class))).thenReturn(
+    when(studentRepository.updateCourseStatus(eq(studentId), any(CourseStatus.class))).thenReturn(
         1);  // any() -> 更新が成功する
+    when(batch.flush()).thenReturn(new int[]{1, 1, 1, 1});  // 受講コース情報2件・ステータス2件
 
     // 実行
     sut.updateStudent(studentId, updateStudentDetail);
@@ -297,7 +568,7 @@ class StudentServiceTest {
     verify(studentRepository, times(updateCourses.size()))
         .updateStudentsCourses(any(StudentsCourse.class));
     verify(studentRepository, times(updateStatuses.size()))
-        .updateCourseStatus(any(CourseStatus.class));
+        .updateCourseStatus(eq(studentId), any(CourseStatus.class));
     // 更新前後の比較（結果が行進情報と一致/結果が更新対象と不一致）
     assertThat(actual)
         .usingRecursiveComparison()
@@ -307,80 +578,151 @@ class StudentServiceTest {
   }
 
   @Test
-  void 受講生情報の更新機能_該当する受講生がいない場合にNoDataExceptionをスローすること() {
-    when(studentRepository.searchStudent(studentId)).thenReturn(null);
+  void 受講生情報の更新機能_更新前に既存の情報を検索しないこと() {
+    when(studentRepository.updateStudent(student)).thenReturn(1);
+    when(batch.flush()).thenReturn(new int[]{1, 1, 1, 1});
 
-    assertThrows(NoDataException.class, () -> sut.updateStudent(studentId, studentDetail));
+    sut.updateStudent(studentId, studentDetail);
+
+    verify(studentRepository, never()).searchStudent(any());
+    verify(studentRepository, never()).searchStudentsCourses(any());
+    verify(studentRepository, never()).searchCourseStatuses(any());
   }
 
   @Test
-  void 受講生情報の更新機能_該当するコースがない場合にNoDataExceptionをスローすること() {
-    when(studentRepository.searchStudent(studentId)).thenReturn(student);
-    when(studentRepository.searchStudentsCourses(studentId)).thenReturn(List.of());  // 空リストが返ってくる
+  void 受講生情報の更新機能_更新前後の集計への寄与をコミット後に反映すること() {
+    // 更新前は大阪・コース3（仮申し込み）を2件受講
+    when(studentRepository.lockStudentEnrollments(studentId)).thenReturn(List.of(
+        new StudentEnrollment(studentId, "大阪", false, attendingId1, 3, 1, 1),
+        new StudentEnrollment(studentId, "大阪", false, attendingId2, 3, 2, 1)));
+    var updateStatus2 = new CourseStatus(2, attendingId2, 4);
+    var updateDetail = new StudentDetail(student, List.of(
+        new CourseDetail(course1, status1), new CourseDetail(course2, updateStatus2)));
+    when(studentRepository.updateStudent(student)).thenReturn(1);
+    when(batch.flush()).thenReturn(new int[]{1, 1, 1, 1});
+
+    sut.updateStudent(studentId, updateDetail);
+
+    // 受講生情報の地域（空文字）・コース1（受講終了）・コース2（受講中）に置き換わる
+    verify(statistics).applyAfterCommit(
+        List.of(new Contribution("大阪", List.of(new Enrollment(3, 1), new Enrollment(3, 1)))),
+        List.of(new Contribution("", List.of(new Enrollment(1, 5), new Enrollment(2, 4)))));
+  }
 
-    assertThrows(NoDataException.class, () -> sut.updateStudent(studentId, studentDetail));
+  @Test
+  void 受講生情報の更新機能_受講コース情報とステータスをそれぞれ1回のバッチで更新すること() {
+    when(studentRepository.updateStudent(student)).thenReturn(1);
+    when(batch.flush()).thenReturn(new int[]{1, 1, 1, 1});
+
+    sut.updateStudent(studentId, studentDetail);
+
+    // 同じSQLが続けて実行されるため、受講コース情報・ステータスごとに1つのバッチにまとまる
+    var order = inOrder(batchRepository, studentRepository, batch);
+    order.verify(studentRepository).updateStudent(student);
+    order.verify(batchRepository).executeBatch(any());
+    order.verify(studentRepository).updateStudentsCourses(course1);
+    order.verify(studentRepository).updateStudentsCourses(course2);
+    order.verify(studentRepository).updateCourseStatus(studentId, status1);
+    order.verify(studentRepository).updateCourseStatus(studentId, status2);
+    order.verify(batch).flush();
   }
 
   @Test
-  void 受講生情報の更新機能_該当するステータスがない場合にNoDataExceptionをスローすること() {
-    when(studentRepository.searchStudent(studentId)).thenReturn(student);
-    when(studentRepository.searchStudentsCourses(studentId)).thenReturn(courseList);
-    when(studentRepository.searchCourseStatus(attendingId1)).thenReturn(null);
-    when(studentRepository.searchCourseStatus(attendingId2)).thenReturn(null);
+  void 受講生情報の更新機能_更新されなかった受講コース情報とステータスがある場合にNoDataExceptionをスローすること() {
+    when(studentRepository.updateStudent(student)).thenReturn(1);
+    // 受講ID 2 の受講コース情報と、1件目のステータスが更新されなかった（件数不明の-2は更新とみなす）
+    when(batch.flush()).thenReturn(new int[]{1, 0, 0, -2});
+
+    var ex = assertThrows(NoDataException.class,
+        () -> sut.updateStudent(studentId, studentDetail));
+
+    assertTrue(ex.getMessage().contains("受講ID: [2] ステータスID: [1]"));
+  }
+
+  @Test
+  void 受講生情報の更新機能_該当する受講生がいない場合にNoDataExceptionをスローすること() {
+    when(studentRepository.updateStudent(student)).thenReturn(0);
+    when(studentRepository.searchStudent(studentId)).thenReturn(null);
 
     assertThrows(NoDataException.class, () -> sut.updateStudent(studentId, studentDetail));
+    verify(studentRepository, never()).updateStudentsCourses(any());
   }
 
   @Test
-  void 受講生情報の更新機能_すべての更新結果が0件の場合にProcessFailedExceptionをスローすること() {
-    when(studentRepository.searchStudent(studentId)).thenReturn(student);
-    when(studentRepository.searchStudentsCourses(studentId)).thenReturn(courseList);
-    when(studentRepository.searchCourseStatus(attendingId1)).thenReturn(status1);
-    when(studentRepository.searchCourseStatus(attendingId2)).thenReturn(status2);
+  void 受講生情報の更新機能_バージョンが一致しない場合にVersionConflictExceptionをスローすること() {
+    student.setVersion(3);
+    var current = new Student();
+    current.setStudentId(studentId);
+    current.setVersion(4);
+    when(studentRepository.updateStudent(student)).thenReturn(0);
+    when(studentRepository.searchStudent(studentId)).thenReturn(current);
+
+    var ex = assertThrows(VersionConflictException.class,
+        () -> sut.updateStudent(studentId, studentDetail));
+
+    assertTrue(ex.getMessage().contains("指定バージョン: 3 現在のバージョン: 4"));
+    verify(studentRepository, never()).updateStudentsCourses(any());
+    verify(studentRepository, never()).updateCourseStatus(any(), any());
+  }
 
-    when(studentRepository.updateStudent(any(Student.class))).thenReturn(0);
-    when(studentRepository.updateStudentsCourses(any(StudentsCourse.class))).thenReturn(0);
-    when(studentRepository.updateCourseStatus(any(CourseStatus.class))).thenReturn(0);
+  @Test
+  void 受講生情報の更新機能_受講生情報の更新結果が0件の場合にProcessFailedExceptionをスローすること() {
+    when(studentRepository.updateStudent(student)).thenReturn(0);
+    when(studentRepository.searchStudent(studentId)).thenReturn(student);
 
     assertThrows(ProcessFailedException.class, () -> sut.updateStudent(studentId, studentDetail));
   }
 
   @Test
-  void 受講生情報の論理削除_部分更新処理が成功すること() {
-    student = new Student();
-    student.setStudentId(1);
-    var isDeleted = true;
-
-    when(studentRepository.searchStudent(studentId)).thenReturn(student);
-    when(studentRepository.updateStudent(any(Student.class))).thenReturn(1);
+  void 受講生情報の論理削除_部分更新処理が成功し集計から除くこと() {
+    var enrollments = List.of(
+        new StudentEnrollment(studentId, "東京", false, attendingId1, 1, 1, 3),
+        new StudentEnrollment(studentId, "東京", false, attendingId2, 2, 2, 4));
+    when(studentRepository.lockStudentEnrollments(studentId)).thenReturn(enrollments);
+    when(studentRepository.updateStudentIsDeleted(studentId, true)).thenReturn(1);
+
+    assertDoesNotThrow(() -> sut.updateStudentIsDeleted(studentId, true));
+    verify(studentRepository).updateStudentIsDeleted(studentId, true);
+    verify(studentRepository, never()).updateStudent(any());
+    verify(statistics).applyAfterCommit(
+        List.of(new Contribution("東京", List.of(new Enrollment(1, 3), new Enrollment(2, 4)))),
+        List.of());
+    verify(searchIndex).refreshAfterCommit(List.of(studentId));
+  }
 
-    assertDoesNotThrow(() -> sut.updateStudentIsDeleted(studentId, isDeleted));
-    verify(studentRepository).updateStudent(any(Student.class));
+  @Test
+  void 受講生情報の論理削除_論理削除済みの受講生を復元し集計に戻すこと() {
+    var enrollments = List.of(
+        new StudentEnrollment(studentId, "東京", true, attendingId1, 1, 1, 3));
+    when(studentRepository.lockStudentEnrollments(studentId)).thenReturn(enrollments);
+    when(studentRepository.updateStudentIsDeleted(studentId, false)).thenReturn(1);
+
+    assertDoesNotThrow(() -> sut.updateStudentIsDeleted(studentId, false));
+    verify(statistics).applyAfterCommit(List.of(),
+        List.of(new Contribution("東京", List.of(new Enrollment(1, 3)))));
   }
 
   @Test
   void 受講生情報の論理削除_該当IDが存在しない時_NoDataExceptionをスローすること() {
     studentId = 999;
-    when(studentRepository.searchStudent(studentId)).thenReturn(null);
+    when(studentRepository.lockStudentEnrollments(studentId)).thenReturn(List.of());
 
     var ex = assertThrows(NoDataException.class,
         () -> sut.updateStudentIsDeleted(studentId, true));
 
     assertTrue(ex.getMessage().contains("更新対象の受講生情報が見つかりません。"));
+    verify(studentRepository, never()).updateStudentIsDeleted(any(), anyBoolean());
   }
 
   @Test
   void 受講生情報の論理削除_更新件数0の時_ProcessFailedExceptionをスローすること() {
-    studentId = 1;
-    Boolean isDeleted = true;
-    student = new Student();
-    student.setStudentId(studentId);
-
-    when(studentRepository.searchStudent(studentId)).thenReturn(student);
-    when(studentRepository.updateStudent(any(Student.class))).thenReturn(0);
+    when(studentRepository.lockStudentEnrollments(studentId)).thenReturn(List.of(
+        new StudentEnrollment(studentId, "東京", false, null, null, null, null)));
+    when(studentRepository.updateStudentIsDeleted(studentId, true)).thenReturn(0);
 
     var ex = assertThrows(ProcessFailedException.class,
-        () -> sut.updateStudentIsDeleted(studentId, isDeleted));
+        () -> sut.updateStudentIsDeleted(studentId, true));
     assertEquals("更新が反映されませんでした", ex.getMessage());
+    verify(statistics, never()).applyAfterCommit(any(), any());
   }
 }
@@ -0,0 +1,235 @@
+package raisetech.student.management.service.student;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.data.Course.CourseCategory;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentsCourse;
+import raisetech.student.management.domain.EnrollmentStatus;
+import raisetech.student.management.domain.StatisticsCount;
+import raisetech.student.management.domain.StudentEnrollment;
+import raisetech.student.management.domain.StudentStatisticsReport;
+import raisetech.student.management.domain.StudentStatisticsReport.CourseStatusCount;
+import raisetech.student.management.repository.student.StudentRepository;
+import raisetech.student.management.service.course.CourseMasterCache;
+import raisetech.student.management.service.student.StudentStatistics.Contribution;
+import raisetech.student.management.service.student.StudentStatistics.Enrollment;
+
+@ExtendWith(MockitoExtension.class)
+class StudentStatisticsTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private CourseMasterCache courseMasterCache;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private StudentStatistics sut;
+
+  // 東京の受講生がコース1を受講中、大阪の受講生がコース1を受講中・コース3を仮申し込み
+  private static final List<StatisticsCount> COUNTS = List.of(
+      new StatisticsCount(StatisticsCount.ENROLLMENT, 1, 4, null, 2),
+      new StatisticsCount(StatisticsCount.ENROLLMENT, 3, 1, null, 1),
+      new StatisticsCount(StatisticsCount.STUDENT, null, null, "大阪", 1),
+      new StatisticsCount(StatisticsCount.STUDENT, null, null, "東京", 1));
+
+  @BeforeEach
+  void before() {
+    meterRegistry = new SimpleMeterRegistry();
+    sut = new StudentStatistics(studentRepository, courseMasterCache, meterRegistry);
+
+    lenient().when(studentRepository.countStatistics()).thenReturn(COUNTS);
+    lenient().when(courseMasterCache.findCourse(1)).thenReturn(Optional.of(
+        new Course("Javaコース", CourseCategory.開発系コース, 6)));
+    lenient().when(courseMasterCache.findCourse(3)).thenReturn(Optional.of(
+        new Course("デザインコース", CourseCategory.制作系コース, 6)));
+  }
+
+  @Test
+  void 集計の取得_未集計の場合のみDBで集計しカテゴリはコースマスタから求めること() {
+    StudentStatisticsReport first = sut.report();
+    StudentStatisticsReport second = sut.report();
+
+    verify(studentRepository, times(1)).countStatistics();
+    assertNotNull(first.reconciledAt());
+    assertEquals(2, first.students());
+    assertThat(first.courseStatuses()).containsExactly(
+        new CourseStatusCount(1, 4, 2), new CourseStatusCount(3, 1, 1));
+    assertEquals(Map.of("開発系コース", 2L, "制作系コース", 1L), first.categories());
+    assertEquals(Map.of(1, 1L, 4, 2L), first.statuses());
+    assertEquals(Map.of("大阪", 1L, "東京", 1L), first.areas());
+    assertEquals(first, second);
+  }
+
+  @Test
+  void 差分の反映_コミット後に反映し件数が0になった項目は除くこと() {
+    sut.load();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // 大阪の受講生を論理削除し、東京の受講生のステータスを受講終了に遷移する
+      sut.applyAfterCommit(
+          List.of(new Contribution("大阪", List.of(new Enrollment(1, 4), new Enrollment(3, 1))),
+              new Contribution(null, List.of(new Enrollment(1, 4)))),
+          List.of(new Contribution(null, List.of(new Enrollment(1, 5)))));
+      assertEquals(2, sut.report().students());
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    StudentStatisticsReport actual = sut.report();
+    verify(studentRepository, times(1)).countStatistics();
+    assertEquals(1, actual.students());
+    assertThat(actual.courseStatuses()).containsExactly(new CourseStatusCount(1, 5, 1));
+    assertEquals(Map.of("開発系コース", 1L), actual.categories());
+    assertEquals(Map.of(5, 1L), actual.statuses());
+    assertEquals(Map.of("東京", 1L), actual.areas());
+  }
+
+  @Test
+  void 差分の反映_ロールバックした場合は反映しないこと() {
+    sut.load();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      sut.applyAfterCommit(List.of(),
+          List.of(new Contribution("福岡", List.of(new Enrollment(1, 1)))));
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(
+              TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(2, sut.report().students());
+  }
+
+  @Test
+  void 集計し直し_カウンタとのずれをメトリクスに記録して置き換えること() {
+    sut.load();
+    assertNull(meterRegistry.find("student.statistics.drift").counter());
+
+    // DBに反映されていない差分（地域1件・受講1件のずれ）
+    sut.applyAfterCommit(List.of(),
+        List.of(new Contribution("福岡", List.of(new Enrollment(1, 1)))));
+    assertEquals(3, sut.report().students());
+
+    StudentStatisticsReport actual = sut.reconcile();
+
+    assertEquals(2, actual.students());
+    assertEquals(2, meterRegistry.get("student.statistics.drift").counter().count());
+  }
+
+  @Test
+  void 集計し直し_集計中に差分が反映された場合はずれを記録せず次の取得時に集計し直すこと() {
+    sut.load();
+    when(studentRepository.countStatistics()).thenAnswer(invocation -> {
+      // 集計のクエリの実行中に、福岡の受講生の登録がコミットされて差分が反映された
+      sut.applyAfterCommit(List.of(),
+          List.of(new Contribution("福岡", List.of(new Enrollment(1, 1)))));
+      return COUNTS;
+    }).thenReturn(COUNTS);
+
+    sut.reconcile();
+    sut.report();
+    sut.report();
+
+    assertNull(meterRegistry.find("student.statistics.drift").counter());
+    // 起動時・集計し直し・次の取得時の3回
+    verify(studentRepository, times(3)).countStatistics();
+  }
+
+  @Test
+  void 集計し直し_コミット待ちの差分がある場合は次の取得時に集計し直すこと() {
+    sut.load();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      sut.applyAfterCommit(List.of(),
+          List.of(new Contribution("福岡", List.of(new Enrollment(1, 1)))));
+      // コミットが集計のクエリの前か後か分からない
+      sut.reconcile();
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+        synchronization.afterCommit();
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+      });
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    sut.report();
+    sut.report();
+    assertNull(meterRegistry.find("student.statistics.drift").counter());
+    verify(studentRepository, times(3)).countStatistics();
+  }
+
+  @Test
+  void 集計し直しの予約_コミット後の最初の取得時にDBで集計し直すこと() {
+    sut.load();
+
+    sut.invalidateAfterCommit();
+    sut.report();
+    sut.report();
+
+    verify(studentRepository, times(2)).countStatistics();
+  }
+
+  @Test
+  void 寄与_更新後の寄与は受講生の受講IDと受講ステータスのIDに一致する更新内容だけを重ねること() {
+    var rows = List.of(
+        new StudentEnrollment(1, "東京", false, 10L, 1, 100, 3),
+        new StudentEnrollment(1, "東京", false, 11L, 2, 101, 4),
+        // 受講ステータスがない受講コース情報は集計しない
+        new StudentEnrollment(1, "東京", false, 12L, 3, null, null));
+    var student = new Student();
+    student.setArea("大阪");
+
+    Contribution actual = Contribution.updated(rows, student,
+        List.of(new StudentsCourse(10L, 1, 3, null, null),
+            new StudentsCourse(99L, 2, 1, null, null)),
+        List.of(new CourseStatus(101, 11L, 5), new CourseStatus(999, 99L, 1)));
+
+    assertEquals(new Contribution("大阪",
+        List.of(new Enrollment(3, 3), new Enrollment(2, 5))), actual);
+    assertEquals(new Contribution("東京",
+        List.of(new Enrollment(1, 3), new Enrollment(2, 4))), Contribution.of(rows));
+  }
+
+  @Test
+  void 寄与_受講ステータスの寄与は論理削除された受講生の受講を除くこと() {
+    var rows = List.of(
+        new EnrollmentStatus(1L, 1, 1, 3, false),
+        new EnrollmentStatus(2L, 2, 2, 3, true));
+
+    assertEquals(new Contribution(null, List.of(new Enrollment(1, 3))),
+        Contribution.ofEnrollments(rows));
+    assertEquals(new Contribution(null, List.of(new Enrollment(1, 4))),
+        Contribution.ofEnrollments(rows, 4));
+  }
+
+}
@@ -45,3 +45,6 @@ INSERT INTO courses (course_name, category, duration, is_closed) VALUES
 ('webマーケティングコース', '制作系コース', 6, 0),
 ('映像制作コース', '制作系コース', 6, 0),
 ('フロントエンドコース', '開発系コース', 6, 0);
+
+-- job_locks テーブルにデータを挿入（期限切れの状態）
+INSERT INTO job_locks (job_name) VALUES ('status-advancement');
@@ -17,6 +17,8 @@ CREATE TABLE students (
     gender VARCHAR(10) NOT NULL DEFAULT 'Other',
     remark VARCHAR(200) NULL,
     is_deleted TINYINT NOT NULL DEFAULT 0,
+    version INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     CHECK (gender IN ('Male', 'Female', 'Other'))
 );
 
@@ -49,3 +51,21 @@ CREATE TABLE course_status (
     CONSTRAINT fk_course_status_status FOREIGN KEY (status_id)
         REFERENCES statuses(status_id)
 );
+
+-- ジョブのロック（db/init/08_job_locks.sql と同じ）
+CREATE TABLE job_locks (
+    job_name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by VARCHAR(64)
+);
+
+-- 検索用のインデックス（db/init/04_search_indexes.sql と同じ）
+CREATE INDEX idx_students_deleted_id ON students (is_deleted, student_id);
+CREATE INDEX idx_students_email ON students (email, is_deleted);
+CREATE INDEX idx_students_gender_birth_date ON students (gender, is_deleted, birth_date);
+CREATE INDEX idx_students_deleted_birth_date ON students (is_deleted, birth_date);
+CREATE INDEX idx_students_courses_course_student ON students_courses (course_id, student_id);
+CREATE INDEX idx_course_status_attending_status ON course_status (attending_id, status_id);
+CREATE INDEX idx_course_status_status_attending ON course_status (status_id, attending_id);
+-- 受講期間の検索用のインデックス（db/init/05_enrollment_window_index.sql と同じ）
+CREATE INDEX idx_students_courses_window ON students_courses (start_date, end_date);